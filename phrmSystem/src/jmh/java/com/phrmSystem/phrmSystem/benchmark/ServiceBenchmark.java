@@ -0,0 +1,234 @@
+package com.phrmSystem.phrmSystem.benchmark;
+
+import com.phrmSystem.phrmSystem.config.PatientOwnership;
+import com.phrmSystem.phrmSystem.data.entity.Diagnosis;
+import com.phrmSystem.phrmSystem.data.entity.DoctorAppointment;
+import com.phrmSystem.phrmSystem.data.entity.User;
+import com.phrmSystem.phrmSystem.data.projection.AppointmentSlot;
+import com.phrmSystem.phrmSystem.data.projection.SickDayRow;
+import com.phrmSystem.phrmSystem.data.repo.DiagnosisRepository;
+import com.phrmSystem.phrmSystem.data.repo.DoctorAppointmentRepository;
+import com.phrmSystem.phrmSystem.data.repo.SickDayRepository;
+import com.phrmSystem.phrmSystem.data.repo.UserRepository;
+import com.phrmSystem.phrmSystem.dto.CursorPageDTO;
+import com.phrmSystem.phrmSystem.dto.DiagnosisCountDTO;
+import com.phrmSystem.phrmSystem.dto.DoctorAppointmentAllDTO;
+import com.phrmSystem.phrmSystem.dto.DoctorScheduleDayDTO;
+import com.phrmSystem.phrmSystem.dto.SickDayDTO;
+import com.phrmSystem.phrmSystem.dto.SickDayImportResultDTO;
+import com.phrmSystem.phrmSystem.service.DiagnosisService;
+import com.phrmSystem.phrmSystem.service.DoctorAppointmentService;
+import com.phrmSystem.phrmSystem.service.SickDayImportService;
+import com.phrmSystem.phrmSystem.service.SickDayService;
+import com.phrmSystem.phrmSystem.service.impl.AppointmentSlotIndex;
+import com.phrmSystem.phrmSystem.service.impl.DiagnosisStatistics;
+import com.phrmSystem.phrmSystem.service.impl.DoctorScheduleIndex;
+import com.phrmSystem.phrmSystem.service.impl.SickLeaveStatistics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end service calls, through the Spring proxies and transactions, against an embedded H2
+ * database seeded with {@code sickDays} sick days and as many appointments.
+ * Only the service, repository and JPA layers are started; web and security are left out.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceBenchmark {
+
+    private static final int DOCTORS = 50;
+    private static final int DIAGNOSES = 200;
+    private static final int PAGE_SIZE = 50;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2020, 1, 1);
+    private static final int DAYS = 1_500;
+
+    @Param({"10000", "100000"})
+    private int sickDays;
+
+    private ConfigurableApplicationContext context;
+    private SickDayService sickDayService;
+    private DiagnosisService diagnosisService;
+    private DoctorAppointmentService doctorAppointmentService;
+
+    private long[] sickDayIds;
+    private long[] appointmentIds;
+    private long[] doctorIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(BenchmarkApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:service-benchmark;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.sql.init.mode=never",
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN");
+        sickDayService = context.getBean(SickDayService.class);
+        diagnosisService = context.getBean(DiagnosisService.class);
+        doctorAppointmentService = context.getBean(DoctorAppointmentService.class);
+
+        seed();
+
+        context.getBean(DiagnosisStatistics.class).rebuild();
+        context.getBean(SickLeaveStatistics.class).rebuild();
+        context.getBean(DoctorScheduleIndex.class).rebuild();
+        context.getBean(AppointmentSlotIndex.class).rebuild();
+
+        sickDayIds = context.getBean(SickDayRepository.class).findAllRows().stream()
+                .mapToLong(SickDayRow::id).toArray();
+        appointmentIds = context.getBean(DoctorAppointmentRepository.class).findAllSlots().stream()
+                .mapToLong(AppointmentSlot::appointmentId).toArray();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public SickDayDTO getSickDayById() {
+        return sickDayService.getSickDayById(pick(sickDayIds));
+    }
+
+    @Benchmark
+    public CursorPageDTO<SickDayDTO> getSickDaysFirstPage() {
+        return sickDayService.getSickDaysPage(null, PAGE_SIZE, null, null);
+    }
+
+    @Benchmark
+    public DoctorAppointmentAllDTO getDoctorAppointmentById() {
+        return doctorAppointmentService.getDoctorAppointmentById(pick(appointmentIds));
+    }
+
+    @Benchmark
+    public List<DoctorScheduleDayDTO> getDoctorWeekSchedule() {
+        LocalDate from = FIRST_DAY.plusDays(ThreadLocalRandom.current().nextInt(DAYS - 7));
+        return doctorAppointmentService.getDoctorSchedule(pick(doctorIds), from, from.plusDays(6));
+    }
+
+    @Benchmark
+    public List<DiagnosisCountDTO> getMostCommonDiagnoses() {
+        return diagnosisService.getMostCommonDiagnoses(10);
+    }
+
+    private void seed() {
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        List<User> doctors = new ArrayList<>();
+        for (int i = 0; i < DOCTORS; i++) {
+            doctors.add(user("Doctor", i));
+        }
+        doctors = userRepository.saveAll(doctors);
+        List<User> patients = new ArrayList<>();
+        for (int i = 0; i < Math.max(sickDays / 10, 1); i++) {
+            patients.add(user("Patient", i));
+        }
+        patients = userRepository.saveAll(patients);
+
+        List<Diagnosis> diagnoses = new ArrayList<>();
+        for (int i = 0; i < DIAGNOSES; i++) {
+            Diagnosis diagnosis = new Diagnosis();
+            diagnosis.setDiagnosisName("Diagnosis " + i);
+            diagnoses.add(diagnosis);
+        }
+        diagnoses = context.getBean(DiagnosisRepository.class).saveAll(diagnoses);
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        StringBuilder csv = new StringBuilder("startDate,endDate,patientId,doctorId,diagnosisIds\n");
+        for (int i = 0; i < sickDays; i++) {
+            LocalDate start = FIRST_DAY.plusDays(random.nextInt(DAYS));
+            csv.append(start).append(',')
+                    .append(start.plusDays(random.nextInt(1, 14))).append(',')
+                    .append(patients.get(random.nextInt(patients.size())).getId()).append(',')
+                    .append(doctors.get(random.nextInt(doctors.size())).getId()).append(',')
+                    .append(diagnoses.get(random.nextInt(diagnoses.size())).getId()).append(';')
+                    .append(diagnoses.get(random.nextInt(diagnoses.size())).getId()).append('\n');
+        }
+        SickDayImportResultDTO imported = context.getBean(SickDayImportService.class).importSickDays(
+                new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)), SickDayImportService.CSV);
+        if (imported.getFailedRows() > 0) {
+            throw new IllegalStateException("Seeding failed: " + imported.getErrors().get(0).getMessage());
+        }
+
+        // One 15-minute slot per appointment, filling each doctor's working days from 08:00.
+        DoctorAppointmentRepository appointmentRepository = context.getBean(DoctorAppointmentRepository.class);
+        List<DoctorAppointment> chunk = new ArrayList<>();
+        for (int i = 0; i < sickDays; i++) {
+            int slot = i / DOCTORS;
+            DoctorAppointment appointment = new DoctorAppointment();
+            appointment.setDate(LocalDateTime.of(FIRST_DAY.plusDays(slot / 32), LocalTime.of(8, 0))
+                    .plusMinutes(15L * (slot % 32)));
+            appointment.setDoctor(doctors.get(i % DOCTORS));
+            appointment.setPatient(patients.get(random.nextInt(patients.size())));
+            chunk.add(appointment);
+            if (chunk.size() == 1_000) {
+                appointmentRepository.saveAll(chunk);
+                chunk.clear();
+            }
+        }
+        appointmentRepository.saveAll(chunk);
+
+        doctorIds = doctors.stream().mapToLong(User::getId).toArray();
+    }
+
+    private static User user(String kind, int index) {
+        User user = new User();
+        user.setFirstName(kind);
+        user.setLastName(kind + " " + index);
+        return user;
+    }
+
+    private static long pick(long[] ids) {
+        return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    }
+
+    /**
+     * The application's services, repositories and JPA setup without the web, security and
+     * initializer components. PatientOwnership is imported for the patient service; without an
+     * authentication it does not restrict any query.
+     */
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EntityScan("com.phrmSystem.phrmSystem.data.entity")
+    @EnableJpaRepositories("com.phrmSystem.phrmSystem.data.repo")
+    @ComponentScan("com.phrmSystem.phrmSystem.service.impl")
+    @Import(PatientOwnership.class)
+    static class BenchmarkApplication {
+    }
+}
@@ -0,0 +1,85 @@
+package com.phrmSystem.phrmSystem.config;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Converting an already verified Jwt to authorities, with the token cache disabled so that every call
+ * converts the claims. {@code shape} is the kind of user the token belongs to; the claims are laid out
+ * as Keycloak issues them, with realm roles, account roles and the client roles of react_client.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuthorityConversionBenchmark {
+
+    @Param({"patient", "doctor", "admin"})
+    private String shape;
+
+    private Jwt jwt;
+    private JwtAuthConverter jwtAuthConverter;
+    private KeycloakAuthorityConverter keycloakAuthorityConverter;
+
+    @Setup
+    public void setUp() {
+        List<String> clientRoles = switch (shape) {
+            case "patient" -> List.of("client_patient");
+            case "doctor" -> List.of("client_doctor", "client_patient");
+            case "admin" -> List.of("client_admin", "client_doctor", "client_patient");
+            default -> throw new IllegalArgumentException("Unknown token shape: " + shape);
+        };
+        Instant now = Instant.now();
+        // Decoded claims hold mutable lists, as parsed from the token's JSON
+        jwt = Jwt.withTokenValue("token-" + shape)
+                .header("alg", "RS256")
+                .header("kid", "benchmark")
+                .subject("3f1c2d9e-5b7a-4c8e-9f10-2a3b4c5d6e7f")
+                .issuer("http://localhost:4000/realms/phrm_system")
+                .claim("azp", "react_client")
+                .claim("preferred_username", shape + ".ivanov")
+                .claim("scope", "openid profile email")
+                .claim("realm_access", Map.of("roles", new ArrayList<>(List.of(
+                        "default-roles-phrm_system", "offline_access", "uma_authorization"))))
+                .claim("resource_access", Map.of(
+                        "react_client", Map.of("roles", new ArrayList<>(clientRoles)),
+                        "account", Map.of("roles", new ArrayList<>(List.of(
+                                "manage-account", "manage-account-links", "view-profile")))))
+                .issuedAt(now)
+                .expiresAt(now.plusSeconds(300))
+                .build();
+        jwtAuthConverter = new JwtAuthConverter(new JwtAuthenticationCache(0), "preferred_username", "react_client");
+        keycloakAuthorityConverter = new KeycloakAuthorityConverter();
+    }
+
+    @Benchmark
+    public AbstractAuthenticationToken jwtAuthConverter() {
+        return jwtAuthConverter.convert(jwt);
+    }
+
+    @Benchmark
+    public Collection<GrantedAuthority> keycloakAuthorityConverter() {
+        return keycloakAuthorityConverter.convert(jwt);
+    }
+}
@@ -0,0 +1,90 @@
+package com.phrmSystem.phrmSystem.config;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of authenticating a bearer token: decoding and verifying an RS256 token and
+ * converting it to an authentication, with the token cache disabled ({@code cacheSize} 0) and enabled.
+ * The keys are generated locally, so no identity provider is needed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthenticationBenchmark {
+
+    @Param({"0", "10000"})
+    private int cacheSize;
+
+    private String token;
+    private JwtDecoder decoder;
+    private JwtAuthConverter converter;
+
+    @Setup
+    public void setUp() throws JOSEException {
+        RSAKey key = new RSAKeyGenerator(2048).keyID("benchmark").generate();
+        RefreshingJwkSource jwkSource = new RefreshingJwkSource(() -> new JWKSet(key.toPublicJWK()),
+                Duration.ofMinutes(5), Duration.ofSeconds(30));
+        DefaultJWTProcessor<SecurityContext> jwtProcessor = new DefaultJWTProcessor<>();
+        jwtProcessor.setJWSKeySelector(new JWSVerificationKeySelector<>(JWSAlgorithm.RS256, jwkSource));
+        jwtProcessor.setJWTClaimsSetVerifier((claims, context) -> {
+        });
+
+        JwtAuthenticationCache cache = new JwtAuthenticationCache(cacheSize);
+        decoder = new CachingJwtDecoder(new NimbusJwtDecoder(jwtProcessor), cache);
+        converter = new JwtAuthConverter(cache, "preferred_username", "react_client");
+
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .subject("3f1c2d9e-5b7a-4c8e-9f10-2a3b4c5d6e7f")
+                .issuer("http://localhost:4000/realms/phrm")
+                .claim("preferred_username", "doctor.ivanov")
+                .claim("scope", "openid profile email")
+                .claim("resource_access", Map.of("react_client",
+                        Map.of("roles", List.of("client_doctor", "client_patient"))))
+                .issueTime(Date.from(Instant.now()))
+                .expirationTime(Date.from(Instant.now().plus(Duration.ofDays(1))))
+                .build();
+        SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(key.getKeyID()).build(), claims);
+        jwt.sign(new RSASSASigner(key));
+        token = jwt.serialize();
+    }
+
+    @Benchmark
+    public AbstractAuthenticationToken authenticate() {
+        return converter.convert(decoder.decode(token));
+    }
+}
@@ -0,0 +1,154 @@
+package com.phrmSystem.phrmSystem.service.impl;
+
+import com.phrmSystem.phrmSystem.data.entity.Diagnosis;
+import com.phrmSystem.phrmSystem.data.entity.DoctorAppointment;
+import com.phrmSystem.phrmSystem.data.entity.Medicine;
+import com.phrmSystem.phrmSystem.data.entity.PatientIllnessHistory;
+import com.phrmSystem.phrmSystem.data.entity.Role;
+import com.phrmSystem.phrmSystem.data.entity.SickDay;
+import com.phrmSystem.phrmSystem.data.entity.User;
+import com.phrmSystem.phrmSystem.dto.DiagnosisDTO;
+import com.phrmSystem.phrmSystem.dto.DoctorAppointmentAllDTO;
+import com.phrmSystem.phrmSystem.dto.SickDayDTO;
+import com.phrmSystem.phrmSystem.dto.UserDTO;
+import com.phrmSystem.phrmSystem.mappers.DoctorAppointmentAllMapper;
+import com.phrmSystem.phrmSystem.mappers.UserMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity-to-DTO mapping cost on fully populated entity graphs, as loaded with their eager associations.
+ * {@code fanOut} is the size of each mapped collection (roles, diagnoses, sick days, medicines).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param({"3", "30"})
+    private int fanOut;
+
+    private User user;
+    private DoctorAppointment appointment;
+    private SickDay sickDay;
+    private Diagnosis diagnosis;
+
+    private SickDayServiceImpl sickDayService;
+    private DiagnosisServiceImpl diagnosisService;
+
+    @Setup
+    public void setUp() {
+        // The mapping methods use no collaborators.
+        sickDayService = new SickDayServiceImpl(null, null, null, null, null, null);
+        diagnosisService = new DiagnosisServiceImpl(null, null, null, null, null);
+
+        long id = 1;
+        List<Role> roles = new LinkedList<>();
+        for (int i = 0; i < fanOut; i++) {
+            Role role = new Role("ROLE_" + i, "Role number " + i, new LinkedList<>());
+            role.setId(id++);
+            roles.add(role);
+        }
+        user = user(id++, "Maria", "Ivanova");
+        user.setRole(roles);
+        User doctor = user(id++, "John", "Doe");
+
+        PatientIllnessHistory history = new PatientIllnessHistory();
+        history.setId(id++);
+        history.setIllnessName("Chronic bronchitis");
+        history.setStartDate(LocalDate.of(2023, 11, 2));
+        history.setPatient(user);
+
+        Set<Diagnosis> diagnoses = new HashSet<>();
+        Set<SickDay> sickDays = new HashSet<>();
+        Set<Medicine> medicines = new HashSet<>();
+        for (int i = 0; i < fanOut; i++) {
+            Diagnosis listed = new Diagnosis();
+            listed.setId(id++);
+            listed.setDiagnosisName("Diagnosis " + i);
+            diagnoses.add(listed);
+
+            SickDay listedSickDay = new SickDay();
+            listedSickDay.setId(id++);
+            sickDays.add(listedSickDay);
+
+            Medicine medicine = new Medicine();
+            medicine.setId(id++);
+            medicine.setMedicineName("Medicine " + i);
+            medicines.add(medicine);
+        }
+
+        appointment = new DoctorAppointment();
+        appointment.setId(id++);
+        appointment.setDate(LocalDateTime.of(2024, 3, 4, 9, 30));
+        appointment.setPatient(user);
+        appointment.setDoctor(doctor);
+        appointment.setPatientIllnessHistory(history);
+        appointment.setDiagnosis(diagnoses);
+
+        sickDay = new SickDay();
+        sickDay.setId(id++);
+        sickDay.setStartDate(LocalDate.of(2024, 3, 4));
+        sickDay.setEndDate(LocalDate.of(2024, 3, 10));
+        sickDay.setNumberOfDays(7);
+        sickDay.setPatient(user);
+        sickDay.setDoctor(doctor);
+        sickDay.setDiagnosis(diagnoses);
+
+        diagnosis = new Diagnosis();
+        diagnosis.setId(id);
+        diagnosis.setDiagnosisName("Acute bronchitis");
+        diagnosis.setDiagnosisDescription("Inflammation of the bronchial tubes.");
+        diagnosis.setDoctorAppointment(appointment);
+        diagnosis.setSickDays(sickDays);
+        diagnosis.setMedicine(medicines);
+    }
+
+    @Benchmark
+    public UserDTO userMapperToDTO() {
+        return UserMapper.toDTO(user);
+    }
+
+    @Benchmark
+    public DoctorAppointmentAllDTO doctorAppointmentAllMapperToDTO() {
+        return DoctorAppointmentAllMapper.toDTO(appointment);
+    }
+
+    @Benchmark
+    public SickDayDTO sickDayServiceMapToDTO() {
+        return sickDayService.mapToDTO(sickDay);
+    }
+
+    @Benchmark
+    public DiagnosisDTO diagnosisServiceMapToDTO() {
+        return diagnosisService.mapToDTO(diagnosis);
+    }
+
+    private static User user(long id, String firstName, String lastName) {
+        User user = new User();
+        user.setId(id);
+        user.setFirstName(firstName);
+        user.setLastName(lastName);
+        return user;
+    }
+}
@@ -0,0 +1,181 @@
+package com.phrmSystem.phrmSystem.config;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interned, immutable GrantedAuthority instances for the roles and scopes found in tokens.
+ *
+ * The client roles are registered up front. Every authority name maps to one canonical instance, and
+ * every role list or scope claim seen in a token maps to one canonical immutable set, so converting a
+ * token with a known shape is a map lookup instead of building strings, authorities and sets. Both
+ * caches are bounded, since their keys come from tokens; beyond the bound, authorities are built
+ * per call as before.
+ */
+public final class AuthorityRegistry {
+
+    public static final String ROLE_PREFIX = "ROLE_";
+    public static final String SCOPE_PREFIX = "SCOPE_";
+
+    /**
+     * The roles of the client in resource_access.
+     */
+    public static final List<String> CLIENT_ROLES = List.of("client_admin", "client_doctor", "client_patient");
+
+    static final int MAX_AUTHORITIES = 1024;
+    static final int MAX_SETS = 1024;
+
+    private static final Map<String, GrantedAuthority> AUTHORITIES = new ConcurrentHashMap<>();
+    private static final Map<Object, Set<GrantedAuthority>> ROLE_SETS = new ConcurrentHashMap<>();
+    private static final Map<Object, Set<GrantedAuthority>> AUTHORITY_SETS = new ConcurrentHashMap<>();
+    private static final Map<Object, Set<GrantedAuthority>> SCOPE_SETS = new ConcurrentHashMap<>();
+    private static final Map<Combination, Set<GrantedAuthority>> COMBINED_SETS = new ConcurrentHashMap<>();
+
+    static {
+        for (String role : CLIENT_ROLES) {
+            authority(ROLE_PREFIX + role);
+            roles(List.of(role));
+        }
+    }
+
+    private AuthorityRegistry() {
+    }
+
+    /**
+     * Returns the canonical authority with the given name.
+     *
+     * @param name the authority name, e.g. ROLE_client_doctor.
+     * @return the canonical authority, or a new one once the registry is full.
+     */
+    public static GrantedAuthority authority(String name) {
+        GrantedAuthority authority = AUTHORITIES.get(name);
+        if (authority != null) {
+            return authority;
+        }
+        if (AUTHORITIES.size() >= MAX_AUTHORITIES) {
+            return new SimpleGrantedAuthority(name);
+        }
+        return AUTHORITIES.computeIfAbsent(name, SimpleGrantedAuthority::new);
+    }
+
+    /**
+     * Returns the ROLE_ authorities of a role list, e.g. the roles of a client in resource_access.
+     * Elements that are not strings are ignored.
+     *
+     * @param roleNames the role names from the token.
+     * @return an immutable set of canonical authorities.
+     */
+    public static Set<GrantedAuthority> roles(Collection<?> roleNames) {
+        return lookup(ROLE_SETS, roleNames, ROLE_PREFIX);
+    }
+
+    /**
+     * Returns the authorities named by a list as is, e.g. the realm roles in realm_access.
+     * Elements that are not strings are ignored.
+     *
+     * @param names the authority names from the token.
+     * @return an immutable set of canonical authorities.
+     */
+    public static Set<GrantedAuthority> authorities(Collection<?> names) {
+        return lookup(AUTHORITY_SETS, names, "");
+    }
+
+    /**
+     * Returns the SCOPE_ authorities of a scope claim, given either as a space-separated string or as
+     * a list, the way JwtGrantedAuthoritiesConverter reads it.
+     *
+     * @param scopeClaim the scope or scp claim, or null.
+     * @return an immutable set of canonical authorities.
+     */
+    public static Set<GrantedAuthority> scopes(Object scopeClaim) {
+        if (scopeClaim instanceof String scopes) {
+            if (scopes.isBlank()) {
+                return Set.of();
+            }
+            Set<GrantedAuthority> cached = SCOPE_SETS.get(scopes);
+            if (cached != null) {
+                return cached;
+            }
+            return store(SCOPE_SETS, scopes, build(List.of(scopes.trim().split("\\s+")), SCOPE_PREFIX));
+        }
+        if (scopeClaim instanceof Collection<?> scopes) {
+            return lookup(SCOPE_SETS, scopes, SCOPE_PREFIX);
+        }
+        return Set.of();
+    }
+
+    /**
+     * Returns the union of two authority sets from this registry.
+     *
+     * @return an immutable set; one of the arguments if the other is empty.
+     */
+    public static Set<GrantedAuthority> union(Set<GrantedAuthority> first, Set<GrantedAuthority> second) {
+        if (first.isEmpty() || first.equals(second)) {
+            return second;
+        }
+        if (second.isEmpty()) {
+            return first;
+        }
+        Combination key = new Combination(first, second);
+        Set<GrantedAuthority> cached = COMBINED_SETS.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        Set<GrantedAuthority> union = new HashSet<>(first);
+        union.addAll(second);
+        return store(COMBINED_SETS, key, Set.copyOf(union));
+    }
+
+    private static Set<GrantedAuthority> lookup(Map<Object, Set<GrantedAuthority>> sets, Collection<?> names,
+                                                String prefix) {
+        if (names == null || names.isEmpty()) {
+            return Set.of();
+        }
+        // Only lists are cached: a List and a Set with the same names are never equal as keys
+        boolean cacheable = names instanceof List<?>;
+        if (cacheable) {
+            Set<GrantedAuthority> cached = sets.get(names);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        List<String> strings = new ArrayList<>(names.size());
+        for (Object name : names) {
+            if (name instanceof String string) {
+                strings.add(string);
+            } else {
+                cacheable = false;
+            }
+        }
+        Set<GrantedAuthority> authorities = build(strings, prefix);
+        return cacheable ? store(sets, List.copyOf(strings), authorities) : authorities;
+    }
+
+    private static Set<GrantedAuthority> build(List<String> names, String prefix) {
+        Set<GrantedAuthority> authorities = new HashSet<>();
+        for (String name : names) {
+            authorities.add(authority(prefix + name));
+        }
+        return Set.copyOf(authorities);
+    }
+
+    private static <K> Set<GrantedAuthority> store(Map<K, Set<GrantedAuthority>> sets, K key,
+                                                   Set<GrantedAuthority> authorities) {
+        if (sets.size() >= MAX_SETS) {
+            return authorities;
+        }
+        Set<GrantedAuthority> previous = sets.putIfAbsent(key, authorities);
+        return previous != null ? previous : authorities;
+    }
+
+    private record Combination(Set<GrantedAuthority> first, Set<GrantedAuthority> second) {
+    }
+}
@@ -0,0 +1,31 @@
+package com.phrmSystem.phrmSystem.config;
+
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+/**
+ * JwtDecoder that verifies a token with the delegate on its first use only, and serves it from the
+ * JwtAuthenticationCache until it expires.
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+
+    private final JwtDecoder delegate;
+    private final JwtAuthenticationCache cache;
+
+    public CachingJwtDecoder(JwtDecoder delegate, JwtAuthenticationCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        Jwt cached = cache.get(token);
+        if (cached != null) {
+            return cached;
+        }
+        Jwt jwt = delegate.decode(token);
+        cache.put(jwt);
+        return jwt;
+    }
+}
@@ -0,0 +1,96 @@
+package com.phrmSystem.phrmSystem.config;
+
+import com.phrmSystem.phrmSystem.service.impl.RequestMetrics;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+
+/**
+ * DataSource wrapper that reports every executed statement and its execution time to
+ * RequestMetrics. Connections and statements are wrapped in JDK proxies; a JDBC batch counts as
+ * one statement, since it is one round trip. A statement that takes a request over its statement
+ * budget in fail mode completes, and then fails with a StatementBudgetExceededException.
+ */
+public class InstrumentedDataSource extends DelegatingDataSource {
+
+    private static final Set<String> EXECUTE_METHODS = Set.of(
+            "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    private final RequestMetrics requestMetrics;
+
+    public InstrumentedDataSource(DataSource targetDataSource, RequestMetrics requestMetrics) {
+        super(targetDataSource);
+        this.requestMetrics = requestMetrics;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return instrument(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return instrument(super.getConnection(username, password));
+    }
+
+    private Connection instrument(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(connection, method, args);
+                    return switch (method.getName()) {
+                        case "prepareStatement" -> statement(PreparedStatement.class, (Statement) result, (String) args[0]);
+                        case "prepareCall" -> statement(CallableStatement.class, (Statement) result, (String) args[0]);
+                        case "createStatement" -> statement(Statement.class, (Statement) result, null);
+                        default -> result;
+                    };
+                });
+    }
+
+    /**
+     * Wraps a statement so its executions are timed.
+     *
+     * @param type        the JDBC interface to expose.
+     * @param statement   the statement.
+     * @param preparedSql the SQL of a prepared or callable statement, or null for a plain statement.
+     * @return the wrapped statement.
+     */
+    private <T extends Statement> T statement(Class<T> type, Statement statement, String preparedSql) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (!EXECUTE_METHODS.contains(method.getName())) {
+                return invoke(statement, method, args);
+            }
+            String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : preparedSql;
+            if (method.getName().endsWith("Batch")) {
+                sql = sql != null ? sql + " [batch]" : "[batch]";
+            }
+            long start = System.nanoTime();
+            Object result;
+            try {
+                result = invoke(statement, method, args);
+            } finally {
+                requestMetrics.recordStatement(sql, System.nanoTime() - start);
+            }
+            requestMetrics.checkStatementBudget();
+            return result;
+        };
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getTargetException();
+        }
+    }
+}
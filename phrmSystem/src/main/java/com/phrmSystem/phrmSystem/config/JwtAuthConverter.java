@@ -1,50 +1,57 @@
 package com.phrmSystem.phrmSystem.config;
 
-import jakarta.validation.constraints.NotNull;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.AbstractAuthenticationToken;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.jwt.JwtClaimNames;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
-import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
 import org.springframework.stereotype.Component;
 
 import java.util.Collection;
 import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
+/**
+ * Converts a verified Jwt to an authentication carrying its scope authorities and the roles of the
+ * configured client in resource_access as ROLE_ authorities.
+ *
+ * The authorities and principal name are computed on the first request with a token and then served
+ * from the JwtAuthenticationCache; each request still gets its own JwtAuthenticationToken, because the
+ * filter chain sets request details on it. The authorities are the canonical sets of the AuthorityRegistry.
+ */
 @Component
 public class JwtAuthConverter implements Converter<Jwt, AbstractAuthenticationToken> {
 
-    private final JwtGrantedAuthoritiesConverter jwtGrantedAuthoritiesConverter =
-            new JwtGrantedAuthoritiesConverter();
+    private final JwtAuthenticationCache jwtAuthenticationCache;
+    private final String principleAttribute;
+    private final String resourceId;
 
-    @Value("${jwt.auth.converter.resource-id.principle-attribute}")
-    private String principleAttribute;
-
-    @Value("${jwt.auth.converter.resource-id}")
-    private String resourceId;
+    public JwtAuthConverter(JwtAuthenticationCache jwtAuthenticationCache,
+                            @Value("${jwt.auth.converter.resource-id.principle-attribute}") String principleAttribute,
+                            @Value("${jwt.auth.converter.resource-id}") String resourceId) {
+        this.jwtAuthenticationCache = jwtAuthenticationCache;
+        this.principleAttribute = principleAttribute;
+        this.resourceId = resourceId;
+    }
 
     @Override
     public AbstractAuthenticationToken convert(@NonNull Jwt jwt) {
-        Collection<GrantedAuthority> authorities = Stream.concat(
-                jwtGrantedAuthoritiesConverter.convert(jwt).stream(),
-                extractResourceRoles(jwt).stream()
-        ).collect(Collectors.toSet());
-
+        JwtAuthenticationCache.Conversion conversion = jwtAuthenticationCache.conversion(jwt, this::convertClaims);
         return new JwtAuthenticationToken(
                 jwt,
-                authorities,
-                getPrincipleClaimName(jwt)
+                conversion.authorities(),
+                conversion.principalName()
         );
     }
 
+    private JwtAuthenticationCache.Conversion convertClaims(Jwt jwt) {
+        Set<GrantedAuthority> authorities = AuthorityRegistry.union(extractScopes(jwt), extractResourceRoles(jwt));
+        return new JwtAuthenticationCache.Conversion(authorities, getPrincipleClaimName(jwt));
+    }
+
     private String getPrincipleClaimName(Jwt jwt) {
         String claimName = JwtClaimNames.SUB;
         if (principleAttribute != null) {
@@ -53,24 +60,20 @@ public class JwtAuthConverter implements Converter<Jwt, AbstractAuthenticationTo
         return jwt.getClaim(claimName);
     }
 
-    private Collection<? extends GrantedAuthority> extractResourceRoles(Jwt jwt) {
-        Map<String, Object> resourceAccess;
-        Map<String, Object> resource;
-        Collection<String> resourceRoles;
-        if (jwt.getClaim("resource_access") == null) {
-            return Set.of();
-        }
-        resourceAccess = jwt.getClaim("resource_access");
+    /**
+     * Reads the scope claim, or scp if there is none, as JwtGrantedAuthoritiesConverter does.
+     */
+    private Set<GrantedAuthority> extractScopes(Jwt jwt) {
+        Object scopes = jwt.hasClaim("scope") ? jwt.getClaim("scope") : jwt.getClaim("scp");
+        return AuthorityRegistry.scopes(scopes);
+    }
 
-        if (resourceAccess.get(resourceId) == null) {
+    private Set<GrantedAuthority> extractResourceRoles(Jwt jwt) {
+        if (!(jwt.getClaims().get("resource_access") instanceof Map<?, ?> resourceAccess)
+                || !(resourceAccess.get(resourceId) instanceof Map<?, ?> resource)
+                || !(resource.get("roles") instanceof Collection<?> resourceRoles)) {
             return Set.of();
         }
-        resource = (Map<String, Object>) resourceAccess.get(resourceId);
-
-        resourceRoles = (Collection<String>) resource.get("roles");
-        return resourceRoles
-                .stream()
-                .map(role -> new SimpleGrantedAuthority("ROLE_" + role))
-                .collect(Collectors.toSet());
+        return AuthorityRegistry.roles(resourceRoles);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,170 @@
+package com.phrmSystem.phrmSystem.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Bounded, in-process cache of verified bearer tokens and their converted authorities, keyed by the
+ * SHA-256 hash of the token and valid until the token's exp claim.
+ *
+ * A client sends the same token with every request until it expires, so after the first request the
+ * signature check, the claim parsing and the authority conversion are skipped. Tokens without an
+ * exp claim are not cached. When the cache is full, expired entries are swept (at most once a
+ * second) and new tokens are not cached until there is room again; a size of 0 disables caching.
+ */
+@Component
+public class JwtAuthenticationCache {
+
+    private static final long SWEEP_INTERVAL_MILLIS = 1_000;
+
+    private final int maxEntries;
+    private final Clock clock;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong lastSweep = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public JwtAuthenticationCache(@Value("${phrm.security.token-cache-size:10000}") int maxEntries) {
+        this(maxEntries, Clock.systemUTC());
+    }
+
+    JwtAuthenticationCache(int maxEntries, Clock clock) {
+        if (maxEntries < 0) {
+            throw new IllegalArgumentException("Token cache size cannot be negative.");
+        }
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the verified Jwt cached for a token.
+     *
+     * @param token the encoded bearer token.
+     * @return the Jwt, or null if the token is not cached or has expired.
+     */
+    public Jwt get(String token) {
+        Entry entry = entry(hash(token));
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.jwt;
+    }
+
+    /**
+     * Caches a Jwt whose signature and claims have been verified, until its exp claim.
+     *
+     * @param jwt the verified Jwt.
+     */
+    public void put(Jwt jwt) {
+        Instant expiresAt = jwt.getExpiresAt();
+        if (maxEntries == 0 || expiresAt == null || !expiresAt.isAfter(clock.instant())) {
+            return;
+        }
+        if (entries.size() >= maxEntries) {
+            sweep();
+            if (entries.size() >= maxEntries) {
+                return;
+            }
+        }
+        entries.putIfAbsent(hash(jwt.getTokenValue()), new Entry(jwt, expiresAt));
+    }
+
+    /**
+     * Returns the authorities and principal name of a Jwt, converting it only on its first request.
+     *
+     * @param jwt       the verified Jwt.
+     * @param converter computes the conversion of a Jwt that has none cached yet.
+     * @return the cached or computed conversion.
+     */
+    public Conversion conversion(Jwt jwt, Function<Jwt, Conversion> converter) {
+        Entry entry = maxEntries == 0 ? null : entry(hash(jwt.getTokenValue()));
+        if (entry == null) {
+            return converter.apply(jwt);
+        }
+        Conversion conversion = entry.conversion;
+        if (conversion == null) {
+            conversion = converter.apply(jwt);
+            entry.conversion = conversion;
+        }
+        return conversion;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    private Entry entry(String key) {
+        Entry entry = entries.get(key);
+        if (entry != null && !entry.expiresAt.isAfter(clock.instant())) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry;
+    }
+
+    private void sweep() {
+        long now = clock.millis();
+        long last = lastSweep.get();
+        if (now - last < SWEEP_INTERVAL_MILLIS || !lastSweep.compareAndSet(last, now)) {
+            return;
+        }
+        Instant instant = clock.instant();
+        entries.values().removeIf(entry -> !entry.expiresAt.isAfter(instant));
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available.", ex);
+        }
+    }
+
+    /**
+     * The authorities and principal name a Jwt converts to.
+     */
+    public record Conversion(Collection<GrantedAuthority> authorities, String principalName) {
+    }
+
+    private static final class Entry {
+
+        private final Jwt jwt;
+        private final Instant expiresAt;
+        private volatile Conversion conversion;
+
+        Entry(Jwt jwt, Instant expiresAt) {
+            this.jwt = jwt;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -2,15 +2,16 @@ package com.phrmSystem.phrmSystem.config;
 
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.oauth2.jwt.Jwt;
 
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Set;
 
+/**
+ * Converts the realm roles in realm_access to authorities named after the roles, taken from the
+ * AuthorityRegistry.
+ */
 public class KeycloakAuthorityConverter implements Converter<Jwt, Collection<GrantedAuthority>> {
 
     /**
@@ -22,16 +23,10 @@ public class KeycloakAuthorityConverter implements Converter<Jwt, Collection<Gra
      */
     @Override
     public Collection<GrantedAuthority> convert(Jwt source) {
-
-        Map<String, Object> realm = (Map<String, Object>) source.getClaims().get("realm_access");
-        if (realm == null || realm.isEmpty()) {
-            return new ArrayList();
+        if (!(source.getClaims().get("realm_access") instanceof Map<?, ?> realm)
+                || !(realm.get("roles") instanceof Collection<?> roles)) {
+            return Set.of();
         }
-
-        Collection<GrantedAuthority> authorities = ((List<String>) realm.get("roles"))
-                .stream()
-                .map(SimpleGrantedAuthority::new)
-                .collect(Collectors.toList());
-        return authorities;
+        return AuthorityRegistry.authorities(roles);
     }
 }
@@ -0,0 +1,72 @@
+package com.phrmSystem.phrmSystem.config;
+
+import com.phrmSystem.phrmSystem.service.impl.RequestMetrics;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.Repository;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+
+/**
+ * Wires RequestMetrics into the application: controller calls under /api are timed by
+ * RequestMetricsInterceptor, the DataSource is wrapped to count and time SQL statements, and every
+ * Spring Data repository is proxied to time its methods.
+ */
+@Configuration
+public class MetricsConfig implements WebMvcConfigurer {
+
+    private final RequestMetrics requestMetrics;
+
+    public MetricsConfig(RequestMetrics requestMetrics) {
+        this.requestMetrics = requestMetrics;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new RequestMetricsInterceptor(requestMetrics)).addPathPatterns("/api/**");
+    }
+
+    /**
+     * Static, and looking RequestMetrics up lazily, so the post-processor is registered before the
+     * beans it wraps are created.
+     */
+    @Bean
+    public static BeanPostProcessor metricsBeanPostProcessor(ObjectProvider<RequestMetrics> requestMetrics) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof InstrumentedDataSource)) {
+                    return new InstrumentedDataSource(dataSource, requestMetrics.getObject());
+                }
+                if (bean instanceof Repository<?, ?>) {
+                    return timed(bean, requestMetrics.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static Object timed(Object repository, RequestMetrics requestMetrics) {
+        Class<?>[] interfaces = AopProxyUtils.proxiedUserInterfaces(repository);
+        String repositoryName = interfaces[0].getSimpleName();
+        ProxyFactory proxyFactory = new ProxyFactory(repository);
+        proxyFactory.setInterfaces(interfaces);
+        proxyFactory.addAdvice((MethodInterceptor) invocation -> {
+            long start = System.nanoTime();
+            try {
+                return invocation.proceed();
+            } finally {
+                requestMetrics.recordRepositoryCall(repositoryName + "." + invocation.getMethod().getName(),
+                        System.nanoTime() - start);
+            }
+        });
+        return proxyFactory.getProxy();
+    }
+}
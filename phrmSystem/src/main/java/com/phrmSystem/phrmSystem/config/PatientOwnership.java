@@ -0,0 +1,47 @@
+package com.phrmSystem.phrmSystem.config;
+
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+/**
+ * Decides which patient records the current caller may see, from the authentication alone.
+ *
+ * Admins and doctors see every patient. A caller with only the client_patient role is restricted to
+ * the records of the user whose username is their principal name; the patient queries take that
+ * username as their owner parameter and filter on it in SQL, so authorization adds no round trip
+ * and rows of other patients are never loaded. Calls without an authentication (startup data,
+ * background jobs) are not restricted.
+ */
+@Component
+public class PatientOwnership {
+
+    private static final GrantedAuthority ADMIN = AuthorityRegistry.authority(AuthorityRegistry.ROLE_PREFIX + "client_admin");
+    private static final GrantedAuthority DOCTOR = AuthorityRegistry.authority(AuthorityRegistry.ROLE_PREFIX + "client_doctor");
+
+    /**
+     * Returns the username the current caller's patient queries are restricted to.
+     *
+     * @return the caller's username, or null if the caller may see every patient.
+     * @throws AccessDeniedException if the caller is restricted but their token has no principal name.
+     */
+    public String ownerUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return null;
+        }
+        Collection<? extends GrantedAuthority> authorities = authentication.getAuthorities();
+        if (authorities.contains(ADMIN) || authorities.contains(DOCTOR)) {
+            return null;
+        }
+        String username = authentication.getName();
+        if (username == null || username.isBlank()) {
+            throw new AccessDeniedException("The token does not name the patient it belongs to.");
+        }
+        return username;
+    }
+}
@@ -0,0 +1,149 @@
+package com.phrmSystem.phrmSystem.config;
+
+import com.nimbusds.jose.KeySourceException;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.SecurityContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * JWK set of the identity provider, fetched at startup and refreshed in the background, so that
+ * verifying a token never waits for the JWKS endpoint.
+ *
+ * A token signed with a key ID that is not in the current set (the provider rotated its keys) triggers
+ * an immediate refresh, at most once per minimum refresh interval. If a background refresh fails the
+ * previous set is kept.
+ */
+public class RefreshingJwkSource implements JWKSource<SecurityContext> {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshingJwkSource.class);
+
+    private static final int CONNECT_TIMEOUT_MILLIS = 5_000;
+    private static final int READ_TIMEOUT_MILLIS = 5_000;
+    private static final int SIZE_LIMIT_BYTES = 512 * 1024;
+
+    private final JwkSetLoader loader;
+    private final Duration refreshInterval;
+    private final Duration minRefreshInterval;
+    // Held across the JWKS download; a monitor here would pin a virtual thread for the whole HTTP call.
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    // Guards the scheduler only, so that starting or stopping never waits for a refresh in progress.
+    private final Object schedulerLock = new Object();
+
+    private volatile JWKSet jwkSet;
+    private volatile long lastRefreshNanos;
+    private ScheduledExecutorService scheduler;
+
+    public RefreshingJwkSource(JwkSetLoader loader, Duration refreshInterval, Duration minRefreshInterval) {
+        if (refreshInterval.isNegative() || refreshInterval.isZero() || minRefreshInterval.isNegative()) {
+            throw new IllegalArgumentException("JWKS refresh intervals must be positive.");
+        }
+        this.loader = loader;
+        this.refreshInterval = refreshInterval;
+        this.minRefreshInterval = minRefreshInterval;
+        this.lastRefreshNanos = System.nanoTime() - minRefreshInterval.toNanos();
+    }
+
+    /**
+     * Creates a source that loads the JWK set from a JWKS endpoint.
+     *
+     * @param jwkSetUri the URI of the JWKS endpoint.
+     */
+    public static RefreshingJwkSource forUri(String jwkSetUri, Duration refreshInterval, Duration minRefreshInterval) {
+        URI uri = URI.create(jwkSetUri.trim());
+        return new RefreshingJwkSource(
+                () -> JWKSet.load(uri.toURL(), CONNECT_TIMEOUT_MILLIS, READ_TIMEOUT_MILLIS, SIZE_LIMIT_BYTES),
+                refreshInterval, minRefreshInterval);
+    }
+
+    /**
+     * Fetches the JWK set now and then every refresh interval on a background thread.
+     */
+    public void start() {
+        synchronized (schedulerLock) {
+            if (scheduler != null) {
+                return;
+            }
+            scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "jwks-refresh");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.scheduleWithFixedDelay(this::refreshQuietly, 0, refreshInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public void stop() {
+        synchronized (schedulerLock) {
+            if (scheduler != null) {
+                scheduler.shutdownNow();
+                scheduler = null;
+            }
+        }
+    }
+
+    @Override
+    public List<JWK> get(JWKSelector jwkSelector, SecurityContext context) throws KeySourceException {
+        JWKSet current = jwkSet;
+        if (current == null) {
+            current = refresh(current);
+        }
+        List<JWK> keys = jwkSelector.select(current);
+        if (keys.isEmpty() && System.nanoTime() - lastRefreshNanos >= minRefreshInterval.toNanos()) {
+            keys = jwkSelector.select(refresh(current));
+        }
+        return keys;
+    }
+
+    /**
+     * Loads the JWK set unless another thread replaced the given one in the meantime.
+     */
+    private JWKSet refresh(JWKSet stale) throws KeySourceException {
+        refreshLock.lock();
+        try {
+            if (jwkSet != stale) {
+                return jwkSet;
+            }
+            try {
+                JWKSet loaded = loader.load();
+                jwkSet = loaded;
+                return loaded;
+            } catch (IOException | ParseException ex) {
+                throw new KeySourceException("Failed to load the JWK set: " + ex.getMessage(), ex);
+            } finally {
+                lastRefreshNanos = System.nanoTime();
+            }
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh(jwkSet);
+        } catch (KeySourceException | RuntimeException ex) {
+            log.warn("JWK set refresh failed, keeping the previous keys: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * Loads the current JWK set.
+     */
+    @FunctionalInterface
+    public interface JwkSetLoader {
+        JWKSet load() throws IOException, ParseException;
+    }
+}
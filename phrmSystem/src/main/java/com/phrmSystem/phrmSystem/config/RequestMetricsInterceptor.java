@@ -0,0 +1,39 @@
+package com.phrmSystem.phrmSystem.config;
+
+import com.phrmSystem.phrmSystem.service.impl.RequestMetrics;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Times every controller call and attributes the SQL statements it executes to the controller
+ * method, for RequestMetrics.
+ */
+public class RequestMetricsInterceptor implements HandlerInterceptor {
+
+    private static final String START_ATTRIBUTE = RequestMetricsInterceptor.class.getName() + ".start";
+
+    private final RequestMetrics requestMetrics;
+
+    public RequestMetricsInterceptor(RequestMetrics requestMetrics) {
+        this.requestMetrics = requestMetrics;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod handlerMethod) {
+            request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+            requestMetrics.beginRequest(handlerMethod.getBeanType().getSimpleName()
+                    + "." + handlerMethod.getMethod().getName());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(START_ATTRIBUTE) instanceof Long start) {
+            requestMetrics.endRequest(System.nanoTime() - start);
+        }
+    }
+}
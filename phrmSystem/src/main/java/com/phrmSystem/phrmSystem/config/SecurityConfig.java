@@ -1,7 +1,12 @@
 package com.phrmSystem.phrmSystem.config;
 
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
 import lombok.AllArgsConstructor;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -14,9 +19,11 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.JwtDecoders;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
 import org.springframework.security.web.SecurityFilterChain;
 
+import java.time.Duration;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -51,6 +58,9 @@ public class SecurityConfig {
                                         .requestMatchers("/api/diagnoses/**").hasAnyRole("client_admin", "client_doctor") // Diagnoses managed by doctors and admins
                                         .requestMatchers("/api/sick-days/**").hasAnyRole("client_admin", "client_doctor") // Sick days managed by doctors and admins
                                         .requestMatchers("/api/illness-histories/**").hasAnyRole("client_admin", "client_doctor") // Illness histories accessed by doctors and admins
+                                        .requestMatchers("/api/reports/**").hasAnyRole("client_admin", "client_doctor") // Cached dashboard reports
+                                        .requestMatchers("/api/metrics/**").hasRole("client_admin") // Request and SQL metrics for operators
+                                        .requestMatchers("/api/exports/**").hasRole("client_admin") // Full data exports for regulators
                                         .requestMatchers("/api/demo/**").permitAll() // Public endpoints for demonstration purposes
                                         .anyRequest().authenticated() // All other requests require authentication
 //                                        .anyRequest().permitAll()
@@ -66,5 +76,29 @@ public class SecurityConfig {
         return http.build();
     }
 
+    /**
+     * Keys of the identity provider, fetched at startup and refreshed in the background.
+     */
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public RefreshingJwkSource jwkSource(@Value("${spring.security.oauth2.resourceserver.jwt.jwk-set-uri}") String jwkSetUri,
+                                         @Value("${phrm.security.jwks-refresh-seconds:300}") long refreshSeconds,
+                                         @Value("${phrm.security.jwks-min-refresh-seconds:30}") long minRefreshSeconds) {
+        return RefreshingJwkSource.forUri(jwkSetUri, Duration.ofSeconds(refreshSeconds), Duration.ofSeconds(minRefreshSeconds));
+    }
+
+    /**
+     * Verifies RS256 bearer tokens against the prefetched keys, with NimbusJwtDecoder's default
+     * validators (exp and nbf with clock skew), and caches verified tokens until they expire.
+     */
+    @Bean
+    public JwtDecoder jwtDecoder(RefreshingJwkSource jwkSource, JwtAuthenticationCache jwtAuthenticationCache) {
+        DefaultJWTProcessor<SecurityContext> jwtProcessor = new DefaultJWTProcessor<>();
+        jwtProcessor.setJWSKeySelector(new JWSVerificationKeySelector<>(JWSAlgorithm.RS256, jwkSource));
+        // Claims are validated by NimbusJwtDecoder, as in the decoder Spring Boot would configure
+        jwtProcessor.setJWTClaimsSetVerifier((claims, context) -> {
+        });
+        return new CachingJwtDecoder(new NimbusJwtDecoder(jwtProcessor), jwtAuthenticationCache);
+    }
+
 
 }
@@ -1,7 +1,5 @@
 package com.phrmSystem.phrmSystem.data.entity;
 
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.MappedSuperclass;
 import lombok.Getter;
@@ -16,8 +14,12 @@ import lombok.Setter;
 @MappedSuperclass
 public class BaseEntity {
 
+    /**
+     * Ids come from a pooled sequence or hi/lo table (see ConfigurableIdGenerator): Hibernate reserves
+     * a block of ids per round trip, so inserts can be JDBC-batched, which IDENTITY prevents.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @ConfigurableId
     private Long id;
 
 }
@@ -0,0 +1,22 @@
+package com.phrmSystem.phrmSystem.data.entity;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Generates the annotated id with a {@link ConfigurableIdGenerator}.
+ */
+@IdGeneratorType(ConfigurableIdGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface ConfigurableId {
+
+    /**
+     * The name of the sequence or table the ids are reserved from.
+     */
+    String sequenceName() default "entity_id_seq";
+}
@@ -0,0 +1,67 @@
+package com.phrmSystem.phrmSystem.data.entity;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.config.spi.StandardConverters;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * Id generator shared by all entities. It is a {@link SequenceStyleGenerator} whose storage and optimizer
+ * are read from the JPA properties, so the strategy can be changed per environment without touching the mappings:
+ *
+ * <ul>
+ *     <li>{@code phrm.id.strategy}: {@code sequence} (default) uses a database sequence where the dialect
+ *     supports one (H2) and a single-row table otherwise (MySQL); {@code table} always uses the table.</li>
+ *     <li>{@code phrm.id.optimizer}: {@code pooled} (default), {@code pooled-lo} or {@code hilo}.</li>
+ *     <li>{@code phrm.id.increment-size}: ids reserved per round trip, 50 by default.</li>
+ * </ul>
+ *
+ * The stored value means something different for each optimizer, so switching optimizers on an existing
+ * database requires resetting the entity_id_seq sequence or table. Ids are mapped with {@link ConfigurableId}.
+ */
+public class ConfigurableIdGenerator extends SequenceStyleGenerator {
+
+    public static final String STRATEGY_SETTING = "phrm.id.strategy";
+    public static final String OPTIMIZER_SETTING = "phrm.id.optimizer";
+    public static final String INCREMENT_SIZE_SETTING = "phrm.id.increment-size";
+
+    private static final Set<String> STRATEGIES = Set.of("sequence", "table");
+    private static final Set<String> OPTIMIZERS = Set.of("pooled", "pooled-lo", "hilo");
+
+    private final String sequenceName;
+
+    public ConfigurableIdGenerator(ConfigurableId config) {
+        this.sequenceName = config.sequenceName();
+    }
+
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) throws MappingException {
+        ConfigurationService configuration = serviceRegistry.requireService(ConfigurationService.class);
+        String strategy = configuration.getSetting(STRATEGY_SETTING, StandardConverters.STRING, "sequence");
+        String optimizer = configuration.getSetting(OPTIMIZER_SETTING, StandardConverters.STRING, "pooled");
+        Integer incrementSize = configuration.getSetting(INCREMENT_SIZE_SETTING, StandardConverters.INTEGER, 50);
+
+        if (!STRATEGIES.contains(strategy)) {
+            throw new IllegalArgumentException("Unsupported " + STRATEGY_SETTING + ": " + strategy
+                    + ". Use one of " + STRATEGIES + ".");
+        }
+        if (!OPTIMIZERS.contains(optimizer)) {
+            throw new IllegalArgumentException("Unsupported " + OPTIMIZER_SETTING + ": " + optimizer
+                    + ". Use one of " + OPTIMIZERS + ".");
+        }
+        if (incrementSize < 1) {
+            throw new IllegalArgumentException(INCREMENT_SIZE_SETTING + " must be positive.");
+        }
+
+        parameters.put(SEQUENCE_PARAM, sequenceName);
+        parameters.put(FORCE_TBL_PARAM, String.valueOf(strategy.equals("table")));
+        parameters.put(OPT_PARAM, optimizer);
+        parameters.put(INCREMENT_PARAM, String.valueOf(incrementSize));
+        super.configure(type, parameters, serviceRegistry);
+    }
+}
@@ -11,7 +11,11 @@ import java.util.Set;
 @Getter
 @Setter
 @ToString
-@Table(name = "doctor_appointments")
+@Table(name = "doctor_appointments", indexes = {
+        @Index(name = "idx_doctor_appointments_doctor_date", columnList = "doctor_id, date"),
+        @Index(name = "idx_doctor_appointments_patient_date", columnList = "patient_id, date"),
+        @Index(name = "idx_doctor_appointments_date", columnList = "date")
+})
 public class DoctorAppointment extends BaseEntity {
 
     @Column(name = "date", nullable = false)
@@ -11,7 +11,9 @@ import java.util.Set;
 @Getter
 @Setter
 @ToString
-@Table(name = "sick_days")
+@Table(name = "sick_days", indexes = {
+        @Index(name = "idx_sick_days_start_date", columnList = "start_date")
+})
 public class SickDay extends BaseEntity {
 
     @Column(name = "start_date", nullable = false)
@@ -28,6 +30,11 @@ public class SickDay extends BaseEntity {
     private User patient;
 
     @ManyToMany(fetch = FetchType.EAGER)
+    @JoinTable(
+            name = "sick_days_diagnosis",
+            joinColumns = @JoinColumn(name = "sick_day_id"),
+            inverseJoinColumns = @JoinColumn(name = "diagnosis_id")
+    )
     private Set<Diagnosis> diagnosis;
 
     @ManyToOne(fetch = FetchType.EAGER)
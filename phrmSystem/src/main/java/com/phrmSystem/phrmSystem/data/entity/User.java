@@ -1,5 +1,6 @@
 package com.phrmSystem.phrmSystem.data.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -14,7 +15,9 @@ import java.util.Set;
 @Getter
 @Setter
 @ToString
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        @Index(name = "idx_users_personal_doctor", columnList = "personal_doctor_id")
+})
 public class User extends BaseEntity {
 
     @Column(name = "first_name", nullable = false)
@@ -23,6 +26,13 @@ public class User extends BaseEntity {
     @Column(name = "last_name", nullable = false)
     private String lastName;
 
+    /**
+     * The user's login name at the identity provider (the token's principal claim), which ties a
+     * bearer token to its own patient records.
+     */
+    @Column(name = "username", nullable = true, unique = true)
+    private String username;
+
     @ManyToMany
     @JoinTable(
             name = "roles_user", // Intermediate table
@@ -47,6 +57,16 @@ public class User extends BaseEntity {
     @OneToMany(mappedBy = "patient")
     private Set<DoctorAppointment> doctorAppointment = new HashSet<>();
 
+    /**
+     * The patient's personal doctor. Not serialised with the patient; it is assigned through
+     * PatientService.assignPersonalDoctor, which also keeps the per-doctor patient counters current.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "personal_doctor_id", nullable = true)
+    @JsonIgnore
+    @ToString.Exclude
+    private User personalDoctor;
+
     //--------------------------------DOCTOR------------------------------------
     @Column(name = "unique_id", nullable = true, unique = true)
     private String uniqueId;
@@ -0,0 +1,12 @@
+package com.phrmSystem.phrmSystem.data.projection;
+
+/**
+ * Scalar columns of a diagnosis, with its appointment reduced to its ID.
+ */
+public record AppointmentDiagnosisRow(
+        Long id,
+        String diagnosisName,
+        String diagnosisDescription,
+        Long appointmentId
+) {
+}
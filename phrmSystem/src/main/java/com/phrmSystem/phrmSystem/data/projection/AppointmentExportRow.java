@@ -0,0 +1,17 @@
+package com.phrmSystem.phrmSystem.data.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * A row of the appointment to diagnosis outer join: the scalar columns of an appointment with the
+ * name of one of its diagnoses, or null for an appointment without diagnoses.
+ */
+public record AppointmentExportRow(
+        Long id,
+        LocalDateTime date,
+        Long doctorId,
+        Long patientId,
+        Long illnessHistoryId,
+        String diagnosisName
+) {
+}
@@ -0,0 +1,14 @@
+package com.phrmSystem.phrmSystem.data.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * An appointment reduced to its time and the IDs of its doctor and patient.
+ */
+public record AppointmentSlot(
+        Long appointmentId,
+        Long doctorId,
+        LocalDateTime date,
+        Long patientId
+) {
+}
@@ -0,0 +1,7 @@
+package com.phrmSystem.phrmSystem.data.projection;
+
+/**
+ * Number of sick days that list a diagnosis with a given name, over all diagnoses sharing the name.
+ */
+public record DiagnosisNameCount(String diagnosisName, long sickDays) {
+}
@@ -0,0 +1,7 @@
+package com.phrmSystem.phrmSystem.data.projection;
+
+/**
+ * Number of sick days that list a diagnosis.
+ */
+public record DiagnosisSickDayCount(Long diagnosisId, String diagnosisName, long sickDays) {
+}
@@ -0,0 +1,7 @@
+package com.phrmSystem.phrmSystem.data.projection;
+
+/**
+ * Number of appointments booked with a doctor.
+ */
+public record DoctorAppointmentCount(Long doctorId, String doctorName, long appointments) {
+}
@@ -0,0 +1,16 @@
+package com.phrmSystem.phrmSystem.data.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Scalar columns of a patient's appointment, with the doctor's full name and the illness history
+ * reduced to its ID.
+ */
+public record PatientAppointmentRow(
+        Long id,
+        LocalDateTime date,
+        Long doctorId,
+        String doctorName,
+        Long illnessHistoryId
+) {
+}
@@ -0,0 +1,7 @@
+package com.phrmSystem.phrmSystem.data.projection;
+
+/**
+ * Number of patients who have a given doctor as their personal doctor.
+ */
+public record PersonalDoctorPatientCount(Long doctorId, Long patients) {
+}
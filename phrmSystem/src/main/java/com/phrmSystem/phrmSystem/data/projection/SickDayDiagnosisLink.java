@@ -0,0 +1,7 @@
+package com.phrmSystem.phrmSystem.data.projection;
+
+/**
+ * A single row of the sick day to diagnosis join table.
+ */
+public record SickDayDiagnosisLink(Long sickDayId, Long diagnosisId) {
+}
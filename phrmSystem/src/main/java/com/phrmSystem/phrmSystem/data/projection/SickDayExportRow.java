@@ -0,0 +1,19 @@
+package com.phrmSystem.phrmSystem.data.projection;
+
+import java.time.LocalDate;
+
+/**
+ * A row of the sick day to diagnosis outer join: the scalar columns of a sick day with the ID and
+ * name of one of its diagnoses, or nulls for a sick day without diagnoses.
+ */
+public record SickDayExportRow(
+        Long id,
+        LocalDate startDate,
+        LocalDate endDate,
+        int numberOfDays,
+        Long patientId,
+        Long doctorId,
+        Long diagnosisId,
+        String diagnosisName
+) {
+}
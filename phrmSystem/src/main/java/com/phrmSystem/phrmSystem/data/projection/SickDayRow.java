@@ -0,0 +1,16 @@
+package com.phrmSystem.phrmSystem.data.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Scalar columns of a sick day, with its patient and doctor reduced to their IDs.
+ */
+public record SickDayRow(
+        Long id,
+        LocalDate startDate,
+        LocalDate endDate,
+        int numberOfDays,
+        Long patientId,
+        Long doctorId
+) {
+}
@@ -0,0 +1,7 @@
+package com.phrmSystem.phrmSystem.data.projection;
+
+/**
+ * Number of sick days a doctor issued that start in a given month.
+ */
+public record SickLeaveCount(Integer year, Integer month, Long doctorId, Long sickDays) {
+}
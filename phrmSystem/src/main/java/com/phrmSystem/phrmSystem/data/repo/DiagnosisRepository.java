@@ -1,11 +1,20 @@
 package com.phrmSystem.phrmSystem.data.repo;
 
 import com.phrmSystem.phrmSystem.data.entity.Diagnosis;
+import com.phrmSystem.phrmSystem.data.projection.AppointmentDiagnosisRow;
+import com.phrmSystem.phrmSystem.data.projection.DiagnosisNameCount;
+import com.phrmSystem.phrmSystem.data.projection.DiagnosisSickDayCount;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface DiagnosisRepository extends JpaRepository<Diagnosis, Long> {
@@ -19,18 +28,33 @@ public interface DiagnosisRepository extends JpaRepository<Diagnosis, Long> {
     List<Diagnosis> findByDiagnosisName(String diagnosisName);
 
     /**
-     * Retrieves the most common diagnoses along with their count.
+     * Retrieves the most common diagnosis names with the number of sick days listing them, most
+     * common first.
      *
-     * @return a list of objects where each object contains the diagnosis name and the number of occurrences.
+     * @return the diagnosis names and their sick day counts.
      */
     @Query("""
-        SELECT d.diagnosisName, COUNT(s)
-        FROM Diagnosis d 
-        JOIN d.sickDays s 
-        GROUP BY d.diagnosisName 
-        ORDER BY COUNT(s) DESC
+        SELECT new com.phrmSystem.phrmSystem.data.projection.DiagnosisNameCount(d.diagnosisName, COUNT(s))
+        FROM SickDay s
+        JOIN s.diagnosis d
+        GROUP BY d.diagnosisName
+        ORDER BY COUNT(s) DESC, d.diagnosisName ASC
+    """)
+    List<DiagnosisNameCount> findMostCommonDiagnoses();
+
+    /**
+     * Counts, per diagnosis, the sick days that list it.
+     * This is the source the incrementally maintained diagnosis counters are reconciled against.
+     *
+     * @return one count per diagnosis that appears on at least one sick day.
+     */
+    @Query("""
+        SELECT new com.phrmSystem.phrmSystem.data.projection.DiagnosisSickDayCount(d.id, d.diagnosisName, COUNT(s))
+        FROM SickDay s
+        JOIN s.diagnosis d
+        GROUP BY d.id, d.diagnosisName
     """)
-    List<Object[]> findMostCommonDiagnoses();
+    List<DiagnosisSickDayCount> countSickDaysPerDiagnosis();
 
     /**
      * Finds all diagnoses associated with a specific doctor appointment.
@@ -45,4 +69,39 @@ public interface DiagnosisRepository extends JpaRepository<Diagnosis, Long> {
         WHERE da.id = :appointmentId
     """)
     List<Diagnosis> findDiagnosesByDoctorAppointmentId(Long appointmentId);
+
+    /**
+     * Retrieves the diagnoses of the given appointments as scalar rows, ordered by ID.
+     *
+     * @param appointmentIds the IDs of the doctor appointments.
+     * @return one row per diagnosis made at one of the appointments.
+     */
+    @Query("""
+        SELECT new com.phrmSystem.phrmSystem.data.projection.AppointmentDiagnosisRow(
+            d.id, d.diagnosisName, d.diagnosisDescription, d.doctorAppointment.id)
+        FROM Diagnosis d
+        WHERE d.doctorAppointment.id IN :appointmentIds
+        ORDER BY d.id ASC
+    """)
+    List<AppointmentDiagnosisRow> findRowsByAppointmentIds(@Param("appointmentIds") Collection<Long> appointmentIds);
+
+    /**
+     * Streams every diagnosis as a scalar row, ordered by ID. The minimum fetch size makes MySQL
+     * Connector/J stream the rows one at a time instead of buffering the result, so no other statement
+     * may run on the connection until the stream is closed; it must be consumed inside a transaction.
+     *
+     * @return one row per diagnosis.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+        SELECT new com.phrmSystem.phrmSystem.data.projection.AppointmentDiagnosisRow(
+            d.id, d.diagnosisName, d.diagnosisDescription, da.id)
+        FROM Diagnosis d
+        LEFT JOIN d.doctorAppointment da
+        ORDER BY d.id ASC
+    """)
+    Stream<AppointmentDiagnosisRow> streamAllRows();
 }
@@ -1,13 +1,23 @@
 package com.phrmSystem.phrmSystem.data.repo;
 
 import com.phrmSystem.phrmSystem.data.entity.DoctorAppointment;
+import com.phrmSystem.phrmSystem.data.projection.AppointmentExportRow;
+import com.phrmSystem.phrmSystem.data.projection.AppointmentSlot;
+import com.phrmSystem.phrmSystem.data.projection.DoctorAppointmentCount;
+import com.phrmSystem.phrmSystem.data.projection.PatientAppointmentRow;
+import com.phrmSystem.phrmSystem.dto.AppointmentDTO;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface DoctorAppointmentRepository extends JpaRepository<DoctorAppointment, Long> {
@@ -20,6 +30,133 @@ public interface DoctorAppointmentRepository extends JpaRepository<DoctorAppoint
     @Query("SELECT da FROM DoctorAppointment da WHERE da.patient.id = :patientId")
     List<DoctorAppointment> findAppointmentsByPatientId(Long patientId);
 
+    /**
+     * Loads every appointment as a slot, without materializing the doctor and patient entities.
+     *
+     * @return one slot per appointment.
+     */
+    @Query("""
+        SELECT new com.phrmSystem.phrmSystem.data.projection.AppointmentSlot(
+            da.id, da.doctor.id, da.date, da.patient.id)
+        FROM DoctorAppointment da
+    """)
+    List<AppointmentSlot> findAllSlots();
+
+    /**
+     * Streams every appointment as a slot, ordered by ID. The minimum fetch size makes MySQL
+     * Connector/J stream the rows one at a time instead of buffering the result, so no other statement
+     * may run on the connection until the stream is closed; it must be consumed inside a transaction.
+     *
+     * @return one slot per appointment.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+        SELECT new com.phrmSystem.phrmSystem.data.projection.AppointmentSlot(
+            da.id, da.doctor.id, da.date, da.patient.id)
+        FROM DoctorAppointment da
+        ORDER BY da.id ASC
+    """)
+    Stream<AppointmentSlot> streamAllSlots();
+
+    /**
+     * Streams the appointments after the given ID joined with their diagnoses, ordered by appointment
+     * ID so that the rows of one appointment are adjacent. The minimum fetch size makes MySQL
+     * Connector/J stream the rows one at a time, so no other statement may run on the connection until
+     * the stream is closed; it must be consumed inside a transaction.
+     *
+     * @param afterId the ID to start after, 0 for all appointments.
+     * @param from    the earliest appointment date to include, or null.
+     * @return one row per appointment and diagnosis pair, and one row with a null diagnosis per appointment without diagnoses.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+        SELECT new com.phrmSystem.phrmSystem.data.projection.AppointmentExportRow(
+            da.id, da.date, da.doctor.id, da.patient.id, h.id, d.diagnosisName)
+        FROM DoctorAppointment da
+        LEFT JOIN da.patientIllnessHistory h
+        LEFT JOIN da.diagnosis d
+        WHERE da.id > :afterId
+          AND (:from IS NULL OR da.date >= :from)
+        ORDER BY da.id ASC, d.id ASC
+    """)
+    Stream<AppointmentExportRow> streamForExport(@Param("afterId") Long afterId, @Param("from") LocalDateTime from);
+
+    /**
+     * Retrieves a patient's appointments as rows with the doctor's full name, in one query and
+     * without loading the doctor entities, ordered by date and ID.
+     *
+     * @param patientId the ID of the patient.
+     * @param owner     the username the caller is restricted to, or null for unrestricted access.
+     * @return the patient's appointments, or none if the caller does not own them.
+     */
+    @Query("""
+        SELECT new com.phrmSystem.phrmSystem.data.projection.PatientAppointmentRow(
+            da.id, da.date, d.id, CONCAT(d.firstName, ' ', d.lastName), h.id)
+        FROM DoctorAppointment da
+        JOIN da.patient p
+        LEFT JOIN da.doctor d
+        LEFT JOIN da.patientIllnessHistory h
+        WHERE p.id = :patientId
+          AND (:owner IS NULL OR p.username = :owner)
+        ORDER BY da.date ASC, da.id ASC
+    """)
+    List<PatientAppointmentRow> findAppointmentRowsByPatientId(@Param("patientId") Long patientId,
+                                                               @Param("owner") String owner);
+
+    /**
+     * Retrieves a doctor's appointments as AppointmentDTO rows with the patient's full name, in one
+     * query and without loading the patient entities, ordered by date and ID.
+     *
+     * @param doctorId the ID of the doctor.
+     * @return the doctor's appointments.
+     */
+    @Query("""
+        SELECT new com.phrmSystem.phrmSystem.dto.AppointmentDTO(
+            da.id, CONCAT(COALESCE(p.firstName, 'null'), ' ', COALESCE(p.lastName, 'null')), da.date)
+        FROM DoctorAppointment da
+        JOIN da.patient p
+        WHERE da.doctor.id = :doctorId
+        ORDER BY da.date ASC, da.id ASC
+    """)
+    List<AppointmentDTO> findAppointmentRowsByDoctorId(@Param("doctorId") Long doctorId);
+
+    /**
+     * Retrieves the next page of a doctor's appointments as AppointmentDTO rows, ordered by date and ID,
+     * starting after the position (afterDate, afterId) of the last row of the previous page.
+     * Optional bounds filter on the appointment date; pass null to leave a bound open.
+     *
+     * @param doctorId  the ID of the doctor.
+     * @param afterDate the date of the last appointment of the previous page, or null for the first page.
+     * @param afterId   the ID of the last appointment of the previous page, 0 for the first page.
+     * @param from      the earliest appointment time to include, or null.
+     * @param to        the appointment time before which to stop, exclusive, or null.
+     * @param pageable  the page limit; only the size is used.
+     * @return the appointment rows of the page.
+     */
+    @Query("""
+        SELECT new com.phrmSystem.phrmSystem.dto.AppointmentDTO(
+            da.id, CONCAT(COALESCE(p.firstName, 'null'), ' ', COALESCE(p.lastName, 'null')), da.date)
+        FROM DoctorAppointment da
+        JOIN da.patient p
+        WHERE da.doctor.id = :doctorId
+          AND (:afterDate IS NULL OR da.date > :afterDate OR (da.date = :afterDate AND da.id > :afterId))
+          AND (:from IS NULL OR da.date >= :from)
+          AND (:to IS NULL OR da.date < :to)
+        ORDER BY da.date ASC, da.id ASC
+    """)
+    List<AppointmentDTO> findAppointmentRowsByDoctorIdAfter(@Param("doctorId") Long doctorId,
+                                                            @Param("afterDate") LocalDateTime afterDate,
+                                                            @Param("afterId") Long afterId,
+                                                            @Param("from") LocalDateTime from,
+                                                            @Param("to") LocalDateTime to,
+                                                            Pageable pageable);
+
     // Find appointments within a specific date range
     @Query("SELECT da FROM DoctorAppointment da WHERE da.date BETWEEN :startDate AND :endDate")
     List<DoctorAppointment> findAppointmentsBetweenDates(LocalDateTime startDate, LocalDateTime endDate);
@@ -27,8 +164,26 @@ public interface DoctorAppointmentRepository extends JpaRepository<DoctorAppoint
     //---------------------------------------------------------------------------------
 
 
-    @Query("SELECT da.doctor, COUNT(da) FROM DoctorAppointment da GROUP BY da.doctor")
-    List<Object[]> countAppointmentsPerDoctor();
+    /**
+     * Counts the appointments per doctor in a date range, selecting only the doctor's ID and name,
+     * most booked doctors first.
+     *
+     * @param from the first appointment time to count, or null for no lower bound.
+     * @param to   the end of the range (exclusive), or null for no upper bound.
+     * @return the appointment count of every doctor with appointments in the range.
+     */
+    @Query("""
+        SELECT new com.phrmSystem.phrmSystem.data.projection.DoctorAppointmentCount(
+            d.id, CONCAT(d.firstName, ' ', d.lastName), COUNT(da))
+        FROM DoctorAppointment da
+        JOIN da.doctor d
+        WHERE (:from IS NULL OR da.date >= :from)
+          AND (:to IS NULL OR da.date < :to)
+        GROUP BY d.id, d.firstName, d.lastName
+        ORDER BY COUNT(da) DESC, d.id ASC
+    """)
+    List<DoctorAppointmentCount> countAppointmentsPerDoctor(@Param("from") LocalDateTime from,
+                                                            @Param("to") LocalDateTime to);
 
     @Query("SELECT da FROM DoctorAppointment da WHERE da.doctor.id = :doctorId AND da.date BETWEEN :startDate AND :endDate")
     List<DoctorAppointment> findAppointmentsByDoctorIdAndDateRange(
@@ -1,8 +1,13 @@
 package com.phrmSystem.phrmSystem.data.repo;
 
 import com.phrmSystem.phrmSystem.data.entity.User;
+import com.phrmSystem.phrmSystem.data.projection.PersonalDoctorPatientCount;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -19,6 +24,11 @@ public interface DoctorRepository extends JpaRepository<User, Long> {
     @Query("SELECT u FROM User u WHERE u.isPersonalDoctor = TRUE")
     List<User> findAllPersonalDoctors();
 
+    // Find doctor by ID and lock the row until the transaction ends
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u FROM User u WHERE u.id = :id")
+    Optional<User> findByIdForUpdate(@Param("id") Long id);
+
     // Find doctor by unique ID
     @Query("SELECT u FROM User u WHERE u.uniqueId = :uniqueId")
     Optional<User> findDoctorByUniqueId(String uniqueId);
@@ -28,17 +38,18 @@ public interface DoctorRepository extends JpaRepository<User, Long> {
     List<User> findDoctorSpecializations(Long doctorId);
 
 
-    //----------------------------------------------------------------------------
-    @Query(value = """
-    SELECT d.*, COUNT(p.idpatient) AS patient_count
-    FROM doctors d
-    JOIN patients p ON p.personal_doctors_id = d.iddoctors
-    WHERE d.is_personal_doctor = TRUE
-    GROUP BY d.iddoctors
-""", nativeQuery = true)
-    List<Object[]> countPatientsPerPersonalDoctorNative();
-
-
-
-
+    // Count the patients of every personal doctor; reads only the personal_doctor_id index
+    @Query("""
+            SELECT new com.phrmSystem.phrmSystem.data.projection.PersonalDoctorPatientCount(
+                u.personalDoctor.id, COUNT(u))
+            FROM User u
+            WHERE u.personalDoctor IS NOT NULL
+            GROUP BY u.personalDoctor.id
+            """)
+    List<PersonalDoctorPatientCount> countPatientsPerPersonalDoctor();
+
+    // Detach all patients from a personal doctor
+    @Modifying
+    @Query("UPDATE User u SET u.personalDoctor = NULL WHERE u.personalDoctor.id = :doctorId")
+    int clearPersonalDoctor(@Param("doctorId") Long doctorId);
 }
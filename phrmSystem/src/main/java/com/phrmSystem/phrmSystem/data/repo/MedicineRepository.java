@@ -1,11 +1,13 @@
 package com.phrmSystem.phrmSystem.data.repo;
 
 import com.phrmSystem.phrmSystem.data.entity.Medicine;
+import com.phrmSystem.phrmSystem.dto.MedicineDTO;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -14,4 +16,19 @@ public interface MedicineRepository extends JpaRepository<Medicine, Long> {
     List<Medicine> findMedicinesByDiagnosisId(Long diagnosisId);
 
     List<Medicine> findByDiagnosisId(@Param("diagnosisId") Long diagnosisId);
+
+    /**
+     * Retrieves the medicines prescribed for the given diagnoses as DTO rows, ordered by ID.
+     *
+     * @param diagnosisIds the IDs of the diagnoses.
+     * @return one row per medicine prescribed for one of the diagnoses.
+     */
+    @Query("""
+        SELECT new com.phrmSystem.phrmSystem.dto.MedicineDTO(
+            m.id, m.medicineName, m.medicineDescription, m.diagnosis.id)
+        FROM Medicine m
+        WHERE m.diagnosis.id IN :diagnosisIds
+        ORDER BY m.id ASC
+    """)
+    List<MedicineDTO> findRowsByDiagnosisIds(@Param("diagnosisIds") Collection<Long> diagnosisIds);
 }
@@ -1,7 +1,10 @@
 package com.phrmSystem.phrmSystem.data.repo;
 
 import com.phrmSystem.phrmSystem.data.entity.PatientIllnessHistory;
+import com.phrmSystem.phrmSystem.dto.PatientIllnessHistoryDTO;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -11,4 +14,23 @@ public interface PatientIllnessHistoryRepository extends JpaRepository<PatientIl
 
     // Custom query to find all illness history for a specific patient
     List<PatientIllnessHistory> findByPatientId(Long patientId);
+
+    /**
+     * Retrieves a patient's illness histories as DTO rows, ordered by start date and ID.
+     *
+     * @param patientId the ID of the patient.
+     * @param owner     the username the caller is restricted to, or null for unrestricted access.
+     * @return the patient's illness histories, or none if the caller does not own them.
+     */
+    @Query("""
+        SELECT new com.phrmSystem.phrmSystem.dto.PatientIllnessHistoryDTO(
+            h.id, h.illnessName, h.startDate, h.endDate, h.patient.id)
+        FROM PatientIllnessHistory h
+        JOIN h.patient p
+        WHERE p.id = :patientId
+          AND (:owner IS NULL OR p.username = :owner)
+        ORDER BY h.startDate ASC, h.id ASC
+    """)
+    List<PatientIllnessHistoryDTO> findHistoryRowsByPatientId(@Param("patientId") Long patientId,
+                                                              @Param("owner") String owner);
 }
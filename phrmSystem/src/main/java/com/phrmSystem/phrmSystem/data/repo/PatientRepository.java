@@ -2,36 +2,74 @@ package com.phrmSystem.phrmSystem.data.repo;
 
 import com.phrmSystem.phrmSystem.data.entity.User;
 import com.phrmSystem.phrmSystem.dto.UserDTO;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface PatientRepository extends JpaRepository<User, Long> {
 
-    // Find all patients
+    // Find all patients; an owner (see PatientOwnership) restricts the result to their own record
     @Query("""
     SELECT u
     FROM User u
     JOIN FETCH u.role r
     WHERE r.roleName = :roleName
+      AND (:owner IS NULL OR u.username = :owner)
 """)
-    List<User> findAllUsersByRoleName(@Param("roleName") String roleName);
+    List<User> findAllUsersByRoleName(@Param("roleName") String roleName, @Param("owner") String owner);
 
     // Find a patient by unique identification
-    @Query("SELECT u FROM User u WHERE u.uniqueIdentification = :uniqueIdentification")
-    User findPatientByUniqueIdentification(String uniqueIdentification);
+    @Query("SELECT u FROM User u WHERE u.uniqueIdentification = :uniqueIdentification AND (:owner IS NULL OR u.username = :owner)")
+    User findPatientByUniqueIdentification(@Param("uniqueIdentification") String uniqueIdentification, @Param("owner") String owner);
 
     // Find all patients with insurance paid in the last 6 months
-    @Query("SELECT u FROM User u WHERE u.insurancePaidLast6Months = TRUE")
-    List<User> findPatientsWithInsurancePaid();
+    @Query("SELECT u FROM User u WHERE u.insurancePaidLast6Months = TRUE AND (:owner IS NULL OR u.username = :owner)")
+    List<User> findPatientsWithInsurancePaid(@Param("owner") String owner);
+
+    /**
+     * Finds a patient by ID, if the caller may see them.
+     *
+     * @param id    the ID of the patient.
+     * @param owner the username the caller is restricted to, or null for unrestricted access.
+     * @return the patient, if found and owned by the caller.
+     */
+    @Query("SELECT u FROM User u WHERE u.id = :id AND (:owner IS NULL OR u.username = :owner)")
+    Optional<User> findPatientById(@Param("id") Long id, @Param("owner") String owner);
+
+    /**
+     * Finds a patient by ID and locks their row until the transaction ends, if the caller may see them.
+     * Used by writes that read the current personal doctor to update the per-doctor counters.
+     *
+     * @param id    the ID of the patient.
+     * @param owner the username the caller is restricted to, or null for unrestricted access.
+     * @return the locked patient, if found and owned by the caller.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u FROM User u WHERE u.id = :id AND (:owner IS NULL OR u.username = :owner)")
+    Optional<User> findPatientByIdForUpdate(@Param("id") Long id, @Param("owner") String owner);
 
     // Find a patient's illness history
     @Query("SELECT u.patientIllnessHistory FROM User u WHERE u.id = :patientId")
     List<?> findPatientIllnessHistory(Long patientId);
 
+    /**
+     * Finds a patient by ID together with their roles, in one query, if the caller may see them.
+     *
+     * @param id    the ID of the patient.
+     * @param owner the username the caller is restricted to, or null for unrestricted access.
+     * @return the patient, if found and owned by the caller.
+     */
+    @EntityGraph(attributePaths = "role")
+    @Query("SELECT u FROM User u WHERE u.id = :id AND (:owner IS NULL OR u.username = :owner)")
+    Optional<User> findWithRoleById(@Param("id") Long id, @Param("owner") String owner);
+
 
 }
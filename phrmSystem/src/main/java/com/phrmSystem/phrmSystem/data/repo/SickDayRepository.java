@@ -1,13 +1,24 @@
 package com.phrmSystem.phrmSystem.data.repo;
 
 import com.phrmSystem.phrmSystem.data.entity.SickDay;
+import com.phrmSystem.phrmSystem.data.projection.SickDayDiagnosisLink;
+import com.phrmSystem.phrmSystem.data.projection.SickDayExportRow;
+import com.phrmSystem.phrmSystem.data.projection.SickDayRow;
+import com.phrmSystem.phrmSystem.data.projection.SickLeaveCount;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface SickDayRepository extends JpaRepository<SickDay, Long> {
@@ -18,11 +29,124 @@ public interface SickDayRepository extends JpaRepository<SickDay, Long> {
     @Query("SELECT s FROM SickDay s")
     List<SickDay> findAllWithRelations();
 
-    //---------------------------------------------------------------------------
-    @Query("SELECT FUNCTION('MONTH', s.startDate), COUNT(s) FROM SickDay s GROUP BY FUNCTION('MONTH', s.startDate) ORDER BY COUNT(s) DESC")
-    List<Object[]> findMonthWithMostSickLeaves();
+    /**
+     * Retrieves the next page of sick days after the given ID as scalar rows, ordered by ID.
+     * Optional bounds filter on the start date; pass null to leave a bound open.
+     *
+     * @param afterId  the ID of the last sick day of the previous page, 0 for the first page.
+     * @param from     the earliest start date to include, or null.
+     * @param to       the latest start date to include, or null.
+     * @param pageable the page limit; only the size is used.
+     * @return the sick day rows of the page.
+     */
+    @Query("""
+        SELECT new com.phrmSystem.phrmSystem.data.projection.SickDayRow(
+            s.id, s.startDate, s.endDate, s.numberOfDays, s.patient.id, s.doctor.id)
+        FROM SickDay s
+        WHERE s.id > :afterId
+          AND (:from IS NULL OR s.startDate >= :from)
+          AND (:to IS NULL OR s.startDate <= :to)
+        ORDER BY s.id ASC
+    """)
+    List<SickDayRow> findRowsAfter(@Param("afterId") Long afterId,
+                                   @Param("from") LocalDate from,
+                                   @Param("to") LocalDate to,
+                                   Pageable pageable);
 
-    @Query("SELECT s.doctor, COUNT(s) FROM SickDay s GROUP BY s.doctor ORDER BY COUNT(s) DESC")
-    List<Object[]> findDoctorsWithMostSickLeaves();
+    /**
+     * Retrieves every sick day as a scalar row, without loading users or diagnoses.
+     *
+     * @return all sick day rows ordered by ID.
+     */
+    @Query("""
+        SELECT new com.phrmSystem.phrmSystem.data.projection.SickDayRow(
+            s.id, s.startDate, s.endDate, s.numberOfDays, s.patient.id, s.doctor.id)
+        FROM SickDay s
+        ORDER BY s.id ASC
+    """)
+    List<SickDayRow> findAllRows();
+
+    /**
+     * Retrieves a patient's sick days as scalar rows, ordered by start date and ID.
+     *
+     * @param patientId the ID of the patient.
+     * @param owner     the username the caller is restricted to, or null for unrestricted access.
+     * @return the patient's sick day rows, or none if the caller does not own them.
+     */
+    @Query("""
+        SELECT new com.phrmSystem.phrmSystem.data.projection.SickDayRow(
+            s.id, s.startDate, s.endDate, s.numberOfDays, p.id, s.doctor.id)
+        FROM SickDay s
+        JOIN s.patient p
+        WHERE p.id = :patientId
+          AND (:owner IS NULL OR p.username = :owner)
+        ORDER BY s.startDate ASC, s.id ASC
+    """)
+    List<SickDayRow> findRowsByPatientId(@Param("patientId") Long patientId, @Param("owner") String owner);
+
+    /**
+     * Streams the sick days after the given ID joined with their diagnoses, ordered by sick day ID so
+     * that the rows of one sick day are adjacent. The minimum fetch size makes MySQL Connector/J stream
+     * the rows one at a time and they never enter the persistence context; no other statement may run on
+     * the connection until the stream is closed, and it must be consumed inside a transaction.
+     *
+     * @param afterId the ID to start after, 0 for all sick days.
+     * @param from    the earliest start date to include, or null.
+     * @return one row per sick day and diagnosis pair, and one row with a null diagnosis per sick day without diagnoses.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+        SELECT new com.phrmSystem.phrmSystem.data.projection.SickDayExportRow(
+            s.id, s.startDate, s.endDate, s.numberOfDays, s.patient.id, s.doctor.id, d.id, d.diagnosisName)
+        FROM SickDay s
+        LEFT JOIN s.diagnosis d
+        WHERE s.id > :afterId
+          AND (:from IS NULL OR s.startDate >= :from)
+        ORDER BY s.id ASC, d.id ASC
+    """)
+    Stream<SickDayExportRow> streamForExport(@Param("afterId") Long afterId, @Param("from") LocalDate from);
+
+    /**
+     * Retrieves the diagnosis IDs linked to the given sick days.
+     *
+     * @param sickDayIds the IDs of the sick days.
+     * @return one link per sick day and diagnosis pair.
+     */
+    @Query("""
+        SELECT new com.phrmSystem.phrmSystem.data.projection.SickDayDiagnosisLink(s.id, d.id)
+        FROM SickDay s
+        JOIN s.diagnosis d
+        WHERE s.id IN :sickDayIds
+    """)
+    List<SickDayDiagnosisLink> findDiagnosisLinks(@Param("sickDayIds") Collection<Long> sickDayIds);
+
+    /**
+     * Retrieves every sick day to diagnosis link.
+     *
+     * @return one link per sick day and diagnosis pair.
+     */
+    @Query("""
+        SELECT new com.phrmSystem.phrmSystem.data.projection.SickDayDiagnosisLink(s.id, d.id)
+        FROM SickDay s
+        JOIN s.diagnosis d
+    """)
+    List<SickDayDiagnosisLink> findAllDiagnosisLinks();
+
+    /**
+     * Counts sick days per start month and doctor.
+     * This is the source the incrementally maintained sick leave counters are reconciled against.
+     *
+     * @return one count per year, month and doctor that has sick days.
+     */
+    @Query("""
+        SELECT new com.phrmSystem.phrmSystem.data.projection.SickLeaveCount(
+            YEAR(s.startDate), MONTH(s.startDate), s.doctor.id, COUNT(s))
+        FROM SickDay s
+        GROUP BY YEAR(s.startDate), MONTH(s.startDate), s.doctor.id
+    """)
+    List<SickLeaveCount> countSickDaysPerMonthAndDoctor();
 
 }
@@ -1,8 +1,11 @@
 package com.phrmSystem.phrmSystem.data.repo;
 
 import com.phrmSystem.phrmSystem.data.entity.User;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -22,6 +25,16 @@ public interface UserRepository extends JpaRepository<User, Long> {
     // Find user by ID (generic)
     Optional<User> findById(Long id);
 
+    /**
+     * Finds a User by ID and locks their row until the transaction ends.
+     *
+     * @param id the ID of the User.
+     * @return the locked User, if found.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u FROM User u WHERE u.id = :id")
+    Optional<User> findByIdForUpdate(@Param("id") Long id);
+
     /**
      * Checks if a User exists with the specified unique identification.
      *
@@ -0,0 +1,16 @@
+package com.phrmSystem.phrmSystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BinaryExportResultDTO {
+    private String file;
+    private long rows;
+    private long afterId;
+    private long lastId;
+    private long bytes;
+}
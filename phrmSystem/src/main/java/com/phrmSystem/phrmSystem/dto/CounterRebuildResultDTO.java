@@ -0,0 +1,13 @@
+package com.phrmSystem.phrmSystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CounterRebuildResultDTO {
+    private long countersChecked;
+    private long countersCorrected;
+}
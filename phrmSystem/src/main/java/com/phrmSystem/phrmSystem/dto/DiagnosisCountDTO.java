@@ -0,0 +1,14 @@
+package com.phrmSystem.phrmSystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DiagnosisCountDTO {
+    private Long diagnosisId;
+    private String diagnosisName;
+    private long count;
+}
@@ -0,0 +1,16 @@
+package com.phrmSystem.phrmSystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DoctorScheduleDayDTO {
+    private LocalDate date;
+    private List<ScheduleSlotDTO> slots;
+}
@@ -0,0 +1,21 @@
+package com.phrmSystem.phrmSystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EndpointMetricsDTO {
+    private String endpoint;
+    private long requests;
+    private double meanMillis;
+    private double p50Millis;
+    private double p95Millis;
+    private double p99Millis;
+    private double maxMillis;
+    private double meanStatements;
+    private long maxStatements;
+    private long requestsOverBudget;
+}
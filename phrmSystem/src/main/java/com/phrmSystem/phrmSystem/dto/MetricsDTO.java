@@ -0,0 +1,20 @@
+package com.phrmSystem.phrmSystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MetricsDTO {
+    private long statements;
+    private long slowQueries;
+    private long slowQueryThresholdMillis;
+    private int statementBudget;
+    private List<EndpointMetricsDTO> endpoints;
+    private List<RepositoryMetricsDTO> repositories;
+    private List<SlowQueryDTO> recentSlowQueries;
+}
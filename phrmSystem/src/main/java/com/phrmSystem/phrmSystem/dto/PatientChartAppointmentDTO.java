@@ -0,0 +1,20 @@
+package com.phrmSystem.phrmSystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PatientChartAppointmentDTO {
+    private Long id;
+    private LocalDateTime date;
+    private Long doctorId;
+    private String doctorName;
+    private Long illnessHistoryId;
+    private List<PatientChartDiagnosisDTO> diagnoses;
+}
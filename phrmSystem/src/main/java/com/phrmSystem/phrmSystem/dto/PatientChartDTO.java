@@ -0,0 +1,19 @@
+package com.phrmSystem.phrmSystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PatientChartDTO {
+    private UserDTO patient;
+    private String uniqueIdentification;
+    private Boolean insurancePaidLast6Months;
+    private List<PatientIllnessHistoryDTO> illnessHistories;
+    private List<PatientChartAppointmentDTO> appointments;
+    private List<SickDayDTO> sickDays;
+}
@@ -0,0 +1,17 @@
+package com.phrmSystem.phrmSystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PatientChartDiagnosisDTO {
+    private Long id;
+    private String diagnosisName;
+    private String diagnosisDescription;
+    private List<MedicineDTO> medicines;
+}
@@ -0,0 +1,17 @@
+package com.phrmSystem.phrmSystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RepositoryMetricsDTO {
+    private String method;
+    private long calls;
+    private double meanMillis;
+    private double p99Millis;
+    private double maxMillis;
+    private double totalMillis;
+}
@@ -0,0 +1,14 @@
+package com.phrmSystem.phrmSystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoleCacheStatsDTO {
+    private long hits;
+    private long misses;
+    private int size;
+}
@@ -0,0 +1,16 @@
+package com.phrmSystem.phrmSystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduleSlotDTO {
+    private Long slotId;
+    private LocalDateTime time;
+    private Long patientId;
+}
@@ -0,0 +1,18 @@
+package com.phrmSystem.phrmSystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SickDayImportResultDTO {
+    private long totalRows;
+    private long importedRows;
+    private long failedRows;
+    private List<SickDayImportErrorDTO> errors = new ArrayList<>();
+}
@@ -0,0 +1,17 @@
+package com.phrmSystem.phrmSystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlowQueryDTO {
+    private LocalDateTime time;
+    private String endpoint;
+    private String sql;
+    private double millis;
+}
@@ -0,0 +1,11 @@
+package com.phrmSystem.phrmSystem.exceptions;
+
+/**
+ * Thrown when a request executes more SQL statements than phrm.metrics.statement-budget allows
+ * and the budget mode is fail.
+ */
+public class StatementBudgetExceededException extends RuntimeException {
+    public StatementBudgetExceededException(String message) {
+        super(message);
+    }
+}
@@ -2,8 +2,10 @@ package com.phrmSystem.phrmSystem.initializers;
 
 import com.phrmSystem.phrmSystem.data.entity.*;
 import com.phrmSystem.phrmSystem.data.repo.*;
+import com.phrmSystem.phrmSystem.service.impl.RoleCache;
 import jakarta.persistence.EntityManager;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
@@ -14,9 +16,11 @@ import java.util.List;
 import java.util.Set;
 
 @Component
+@Profile("!synthetic-data")
 public class DataInitializer implements CommandLineRunner {
 
     private final RoleRepository roleRepository;
+    private final RoleCache roleCache;
     private final UserRepository userRepository;
     private final DoctorSpecializationRepository specializationRepository;
     private final EntityManager entityManager;
@@ -26,10 +30,12 @@ public class DataInitializer implements CommandLineRunner {
     private final DoctorAppointmentRepository doctorAppointmentRepository;
 
     public DataInitializer(RoleRepository roleRepository,
+                           RoleCache roleCache,
                            UserRepository userRepository,
                            DoctorSpecializationRepository specializationRepository,
                            EntityManager entityManager, DiagnosisRepository diagnosisRepository, SickDayRepository sickDayRepository, MedicineRepository medicineRepository, DoctorAppointmentRepository doctorAppointmentRepository) {
         this.roleRepository = roleRepository;
+        this.roleCache = roleCache;
         this.userRepository = userRepository;
         this.specializationRepository = specializationRepository;
         this.entityManager = entityManager;
@@ -42,9 +48,9 @@ public class DataInitializer implements CommandLineRunner {
     @Override
     public void run(String... args) {
         // Add roles
-        Role doctorRole = roleRepository.findByRoleName("DOCTOR")
+        Role doctorRole = roleCache.findByName("DOCTOR")
                 .orElseGet(() -> roleRepository.save(new Role("DOCTOR", "Doctor role with appropriate permissions.", new LinkedList<>())));
-        Role patientRole = roleRepository.findByRoleName("PATIENT")
+        Role patientRole = roleCache.findByName("PATIENT")
                 .orElseGet(() -> roleRepository.save(new Role("PATIENT", "Patient role.", new LinkedList<>())));
 
         // Add users
@@ -77,6 +83,7 @@ public class DataInitializer implements CommandLineRunner {
         patient.setLastName("Smith");
         patient.setUniqueId("PAT001");
         patient.setIsPersonalDoctor(false);
+        patient.setPersonalDoctor(doctor);
         patient.setRole(List.of(patientRole));
         userRepository.save(patient);
 
@@ -0,0 +1,44 @@
+package com.phrmSystem.phrmSystem.initializers;
+
+import com.phrmSystem.phrmSystem.service.impl.AppointmentSlotIndex;
+import com.phrmSystem.phrmSystem.service.impl.DiagnosisStatistics;
+import com.phrmSystem.phrmSystem.service.impl.DoctorScheduleIndex;
+import com.phrmSystem.phrmSystem.service.impl.PersonalDoctorStatistics;
+import com.phrmSystem.phrmSystem.service.impl.SickLeaveStatistics;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Loads the in-memory report counters and the appointment indexes from the database once the
+ * application, including DataInitializer or SyntheticDataGenerator, has started. From then on they are maintained by the
+ * services that write.
+ */
+@Component
+public class StatisticsInitializer {
+
+    private final DiagnosisStatistics diagnosisStatistics;
+    private final SickLeaveStatistics sickLeaveStatistics;
+    private final DoctorScheduleIndex doctorScheduleIndex;
+    private final AppointmentSlotIndex appointmentSlotIndex;
+    private final PersonalDoctorStatistics personalDoctorStatistics;
+
+    public StatisticsInitializer(DiagnosisStatistics diagnosisStatistics, SickLeaveStatistics sickLeaveStatistics,
+                                 DoctorScheduleIndex doctorScheduleIndex, AppointmentSlotIndex appointmentSlotIndex,
+                                 PersonalDoctorStatistics personalDoctorStatistics) {
+        this.diagnosisStatistics = diagnosisStatistics;
+        this.sickLeaveStatistics = sickLeaveStatistics;
+        this.doctorScheduleIndex = doctorScheduleIndex;
+        this.appointmentSlotIndex = appointmentSlotIndex;
+        this.personalDoctorStatistics = personalDoctorStatistics;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadStatistics() {
+        diagnosisStatistics.rebuild();
+        sickLeaveStatistics.rebuild();
+        doctorScheduleIndex.rebuild();
+        appointmentSlotIndex.rebuild();
+        personalDoctorStatistics.rebuild();
+    }
+}
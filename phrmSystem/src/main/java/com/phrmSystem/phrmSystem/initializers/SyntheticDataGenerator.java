@@ -0,0 +1,366 @@
+package com.phrmSystem.phrmSystem.initializers;
+
+import com.phrmSystem.phrmSystem.data.entity.*;
+import com.phrmSystem.phrmSystem.data.repo.RoleRepository;
+import com.phrmSystem.phrmSystem.service.impl.RoleCache;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+/**
+ * Fills an empty schema with a large, reproducible data set for load testing, in place of
+ * DataInitializer. Enabled with the {@code synthetic-data} profile and sized with the
+ * {@code phrm.synthetic-data.*} properties.
+ *
+ * Diagnosis popularity follows a Zipf distribution, sick leave start dates peak in the winter
+ * flu season and sick leave lengths are exponentially distributed. Appointments fill each doctor's
+ * working days in consecutive slots, so they never overlap. All values come from one Random seeded
+ * with {@code phrm.synthetic-data.seed}, so the same settings always produce the same data.
+ *
+ * Rows are written in chunks of {@code phrm.synthetic-data.chunk-size}, each in its own transaction,
+ * as JDBC batches; the persistence context is cleared after every chunk and only IDs are kept.
+ */
+@Component
+@Profile("synthetic-data")
+public class SyntheticDataGenerator implements CommandLineRunner {
+
+    private static final String[] FIRST_NAMES = {
+            "Maria", "Ivan", "Elena", "Georgi", "Nikolay", "Desislava", "Petar", "Yana", "Dimitar", "Kalina",
+            "Alexander", "Victoria", "Stefan", "Gergana", "Hristo", "Mila", "Todor", "Raya", "Boris", "Tsvetelina"};
+    private static final String[] LAST_NAMES = {
+            "Ivanov", "Petrov", "Georgiev", "Dimitrov", "Nikolov", "Stoyanov", "Hristov", "Todorov", "Angelov",
+            "Kolev", "Marinov", "Iliev", "Popov", "Vasilev", "Atanasov", "Yordanov", "Mihaylov", "Petkov"};
+    private static final String[] DIAGNOSES = {
+            "Acute upper respiratory infection", "Influenza", "Acute bronchitis", "Gastroenteritis", "Low back pain",
+            "Hypertension", "Migraine", "Acute sinusitis", "Tonsillitis", "Otitis media", "Conjunctivitis",
+            "Urinary tract infection", "Pneumonia", "Sprain of ankle", "Anxiety disorder", "Depressive episode",
+            "Type 2 diabetes", "Asthma", "Dermatitis", "COVID-19"};
+    private static final String[] MEDICINES = {
+            "Paracetamol", "Ibuprofen", "Amoxicillin", "Azithromycin", "Cetirizine", "Omeprazole", "Metformin",
+            "Amlodipine", "Salbutamol", "Diclofenac", "Loratadine", "Ciprofloxacin", "Sertraline", "Prednisolone"};
+    private static final String[] SPECIALIZATIONS = {
+            "General practice", "Cardiology", "Neurology", "Pediatrics", "Dermatology", "Orthopedics",
+            "Pulmonology", "Gastroenterology", "Endocrinology", "Psychiatry"};
+
+    /**
+     * Day of the year on which sick leave starts are most frequent (early February).
+     */
+    private static final int SEASON_PEAK_DAY = 35;
+    private static final double MEAN_SICK_LEAVE_DAYS = 5.0;
+    private static final int MAX_SICK_LEAVE_DAYS = 60;
+    private static final LocalTime WORKDAY_START = LocalTime.of(8, 0);
+    private static final int WORKDAY_MINUTES = 8 * 60;
+
+    private final RoleRepository roleRepository;
+    private final RoleCache roleCache;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int doctors;
+    private final int patients;
+    private final int diagnoses;
+    private final int maxMedicinesPerDiagnosis;
+    private final int sickDays;
+    private final int appointments;
+    private final double zipfExponent;
+    private final double seasonalAmplitude;
+    private final LocalDate from;
+    private final LocalDate to;
+    private final int slotMinutes;
+    private final int chunkSize;
+    private final Random random;
+
+    public SyntheticDataGenerator(RoleRepository roleRepository,
+                                  RoleCache roleCache,
+                                  EntityManager entityManager,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${phrm.synthetic-data.doctors:500}") int doctors,
+                                  @Value("${phrm.synthetic-data.patients:100000}") int patients,
+                                  @Value("${phrm.synthetic-data.diagnoses:2000}") int diagnoses,
+                                  @Value("${phrm.synthetic-data.max-medicines-per-diagnosis:3}") int maxMedicinesPerDiagnosis,
+                                  @Value("${phrm.synthetic-data.sick-days:1000000}") int sickDays,
+                                  @Value("${phrm.synthetic-data.appointments:1000000}") int appointments,
+                                  @Value("${phrm.synthetic-data.zipf-exponent:1.1}") double zipfExponent,
+                                  @Value("${phrm.synthetic-data.seasonal-amplitude:0.6}") double seasonalAmplitude,
+                                  @Value("${phrm.synthetic-data.from:2020-01-01}") String from,
+                                  @Value("${phrm.synthetic-data.to:2025-01-01}") String to,
+                                  @Value("${phrm.appointments.slot-minutes:15}") int slotMinutes,
+                                  @Value("${phrm.synthetic-data.chunk-size:1000}") int chunkSize,
+                                  @Value("${phrm.synthetic-data.seed:42}") long seed) {
+        if (doctors < 1 || patients < 1 || diagnoses < 1) {
+            throw new IllegalArgumentException("Synthetic data needs at least one doctor, patient and diagnosis.");
+        }
+        if (sickDays < 0 || appointments < 0 || maxMedicinesPerDiagnosis < 0) {
+            throw new IllegalArgumentException("Synthetic data row counts cannot be negative.");
+        }
+        this.from = LocalDate.parse(from);
+        this.to = LocalDate.parse(to);
+        if (!this.from.isBefore(this.to)) {
+            throw new IllegalArgumentException("Synthetic data end date must be after its start date.");
+        }
+        if (seasonalAmplitude < 0 || seasonalAmplitude > 1) {
+            throw new IllegalArgumentException("Seasonal amplitude must be between 0 and 1.");
+        }
+        if (slotMinutes < 1 || slotMinutes > WORKDAY_MINUTES) {
+            throw new IllegalArgumentException("Appointment slot length must be between 1 and " + WORKDAY_MINUTES + " minutes.");
+        }
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Synthetic data chunk size must be positive.");
+        }
+        this.roleRepository = roleRepository;
+        this.roleCache = roleCache;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.doctors = doctors;
+        this.patients = patients;
+        this.diagnoses = diagnoses;
+        this.maxMedicinesPerDiagnosis = maxMedicinesPerDiagnosis;
+        this.sickDays = sickDays;
+        this.appointments = appointments;
+        this.zipfExponent = zipfExponent;
+        this.seasonalAmplitude = seasonalAmplitude;
+        this.slotMinutes = slotMinutes;
+        this.chunkSize = chunkSize;
+        this.random = new Random(seed);
+    }
+
+    @Override
+    public void run(String... args) {
+        Role doctorRole = roleCache.findByName("DOCTOR")
+                .orElseGet(() -> roleRepository.save(new Role("DOCTOR", "Doctor role with appropriate permissions.", new LinkedList<>())));
+        Role patientRole = roleCache.findByName("PATIENT")
+                .orElseGet(() -> roleRepository.save(new Role("PATIENT", "Patient role.", new LinkedList<>())));
+
+        long[] specializationIds = insert(SPECIALIZATIONS.length, i -> {
+            DoctorSpecialization specialization = new DoctorSpecialization();
+            specialization.setSpecialization(SPECIALIZATIONS[i]);
+            return specialization;
+        });
+
+        boolean[] personalDoctor = new boolean[doctors];
+        long[] doctorIds = insert(doctors, i -> {
+            User doctor = person();
+            doctor.setUniqueId(String.format("DOC%07d", i));
+            personalDoctor[i] = random.nextInt(3) > 0;
+            doctor.setIsPersonalDoctor(personalDoctor[i]);
+            doctor.setRole(List.of(reference(Role.class, doctorRole.getId())));
+            doctor.setSpecializations(Set.of(reference(DoctorSpecialization.class, pick(specializationIds))));
+            return doctor;
+        });
+        long[] personalDoctorIds = IntStream.range(0, doctors)
+                .filter(i -> personalDoctor[i])
+                .mapToLong(i -> doctorIds[i])
+                .toArray();
+
+        long[] patientIds = insert(patients, i -> {
+            User patient = person();
+            patient.setUniqueIdentification(String.format("%010d", i));
+            patient.setInsurancePaidLast6Months(random.nextInt(10) > 0);
+            patient.setIsPersonalDoctor(false);
+            if (personalDoctorIds.length > 0) {
+                patient.setPersonalDoctor(reference(User.class, pick(personalDoctorIds)));
+            }
+            patient.setRole(List.of(reference(Role.class, patientRole.getId())));
+            return patient;
+        });
+
+        long[] diagnosisIds = insert(diagnoses, i -> {
+            Diagnosis diagnosis = new Diagnosis();
+            diagnosis.setDiagnosisName(numbered(DIAGNOSES, i));
+            diagnosis.setDiagnosisDescription("Synthetic diagnosis of popularity rank " + (i + 1) + ".");
+            return diagnosis;
+        });
+
+        // Medicines belong to one diagnosis each; a diagnosis gets between none and the configured maximum.
+        int[] medicinesOfDiagnosis = new int[diagnoses];
+        int medicines = 0;
+        for (int i = 0; i < diagnoses; i++) {
+            medicinesOfDiagnosis[i] = random.nextInt(maxMedicinesPerDiagnosis + 1);
+            medicines += medicinesOfDiagnosis[i];
+        }
+        int[] nextDiagnosis = {0};
+        int[] medicinesLeft = {medicinesOfDiagnosis.length > 0 ? medicinesOfDiagnosis[0] : 0};
+        insert(medicines, i -> {
+            while (medicinesLeft[0] == 0) {
+                medicinesLeft[0] = medicinesOfDiagnosis[++nextDiagnosis[0]];
+            }
+            medicinesLeft[0]--;
+            Medicine medicine = new Medicine();
+            medicine.setMedicineName(numbered(MEDICINES, i));
+            medicine.setMedicineDescription("Synthetic medicine.");
+            medicine.setDiagnosis(reference(Diagnosis.class, diagnosisIds[nextDiagnosis[0]]));
+            return medicine;
+        });
+
+        ZipfSampler diagnosisPopularity = new ZipfSampler(diagnoses, zipfExponent);
+        insert(sickDays, i -> {
+            LocalDate startDate = seasonalDate(random, from, to, seasonalAmplitude);
+            int numberOfDays = sickLeaveLength(random);
+            Set<Diagnosis> sickDayDiagnoses = new HashSet<>();
+            sickDayDiagnoses.add(reference(Diagnosis.class, diagnosisIds[diagnosisPopularity.sample(random)]));
+            if (random.nextInt(5) == 0) {
+                sickDayDiagnoses.add(reference(Diagnosis.class, diagnosisIds[diagnosisPopularity.sample(random)]));
+            }
+
+            SickDay sickDay = new SickDay();
+            sickDay.setStartDate(startDate);
+            sickDay.setEndDate(startDate.plusDays(numberOfDays - 1));
+            sickDay.setNumberOfDays(numberOfDays);
+            sickDay.setPatient(reference(User.class, pick(patientIds)));
+            sickDay.setDoctor(reference(User.class, pick(doctorIds)));
+            sickDay.setDiagnosis(sickDayDiagnoses);
+            return sickDay;
+        });
+
+        // Each doctor's next free slot, counted in slots since the first working day.
+        int slotsPerDay = WORKDAY_MINUTES / slotMinutes;
+        LocalDate firstWorkingDay = from.with(TemporalAdjusters.nextOrSame(DayOfWeek.MONDAY));
+        long[] nextSlot = new long[doctors];
+        insert(appointments, i -> {
+            int doctor = random.nextInt(doctors);
+            long slot = nextSlot[doctor];
+            nextSlot[doctor] += 1 + random.nextInt(2);
+            long workingDay = slot / slotsPerDay;
+            LocalDate date = firstWorkingDay.plusWeeks(workingDay / 5).plusDays(workingDay % 5);
+
+            DoctorAppointment appointment = new DoctorAppointment();
+            appointment.setDate(LocalDateTime.of(date, WORKDAY_START).plusMinutes((long) slotMinutes * (slot % slotsPerDay)));
+            appointment.setDoctor(reference(User.class, doctorIds[doctor]));
+            appointment.setPatient(reference(User.class, pick(patientIds)));
+            return appointment;
+        });
+    }
+
+    /**
+     * Inserts generated entities in chunks, each chunk in its own transaction.
+     *
+     * @param count   the number of entities to insert.
+     * @param factory creates the entity with the given index; called in index order.
+     * @return the IDs of the inserted entities, by index.
+     */
+    private long[] insert(int count, IntFunction<? extends BaseEntity> factory) {
+        long[] ids = new long[count];
+        for (int start = 0; start < count; start += chunkSize) {
+            int first = start;
+            int end = Math.min(start + chunkSize, count);
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int i = first; i < end; i++) {
+                    BaseEntity entity = factory.apply(i);
+                    entityManager.persist(entity);
+                    ids[i] = entity.getId();
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+        return ids;
+    }
+
+    private <T> T reference(Class<T> type, long id) {
+        return entityManager.getReference(type, id);
+    }
+
+    private long pick(long[] ids) {
+        return ids[random.nextInt(ids.length)];
+    }
+
+    private User person() {
+        User user = new User();
+        user.setFirstName(FIRST_NAMES[random.nextInt(FIRST_NAMES.length)]);
+        user.setLastName(LAST_NAMES[random.nextInt(LAST_NAMES.length)]);
+        return user;
+    }
+
+    /**
+     * Returns the name at the index, numbered once the list of names is exhausted.
+     */
+    private static String numbered(String[] names, int index) {
+        String name = names[index % names.length];
+        return index < names.length ? name : name + " " + (index / names.length + 1);
+    }
+
+    /**
+     * Draws a date in [from, to) whose density follows the yearly sick leave season: a cosine
+     * peaking on SEASON_PEAK_DAY, from 1 - amplitude in summer to 1 + amplitude in winter.
+     *
+     * @param random    the source of randomness.
+     * @param from      the first possible date.
+     * @param to        the end of the range, exclusive.
+     * @param amplitude the relative height of the peak, between 0 (uniform) and 1.
+     * @return the date.
+     */
+    static LocalDate seasonalDate(Random random, LocalDate from, LocalDate to, double amplitude) {
+        long days = to.toEpochDay() - from.toEpochDay();
+        while (true) {
+            LocalDate date = from.plusDays((long) (random.nextDouble() * days));
+            double weight = 1 + amplitude * Math.cos(2 * Math.PI * (date.getDayOfYear() - SEASON_PEAK_DAY) / 365.25);
+            if (random.nextDouble() * (1 + amplitude) < weight) {
+                return date;
+            }
+        }
+    }
+
+    /**
+     * Draws a sick leave length in days: exponentially distributed with a mean of about
+     * MEAN_SICK_LEAVE_DAYS, at least one day and at most MAX_SICK_LEAVE_DAYS.
+     *
+     * @param random the source of randomness.
+     * @return the number of days.
+     */
+    static int sickLeaveLength(Random random) {
+        double days = -MEAN_SICK_LEAVE_DAYS * Math.log(1 - random.nextDouble());
+        return (int) Math.min(MAX_SICK_LEAVE_DAYS, Math.ceil(days == 0 ? 1 : days));
+    }
+
+    /**
+     * Draws ranks 0..n-1 with probability proportional to 1 / (rank + 1)^exponent, by binary search
+     * over the precomputed cumulative distribution.
+     */
+    static class ZipfSampler {
+
+        private final double[] cumulative;
+
+        ZipfSampler(int n, double exponent) {
+            cumulative = new double[n];
+            double total = 0;
+            for (int rank = 0; rank < n; rank++) {
+                total += 1 / Math.pow(rank + 1, exponent);
+                cumulative[rank] = total;
+            }
+            for (int rank = 0; rank < n; rank++) {
+                cumulative[rank] /= total;
+            }
+        }
+
+        int sample(Random random) {
+            double u = random.nextDouble();
+            int low = 0;
+            int high = cumulative.length - 1;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (cumulative[middle] < u) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.phrmSystem.phrmSystem.service;
 
+import com.phrmSystem.phrmSystem.dto.CounterRebuildResultDTO;
+import com.phrmSystem.phrmSystem.dto.DiagnosisCountDTO;
 import com.phrmSystem.phrmSystem.dto.DiagnosisDTO;
 
 import java.util.List;
@@ -10,4 +12,6 @@ public interface DiagnosisService {
     void deleteDiagnosis(Long id);
     List<DiagnosisDTO> getAllDiagnoses();
     DiagnosisDTO getDiagnosisById(Long id);
+    List<DiagnosisCountDTO> getMostCommonDiagnoses(Integer limit);
+    CounterRebuildResultDTO rebuildDiagnosisStatistics();
 }
@@ -1,7 +1,9 @@
 package com.phrmSystem.phrmSystem.service;
 
 import com.phrmSystem.phrmSystem.dto.DoctorAppointmentAllDTO;
+import com.phrmSystem.phrmSystem.dto.DoctorScheduleDayDTO;
 
+import java.time.LocalDate;
 import java.util.List;
 
 public interface DoctorAppointmentService {
@@ -14,4 +16,6 @@ public interface DoctorAppointmentService {
     List<DoctorAppointmentAllDTO> getAllDoctorAppointments();
 
     void deleteDoctorAppointment(Long id);
+
+    List<DoctorScheduleDayDTO> getDoctorSchedule(Long doctorId, LocalDate from, LocalDate to);
 }
@@ -4,9 +4,13 @@ import com.phrmSystem.phrmSystem.data.entity.User;
 import com.phrmSystem.phrmSystem.data.entity.DoctorSpecialization;
 import com.phrmSystem.phrmSystem.data.entity.DoctorAppointment;
 import com.phrmSystem.phrmSystem.dto.AppointmentDTO;
+import com.phrmSystem.phrmSystem.dto.CounterRebuildResultDTO;
+import com.phrmSystem.phrmSystem.dto.CursorPageDTO;
+import com.phrmSystem.phrmSystem.dto.DoctorPatientCountDTO;
 import com.phrmSystem.phrmSystem.dto.SpecializationDTO;
 import com.phrmSystem.phrmSystem.dto.UserDTO;
 
+import java.time.LocalDate;
 import java.util.List;
 
 public interface DoctorService {
@@ -24,9 +28,16 @@ public interface DoctorService {
 
     List<User> getAllPersonalDoctors();
 
+    List<DoctorPatientCountDTO> getPersonalDoctorPatientCounts();
+
+    CounterRebuildResultDTO rebuildPersonalDoctorStatistics();
+
     List<SpecializationDTO> getDoctorSpecializations(Long doctorId);
 
     List<AppointmentDTO> getDoctorAppointments(Long doctorId);
 
+    CursorPageDTO<AppointmentDTO> getDoctorAppointmentsPage(Long doctorId, String cursor, Integer size,
+                                                            LocalDate from, LocalDate to);
+
     UserDTO addSpecializationToDoctor(Long doctorId, SpecializationDTO specializationDTO);
 }
@@ -0,0 +1,24 @@
+package com.phrmSystem.phrmSystem.service;
+
+import com.phrmSystem.phrmSystem.dto.BinaryExportResultDTO;
+
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public interface ExportService {
+    String NDJSON = "ndjson";
+    String CSV = "csv";
+
+    String contentType(String format);
+
+    long exportAppointments(OutputStream output, String format);
+
+    long exportSickDays(OutputStream output, String format);
+
+    long exportDiagnoses(OutputStream output, String format);
+
+    BinaryExportResultDTO exportSickDaysBinary(Long afterId, LocalDate from);
+
+    BinaryExportResultDTO exportAppointmentsBinary(Long afterId, LocalDateTime from);
+}
@@ -0,0 +1,10 @@
+package com.phrmSystem.phrmSystem.service;
+
+import com.phrmSystem.phrmSystem.dto.MetricsDTO;
+
+public interface MetricsService {
+
+    MetricsDTO getMetrics();
+
+    void resetMetrics();
+}
@@ -0,0 +1,13 @@
+package com.phrmSystem.phrmSystem.service;
+
+import com.phrmSystem.phrmSystem.data.projection.DiagnosisNameCount;
+import com.phrmSystem.phrmSystem.data.projection.DoctorAppointmentCount;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface ReportService {
+    List<DoctorAppointmentCount> getAppointmentsPerDoctor(LocalDate from, LocalDate to);
+
+    List<DiagnosisNameCount> getMostCommonDiagnosisNames(Integer limit);
+}
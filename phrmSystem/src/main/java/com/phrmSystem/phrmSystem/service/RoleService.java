@@ -1,6 +1,7 @@
 package com.phrmSystem.phrmSystem.service;
 
 import com.phrmSystem.phrmSystem.data.entity.Role;
+import com.phrmSystem.phrmSystem.dto.RoleCacheStatsDTO;
 
 import java.util.List;
 import java.util.Optional;
@@ -20,4 +21,6 @@ public interface RoleService {
     Optional<Role> getRoleByName(String roleName);
 
     List<Role> searchRolesByKeyword(String keyword);
+
+    RoleCacheStatsDTO getRoleCacheStats();
 }
@@ -0,0 +1,12 @@
+package com.phrmSystem.phrmSystem.service;
+
+import com.phrmSystem.phrmSystem.dto.SickDayImportResultDTO;
+
+import java.io.InputStream;
+
+public interface SickDayImportService {
+    String NDJSON = "application/x-ndjson";
+    String CSV = "text/csv";
+
+    SickDayImportResultDTO importSickDays(InputStream input, String contentType);
+}
@@ -1,15 +1,22 @@
 package com.phrmSystem.phrmSystem.service;
 
+import com.phrmSystem.phrmSystem.dto.CounterRebuildResultDTO;
+import com.phrmSystem.phrmSystem.dto.CursorPageDTO;
+import com.phrmSystem.phrmSystem.dto.DoctorSickLeaveCountDTO;
+import com.phrmSystem.phrmSystem.dto.MonthSickLeaveCountDTO;
 import com.phrmSystem.phrmSystem.dto.SickDayDTO;
 
+import java.time.LocalDate;
 import java.util.List;
 
 public interface SickDayService {
     SickDayDTO getSickDayById(Long id);
     List<SickDayDTO> getAllSickDays();
+    CursorPageDTO<SickDayDTO> getSickDaysPage(String cursor, Integer size, LocalDate from, LocalDate to);
     SickDayDTO createSickDay(SickDayDTO sickDayDTO);
     SickDayDTO updateSickDay(Long id, SickDayDTO sickDayDTO);
     void deleteSickDay(Long id);
-    List<Object[]> getMonthWithMostSickLeaves();
-    List<Object[]> getDoctorsWithMostSickLeaves();
+    List<MonthSickLeaveCountDTO> getMonthWithMostSickLeaves(Integer year);
+    List<DoctorSickLeaveCountDTO> getDoctorsWithMostSickLeaves(Integer year);
+    CounterRebuildResultDTO rebuildSickLeaveStatistics();
 }
@@ -0,0 +1,249 @@
+package com.phrmSystem.phrmSystem.service.impl;
+
+import com.phrmSystem.phrmSystem.data.projection.AppointmentSlot;
+import com.phrmSystem.phrmSystem.data.repo.DoctorAppointmentRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory index of the booked appointment slots per doctor, used to reject double bookings
+ * without a range query on every booking.
+ *
+ * Every appointment occupies one slot of {@code phrm.appointments.slot-minutes} starting at its date,
+ * so two appointments of a doctor overlap exactly when their start times are less than one slot apart.
+ * Each doctor's start times are kept in a sorted map, which makes the overlap check a logarithmic
+ * range lookup. A booking holds its slot from the moment it passes the check, so a concurrent booking
+ * of the same slot fails, and releases it again if its transaction rolls back.
+ *
+ * Doctors are guarded by a fixed set of striped locks, so bookings for different doctors only contend
+ * when their IDs map to the same stripe. The index of committed appointments and the holds of pending
+ * bookings only change while the stripe of the doctor is held.
+ */
+@Component
+public class AppointmentSlotIndex {
+
+    private static final int STRIPES = 64;
+
+    private final DoctorAppointmentRepository doctorAppointmentRepository;
+    private final Duration slotLength;
+    private final ReentrantLock[] stripes = new ReentrantLock[STRIPES];
+
+    private final Map<Long, NavigableMap<LocalDateTime, Integer>> startsByDoctor = new ConcurrentHashMap<>();
+    private final Map<Long, Booking> bookings = new ConcurrentHashMap<>();
+    private final Map<Booking, Integer> pendingHolds = new ConcurrentHashMap<>();
+
+    /**
+     * @param doctorAppointmentRepository repository the index is loaded from.
+     * @param slotMinutes                 length of one appointment in minutes.
+     */
+    public AppointmentSlotIndex(DoctorAppointmentRepository doctorAppointmentRepository,
+                                @Value("${phrm.appointments.slot-minutes:15}") int slotMinutes) {
+        if (slotMinutes < 1) {
+            throw new IllegalArgumentException("Appointment slot length must be positive.");
+        }
+        this.doctorAppointmentRepository = doctorAppointmentRepository;
+        this.slotLength = Duration.ofMinutes(slotMinutes);
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Books the slot of a created or updated appointment, failing if it overlaps another appointment
+     * of the doctor. The appointment's previous slot is ignored by the check and released once the
+     * transaction commits; if the transaction rolls back, the new slot is released instead.
+     *
+     * @param appointmentId the ID of the saved appointment.
+     * @param doctorId      the ID of the doctor.
+     * @param start         the start of the appointment.
+     * @throws IllegalArgumentException if the start is null.
+     * @throws RuntimeException if the slot overlaps another appointment of the doctor.
+     */
+    public void book(Long appointmentId, Long doctorId, LocalDateTime start) {
+        if (start == null) {
+            throw new IllegalArgumentException("Appointment date cannot be null.");
+        }
+        Booking booking = new Booking(doctorId, start);
+        ReentrantLock stripe = stripeFor(doctorId);
+        stripe.lock();
+        try {
+            NavigableMap<LocalDateTime, Integer> starts = startsByDoctor.computeIfAbsent(doctorId, id -> new TreeMap<>());
+            Booking previous = bookings.get(appointmentId);
+            for (Map.Entry<LocalDateTime, Integer> entry : starts
+                    .subMap(start.minus(slotLength), false, start.plus(slotLength), false).entrySet()) {
+                int others = entry.getValue();
+                if (previous != null && previous.doctorId().equals(doctorId) && previous.start().equals(entry.getKey())) {
+                    others--;
+                }
+                if (others > 0) {
+                    throw new RuntimeException("Doctor with ID " + doctorId + " already has an appointment at "
+                            + entry.getKey() + ".");
+                }
+            }
+            starts.merge(start, 1, Integer::sum);
+            pendingHolds.merge(booking, 1, Integer::sum);
+        } finally {
+            stripe.unlock();
+        }
+
+        afterCompletion(committed -> complete(appointmentId, booking, committed));
+    }
+
+    /**
+     * Releases the slot of a deleted appointment once the transaction commits.
+     *
+     * @param appointmentId the ID of the deleted appointment.
+     */
+    public void release(Long appointmentId) {
+        afterCompletion(committed -> {
+            if (!committed) {
+                return;
+            }
+            Booking booking = bookings.get(appointmentId);
+            while (booking != null) {
+                ReentrantLock stripe = stripeFor(booking.doctorId());
+                stripe.lock();
+                try {
+                    if (bookings.remove(appointmentId, booking)) {
+                        remove(booking);
+                        return;
+                    }
+                } finally {
+                    stripe.unlock();
+                }
+                booking = bookings.get(appointmentId);
+            }
+        });
+    }
+
+    /**
+     * Loads the booked slots of all appointments from the database and replaces the index.
+     * Bookings are blocked while it runs, so it is meant for startup.
+     *
+     * The holds of bookings whose transactions have not completed are kept. A booking that committed
+     * before the query is then counted by both its row and its hold until its completion callback
+     * replaces the loaded entry, which drops the extra count.
+     *
+     * @return the number of appointments in the index.
+     */
+    public int rebuild() {
+        for (ReentrantLock stripe : stripes) {
+            stripe.lock();
+        }
+        try {
+            List<AppointmentSlot> slots = doctorAppointmentRepository.findAllSlots();
+            startsByDoctor.clear();
+            bookings.clear();
+            for (AppointmentSlot slot : slots) {
+                if (slot.doctorId() != null && slot.date() != null) {
+                    startsByDoctor.computeIfAbsent(slot.doctorId(), id -> new TreeMap<>())
+                            .merge(slot.date(), 1, Integer::sum);
+                    bookings.put(slot.appointmentId(), new Booking(slot.doctorId(), slot.date()));
+                }
+            }
+            pendingHolds.forEach((booking, holds) -> startsByDoctor
+                    .computeIfAbsent(booking.doctorId(), id -> new TreeMap<>())
+                    .merge(booking.start(), holds, Integer::sum));
+            return bookings.size();
+        } finally {
+            for (int i = STRIPES - 1; i >= 0; i--) {
+                stripes[i].unlock();
+            }
+        }
+    }
+
+    /**
+     * Ends the hold of a booking when its transaction completes: on commit the booking replaces the
+     * appointment's previous slot in the index, on rollback its slot is released. The stripes of both
+     * the new and the previous doctor are held, taken in stripe order.
+     */
+    private void complete(Long appointmentId, Booking booking, boolean committed) {
+        while (true) {
+            Booking previous = committed ? bookings.get(appointmentId) : null;
+            int own = stripeIndex(booking.doctorId());
+            int other = previous != null ? stripeIndex(previous.doctorId()) : own;
+            ReentrantLock first = stripes[Math.min(own, other)];
+            ReentrantLock second = stripes[Math.max(own, other)];
+            first.lock();
+            second.lock();
+            try {
+                if (committed && !Objects.equals(previous, bookings.get(appointmentId))) {
+                    continue;
+                }
+                pendingHolds.computeIfPresent(booking, (held, count) -> count > 1 ? count - 1 : null);
+                if (committed) {
+                    bookings.put(appointmentId, booking);
+                    if (previous != null) {
+                        remove(previous);
+                    }
+                } else {
+                    remove(booking);
+                }
+                return;
+            } finally {
+                second.unlock();
+                first.unlock();
+            }
+        }
+    }
+
+    /**
+     * Drops one appointment from a doctor's slot counts. The caller holds the doctor's stripe.
+     */
+    private void remove(Booking booking) {
+        NavigableMap<LocalDateTime, Integer> starts = startsByDoctor.get(booking.doctorId());
+        if (starts != null) {
+            starts.computeIfPresent(booking.start(), (start, count) -> count > 1 ? count - 1 : null);
+            if (starts.isEmpty()) {
+                startsByDoctor.remove(booking.doctorId());
+            }
+        }
+    }
+
+    private ReentrantLock stripeFor(Long doctorId) {
+        return stripes[stripeIndex(doctorId)];
+    }
+
+    private static int stripeIndex(Long doctorId) {
+        return Math.floorMod(doctorId.hashCode(), STRIPES);
+    }
+
+    /**
+     * Runs the callback when the current transaction completes, or as committed now if none is active.
+     */
+    private static void afterCompletion(CompletionCallback callback) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            callback.completed(true);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                callback.completed(status == STATUS_COMMITTED);
+            }
+        });
+    }
+
+    @FunctionalInterface
+    private interface CompletionCallback {
+        void completed(boolean committed);
+    }
+
+    /**
+     * The slot an appointment occupies.
+     */
+    private record Booking(Long doctorId, LocalDateTime start) {
+    }
+}
@@ -0,0 +1,113 @@
+package com.phrmSystem.phrmSystem.service.impl;
+
+import com.phrmSystem.phrmSystem.data.entity.BaseEntity;
+import com.phrmSystem.phrmSystem.exceptions.ResourceNotFoundException;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Resolves sets of entity IDs to entities in a single round trip per entity type.
+ * Entities already managed by the current persistence context are reused without a query.
+ */
+@Component
+public class BulkEntityResolver {
+
+    private final EntityManager entityManager;
+
+    public BulkEntityResolver(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Resolves the given IDs to entities of the given type.
+     *
+     * @param type  the entity class.
+     * @param ids   the IDs to resolve.
+     * @param label the entity name used in error messages, e.g. "Diagnosis".
+     * @return the resolved entities; empty if no IDs were given.
+     * @throws IllegalArgumentException  if any ID is null.
+     * @throws ResourceNotFoundException listing every ID that does not exist.
+     */
+    @Transactional
+    public <T extends BaseEntity> Set<T> resolveAll(Class<T> type, Collection<Long> ids, String label) {
+        if (ids == null || ids.isEmpty()) {
+            return new HashSet<>();
+        }
+        if (ids.contains(null)) {
+            throw new IllegalArgumentException(label + " ID must not be null.");
+        }
+
+        Map<Long, T> found = loadAll(type, ids);
+        List<Long> missing = ids.stream()
+                .filter(id -> !found.containsKey(id))
+                .distinct()
+                .collect(Collectors.toList());
+        if (!missing.isEmpty()) {
+            throw new ResourceNotFoundException(notFoundMessage(label, missing));
+        }
+        return new HashSet<>(found.values());
+    }
+
+    /**
+     * Loads the entities of the given type that exist for the given IDs, without failing on missing ones.
+     *
+     * @param type the entity class.
+     * @param ids  the IDs to load; null IDs are ignored.
+     * @return the loaded entities keyed by ID.
+     */
+    @Transactional
+    public <T extends BaseEntity> Map<Long, T> loadAll(Class<T> type, Collection<Long> ids) {
+        Map<Long, T> found = new HashMap<>();
+        if (ids == null || ids.isEmpty()) {
+            return found;
+        }
+        List<Long> requested = ids.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .collect(Collectors.toList());
+        if (requested.isEmpty()) {
+            return found;
+        }
+
+        List<T> loaded = entityManager.unwrap(Session.class)
+                .byMultipleIds(type)
+                .enableSessionCheck(true)
+                .enableOrderedReturn(false)
+                .withBatchSize(requested.size())
+                .multiLoad(requested);
+        for (T entity : loaded) {
+            if (entity != null) {
+                found.put(entity.getId(), entity);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Builds the error message for IDs that could not be resolved.
+     *
+     * @param label   the entity name, e.g. "Diagnosis".
+     * @param missing the missing IDs.
+     * @return the error message.
+     */
+    static String notFoundMessage(String label, Collection<Long> missing) {
+        List<Long> sorted = missing.stream().sorted().collect(Collectors.toList());
+        if (sorted.size() == 1) {
+            return label + " not found with ID: " + sorted.get(0);
+        }
+        return label + " not found with IDs: " + sorted.stream()
+                .map(String::valueOf)
+                .collect(Collectors.joining(", "));
+    }
+}
@@ -0,0 +1,45 @@
+package com.phrmSystem.phrmSystem.service.impl;
+
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Layout of the columnar binary export files written by ColumnarExportWriter and read by
+ * ColumnarExportReader. All numbers are little-endian; strings are an int byte length followed by
+ * UTF-8 bytes.
+ *
+ * <pre>
+ * magic "PHRMCOL1", int header length, header:
+ *     string table, long afterId, int column count, per column: string name, byte type
+ * blocks, each: int block length (bytes after this int), int row count,
+ *     int new dictionary entries, the entries as strings,
+ *     per column, rowCount values: long for LONG, DATE (epoch day) and DATE_TIME (epoch second, UTC),
+ *     int for INT; for DICTIONARY_LIST an int count per row followed by the int dictionary codes of all rows
+ * footer: int 0, long total rows, long last ID, magic "PHRMCOL1"
+ * </pre>
+ *
+ * The dictionary is shared by all DICTIONARY_LIST columns of a file and grows from block to block,
+ * so each distinct string is stored once. Null LONG, DATE and DATE_TIME values are stored as
+ * {@link #NULL}.
+ */
+public final class ColumnarExportFormat {
+
+    static final byte[] MAGIC = "PHRMCOL1".getBytes(StandardCharsets.US_ASCII);
+    static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+    static final int FOOTER_SIZE = Integer.BYTES + 2 * Long.BYTES + MAGIC.length;
+
+    /**
+     * Stored in place of a null LONG, DATE or DATE_TIME value.
+     */
+    public static final long NULL = Long.MIN_VALUE;
+
+    private ColumnarExportFormat() {
+    }
+
+    public enum ColumnType {
+        LONG, INT, DATE, DATE_TIME, DICTIONARY_LIST
+    }
+
+    public record Column(String name, ColumnType type) {
+    }
+}
@@ -0,0 +1,272 @@
+package com.phrmSystem.phrmSystem.service.impl;
+
+import com.phrmSystem.phrmSystem.service.impl.ColumnarExportFormat.Column;
+import com.phrmSystem.phrmSystem.service.impl.ColumnarExportFormat.ColumnType;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Reads a columnar binary export file (see ColumnarExportFormat) one block at a time.
+ *
+ * After {@link #nextBlock()} returns true, the values of the block's rows are available through the
+ * typed getters by column index and row index. Only the current block is held in memory.
+ *
+ * <pre>
+ * try (ColumnarExportReader reader = ColumnarExportReader.open(file)) {
+ *     int id = reader.columnIndex("id");
+ *     while (reader.nextBlock()) {
+ *         for (int row = 0; row < reader.rowCount(); row++) {
+ *             long value = reader.getLong(id, row);
+ *         }
+ *     }
+ * }
+ * </pre>
+ */
+public class ColumnarExportReader implements Closeable {
+
+    private final FileChannel channel;
+    private final String table;
+    private final long afterId;
+    private final List<Column> columns;
+    private final long totalRows;
+    private final long lastId;
+    private final List<String> dictionary = new ArrayList<>();
+
+    private final long[][] longValues;
+    private final int[][] intValues;
+    private final int[][] listOffsets;
+    private final int[][] listCodes;
+
+    private ByteBuffer buffer = ByteBuffer.allocate(64 * 1024).order(ColumnarExportFormat.BYTE_ORDER);
+    private int rowCount;
+    private boolean ended;
+
+    private ColumnarExportReader(FileChannel channel) throws IOException {
+        this.channel = channel;
+        long size = channel.size();
+
+        ByteBuffer start = read(ColumnarExportFormat.MAGIC.length + Integer.BYTES);
+        byte[] magic = new byte[ColumnarExportFormat.MAGIC.length];
+        start.get(magic);
+        if (!Arrays.equals(magic, ColumnarExportFormat.MAGIC)) {
+            throw new IllegalArgumentException("Not a columnar export file.");
+        }
+        ByteBuffer header = read(start.getInt());
+        table = getString(header);
+        afterId = header.getLong();
+        int columnCount = header.getInt();
+        List<Column> schema = new ArrayList<>(columnCount);
+        for (int i = 0; i < columnCount; i++) {
+            String name = getString(header);
+            schema.add(new Column(name, ColumnType.values()[header.get()]));
+        }
+        columns = Collections.unmodifiableList(schema);
+
+        long blocksStart = channel.position();
+        if (size - blocksStart < ColumnarExportFormat.FOOTER_SIZE) {
+            throw new IllegalArgumentException("Columnar export file is incomplete: no footer.");
+        }
+        channel.position(size - ColumnarExportFormat.FOOTER_SIZE);
+        ByteBuffer footer = read(ColumnarExportFormat.FOOTER_SIZE);
+        int marker = footer.getInt();
+        totalRows = footer.getLong();
+        lastId = footer.getLong();
+        footer.get(magic);
+        if (marker != 0 || !Arrays.equals(magic, ColumnarExportFormat.MAGIC)) {
+            throw new IllegalArgumentException("Columnar export file is incomplete: no footer.");
+        }
+        channel.position(blocksStart);
+
+        longValues = new long[columnCount][];
+        intValues = new int[columnCount][];
+        listOffsets = new int[columnCount][];
+        listCodes = new int[columnCount][];
+    }
+
+    /**
+     * Opens an export file and reads its header and footer.
+     *
+     * @param file the file to read.
+     * @return the reader, positioned before the first block.
+     * @throws IllegalArgumentException if the file is not a complete columnar export.
+     * @throws IOException              if the file cannot be read.
+     */
+    public static ColumnarExportReader open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            return new ColumnarExportReader(channel);
+        } catch (IOException | RuntimeException ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+
+    public String table() {
+        return table;
+    }
+
+    public long afterId() {
+        return afterId;
+    }
+
+    public List<Column> columns() {
+        return columns;
+    }
+
+    public long totalRows() {
+        return totalRows;
+    }
+
+    /**
+     * Returns the highest ID in the export, to start the next incremental export after.
+     */
+    public long lastId() {
+        return lastId;
+    }
+
+    public int columnIndex(String name) {
+        for (int i = 0; i < columns.size(); i++) {
+            if (columns.get(i).name().equals(name)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("No column named " + name + " in " + table + " export.");
+    }
+
+    /**
+     * Reads the next block.
+     *
+     * @return false once all blocks have been read.
+     */
+    public boolean nextBlock() throws IOException {
+        if (ended) {
+            return false;
+        }
+        int length = read(Integer.BYTES).getInt();
+        if (length == 0) {
+            ended = true;
+            rowCount = 0;
+            return false;
+        }
+        ByteBuffer block = read(length);
+        rowCount = block.getInt();
+        int newEntries = block.getInt();
+        for (int i = 0; i < newEntries; i++) {
+            dictionary.add(getString(block));
+        }
+        for (int i = 0; i < columns.size(); i++) {
+            switch (columns.get(i).type()) {
+                case LONG, DATE, DATE_TIME -> {
+                    longValues[i] = new long[rowCount];
+                    block.asLongBuffer().get(longValues[i]);
+                    block.position(block.position() + rowCount * Long.BYTES);
+                }
+                case INT -> {
+                    intValues[i] = new int[rowCount];
+                    block.asIntBuffer().get(intValues[i]);
+                    block.position(block.position() + rowCount * Integer.BYTES);
+                }
+                case DICTIONARY_LIST -> {
+                    int[] offsets = new int[rowCount + 1];
+                    for (int row = 0; row < rowCount; row++) {
+                        offsets[row + 1] = offsets[row] + block.getInt();
+                    }
+                    listOffsets[i] = offsets;
+                    listCodes[i] = new int[offsets[rowCount]];
+                    block.asIntBuffer().get(listCodes[i]);
+                    block.position(block.position() + offsets[rowCount] * Integer.BYTES);
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the number of rows of the current block.
+     */
+    public int rowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Returns a LONG value, or {@link ColumnarExportFormat#NULL} for null.
+     */
+    public long getLong(int column, int row) {
+        return longColumn(column, ColumnType.LONG)[row];
+    }
+
+    public int getInt(int column, int row) {
+        if (columns.get(column).type() != ColumnType.INT) {
+            throw new IllegalArgumentException("Column " + columns.get(column).name() + " is not of type INT.");
+        }
+        return intValues[column][row];
+    }
+
+    public LocalDate getDate(int column, int row) {
+        long value = longColumn(column, ColumnType.DATE)[row];
+        return value != ColumnarExportFormat.NULL ? LocalDate.ofEpochDay(value) : null;
+    }
+
+    public LocalDateTime getDateTime(int column, int row) {
+        long value = longColumn(column, ColumnType.DATE_TIME)[row];
+        return value != ColumnarExportFormat.NULL ? LocalDateTime.ofEpochSecond(value, 0, ZoneOffset.UTC) : null;
+    }
+
+    public List<String> getList(int column, int row) {
+        if (columns.get(column).type() != ColumnType.DICTIONARY_LIST) {
+            throw new IllegalArgumentException("Column " + columns.get(column).name() + " is not of type DICTIONARY_LIST.");
+        }
+        int from = listOffsets[column][row];
+        int to = listOffsets[column][row + 1];
+        List<String> values = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            values.add(dictionary.get(listCodes[column][i]));
+        }
+        return values;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private long[] longColumn(int column, ColumnType type) {
+        if (columns.get(column).type() != type) {
+            throw new IllegalArgumentException("Column " + columns.get(column).name() + " is not of type " + type + ".");
+        }
+        return longValues[column];
+    }
+
+    private ByteBuffer read(int length) throws IOException {
+        if (buffer.capacity() < length) {
+            buffer = ByteBuffer.allocate(Math.max(length, buffer.capacity() * 2)).order(ColumnarExportFormat.BYTE_ORDER);
+        }
+        buffer.clear().limit(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException("Columnar export file ends inside a block.");
+            }
+        }
+        return buffer.flip();
+    }
+
+    private static String getString(ByteBuffer source) {
+        byte[] value = new byte[source.getInt()];
+        source.get(value);
+        return new String(value, StandardCharsets.UTF_8);
+    }
+}
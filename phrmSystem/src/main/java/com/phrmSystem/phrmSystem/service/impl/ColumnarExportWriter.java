@@ -0,0 +1,265 @@
+package com.phrmSystem.phrmSystem.service.impl;
+
+import com.phrmSystem.phrmSystem.service.impl.ColumnarExportFormat.Column;
+import com.phrmSystem.phrmSystem.service.impl.ColumnarExportFormat.ColumnType;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes rows to a columnar binary export file (see ColumnarExportFormat) through a FileChannel.
+ *
+ * Values of the current row are set per column, then {@link #endRow()} completes it. Rows are kept
+ * in per-column arrays until a block is full, and each block is encoded into one buffer and written
+ * with a single channel write, so memory use is bounded by the block size. {@link #finish(long)}
+ * writes the footer; a file without it is rejected by the reader.
+ */
+public class ColumnarExportWriter implements Closeable {
+
+    private final FileChannel channel;
+    private final List<Column> columns;
+    private final int blockRows;
+
+    private final long[][] longValues;
+    private final int[][] intValues;
+    private final int[][] listCounts;
+    private final int[][] listCodes;
+    private final int[] listCodeCount;
+
+    private final Map<String, Integer> dictionary = new HashMap<>();
+    private final List<byte[]> newDictionaryEntries = new ArrayList<>();
+
+    private ByteBuffer buffer = ByteBuffer.allocate(64 * 1024).order(ColumnarExportFormat.BYTE_ORDER);
+    private int rows;
+    private long totalRows;
+    private boolean finished;
+
+    /**
+     * Creates or truncates the file and writes the header.
+     *
+     * @param file      the file to write.
+     * @param table     the name of the exported table.
+     * @param afterId   the ID the export starts after, 0 for a full export.
+     * @param columns   the columns of each row.
+     * @param blockRows the number of rows per block.
+     * @throws IOException if the file cannot be written.
+     */
+    public ColumnarExportWriter(Path file, String table, long afterId, List<Column> columns, int blockRows) throws IOException {
+        if (blockRows < 1) {
+            throw new IllegalArgumentException("Block size must be positive.");
+        }
+        this.columns = List.copyOf(columns);
+        this.blockRows = blockRows;
+        int count = this.columns.size();
+        longValues = new long[count][];
+        intValues = new int[count][];
+        listCounts = new int[count][];
+        listCodes = new int[count][];
+        listCodeCount = new int[count];
+        for (int i = 0; i < count; i++) {
+            switch (this.columns.get(i).type()) {
+                case LONG, DATE, DATE_TIME -> longValues[i] = new long[blockRows];
+                case INT -> intValues[i] = new int[blockRows];
+                case DICTIONARY_LIST -> {
+                    listCounts[i] = new int[blockRows];
+                    listCodes[i] = new int[blockRows];
+                }
+            }
+        }
+
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            writeHeader(table, afterId);
+        } catch (IOException | RuntimeException ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+
+    public void setLong(int column, Long value) {
+        longColumn(column, ColumnType.LONG)[rows] = value != null ? value : ColumnarExportFormat.NULL;
+    }
+
+    public void setInt(int column, int value) {
+        if (columns.get(column).type() != ColumnType.INT) {
+            throw new IllegalArgumentException("Column " + columns.get(column).name() + " is not of type INT.");
+        }
+        intValues[column][rows] = value;
+    }
+
+    public void setDate(int column, LocalDate value) {
+        longColumn(column, ColumnType.DATE)[rows] = value != null ? value.toEpochDay() : ColumnarExportFormat.NULL;
+    }
+
+    /**
+     * Sets a DATE_TIME value, stored in whole seconds.
+     */
+    public void setDateTime(int column, LocalDateTime value) {
+        longColumn(column, ColumnType.DATE_TIME)[rows] = value != null
+                ? value.toEpochSecond(ZoneOffset.UTC) : ColumnarExportFormat.NULL;
+    }
+
+    /**
+     * Appends a string to the current row's list in a DICTIONARY_LIST column.
+     */
+    public void addToList(int column, String value) {
+        if (columns.get(column).type() != ColumnType.DICTIONARY_LIST) {
+            throw new IllegalArgumentException("Column " + columns.get(column).name() + " is not of type DICTIONARY_LIST.");
+        }
+        Integer code = dictionary.get(value);
+        if (code == null) {
+            code = dictionary.size();
+            dictionary.put(value, code);
+            newDictionaryEntries.add(value.getBytes(StandardCharsets.UTF_8));
+        }
+        if (listCodeCount[column] == listCodes[column].length) {
+            listCodes[column] = Arrays.copyOf(listCodes[column], listCodes[column].length * 2);
+        }
+        listCodes[column][listCodeCount[column]++] = code;
+        listCounts[column][rows]++;
+    }
+
+    /**
+     * Completes the current row; values not set are 0, or an empty list.
+     */
+    public void endRow() throws IOException {
+        rows++;
+        totalRows++;
+        if (rows == blockRows) {
+            writeBlock();
+        }
+    }
+
+    public long totalRows() {
+        return totalRows;
+    }
+
+    /**
+     * Writes the last block and the footer and forces the file to disk.
+     *
+     * @param lastId the highest ID exported, to start the next incremental export after.
+     */
+    public void finish(long lastId) throws IOException {
+        if (rows > 0) {
+            writeBlock();
+        }
+        ByteBuffer footer = ByteBuffer.allocate(ColumnarExportFormat.FOOTER_SIZE).order(ColumnarExportFormat.BYTE_ORDER);
+        footer.putInt(0).putLong(totalRows).putLong(lastId).put(ColumnarExportFormat.MAGIC).flip();
+        write(footer);
+        channel.force(false);
+        finished = true;
+    }
+
+    public boolean isFinished() {
+        return finished;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private long[] longColumn(int column, ColumnType type) {
+        if (columns.get(column).type() != type) {
+            throw new IllegalArgumentException("Column " + columns.get(column).name() + " is not of type " + type + ".");
+        }
+        return longValues[column];
+    }
+
+    private void writeHeader(String table, long afterId) throws IOException {
+        List<byte[]> names = columns.stream().map(column -> column.name().getBytes(StandardCharsets.UTF_8)).toList();
+        byte[] tableName = table.getBytes(StandardCharsets.UTF_8);
+        int headerLength = Integer.BYTES + tableName.length + Long.BYTES + Integer.BYTES
+                + names.stream().mapToInt(name -> Integer.BYTES + name.length + 1).sum();
+
+        ByteBuffer header = ensureCapacity(ColumnarExportFormat.MAGIC.length + Integer.BYTES + headerLength);
+        header.put(ColumnarExportFormat.MAGIC).putInt(headerLength);
+        putString(header, tableName);
+        header.putLong(afterId).putInt(columns.size());
+        for (int i = 0; i < columns.size(); i++) {
+            putString(header, names.get(i));
+            header.put((byte) columns.get(i).type().ordinal());
+        }
+        header.flip();
+        write(header);
+    }
+
+    private void writeBlock() throws IOException {
+        int length = Integer.BYTES + Integer.BYTES
+                + newDictionaryEntries.stream().mapToInt(entry -> Integer.BYTES + entry.length).sum();
+        for (int i = 0; i < columns.size(); i++) {
+            length += columnBytes(i);
+        }
+
+        ByteBuffer block = ensureCapacity(Integer.BYTES + length);
+        block.putInt(length).putInt(rows).putInt(newDictionaryEntries.size());
+        for (byte[] entry : newDictionaryEntries) {
+            putString(block, entry);
+        }
+        for (int i = 0; i < columns.size(); i++) {
+            switch (columns.get(i).type()) {
+                case LONG, DATE, DATE_TIME -> block.asLongBuffer().put(longValues[i], 0, rows);
+                case INT -> block.asIntBuffer().put(intValues[i], 0, rows);
+                case DICTIONARY_LIST -> block.asIntBuffer().put(listCounts[i], 0, rows).put(listCodes[i], 0, listCodeCount[i]);
+            }
+            block.position(block.position() + columnBytes(i));
+        }
+        block.flip();
+        write(block);
+
+        newDictionaryEntries.clear();
+        for (int i = 0; i < columns.size(); i++) {
+            if (intValues[i] != null) {
+                Arrays.fill(intValues[i], 0, rows, 0);
+            }
+            if (longValues[i] != null) {
+                Arrays.fill(longValues[i], 0, rows, 0);
+            }
+            if (listCounts[i] != null) {
+                Arrays.fill(listCounts[i], 0, rows, 0);
+                listCodeCount[i] = 0;
+            }
+        }
+        rows = 0;
+    }
+
+    private int columnBytes(int column) {
+        return switch (columns.get(column).type()) {
+            case LONG, DATE, DATE_TIME -> rows * Long.BYTES;
+            case INT -> rows * Integer.BYTES;
+            case DICTIONARY_LIST -> (rows + listCodeCount[column]) * Integer.BYTES;
+        };
+    }
+
+    private ByteBuffer ensureCapacity(int capacity) {
+        if (buffer.capacity() < capacity) {
+            buffer = ByteBuffer.allocate(Math.max(capacity, buffer.capacity() * 2)).order(ColumnarExportFormat.BYTE_ORDER);
+        }
+        buffer.clear();
+        return buffer;
+    }
+
+    private void write(ByteBuffer source) throws IOException {
+        while (source.hasRemaining()) {
+            channel.write(source);
+        }
+    }
+
+    private static void putString(ByteBuffer target, byte[] value) {
+        target.putInt(value.length).put(value);
+    }
+}
@@ -0,0 +1,88 @@
+package com.phrmSystem.phrmSystem.service.impl;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Keeps the rebuild query of an in-memory counter apart from the commits that update it.
+ *
+ * A write holds the shared side of the gate from just before its transaction commits until its
+ * after-commit action has run, so a commit and its counter update are never split by a rebuild. A
+ * rebuild runs its query with the exclusive side held, so every change is either in the query result
+ * or applied after it, and none has to be replayed.
+ */
+final class CommitGate {
+
+    private static final long RETRY_MILLIS = 1;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Runs the action after the current transaction commits, or now if no transaction is active,
+     * holding the gate across the commit.
+     *
+     * @param action the action to run.
+     */
+    void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            lock.readLock().lock();
+            try {
+                action.run();
+            } finally {
+                lock.readLock().unlock();
+            }
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean held;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                lock.readLock().lock();
+                held = true;
+            }
+
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (held) {
+                    held = false;
+                    lock.readLock().unlock();
+                }
+            }
+        });
+    }
+
+    /**
+     * Runs the query while no transaction that changes the counter is committing.
+     *
+     * The exclusive side is taken with {@code tryLock}, which does not queue: a queued writer would
+     * make committing transactions wait for it while they may hold row locks another committing
+     * transaction needs, and that transaction holds the shared side the rebuild waits for.
+     *
+     * @param query the rebuild query.
+     * @return the query result.
+     */
+    <T> T whileNoCommits(Supplier<T> query) {
+        while (!lock.writeLock().tryLock()) {
+            try {
+                Thread.sleep(RETRY_MILLIS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting to rebuild counters.", ex);
+            }
+        }
+        try {
+            return query.get();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -2,9 +2,12 @@ package com.phrmSystem.phrmSystem.service.impl;
 
 import com.phrmSystem.phrmSystem.data.entity.*;
 import com.phrmSystem.phrmSystem.data.repo.*;
+import com.phrmSystem.phrmSystem.dto.CounterRebuildResultDTO;
+import com.phrmSystem.phrmSystem.dto.DiagnosisCountDTO;
 import com.phrmSystem.phrmSystem.dto.DiagnosisDTO;
 import com.phrmSystem.phrmSystem.service.DiagnosisService;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
@@ -19,18 +22,21 @@ import java.util.stream.Collectors;
 public class DiagnosisServiceImpl implements DiagnosisService {
 
     private final DiagnosisRepository diagnosisRepository;
-    private final SickDayRepository sickDayRepository;
     private final DoctorAppointmentRepository doctorAppointmentRepository;
-    private final MedicineRepository medicineRepository;
+    private final BulkEntityResolver bulkEntityResolver;
+    private final DiagnosisStatistics diagnosisStatistics;
+    private final ReportCache reportCache;
 
     public DiagnosisServiceImpl(DiagnosisRepository diagnosisRepository,
-                                SickDayRepository sickDayRepository,
                                 DoctorAppointmentRepository doctorAppointmentRepository,
-                                MedicineRepository medicineRepository) {
+                                BulkEntityResolver bulkEntityResolver,
+                                DiagnosisStatistics diagnosisStatistics,
+                                ReportCache reportCache) {
         this.diagnosisRepository = diagnosisRepository;
-        this.sickDayRepository = sickDayRepository;
         this.doctorAppointmentRepository = doctorAppointmentRepository;
-        this.medicineRepository = medicineRepository;
+        this.bulkEntityResolver = bulkEntityResolver;
+        this.diagnosisStatistics = diagnosisStatistics;
+        this.reportCache = reportCache;
     }
 
     /**
@@ -69,6 +75,8 @@ public class DiagnosisServiceImpl implements DiagnosisService {
         populateDiagnosisFromDTO(diagnosis, dto);
 
         Diagnosis updatedDiagnosis = diagnosisRepository.save(diagnosis);
+        diagnosisStatistics.onDiagnosisRenamed(updatedDiagnosis.getId(), updatedDiagnosis.getDiagnosisName());
+        reportCache.invalidate(ReportCache.Topic.SICK_DAYS);
         return mapToDTO(updatedDiagnosis);
     }
 
@@ -86,6 +94,8 @@ public class DiagnosisServiceImpl implements DiagnosisService {
 
         try {
             diagnosisRepository.deleteById(id);
+            diagnosisStatistics.onDiagnosisDeleted(id);
+            reportCache.invalidate(ReportCache.Topic.SICK_DAYS);
         } catch (Exception ex) {
             if (ex.getMessage().contains("constraint")) {
                 throw new RuntimeException("Cannot delete diagnosis due to active dependencies.");
@@ -121,6 +131,32 @@ public class DiagnosisServiceImpl implements DiagnosisService {
         return mapToDTO(diagnosis);
     }
 
+    /**
+     * Retrieves the diagnoses listed on the most sick days from the incrementally maintained counters.
+     * No transaction is started, so a call does not check out a connection.
+     *
+     * @param limit the maximum number of diagnoses to return, or null for all.
+     * @return the diagnoses with their sick day counts, most common first.
+     * @throws IllegalArgumentException if the limit is not positive.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<DiagnosisCountDTO> getMostCommonDiagnoses(Integer limit) {
+        return diagnosisStatistics.getMostCommon(limit);
+    }
+
+    /**
+     * Reconciles the diagnosis counters with the sick day records. Runs outside a transaction so that
+     * the count query reads the data committed when it runs rather than an earlier snapshot.
+     *
+     * @return how many counters were compared and how many were corrected.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CounterRebuildResultDTO rebuildDiagnosisStatistics() {
+        return diagnosisStatistics.rebuild();
+    }
+
     /**
      * Validates the DiagnosisDTO.
      *
@@ -144,10 +180,7 @@ public class DiagnosisServiceImpl implements DiagnosisService {
         diagnosis.setDiagnosisDescription(dto.getDiagnosisDescription());
 
         if (dto.getSickDayIds() != null) {
-            Set<SickDay> sickDays = dto.getSickDayIds().stream()
-                    .map(id -> sickDayRepository.findById(id)
-                            .orElseThrow(() -> new RuntimeException("Sick Day not found with ID: " + id)))
-                    .collect(Collectors.toSet());
+            Set<SickDay> sickDays = bulkEntityResolver.resolveAll(SickDay.class, dto.getSickDayIds(), "Sick Day");
             diagnosis.setSickDays(sickDays);
         }
 
@@ -158,10 +191,7 @@ public class DiagnosisServiceImpl implements DiagnosisService {
         }
 
         if (dto.getMedicineIds() != null) {
-            Set<Medicine> medicines = dto.getMedicineIds().stream()
-                    .map(id -> medicineRepository.findById(id)
-                            .orElseThrow(() -> new RuntimeException("Medicine not found with ID: " + id)))
-                    .collect(Collectors.toSet());
+            Set<Medicine> medicines = bulkEntityResolver.resolveAll(Medicine.class, dto.getMedicineIds(), "Medicine");
             diagnosis.setMedicine(medicines);
         }
     }
@@ -172,7 +202,7 @@ public class DiagnosisServiceImpl implements DiagnosisService {
      * @param diagnosis the Diagnosis entity.
      * @return the corresponding DiagnosisDTO.
      */
-    private DiagnosisDTO mapToDTO(Diagnosis diagnosis) {
+    DiagnosisDTO mapToDTO(Diagnosis diagnosis) {
         DiagnosisDTO dto = new DiagnosisDTO();
         dto.setId(diagnosis.getId());
         dto.setDiagnosisName(diagnosis.getDiagnosisName());
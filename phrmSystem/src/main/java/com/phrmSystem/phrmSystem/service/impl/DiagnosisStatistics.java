@@ -0,0 +1,217 @@
+package com.phrmSystem.phrmSystem.service.impl;
+
+import com.phrmSystem.phrmSystem.data.entity.Diagnosis;
+import com.phrmSystem.phrmSystem.data.entity.SickDay;
+import com.phrmSystem.phrmSystem.data.projection.DiagnosisSickDayCount;
+import com.phrmSystem.phrmSystem.data.repo.DiagnosisRepository;
+import com.phrmSystem.phrmSystem.dto.CounterRebuildResultDTO;
+import com.phrmSystem.phrmSystem.dto.DiagnosisCountDTO;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * In-memory counters of how many sick days list each diagnosis, kept up to date by the sick day writes
+ * instead of aggregating the Diagnosis–SickDay join on every request.
+ *
+ * Changes are applied after the writing transaction commits. The ranking is cached as an immutable
+ * snapshot that is recomputed on the first read after a change, so repeated reads only copy the top N.
+ * {@link #rebuild()} reconciles the counters with the sick_days_diagnosis table; commits wait while
+ * its query runs (see CommitGate).
+ */
+@Component
+public class DiagnosisStatistics {
+
+    private static final Comparator<DiagnosisCountDTO> RANKING = Comparator
+            .comparingLong(DiagnosisCountDTO::getCount).reversed()
+            .thenComparing(DiagnosisCountDTO::getDiagnosisId);
+
+    private final DiagnosisRepository diagnosisRepository;
+    private final Object lock = new Object();
+    private final CommitGate commitGate = new CommitGate();
+
+    private Map<Long, Long> counts = new HashMap<>();
+    private final Map<Long, String> names = new HashMap<>();
+    private volatile List<DiagnosisCountDTO> ranking = List.of();
+
+    public DiagnosisStatistics(DiagnosisRepository diagnosisRepository) {
+        this.diagnosisRepository = diagnosisRepository;
+    }
+
+    /**
+     * Records a change of the diagnoses listed on one sick day.
+     * Use an empty collection as {@code before} for a new sick day and as {@code after} for a deleted one.
+     *
+     * @param before the diagnoses listed before the change.
+     * @param after  the diagnoses listed after the change.
+     */
+    public void onSickDayChanged(Collection<Diagnosis> before, Collection<Diagnosis> after) {
+        Map<Long, Long> deltas = new HashMap<>();
+        Map<Long, String> diagnosisNames = new HashMap<>();
+        Set<Long> beforeIds = collectIds(before, diagnosisNames);
+        Set<Long> afterIds = collectIds(after, diagnosisNames);
+        afterIds.stream().filter(id -> !beforeIds.contains(id)).forEach(id -> deltas.merge(id, 1L, Long::sum));
+        beforeIds.stream().filter(id -> !afterIds.contains(id)).forEach(id -> deltas.merge(id, -1L, Long::sum));
+        record(deltas, diagnosisNames);
+    }
+
+    /**
+     * Records a batch of newly created sick days with a single update.
+     *
+     * @param sickDays the created sick days.
+     */
+    public void onSickDaysCreated(Collection<SickDay> sickDays) {
+        Map<Long, Long> deltas = new HashMap<>();
+        Map<Long, String> diagnosisNames = new HashMap<>();
+        for (SickDay sickDay : sickDays) {
+            collectIds(sickDay.getDiagnosis(), diagnosisNames).forEach(id -> deltas.merge(id, 1L, Long::sum));
+        }
+        record(deltas, diagnosisNames);
+    }
+
+    /**
+     * Records a new name for a diagnosis.
+     *
+     * @param diagnosisId   the ID of the diagnosis.
+     * @param diagnosisName the new name.
+     */
+    public void onDiagnosisRenamed(Long diagnosisId, String diagnosisName) {
+        commitGate.afterCommit(() -> {
+            synchronized (lock) {
+                if (counts.containsKey(diagnosisId)) {
+                    names.put(diagnosisId, diagnosisName);
+                    ranking = null;
+                }
+            }
+        });
+    }
+
+    /**
+     * Drops the counter of a deleted diagnosis.
+     *
+     * @param diagnosisId the ID of the diagnosis.
+     */
+    public void onDiagnosisDeleted(Long diagnosisId) {
+        commitGate.afterCommit(() -> {
+            synchronized (lock) {
+                counts.remove(diagnosisId);
+                names.remove(diagnosisId);
+                ranking = null;
+            }
+        });
+    }
+
+    /**
+     * Retrieves the diagnoses listed on the most sick days, most common first.
+     *
+     * @param limit the maximum number of diagnoses to return, or null for all.
+     * @return the diagnoses with their sick day counts.
+     * @throws IllegalArgumentException if the limit is not positive.
+     */
+    public List<DiagnosisCountDTO> getMostCommon(Integer limit) {
+        if (limit != null && limit < 1) {
+            throw new IllegalArgumentException("Limit must be positive.");
+        }
+        List<DiagnosisCountDTO> snapshot = ranking;
+        if (snapshot == null) {
+            synchronized (lock) {
+                snapshot = ranking;
+                if (snapshot == null) {
+                    snapshot = computeRanking();
+                    ranking = snapshot;
+                }
+            }
+        }
+        return limit == null || limit >= snapshot.size() ? snapshot : snapshot.subList(0, limit);
+    }
+
+    /**
+     * Recomputes the counters from the sick_days_diagnosis table and replaces the in-memory state.
+     * Commits that change the counters wait until the query has run and are applied on top of its result.
+     *
+     * @return how many counters were compared and how many of them were wrong.
+     */
+    public CounterRebuildResultDTO rebuild() {
+        return commitGate.whileNoCommits(() -> {
+            List<DiagnosisSickDayCount> rows = diagnosisRepository.countSickDaysPerDiagnosis();
+            synchronized (lock) {
+                Map<Long, Long> rebuilt = new HashMap<>();
+                for (DiagnosisSickDayCount row : rows) {
+                    rebuilt.put(row.diagnosisId(), row.sickDays());
+                    names.put(row.diagnosisId(), row.diagnosisName());
+                }
+
+                Set<Long> checked = new HashSet<>(counts.keySet());
+                checked.addAll(rebuilt.keySet());
+                long corrected = checked.stream()
+                        .filter(id -> !Objects.equals(counts.get(id), rebuilt.get(id)))
+                        .count();
+
+                counts = rebuilt;
+                names.keySet().retainAll(rebuilt.keySet());
+                ranking = null;
+                return new CounterRebuildResultDTO(checked.size(), corrected);
+            }
+        });
+    }
+
+    private void record(Map<Long, Long> deltas, Map<Long, String> diagnosisNames) {
+        deltas.values().removeIf(delta -> delta == 0);
+        if (deltas.isEmpty()) {
+            return;
+        }
+        commitGate.afterCommit(() -> {
+            synchronized (lock) {
+                applyTo(counts, deltas);
+                diagnosisNames.forEach((id, name) -> {
+                    if (counts.containsKey(id)) {
+                        names.put(id, name);
+                    }
+                });
+                ranking = null;
+            }
+        });
+    }
+
+    private static void applyTo(Map<Long, Long> target, Map<Long, Long> deltas) {
+        deltas.forEach((id, delta) -> {
+            long count = target.getOrDefault(id, 0L) + delta;
+            if (count > 0) {
+                target.put(id, count);
+            } else {
+                target.remove(id);
+            }
+        });
+    }
+
+    private static Set<Long> collectIds(Collection<Diagnosis> diagnoses, Map<Long, String> diagnosisNames) {
+        Set<Long> ids = new HashSet<>();
+        if (diagnoses == null) {
+            return ids;
+        }
+        for (Diagnosis diagnosis : diagnoses) {
+            if (diagnosis != null && diagnosis.getId() != null) {
+                ids.add(diagnosis.getId());
+                if (diagnosis.getDiagnosisName() != null) {
+                    diagnosisNames.put(diagnosis.getId(), diagnosis.getDiagnosisName());
+                }
+            }
+        }
+        return ids;
+    }
+
+    private List<DiagnosisCountDTO> computeRanking() {
+        List<DiagnosisCountDTO> result = new ArrayList<>(counts.size());
+        counts.forEach((id, count) -> result.add(new DiagnosisCountDTO(id, names.get(id), count)));
+        result.sort(RANKING);
+        return List.copyOf(result);
+    }
+}
@@ -2,12 +2,19 @@ package com.phrmSystem.phrmSystem.service.impl;
 
 import com.phrmSystem.phrmSystem.data.entity.*;
 import com.phrmSystem.phrmSystem.data.repo.*;
+import com.phrmSystem.phrmSystem.data.projection.AppointmentSlot;
 import com.phrmSystem.phrmSystem.dto.DoctorAppointmentAllDTO;
+import com.phrmSystem.phrmSystem.dto.DoctorScheduleDayDTO;
+import com.phrmSystem.phrmSystem.dto.ScheduleSlotDTO;
 import com.phrmSystem.phrmSystem.mappers.DoctorAppointmentAllMapper;
 import com.phrmSystem.phrmSystem.service.DoctorAppointmentService;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -19,21 +26,32 @@ import java.util.stream.Collectors;
 @Transactional
 public class DoctorAppointmentServiceImpl implements DoctorAppointmentService {
 
+    static final int MAX_SCHEDULE_DAYS = 31;
+
     private final DoctorAppointmentRepository doctorAppointmentRepository;
     private final UserRepository userRepository;
     private final PatientIllnessHistoryRepository patientIllnessHistoryRepository;
-    private final DiagnosisRepository diagnosisRepository;
+    private final BulkEntityResolver bulkEntityResolver;
+    private final DoctorScheduleIndex doctorScheduleIndex;
+    private final AppointmentSlotIndex appointmentSlotIndex;
+    private final ReportCache reportCache;
 
     public DoctorAppointmentServiceImpl(
             DoctorAppointmentRepository doctorAppointmentRepository,
             UserRepository userRepository,
             PatientIllnessHistoryRepository patientIllnessHistoryRepository,
-            DiagnosisRepository diagnosisRepository
+            BulkEntityResolver bulkEntityResolver,
+            DoctorScheduleIndex doctorScheduleIndex,
+            AppointmentSlotIndex appointmentSlotIndex,
+            ReportCache reportCache
     ) {
         this.doctorAppointmentRepository = doctorAppointmentRepository;
         this.userRepository = userRepository;
         this.patientIllnessHistoryRepository = patientIllnessHistoryRepository;
-        this.diagnosisRepository = diagnosisRepository;
+        this.bulkEntityResolver = bulkEntityResolver;
+        this.doctorScheduleIndex = doctorScheduleIndex;
+        this.appointmentSlotIndex = appointmentSlotIndex;
+        this.reportCache = reportCache;
     }
 
     /**
@@ -41,7 +59,8 @@ public class DoctorAppointmentServiceImpl implements DoctorAppointmentService {
      *
      * @param appointmentDTO the DTO containing appointment details.
      * @return the created DoctorAppointmentAllDTO.
-     * @throws RuntimeException if any required fields are missing or entities are not found.
+     * @throws RuntimeException if any required fields are missing, entities are not found,
+     *                          or the doctor already has an appointment in the slot.
      */
     @Override
     public DoctorAppointmentAllDTO createDoctorAppointment(DoctorAppointmentAllDTO appointmentDTO) {
@@ -67,6 +86,9 @@ public class DoctorAppointmentServiceImpl implements DoctorAppointmentService {
         }
 
         DoctorAppointment savedAppointment = doctorAppointmentRepository.save(appointment);
+        appointmentSlotIndex.book(savedAppointment.getId(), savedAppointment.getDoctor().getId(), savedAppointment.getDate());
+        doctorScheduleIndex.onAppointmentSaved(savedAppointment);
+        reportCache.invalidate(ReportCache.Topic.APPOINTMENTS);
         return mapToDTO(savedAppointment);
     }
 
@@ -76,7 +98,8 @@ public class DoctorAppointmentServiceImpl implements DoctorAppointmentService {
      * @param id             the ID of the appointment to update.
      * @param appointmentDTO the DTO containing updated appointment details.
      * @return the updated DoctorAppointmentAllDTO.
-     * @throws RuntimeException if the appointment or related entities are not found.
+     * @throws RuntimeException if the appointment or related entities are not found,
+     *                          or the doctor already has another appointment in the slot.
      */
     @Override
     public DoctorAppointmentAllDTO updateDoctorAppointment(Long id, DoctorAppointmentAllDTO appointmentDTO) {
@@ -111,6 +134,9 @@ public class DoctorAppointmentServiceImpl implements DoctorAppointmentService {
         }
 
         DoctorAppointment updatedAppointment = doctorAppointmentRepository.save(appointment);
+        appointmentSlotIndex.book(updatedAppointment.getId(), updatedAppointment.getDoctor().getId(), updatedAppointment.getDate());
+        doctorScheduleIndex.onAppointmentSaved(updatedAppointment);
+        reportCache.invalidate(ReportCache.Topic.APPOINTMENTS);
         return mapToDTO(updatedAppointment);
     }
 
@@ -155,6 +181,9 @@ public class DoctorAppointmentServiceImpl implements DoctorAppointmentService {
 
         try {
             doctorAppointmentRepository.deleteById(id);
+            appointmentSlotIndex.release(id);
+            doctorScheduleIndex.onAppointmentDeleted(id);
+            reportCache.invalidate(ReportCache.Topic.APPOINTMENTS);
         } catch (Exception ex) {
             if (ex.getMessage().contains("constraint")) {
                 throw new RuntimeException("Cannot delete appointment due to active dependencies.");
@@ -163,6 +192,43 @@ public class DoctorAppointmentServiceImpl implements DoctorAppointmentService {
         }
     }
 
+    /**
+     * Retrieves a doctor's schedule from the in-memory index, one entry per day in the range.
+     * Runs without a transaction, so serving the schedule never checks out a connection.
+     *
+     * @param doctorId the ID of the doctor.
+     * @param from     the first day of the schedule.
+     * @param to       the last day of the schedule, or null for a single day.
+     * @return the days in the range with their slots ordered by time.
+     * @throws IllegalArgumentException if the range is reversed or longer than {@value #MAX_SCHEDULE_DAYS} days.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<DoctorScheduleDayDTO> getDoctorSchedule(Long doctorId, LocalDate from, LocalDate to) {
+        LocalDate lastDay = to != null ? to : from;
+        if (lastDay.isBefore(from)) {
+            throw new IllegalArgumentException("End date cannot be before start date.");
+        }
+        if (ChronoUnit.DAYS.between(from, lastDay) >= MAX_SCHEDULE_DAYS) {
+            throw new IllegalArgumentException("Schedule range cannot exceed " + MAX_SCHEDULE_DAYS + " days.");
+        }
+
+        List<AppointmentSlot> slots = doctorScheduleIndex.getSlots(
+                doctorId, from.atStartOfDay(), lastDay.plusDays(1).atStartOfDay());
+
+        List<DoctorScheduleDayDTO> days = new ArrayList<>();
+        int next = 0;
+        for (LocalDate day = from; !day.isAfter(lastDay); day = day.plusDays(1)) {
+            List<ScheduleSlotDTO> daySlots = new ArrayList<>();
+            while (next < slots.size() && slots.get(next).date().toLocalDate().equals(day)) {
+                AppointmentSlot slot = slots.get(next++);
+                daySlots.add(new ScheduleSlotDTO(slot.appointmentId(), slot.date(), slot.patientId()));
+            }
+            days.add(new DoctorScheduleDayDTO(day, daySlots));
+        }
+        return days;
+    }
+
     /**
      * Validates the DoctorAppointmentAllDTO for required fields.
      *
@@ -182,17 +248,14 @@ public class DoctorAppointmentServiceImpl implements DoctorAppointmentService {
     }
 
     /**
-     * Maps a set of diagnosis IDs to Diagnosis entities.
+     * Maps a set of diagnosis IDs to Diagnosis entities in one query.
      *
      * @param diagnosisIds the set of diagnosis IDs.
      * @return the corresponding Diagnosis entities.
-     * @throws RuntimeException if any diagnosis ID is not found.
+     * @throws RuntimeException listing every diagnosis ID that is not found.
      */
     private Set<Diagnosis> mapDiagnosisIdsToEntities(Set<Long> diagnosisIds) {
-        return diagnosisIds.stream()
-                .map(id -> diagnosisRepository.findById(id)
-                        .orElseThrow(() -> new RuntimeException("Diagnosis not found with ID: " + id)))
-                .collect(Collectors.toSet());
+        return bulkEntityResolver.resolveAll(Diagnosis.class, diagnosisIds, "Diagnosis");
     }
 
     /**
@@ -0,0 +1,180 @@
+package com.phrmSystem.phrmSystem.service.impl;
+
+import com.phrmSystem.phrmSystem.data.entity.DoctorAppointment;
+import com.phrmSystem.phrmSystem.data.projection.AppointmentSlot;
+import com.phrmSystem.phrmSystem.data.repo.DoctorAppointmentRepository;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory appointment schedule per doctor, sorted by time, so schedule range lookups need no
+ * database round trip. Kept in sync by the appointment writes after their transaction commits;
+ * {@link #rebuild()} loads it from the doctor_appointments table.
+ *
+ * Reads go to the per-doctor skip lists without locking; writes are serialized so the schedules
+ * and the lookup by appointment ID stay consistent.
+ */
+@Component
+public class DoctorScheduleIndex {
+
+    private static final Comparator<SlotKey> SLOT_ORDER = Comparator
+            .comparing(SlotKey::time)
+            .thenComparingLong(SlotKey::appointmentId);
+
+    private final DoctorAppointmentRepository doctorAppointmentRepository;
+    private final Object lock = new Object();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    private volatile Map<Long, NavigableMap<SlotKey, AppointmentSlot>> schedules = new ConcurrentHashMap<>();
+    private Map<Long, AppointmentSlot> slotsById = new HashMap<>();
+    private List<Change> changesDuringRebuild;
+
+    public DoctorScheduleIndex(DoctorAppointmentRepository doctorAppointmentRepository) {
+        this.doctorAppointmentRepository = doctorAppointmentRepository;
+    }
+
+    /**
+     * Records a created or updated appointment, replacing its previous slot.
+     *
+     * @param appointment the saved appointment.
+     */
+    public void onAppointmentSaved(DoctorAppointment appointment) {
+        if (appointment.getId() == null) {
+            return;
+        }
+        AppointmentSlot slot = new AppointmentSlot(
+                appointment.getId(),
+                appointment.getDoctor() != null ? appointment.getDoctor().getId() : null,
+                appointment.getDate(),
+                appointment.getPatient() != null ? appointment.getPatient().getId() : null);
+        record(new Change(appointment.getId(), slot));
+    }
+
+    /**
+     * Removes a deleted appointment from its doctor's schedule.
+     *
+     * @param appointmentId the ID of the deleted appointment.
+     */
+    public void onAppointmentDeleted(Long appointmentId) {
+        record(new Change(appointmentId, null));
+    }
+
+    /**
+     * Retrieves a doctor's appointments in a time range, ordered by time.
+     *
+     * @param doctorId the ID of the doctor.
+     * @param from     the start of the range, inclusive.
+     * @param to       the end of the range, exclusive.
+     * @return the appointments in the range.
+     */
+    public List<AppointmentSlot> getSlots(Long doctorId, LocalDateTime from, LocalDateTime to) {
+        NavigableMap<SlotKey, AppointmentSlot> schedule = schedules.get(doctorId);
+        if (schedule == null || !from.isBefore(to)) {
+            return List.of();
+        }
+        return List.copyOf(schedule.subMap(
+                new SlotKey(from, Long.MIN_VALUE), true,
+                new SlotKey(to, Long.MIN_VALUE), false).values());
+    }
+
+    /**
+     * Loads all appointments from the database and replaces the in-memory schedules.
+     * Changes committed while the query runs are replayed on top of its result.
+     *
+     * @return the number of appointments in the index.
+     */
+    public int rebuild() {
+        rebuildLock.lock();
+        try {
+            synchronized (lock) {
+                changesDuringRebuild = new ArrayList<>();
+            }
+
+            List<AppointmentSlot> rows;
+            try {
+                rows = doctorAppointmentRepository.findAllSlots();
+            } catch (RuntimeException ex) {
+                synchronized (lock) {
+                    changesDuringRebuild = null;
+                }
+                throw ex;
+            }
+
+            synchronized (lock) {
+                Map<Long, NavigableMap<SlotKey, AppointmentSlot>> rebuiltSchedules = new ConcurrentHashMap<>();
+                Map<Long, AppointmentSlot> rebuiltSlots = new HashMap<>();
+                for (AppointmentSlot row : rows) {
+                    apply(rebuiltSchedules, rebuiltSlots, new Change(row.appointmentId(), row));
+                }
+                for (Change change : changesDuringRebuild) {
+                    apply(rebuiltSchedules, rebuiltSlots, change);
+                }
+                changesDuringRebuild = null;
+
+                schedules = rebuiltSchedules;
+                slotsById = rebuiltSlots;
+                return rebuiltSlots.size();
+            }
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private void record(Change change) {
+        AfterCommit.run(() -> {
+            synchronized (lock) {
+                apply(schedules, slotsById, change);
+                if (changesDuringRebuild != null) {
+                    changesDuringRebuild.add(change);
+                }
+            }
+        });
+    }
+
+    private static void apply(Map<Long, NavigableMap<SlotKey, AppointmentSlot>> schedules,
+                              Map<Long, AppointmentSlot> slots, Change change) {
+        AppointmentSlot previous = slots.remove(change.appointmentId());
+        if (previous != null) {
+            NavigableMap<SlotKey, AppointmentSlot> schedule = schedules.get(previous.doctorId());
+            if (schedule != null) {
+                schedule.remove(keyOf(previous));
+                if (schedule.isEmpty()) {
+                    schedules.remove(previous.doctorId());
+                }
+            }
+        }
+
+        AppointmentSlot slot = change.slot();
+        if (slot != null && slot.doctorId() != null && slot.date() != null) {
+            slots.put(change.appointmentId(), slot);
+            schedules.computeIfAbsent(slot.doctorId(), doctorId -> new ConcurrentSkipListMap<>(SLOT_ORDER))
+                    .put(keyOf(slot), slot);
+        }
+    }
+
+    private static SlotKey keyOf(AppointmentSlot slot) {
+        return new SlotKey(slot.date(), slot.appointmentId());
+    }
+
+    /**
+     * Orders appointments by time, and by ID when several share the same time.
+     */
+    private record SlotKey(LocalDateTime time, long appointmentId) {
+    }
+
+    /**
+     * The new slot of an appointment, or null when it was deleted.
+     */
+    private record Change(Long appointmentId, AppointmentSlot slot) {
+    }
+}
@@ -1,14 +1,17 @@
 package com.phrmSystem.phrmSystem.service.impl;
 
 import com.phrmSystem.phrmSystem.data.entity.*;
+import com.phrmSystem.phrmSystem.data.repo.DoctorAppointmentRepository;
 import com.phrmSystem.phrmSystem.data.repo.DoctorRepository;
-import com.phrmSystem.phrmSystem.data.repo.RoleRepository;
 import com.phrmSystem.phrmSystem.dto.*;
 import com.phrmSystem.phrmSystem.mappers.UserMapper;
 import com.phrmSystem.phrmSystem.service.DoctorService;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -20,11 +23,17 @@ import java.util.stream.Collectors;
 public class DoctorServiceImpl implements DoctorService {
 
     private final DoctorRepository doctorRepository;
-    private final RoleRepository roleRepository;
+    private final DoctorAppointmentRepository doctorAppointmentRepository;
+    private final RoleCache roleCache;
+    private final PersonalDoctorStatistics personalDoctorStatistics;
 
-    public DoctorServiceImpl(DoctorRepository doctorRepository, RoleRepository roleRepository) {
+    public DoctorServiceImpl(DoctorRepository doctorRepository,
+                             DoctorAppointmentRepository doctorAppointmentRepository,
+                             RoleCache roleCache, PersonalDoctorStatistics personalDoctorStatistics) {
         this.doctorRepository = doctorRepository;
-        this.roleRepository = roleRepository;
+        this.doctorAppointmentRepository = doctorAppointmentRepository;
+        this.roleCache = roleCache;
+        this.personalDoctorStatistics = personalDoctorStatistics;
     }
 
     /**
@@ -37,7 +46,7 @@ public class DoctorServiceImpl implements DoctorService {
     public User createDoctor(User doctor) {
         validateDoctor(doctor);
 
-        Role doctorRole = roleRepository.findByRoleName("DOCTOR")
+        Role doctorRole = roleCache.findByName("DOCTOR")
                 .orElseThrow(() -> new RuntimeException("Role DOCTOR not found."));
 
         doctor.setRole(List.of(doctorRole));
@@ -68,13 +77,15 @@ public class DoctorServiceImpl implements DoctorService {
 
     /**
      * Deletes a doctor by ID, ensuring no active dependencies exist.
+     * Patients who had the doctor as their personal doctor are left without one. The doctor's row is
+     * locked so that their own personal doctor, whose patient count drops, cannot change concurrently.
      *
      * @param doctorId the ID of the doctor to delete.
      */
     @Override
     @Transactional
     public void deleteDoctor(Long doctorId) {
-        User doctor = doctorRepository.findById(doctorId)
+        User doctor = doctorRepository.findByIdForUpdate(doctorId)
                 .orElseThrow(() -> new RuntimeException("Doctor not found with ID: " + doctorId));
 
         // Check for active appointments
@@ -82,7 +93,9 @@ public class DoctorServiceImpl implements DoctorService {
             throw new RuntimeException("Cannot delete doctor with active appointments. Please reassign or cancel appointments first.");
         }
 
+        Long personalDoctorId = doctor.getPersonalDoctor() != null ? doctor.getPersonalDoctor().getId() : null;
         try {
+            doctorRepository.clearPersonalDoctor(doctorId);
             doctorRepository.deleteById(doctorId);
         } catch (Exception ex) {
             if (ex.getMessage().contains("constraint")) {
@@ -90,6 +103,8 @@ public class DoctorServiceImpl implements DoctorService {
             }
             throw ex;
         }
+        personalDoctorStatistics.onPersonalDoctorChanged(personalDoctorId, null);
+        personalDoctorStatistics.onDoctorDeleted(doctorId);
     }
 
 
@@ -141,6 +156,31 @@ public class DoctorServiceImpl implements DoctorService {
         return doctorRepository.findAllPersonalDoctors();
     }
 
+    /**
+     * Retrieves the number of patients of every personal doctor that has any, most patients first.
+     * Served from the in-memory counters instead of aggregating the users table, and without a
+     * transaction, so it does not check out a connection.
+     *
+     * @return a list of DoctorPatientCountDTOs.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<DoctorPatientCountDTO> getPersonalDoctorPatientCounts() {
+        return personalDoctorStatistics.getPatientLoads();
+    }
+
+    /**
+     * Recomputes the personal doctor patient counters from the users table. Runs outside a transaction
+     * so that the count query reads the data committed when it runs rather than an earlier snapshot.
+     *
+     * @return how many counters were compared and corrected.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CounterRebuildResultDTO rebuildPersonalDoctorStatistics() {
+        return personalDoctorStatistics.rebuild();
+    }
+
     /**
      * Retrieves specializations for a doctor.
      *
@@ -159,24 +199,57 @@ public class DoctorServiceImpl implements DoctorService {
     }
 
     /**
-     * Retrieves appointments for a doctor.
+     * Retrieves appointments for a doctor, ordered by date.
+     * The rows are built by a single projection query, without loading the appointments or patients.
      *
      * @param doctorId the ID of the doctor.
      * @return a list of AppointmentDTOs.
      */
     @Override
+    @Transactional(readOnly = true)
     public List<AppointmentDTO> getDoctorAppointments(Long doctorId) {
-        User doctor = doctorRepository.findById(doctorId)
-                .orElseThrow(() -> new RuntimeException("Doctor not found with id: " + doctorId));
+        requireDoctor(doctorId);
+        return doctorAppointmentRepository.findAppointmentRowsByDoctorId(doctorId);
+    }
 
-        return doctor.getDoctorAppointments()
-                .stream()
-                .map(appointment -> new AppointmentDTO(
-                        appointment.getId(),
-                        appointment.getPatient().getFirstName() + " " + appointment.getPatient().getLastName(),
-                        appointment.getDate()
-                ))
-                .collect(Collectors.toList());
+    /**
+     * Retrieves one page of a doctor's appointments, ordered by date, using keyset pagination on the
+     * appointment date and ID. Each call runs two statements regardless of how many appointments the
+     * doctor has: the doctor lookup and the page query.
+     *
+     * @param doctorId the ID of the doctor.
+     * @param cursor   the continuation token from the previous page, or null for the first page.
+     * @param size     the requested page size, or null for the default.
+     * @param from     the earliest appointment day to include, or null.
+     * @param to       the latest appointment day to include, or null.
+     * @return the page of AppointmentDTOs and the token for the next page, null on the last page.
+     * @throws IllegalArgumentException if the cursor, size or date range is invalid.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<AppointmentDTO> getDoctorAppointmentsPage(Long doctorId, String cursor, Integer size,
+                                                                   LocalDate from, LocalDate to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("Start date cannot be after end date.");
+        }
+        int pageSize = KeysetCursor.pageSize(size);
+        KeysetCursor.DatePosition after = KeysetCursor.decodeDatePosition(cursor);
+        requireDoctor(doctorId);
+
+        List<AppointmentDTO> rows = doctorAppointmentRepository.findAppointmentRowsByDoctorIdAfter(
+                doctorId,
+                after != null ? after.date() : null,
+                after != null ? after.id() : 0L,
+                from != null ? from.atStartOfDay() : null,
+                to != null ? to.plusDays(1).atStartOfDay() : null,
+                PageRequest.of(0, pageSize + 1));
+        boolean hasMore = rows.size() > pageSize;
+        List<AppointmentDTO> page = hasMore ? rows.subList(0, pageSize) : rows;
+        if (!hasMore) {
+            return new CursorPageDTO<>(page, null);
+        }
+        AppointmentDTO last = page.get(page.size() - 1);
+        return new CursorPageDTO<>(page, KeysetCursor.encode(last.getAppointmentDate(), last.getId()));
     }
 
     /**
@@ -200,6 +273,18 @@ public class DoctorServiceImpl implements DoctorService {
         return UserMapper.toDTO(updatedDoctor);
     }
 
+    /**
+     * Checks that a doctor exists without loading it.
+     *
+     * @param doctorId the ID of the doctor.
+     * @throws RuntimeException if no doctor is found with the given ID.
+     */
+    private void requireDoctor(Long doctorId) {
+        if (!doctorRepository.existsById(doctorId)) {
+            throw new RuntimeException("Doctor not found with id: " + doctorId);
+        }
+    }
+
     /**
      * Validates the required fields for a doctor.
      *
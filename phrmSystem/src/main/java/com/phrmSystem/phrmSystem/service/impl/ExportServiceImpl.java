@@ -0,0 +1,444 @@
+package com.phrmSystem.phrmSystem.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.phrmSystem.phrmSystem.data.projection.AppointmentDiagnosisRow;
+import com.phrmSystem.phrmSystem.data.projection.AppointmentExportRow;
+import com.phrmSystem.phrmSystem.data.projection.AppointmentSlot;
+import com.phrmSystem.phrmSystem.data.projection.SickDayExportRow;
+import com.phrmSystem.phrmSystem.data.repo.DiagnosisRepository;
+import com.phrmSystem.phrmSystem.data.repo.DoctorAppointmentRepository;
+import com.phrmSystem.phrmSystem.data.repo.SickDayRepository;
+import com.phrmSystem.phrmSystem.dto.BinaryExportResultDTO;
+import com.phrmSystem.phrmSystem.dto.DoctorAppointmentDTO;
+import com.phrmSystem.phrmSystem.dto.SickDayDTO;
+import com.phrmSystem.phrmSystem.service.ExportService;
+import com.phrmSystem.phrmSystem.service.SickDayImportService;
+import com.phrmSystem.phrmSystem.service.impl.ColumnarExportFormat.Column;
+import com.phrmSystem.phrmSystem.service.impl.ColumnarExportFormat.ColumnType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Implementation of the ExportService interface, responsible for full exports of appointments,
+ * sick days and diagnoses as NDJSON or CSV.
+ *
+ * Rows are streamed from the database one at a time as read-only projections (Connector/J row
+ * streaming, requested per query through the minimum fetch size), so they never enter the persistence
+ * context, and each row is written to the output as soon as it is read. Memory use therefore does not
+ * depend on the size of the table. Each export reads a single stream and runs no other query on the
+ * connection while it is open. Sick day exports use the same field and column
+ * names as the sick day import, so an export can be imported again.
+ *
+ * For analytics, sick days and appointments can also be exported to columnar binary files (see
+ * ColumnarExportFormat) in the export directory, with diagnosis names dictionary-encoded. Binary
+ * exports can be incremental: they take the ID to start after, and report the last ID exported
+ * for the next run. Incremental exports are append-only. IDs are reserved in pooled blocks and
+ * transactions commit out of order, so a row can become visible after a row with a higher ID has
+ * already been exported; each export therefore starts a configurable number of IDs before the given
+ * one, and consumers must keep only the latest copy of a row. A row committed later than that
+ * overlap is never exported incrementally, and changes to or deletions of exported rows are not
+ * exported at all; a full export (afterId 0) is needed to pick them up.
+ */
+@Service
+public class ExportServiceImpl implements ExportService {
+
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    static final List<Column> SICK_DAY_COLUMNS = List.of(
+            new Column("id", ColumnType.LONG),
+            new Column("startDate", ColumnType.DATE),
+            new Column("endDate", ColumnType.DATE),
+            new Column("numberOfDays", ColumnType.INT),
+            new Column("patientId", ColumnType.LONG),
+            new Column("doctorId", ColumnType.LONG),
+            new Column("diagnoses", ColumnType.DICTIONARY_LIST));
+
+    static final List<Column> APPOINTMENT_COLUMNS = List.of(
+            new Column("id", ColumnType.LONG),
+            new Column("date", ColumnType.DATE_TIME),
+            new Column("doctorId", ColumnType.LONG),
+            new Column("patientId", ColumnType.LONG),
+            new Column("illnessHistoryId", ColumnType.LONG),
+            new Column("diagnoses", ColumnType.DICTIONARY_LIST));
+
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final DoctorAppointmentRepository doctorAppointmentRepository;
+    private final SickDayRepository sickDayRepository;
+    private final DiagnosisRepository diagnosisRepository;
+    private final ObjectMapper objectMapper;
+    private final Path exportDirectory;
+    private final int blockRows;
+    private final long overlapIds;
+
+    /**
+     * Constructs an ExportServiceImpl with required dependencies.
+     *
+     * @param exportDirectory the directory binary exports are written to.
+     * @param blockRows       the number of rows per block of a binary export.
+     * @param overlapIds      how many IDs before the requested one an incremental binary export re-reads.
+     */
+    public ExportServiceImpl(DoctorAppointmentRepository doctorAppointmentRepository,
+                             SickDayRepository sickDayRepository,
+                             DiagnosisRepository diagnosisRepository,
+                             ObjectMapper objectMapper,
+                             @Value("${phrm.export.directory:exports}") String exportDirectory,
+                             @Value("${phrm.export.block-rows:4096}") int blockRows,
+                             @Value("${phrm.export.overlap-ids:100}") long overlapIds) {
+        if (blockRows < 1) {
+            throw new IllegalArgumentException("Export block size must be positive.");
+        }
+        if (overlapIds < 0) {
+            throw new IllegalArgumentException("Export ID overlap cannot be negative.");
+        }
+        this.doctorAppointmentRepository = doctorAppointmentRepository;
+        this.sickDayRepository = sickDayRepository;
+        this.diagnosisRepository = diagnosisRepository;
+        this.objectMapper = objectMapper;
+        this.exportDirectory = Paths.get(exportDirectory);
+        this.blockRows = blockRows;
+        this.overlapIds = overlapIds;
+    }
+
+    /**
+     * Returns the content type of an export format.
+     *
+     * @param format the export format, ndjson or csv.
+     * @return the content type of the format.
+     * @throws IllegalArgumentException if the format is not supported.
+     */
+    @Override
+    public String contentType(String format) {
+        return isCsv(format) ? SickDayImportService.CSV : SickDayImportService.NDJSON;
+    }
+
+    /**
+     * Writes every appointment, ordered by ID. NDJSON rows use the DoctorAppointmentDTO field names.
+     *
+     * @param output the stream to write to; it is flushed but not closed.
+     * @param format the export format, ndjson or csv.
+     * @return the number of rows written.
+     * @throws IllegalArgumentException if the format is not supported.
+     * @throws UncheckedIOException     if the output cannot be written.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long exportAppointments(OutputStream output, String format) {
+        boolean csv = isCsv(format);
+        try (Stream<AppointmentSlot> rows = doctorAppointmentRepository.streamAllSlots()) {
+            Writer writer = writer(output);
+            if (csv) {
+                writer.write("id,date,doctorId,patientId\n");
+            }
+            long count = 0;
+            for (Iterator<AppointmentSlot> it = rows.iterator(); it.hasNext(); count++) {
+                AppointmentSlot row = it.next();
+                if (csv) {
+                    writeCsvRow(writer, row.appointmentId(), row.date(), row.doctorId(), row.patientId());
+                } else {
+                    writeJsonRow(writer, new DoctorAppointmentDTO(row.appointmentId(), row.date(), row.doctorId(), row.patientId()));
+                }
+            }
+            writer.flush();
+            return count;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to write appointment export.", ex);
+        }
+    }
+
+    /**
+     * Writes every sick day with its diagnosis IDs, ordered by ID. NDJSON rows use the SickDayDTO
+     * field names; CSV diagnosis IDs are separated by ';'.
+     *
+     * @param output the stream to write to; it is flushed but not closed.
+     * @param format the export format, ndjson or csv.
+     * @return the number of sick days written.
+     * @throws IllegalArgumentException if the format is not supported.
+     * @throws UncheckedIOException     if the output cannot be written.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long exportSickDays(OutputStream output, String format) {
+        boolean csv = isCsv(format);
+        try (Stream<SickDayExportRow> rows = sickDayRepository.streamForExport(0L, null)) {
+            Writer writer = writer(output);
+            if (csv) {
+                writer.write("id,startDate,endDate,numberOfDays,patientId,doctorId,diagnosisIds\n");
+            }
+            long count = 0;
+            SickDayExportRow current = null;
+            Set<Long> diagnosisIds = new LinkedHashSet<>();
+            for (Iterator<SickDayExportRow> it = rows.iterator(); it.hasNext(); ) {
+                SickDayExportRow row = it.next();
+                if (current != null && !current.id().equals(row.id())) {
+                    writeSickDay(writer, current, diagnosisIds, csv);
+                    count++;
+                    diagnosisIds = new LinkedHashSet<>();
+                }
+                current = row;
+                if (row.diagnosisId() != null) {
+                    diagnosisIds.add(row.diagnosisId());
+                }
+            }
+            if (current != null) {
+                writeSickDay(writer, current, diagnosisIds, csv);
+                count++;
+            }
+            writer.flush();
+            return count;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to write sick day export.", ex);
+        }
+    }
+
+    /**
+     * Writes every diagnosis with the ID of its appointment, ordered by ID.
+     *
+     * @param output the stream to write to; it is flushed but not closed.
+     * @param format the export format, ndjson or csv.
+     * @return the number of rows written.
+     * @throws IllegalArgumentException if the format is not supported.
+     * @throws UncheckedIOException     if the output cannot be written.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long exportDiagnoses(OutputStream output, String format) {
+        boolean csv = isCsv(format);
+        try (Stream<AppointmentDiagnosisRow> rows = diagnosisRepository.streamAllRows()) {
+            Writer writer = writer(output);
+            if (csv) {
+                writer.write("id,diagnosisName,diagnosisDescription,appointmentId\n");
+            }
+            long count = 0;
+            for (Iterator<AppointmentDiagnosisRow> it = rows.iterator(); it.hasNext(); count++) {
+                AppointmentDiagnosisRow row = it.next();
+                if (csv) {
+                    writeCsvRow(writer, row.id(), row.diagnosisName(), row.diagnosisDescription(), row.appointmentId());
+                } else {
+                    writeJsonRow(writer, row);
+                }
+            }
+            writer.flush();
+            return count;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to write diagnosis export.", ex);
+        }
+    }
+
+    /**
+     * Writes the sick days after the given ID, less the ID overlap, to a columnar binary file, with the
+     * names of their diagnoses dictionary-encoded.
+     *
+     * @param afterId the ID to start after; null or 0 for all sick days.
+     * @param from    the earliest start date to include, or null.
+     * @return the file written, the number of sick days, the ID the file starts after and the ID to
+     * start after next time.
+     * @throws IllegalArgumentException if afterId is negative.
+     * @throws UncheckedIOException     if the file cannot be written.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public BinaryExportResultDTO exportSickDaysBinary(Long afterId, LocalDate from) {
+        long after = validateAfterId(afterId);
+        long start = Math.max(0, after - overlapIds);
+        return writeBinary("sick-days", start, after, SICK_DAY_COLUMNS, writer -> {
+            long lastId = start;
+            try (Stream<SickDayExportRow> rows = sickDayRepository.streamForExport(start, from)) {
+                for (Iterator<SickDayExportRow> it = rows.iterator(); it.hasNext(); ) {
+                    SickDayExportRow row = it.next();
+                    if (row.id() != lastId) {
+                        if (lastId != start) {
+                            writer.endRow();
+                        }
+                        lastId = row.id();
+                        writer.setLong(0, row.id());
+                        writer.setDate(1, row.startDate());
+                        writer.setDate(2, row.endDate());
+                        writer.setInt(3, row.numberOfDays());
+                        writer.setLong(4, row.patientId());
+                        writer.setLong(5, row.doctorId());
+                    }
+                    if (row.diagnosisName() != null) {
+                        writer.addToList(6, row.diagnosisName());
+                    }
+                }
+            }
+            if (lastId != start) {
+                writer.endRow();
+            }
+            return lastId;
+        });
+    }
+
+    /**
+     * Writes the appointments after the given ID, less the ID overlap, to a columnar binary file, with
+     * the names of their diagnoses dictionary-encoded.
+     *
+     * @param afterId the ID to start after; null or 0 for all appointments.
+     * @param from    the earliest appointment date to include, or null.
+     * @return the file written, the number of appointments, the ID the file starts after and the ID to
+     * start after next time.
+     * @throws IllegalArgumentException if afterId is negative.
+     * @throws UncheckedIOException     if the file cannot be written.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public BinaryExportResultDTO exportAppointmentsBinary(Long afterId, LocalDateTime from) {
+        long after = validateAfterId(afterId);
+        long start = Math.max(0, after - overlapIds);
+        return writeBinary("appointments", start, after, APPOINTMENT_COLUMNS, writer -> {
+            long lastId = start;
+            try (Stream<AppointmentExportRow> rows = doctorAppointmentRepository.streamForExport(start, from)) {
+                for (Iterator<AppointmentExportRow> it = rows.iterator(); it.hasNext(); ) {
+                    AppointmentExportRow row = it.next();
+                    if (row.id() != lastId) {
+                        if (lastId != start) {
+                            writer.endRow();
+                        }
+                        lastId = row.id();
+                        writer.setLong(0, row.id());
+                        writer.setDateTime(1, row.date());
+                        writer.setLong(2, row.doctorId());
+                        writer.setLong(3, row.patientId());
+                        writer.setLong(4, row.illnessHistoryId());
+                    }
+                    if (row.diagnosisName() != null) {
+                        writer.addToList(5, row.diagnosisName());
+                    }
+                }
+            }
+            if (lastId != start) {
+                writer.endRow();
+            }
+            return lastId;
+        });
+    }
+
+    /**
+     * Writes a binary export to a temporary file and moves it into place once complete, so a reader
+     * never sees a partial export under the final name. The last ID never falls below the requested
+     * one, so that re-reading the overlap does not move the next export backwards.
+     */
+    private BinaryExportResultDTO writeBinary(String table, long afterId, long requestedAfterId, List<Column> columns,
+                                              BinaryExportBody body) {
+        String name = table + "-after-" + afterId + "-" + LocalDateTime.now().format(FILE_TIMESTAMP) + ".phrmcol";
+        Path file = exportDirectory.resolve(name);
+        Path partial = exportDirectory.resolve(name + ".part");
+        try {
+            Files.createDirectories(exportDirectory);
+            long rows;
+            long lastId;
+            try (ColumnarExportWriter writer = new ColumnarExportWriter(partial, table, afterId, columns, blockRows)) {
+                lastId = Math.max(body.write(writer), requestedAfterId);
+                writer.finish(lastId);
+                rows = writer.totalRows();
+            }
+            Files.move(partial, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return new BinaryExportResultDTO(file.toAbsolutePath().toString(), rows, afterId, lastId, Files.size(file));
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to write " + table + " export.", ex);
+        } finally {
+            try {
+                Files.deleteIfExists(partial);
+            } catch (IOException ignored) {
+                // the export has failed or already been moved; a stale .part file is harmless
+            }
+        }
+    }
+
+    private static long validateAfterId(Long afterId) {
+        if (afterId == null) {
+            return 0;
+        }
+        if (afterId < 0) {
+            throw new IllegalArgumentException("afterId cannot be negative.");
+        }
+        return afterId;
+    }
+
+    /**
+     * Writes the rows of a binary export and returns the last ID written.
+     */
+    @FunctionalInterface
+    private interface BinaryExportBody {
+        long write(ColumnarExportWriter writer) throws IOException;
+    }
+
+    private void writeSickDay(Writer writer, SickDayExportRow row, Set<Long> diagnosisIds, boolean csv) throws IOException {
+        if (csv) {
+            writeCsvRow(writer, row.id(), row.startDate(), row.endDate(), row.numberOfDays(), row.patientId(), row.doctorId(),
+                    diagnosisIds.stream().map(String::valueOf).collect(Collectors.joining(";")));
+        } else {
+            writeJsonRow(writer, new SickDayDTO(row.id(), row.startDate(), row.endDate(), row.numberOfDays(),
+                    row.patientId(), diagnosisIds, row.doctorId()));
+        }
+    }
+
+    private void writeJsonRow(Writer writer, Object row) throws IOException {
+        try {
+            writer.write(objectMapper.writeValueAsString(row));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Failed to serialise export row: " + ex.getOriginalMessage(), ex);
+        }
+        writer.write('\n');
+    }
+
+    private static void writeCsvRow(Writer writer, Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (values[i] != null) {
+                writer.write(csvField(values[i].toString()));
+            }
+        }
+        writer.write('\n');
+    }
+
+    /**
+     * Quotes a CSV field if it contains a separator, quote or line break (RFC 4180).
+     */
+    static String csvField(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static Writer writer(OutputStream output) {
+        return new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+    }
+
+    private static boolean isCsv(String format) {
+        if (CSV.equalsIgnoreCase(format)) {
+            return true;
+        }
+        if (NDJSON.equalsIgnoreCase(format)) {
+            return false;
+        }
+        throw new IllegalArgumentException("Unsupported export format: " + format + ". Use ndjson or csv.");
+    }
+}
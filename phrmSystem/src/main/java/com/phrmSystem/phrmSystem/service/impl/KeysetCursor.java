@@ -0,0 +1,123 @@
+package com.phrmSystem.phrmSystem.service.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Encodes and decodes the opaque continuation tokens used by keyset-paginated listings.
+ * A token carries the ID of the last row returned, so the next page starts right after it.
+ * Listings ordered by date carry the date and ID of the last row instead.
+ */
+public final class KeysetCursor {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+
+    private static final String PREFIX = "id:";
+    private static final String DATE_PREFIX = "at:";
+
+    private KeysetCursor() {
+    }
+
+    /**
+     * Encodes the ID of the last row of a page into a continuation token.
+     *
+     * @param lastId the ID of the last row returned.
+     * @return the opaque continuation token.
+     */
+    public static String encode(Long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIX + lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a continuation token into the ID after which the next page starts.
+     *
+     * @param cursor the continuation token, or null for the first page.
+     * @return the ID to continue after, 0 for the first page.
+     * @throws IllegalArgumentException if the token is malformed.
+     */
+    public static long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!decoded.startsWith(PREFIX)) {
+                throw new IllegalArgumentException("Invalid cursor.");
+            }
+            long lastId = Long.parseLong(decoded.substring(PREFIX.length()));
+            if (lastId < 0) {
+                throw new IllegalArgumentException("Invalid cursor.");
+            }
+            return lastId;
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Invalid cursor.");
+        }
+    }
+
+    /**
+     * Encodes the date and ID of the last row of a page ordered by date into a continuation token.
+     *
+     * @param lastDate the date of the last row returned.
+     * @param lastId   the ID of the last row returned.
+     * @return the opaque continuation token.
+     */
+    public static String encode(LocalDateTime lastDate, Long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((DATE_PREFIX + lastDate + "|" + lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a continuation token of a listing ordered by date.
+     *
+     * @param cursor the continuation token, or null for the first page.
+     * @return the position to continue after, or null for the first page.
+     * @throws IllegalArgumentException if the token is malformed.
+     */
+    public static DatePosition decodeDatePosition(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.indexOf('|');
+            if (!decoded.startsWith(DATE_PREFIX) || separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor.");
+            }
+            LocalDateTime lastDate = LocalDateTime.parse(decoded.substring(DATE_PREFIX.length(), separator));
+            long lastId = Long.parseLong(decoded.substring(separator + 1));
+            if (lastId < 0) {
+                throw new IllegalArgumentException("Invalid cursor.");
+            }
+            return new DatePosition(lastDate, lastId);
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw new IllegalArgumentException("Invalid cursor.");
+        }
+    }
+
+    /**
+     * Resolves the requested page size, applying the default and the upper bound.
+     *
+     * @param size the requested page size, or null for the default.
+     * @return the page size to use.
+     * @throws IllegalArgumentException if the requested size is not positive.
+     */
+    public static int pageSize(Integer size) {
+        if (size == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be positive.");
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+
+    /**
+     * The date and ID of the last row of a page ordered by date.
+     */
+    public record DatePosition(LocalDateTime date, long id) {
+    }
+}
@@ -0,0 +1,35 @@
+package com.phrmSystem.phrmSystem.service.impl;
+
+import com.phrmSystem.phrmSystem.dto.MetricsDTO;
+import com.phrmSystem.phrmSystem.service.MetricsService;
+import org.springframework.stereotype.Service;
+
+/**
+ * Implementation of the MetricsService interface, exposing the timings collected by RequestMetrics.
+ */
+@Service
+public class MetricsServiceImpl implements MetricsService {
+    private final RequestMetrics requestMetrics;
+
+    public MetricsServiceImpl(RequestMetrics requestMetrics) {
+        this.requestMetrics = requestMetrics;
+    }
+
+    /**
+     * Retrieves the endpoint latencies, repository timings, statement counts and slow query log.
+     *
+     * @return the metrics collected since startup or the last reset.
+     */
+    @Override
+    public MetricsDTO getMetrics() {
+        return requestMetrics.snapshot();
+    }
+
+    /**
+     * Discards the collected metrics.
+     */
+    @Override
+    public void resetMetrics() {
+        requestMetrics.reset();
+    }
+}
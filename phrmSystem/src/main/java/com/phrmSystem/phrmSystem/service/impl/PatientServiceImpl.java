@@ -1,15 +1,28 @@
 package com.phrmSystem.phrmSystem.service.impl;
 
+import com.phrmSystem.phrmSystem.config.PatientOwnership;
 import com.phrmSystem.phrmSystem.data.entity.Role;
 import com.phrmSystem.phrmSystem.data.entity.User;
 import com.phrmSystem.phrmSystem.data.entity.PatientIllnessHistory;
 import com.phrmSystem.phrmSystem.data.entity.DoctorAppointment;
+import com.phrmSystem.phrmSystem.data.projection.AppointmentDiagnosisRow;
+import com.phrmSystem.phrmSystem.data.projection.PatientAppointmentRow;
+import com.phrmSystem.phrmSystem.data.projection.SickDayDiagnosisLink;
+import com.phrmSystem.phrmSystem.data.projection.SickDayRow;
+import com.phrmSystem.phrmSystem.data.repo.DiagnosisRepository;
+import com.phrmSystem.phrmSystem.data.repo.MedicineRepository;
+import com.phrmSystem.phrmSystem.data.repo.PatientIllnessHistoryRepository;
 import com.phrmSystem.phrmSystem.data.repo.PatientRepository;
 import com.phrmSystem.phrmSystem.data.repo.DoctorAppointmentRepository;
-import com.phrmSystem.phrmSystem.data.repo.RoleRepository;
+import com.phrmSystem.phrmSystem.data.repo.SickDayRepository;
 import com.phrmSystem.phrmSystem.data.repo.UserRepository;
 import com.phrmSystem.phrmSystem.dto.DoctorAppointmentDTO;
+import com.phrmSystem.phrmSystem.dto.MedicineDTO;
+import com.phrmSystem.phrmSystem.dto.PatientChartAppointmentDTO;
+import com.phrmSystem.phrmSystem.dto.PatientChartDTO;
+import com.phrmSystem.phrmSystem.dto.PatientChartDiagnosisDTO;
 import com.phrmSystem.phrmSystem.dto.PatientIllnessHistoryDTO;
+import com.phrmSystem.phrmSystem.dto.SickDayDTO;
 import com.phrmSystem.phrmSystem.dto.UserDTO;
 import com.phrmSystem.phrmSystem.mappers.UserMapper;
 import com.phrmSystem.phrmSystem.service.PatientService;
@@ -18,25 +31,52 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
  * Implementation of PatientService interface, responsible for managing patient-related operations.
+ *
+ * Patient lookups pass the caller's owner username from PatientOwnership to the repository queries,
+ * so a caller with only the patient role finds nothing but their own records.
  */
 @Service
 public class PatientServiceImpl implements PatientService {
 
     private final PatientRepository patientRepository;
     private final DoctorAppointmentRepository doctorAppointmentRepository;
-    private final RoleRepository roleRepository;
+    private final RoleCache roleCache;
     private final UserRepository userRepository;
+    private final AppointmentSlotIndex appointmentSlotIndex;
+    private final DoctorScheduleIndex doctorScheduleIndex;
+    private final PatientIllnessHistoryRepository patientIllnessHistoryRepository;
+    private final DiagnosisRepository diagnosisRepository;
+    private final MedicineRepository medicineRepository;
+    private final SickDayRepository sickDayRepository;
+    private final PatientOwnership patientOwnership;
+    private final ReportCache reportCache;
+    private final PersonalDoctorStatistics personalDoctorStatistics;
 
-    public PatientServiceImpl(PatientRepository patientRepository, DoctorAppointmentRepository doctorAppointmentRepository, RoleRepository roleRepository, UserRepository userRepository) {
+    public PatientServiceImpl(PatientRepository patientRepository, DoctorAppointmentRepository doctorAppointmentRepository, RoleCache roleCache, UserRepository userRepository,
+                              AppointmentSlotIndex appointmentSlotIndex, DoctorScheduleIndex doctorScheduleIndex,
+                              PatientIllnessHistoryRepository patientIllnessHistoryRepository, DiagnosisRepository diagnosisRepository,
+                              MedicineRepository medicineRepository, SickDayRepository sickDayRepository,
+                              PatientOwnership patientOwnership, ReportCache reportCache,
+                              PersonalDoctorStatistics personalDoctorStatistics) {
         this.patientRepository = patientRepository;
         this.doctorAppointmentRepository = doctorAppointmentRepository;
-        this.roleRepository = roleRepository;
+        this.roleCache = roleCache;
         this.userRepository = userRepository;
+        this.appointmentSlotIndex = appointmentSlotIndex;
+        this.doctorScheduleIndex = doctorScheduleIndex;
+        this.patientIllnessHistoryRepository = patientIllnessHistoryRepository;
+        this.diagnosisRepository = diagnosisRepository;
+        this.medicineRepository = medicineRepository;
+        this.sickDayRepository = sickDayRepository;
+        this.patientOwnership = patientOwnership;
+        this.reportCache = reportCache;
+        this.personalDoctorStatistics = personalDoctorStatistics;
     }
 
     /**
@@ -51,7 +91,7 @@ public class PatientServiceImpl implements PatientService {
         validatePatient(patient);
 
         Set<Role> roles = patient.getRole().stream()
-                .map(role -> roleRepository.findByRoleName(role.getRoleName())
+                .map(role -> roleCache.findByName(role.getRoleName())
                         .orElseThrow(() -> new RuntimeException("Role not found: " + role.getRoleName())))
                 .collect(Collectors.toSet());
 
@@ -69,7 +109,7 @@ public class PatientServiceImpl implements PatientService {
     @Override
     @Transactional
     public User updatePatient(Long patientId, User updatedPatient) {
-        User existingPatient = patientRepository.findById(patientId)
+        User existingPatient = patientRepository.findPatientById(patientId, patientOwnership.ownerUsername())
                 .orElseThrow(() -> new RuntimeException("Patient not found with ID: " + patientId));
 
         validatePatient(updatedPatient);
@@ -90,7 +130,7 @@ public class PatientServiceImpl implements PatientService {
     @Override
     @Transactional  //todo: make it gracefully
     public void deletePatient(Long patientId) {
-        User patient = patientRepository.findById(patientId)
+        User patient = patientRepository.findPatientByIdForUpdate(patientId, patientOwnership.ownerUsername())
                 .orElseThrow(() -> new RuntimeException("Patient not found with ID: " + patientId));
 
         // Check for active doctor appointments and remove them
@@ -112,6 +152,38 @@ public class PatientServiceImpl implements PatientService {
             }
             throw ex;
         }
+        if (patient.getPersonalDoctor() != null) {
+            personalDoctorStatistics.onPersonalDoctorChanged(patient.getPersonalDoctor().getId(), null);
+        }
+    }
+
+    /**
+     * Assigns a personal doctor to a patient, or removes it, and updates the per-doctor patient counters.
+     *
+     * @param patientId the ID of the patient.
+     * @param doctorId  the ID of the new personal doctor, or null to remove the current one.
+     * @throws RuntimeException if the patient or doctor is not found, or the doctor is not a personal doctor.
+     */
+    @Override
+    @Transactional
+    public void assignPersonalDoctor(Long patientId, Long doctorId) {
+        // Locked, so concurrent assignments see each other's doctor and update the counters once each
+        User patient = patientRepository.findPatientByIdForUpdate(patientId, patientOwnership.ownerUsername())
+                .orElseThrow(() -> new RuntimeException("Patient not found with ID: " + patientId));
+
+        User doctor = null;
+        if (doctorId != null) {
+            doctor = userRepository.findById(doctorId)
+                    .orElseThrow(() -> new RuntimeException("Doctor not found with id: " + doctorId));
+            if (!Boolean.TRUE.equals(doctor.getIsPersonalDoctor())) {
+                throw new RuntimeException("Doctor with id " + doctorId + " is not a personal doctor.");
+            }
+        }
+
+        Long previousDoctorId = patient.getPersonalDoctor() != null ? patient.getPersonalDoctor().getId() : null;
+        patient.setPersonalDoctor(doctor);
+        patientRepository.save(patient);
+        personalDoctorStatistics.onPersonalDoctorChanged(previousDoctorId, doctorId);
     }
 
 
@@ -124,7 +196,7 @@ public class PatientServiceImpl implements PatientService {
      */
     @Override
     public List<UserDTO> getAllPatients() {
-        List<User> users = patientRepository.findAllUsersByRoleName("PATIENT");
+        List<User> users = patientRepository.findAllUsersByRoleName("PATIENT", patientOwnership.ownerUsername());
         return users.stream()
                 .map(UserMapper::toDTO)
                 .collect(Collectors.toList());
@@ -138,7 +210,7 @@ public class PatientServiceImpl implements PatientService {
      */
     @Override
     public UserDTO getPatientById(Long id) {
-        User patient = patientRepository.findById(id)
+        User patient = patientRepository.findPatientById(id, patientOwnership.ownerUsername())
                 .orElseThrow(() -> new RuntimeException("Patient not found with id: " + id));
         return UserMapper.toDTO(patient);
     }
@@ -151,7 +223,7 @@ public class PatientServiceImpl implements PatientService {
      */
     @Override
     public User getPatientByUniqueIdentification(String uniqueIdentification) {
-        return patientRepository.findPatientByUniqueIdentification(uniqueIdentification);
+        return patientRepository.findPatientByUniqueIdentification(uniqueIdentification, patientOwnership.ownerUsername());
     }
 
     /**
@@ -161,7 +233,7 @@ public class PatientServiceImpl implements PatientService {
      */
     @Override
     public List<User> getPatientsWithInsurancePaid() {
-        return patientRepository.findPatientsWithInsurancePaid();
+        return patientRepository.findPatientsWithInsurancePaid(patientOwnership.ownerUsername());
     }
 
     /**
@@ -172,20 +244,70 @@ public class PatientServiceImpl implements PatientService {
      */
     @Override
     public List<PatientIllnessHistoryDTO> getPatientIllnessHistory(Long patientId) {
-        User patient = userRepository.findById(patientId)
+        String owner = patientOwnership.ownerUsername();
+        if (patientRepository.findPatientById(patientId, owner).isEmpty()) {
+            throw new RuntimeException("Patient not found with id: " + patientId);
+        }
+        return patientIllnessHistoryRepository.findHistoryRowsByPatientId(patientId, owner);
+    }
+
+
+    /**
+     * Assembles a patient's chart: profile, illness histories, appointments with their diagnoses and
+     * medicines, and sick days.
+     *
+     * Every part is loaded with its own projection query, and diagnoses, medicines and sick day
+     * diagnoses are fetched for all parents at once with an IN query, so the chart takes at most
+     * seven statements however much history the patient has, and no join multiplies rows across
+     * unrelated collections.
+     *
+     * @param patientId the ID of the patient.
+     * @return the patient's chart.
+     * @throws RuntimeException if the patient is not found.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public PatientChartDTO getPatientChart(Long patientId) {
+        String owner = patientOwnership.ownerUsername();
+        User patient = patientRepository.findWithRoleById(patientId, owner)
                 .orElseThrow(() -> new RuntimeException("Patient not found with id: " + patientId));
 
-        return patient.getPatientIllnessHistory().stream()
-                .map(history -> new PatientIllnessHistoryDTO(
-                        history.getId(),
-                        history.getIllnessName(),
-                        history.getStartDate(),
-                        history.getEndDate(),
-                        history.getPatient() != null ? history.getPatient().getId() : null
-                ))
+        List<PatientIllnessHistoryDTO> histories = patientIllnessHistoryRepository.findHistoryRowsByPatientId(patientId, owner);
+
+        List<PatientAppointmentRow> appointmentRows = doctorAppointmentRepository.findAppointmentRowsByPatientId(patientId, owner);
+        List<AppointmentDiagnosisRow> diagnosisRows = appointmentRows.isEmpty() ? List.of()
+                : diagnosisRepository.findRowsByAppointmentIds(
+                        appointmentRows.stream().map(PatientAppointmentRow::id).collect(Collectors.toList()));
+        Map<Long, List<MedicineDTO>> medicinesByDiagnosis = (diagnosisRows.isEmpty() ? List.<MedicineDTO>of()
+                : medicineRepository.findRowsByDiagnosisIds(
+                        diagnosisRows.stream().map(AppointmentDiagnosisRow::id).collect(Collectors.toList())))
+                .stream()
+                .collect(Collectors.groupingBy(MedicineDTO::getDiagnosisId));
+        Map<Long, List<PatientChartDiagnosisDTO>> diagnosesByAppointment = diagnosisRows.stream()
+                .collect(Collectors.groupingBy(AppointmentDiagnosisRow::appointmentId,
+                        Collectors.mapping(row -> new PatientChartDiagnosisDTO(row.id(), row.diagnosisName(),
+                                row.diagnosisDescription(), medicinesByDiagnosis.getOrDefault(row.id(), List.of())),
+                                Collectors.toList())));
+        List<PatientChartAppointmentDTO> appointments = appointmentRows.stream()
+                .map(row -> new PatientChartAppointmentDTO(row.id(), row.date(), row.doctorId(), row.doctorName(),
+                        row.illnessHistoryId(), diagnosesByAppointment.getOrDefault(row.id(), List.of())))
                 .collect(Collectors.toList());
-    }
 
+        List<SickDayRow> sickDayRows = sickDayRepository.findRowsByPatientId(patientId, owner);
+        Map<Long, Set<Long>> diagnosisIdsBySickDay = (sickDayRows.isEmpty() ? List.<SickDayDiagnosisLink>of()
+                : sickDayRepository.findDiagnosisLinks(
+                        sickDayRows.stream().map(SickDayRow::id).collect(Collectors.toList())))
+                .stream()
+                .collect(Collectors.groupingBy(SickDayDiagnosisLink::sickDayId,
+                        Collectors.mapping(SickDayDiagnosisLink::diagnosisId, Collectors.toSet())));
+        List<SickDayDTO> sickDays = sickDayRows.stream()
+                .map(row -> new SickDayDTO(row.id(), row.startDate(), row.endDate(), row.numberOfDays(),
+                        row.patientId(), diagnosisIdsBySickDay.getOrDefault(row.id(), Set.of()), row.doctorId()))
+                .collect(Collectors.toList());
+
+        return new PatientChartDTO(UserMapper.toDTO(patient), patient.getUniqueIdentification(),
+                patient.getInsurancePaidLast6Months(), histories, appointments, sickDays);
+    }
 
     /**
      * Creates a new doctor appointment for a patient.
@@ -193,18 +315,29 @@ public class PatientServiceImpl implements PatientService {
      * @param patientId      the ID of the patient.
      * @param appointmentDTO the details of the appointment.
      * @return the created DoctorAppointmentDTO.
+     * @throws RuntimeException if the patient or doctor is not found, or the doctor already has
+     *                          an appointment in the slot.
      */
     @Override
     @Transactional
     public DoctorAppointmentDTO createAppointment(Long patientId, DoctorAppointmentDTO appointmentDTO) {
-        User patient = userRepository.findById(patientId)
+        User patient = patientRepository.findPatientById(patientId, patientOwnership.ownerUsername())
                 .orElseThrow(() -> new RuntimeException("Patient not found with id: " + patientId));
 
         DoctorAppointment appointment = new DoctorAppointment();
         appointment.setDate(appointmentDTO.getDate());
         appointment.setPatient(patient);
+        if (appointmentDTO.getDoctorId() != null) {
+            appointment.setDoctor(userRepository.findById(appointmentDTO.getDoctorId())
+                    .orElseThrow(() -> new RuntimeException("Doctor not found with id: " + appointmentDTO.getDoctorId())));
+        }
 
         DoctorAppointment savedAppointment = doctorAppointmentRepository.save(appointment);
+        if (savedAppointment.getDoctor() != null) {
+            appointmentSlotIndex.book(savedAppointment.getId(), savedAppointment.getDoctor().getId(), savedAppointment.getDate());
+            doctorScheduleIndex.onAppointmentSaved(savedAppointment);
+            reportCache.invalidate(ReportCache.Topic.APPOINTMENTS);
+        }
 
         return new DoctorAppointmentDTO(
                 savedAppointment.getId(),
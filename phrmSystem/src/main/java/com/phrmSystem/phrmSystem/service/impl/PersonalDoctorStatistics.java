@@ -0,0 +1,164 @@
+package com.phrmSystem.phrmSystem.service.impl;
+
+import com.phrmSystem.phrmSystem.data.projection.PersonalDoctorPatientCount;
+import com.phrmSystem.phrmSystem.data.repo.DoctorRepository;
+import com.phrmSystem.phrmSystem.dto.CounterRebuildResultDTO;
+import com.phrmSystem.phrmSystem.dto.DoctorPatientCountDTO;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * In-memory counters of how many patients each personal doctor has, kept up to date by the writes that
+ * assign, remove or delete patients and doctors instead of aggregating the users table on every request.
+ *
+ * Changes are applied after the writing transaction commits. The patient loads are cached as an
+ * immutable snapshot that is recomputed on the first read after a change.
+ * {@link #rebuild()} reconciles the counters with the users table; commits wait while its query runs
+ * (see CommitGate).
+ */
+@Component
+public class PersonalDoctorStatistics {
+
+    private static final Comparator<DoctorPatientCountDTO> RANKING = Comparator
+            .comparingLong(DoctorPatientCountDTO::getPatients).reversed()
+            .thenComparing(DoctorPatientCountDTO::getDoctorId);
+
+    private final DoctorRepository doctorRepository;
+    private final Object lock = new Object();
+    private final CommitGate commitGate = new CommitGate();
+
+    private Map<Long, Long> counts = new HashMap<>();
+    private volatile List<DoctorPatientCountDTO> ranking = List.of();
+
+    public PersonalDoctorStatistics(DoctorRepository doctorRepository) {
+        this.doctorRepository = doctorRepository;
+    }
+
+    /**
+     * Records a change of a patient's personal doctor.
+     * Use null as {@code previousDoctorId} for a new assignment and as {@code doctorId} for a removed one.
+     *
+     * @param previousDoctorId the ID of the personal doctor before the change.
+     * @param doctorId         the ID of the personal doctor after the change.
+     */
+    public void onPersonalDoctorChanged(Long previousDoctorId, Long doctorId) {
+        if (Objects.equals(previousDoctorId, doctorId)) {
+            return;
+        }
+        List<Change> changes = new ArrayList<>(2);
+        if (previousDoctorId != null) {
+            changes.add(new Change(previousDoctorId, -1));
+        }
+        if (doctorId != null) {
+            changes.add(new Change(doctorId, 1));
+        }
+        record(changes);
+    }
+
+    /**
+     * Drops the counter of a deleted doctor, whose patients no longer have a personal doctor.
+     *
+     * @param doctorId the ID of the doctor.
+     */
+    public void onDoctorDeleted(Long doctorId) {
+        commitGate.afterCommit(() -> {
+            synchronized (lock) {
+                counts.remove(doctorId);
+                ranking = null;
+            }
+        });
+    }
+
+    /**
+     * Retrieves the number of patients of every personal doctor that has any, most patients first.
+     *
+     * @return the doctor IDs with their patient counts.
+     */
+    public List<DoctorPatientCountDTO> getPatientLoads() {
+        List<DoctorPatientCountDTO> snapshot = ranking;
+        if (snapshot == null) {
+            synchronized (lock) {
+                snapshot = ranking;
+                if (snapshot == null) {
+                    snapshot = computeRanking();
+                    ranking = snapshot;
+                }
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * Recomputes the counters from the users table and replaces the in-memory state.
+     * Commits that change the counters wait until the query has run and are applied on top of its result.
+     *
+     * @return how many counters were compared and how many of them were wrong.
+     */
+    public CounterRebuildResultDTO rebuild() {
+        return commitGate.whileNoCommits(() -> {
+            List<PersonalDoctorPatientCount> rows = doctorRepository.countPatientsPerPersonalDoctor();
+            synchronized (lock) {
+                Map<Long, Long> rebuilt = new HashMap<>();
+                for (PersonalDoctorPatientCount row : rows) {
+                    adjust(rebuilt, row.doctorId(), row.patients());
+                }
+
+                long checked = 0;
+                long corrected = 0;
+                Set<Long> doctors = new HashSet<>(counts.keySet());
+                doctors.addAll(rebuilt.keySet());
+                for (Long doctorId : doctors) {
+                    checked++;
+                    if (!Objects.equals(counts.get(doctorId), rebuilt.get(doctorId))) {
+                        corrected++;
+                    }
+                }
+
+                counts = rebuilt;
+                ranking = null;
+                return new CounterRebuildResultDTO(checked, corrected);
+            }
+        });
+    }
+
+    private void record(List<Change> changes) {
+        commitGate.afterCommit(() -> {
+            synchronized (lock) {
+                for (Change change : changes) {
+                    adjust(counts, change.doctorId(), change.delta());
+                }
+                ranking = null;
+            }
+        });
+    }
+
+    private static void adjust(Map<Long, Long> counts, Long doctorId, long delta) {
+        long count = counts.getOrDefault(doctorId, 0L) + delta;
+        if (count > 0) {
+            counts.put(doctorId, count);
+        } else {
+            counts.remove(doctorId);
+        }
+    }
+
+    private List<DoctorPatientCountDTO> computeRanking() {
+        List<DoctorPatientCountDTO> result = new ArrayList<>(counts.size());
+        counts.forEach((doctorId, patients) -> result.add(new DoctorPatientCountDTO(doctorId, patients)));
+        result.sort(RANKING);
+        return List.copyOf(result);
+    }
+
+    /**
+     * A change of the patient count of one doctor.
+     */
+    private record Change(Long doctorId, long delta) {
+    }
+}
@@ -0,0 +1,135 @@
+package com.phrmSystem.phrmSystem.service.impl;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Time-limited cache of report results, grouped by the data they are computed from.
+ *
+ * A result is served until its time to live runs out or a write to its topic invalidates it, so
+ * polling a dashboard runs the report query at most once per interval. Writers call
+ * {@link #invalidate(Topic)}; inside a transaction the topic is invalidated again after the
+ * transaction completes. Each topic has a generation that every invalidation bumps, and a result
+ * computed while an invalidation happened is returned but not cached, so a report that read the
+ * state from before a commit is never served afterwards.
+ */
+@Component
+public class ReportCache {
+
+    /**
+     * Largest number of cached results per topic; further keys are computed but not cached.
+     */
+    static final int MAX_ENTRIES_PER_TOPIC = 256;
+
+    /**
+     * The data a report is computed from.
+     */
+    public enum Topic {
+        APPOINTMENTS,
+        SICK_DAYS
+    }
+
+    private final long timeToLiveNanos;
+    private final LongSupplier nanoTime;
+    private final Map<Topic, TopicEntries> topics = new EnumMap<>(Topic.class);
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public ReportCache(@Value("${phrm.reports.cache-ttl-seconds:60}") long timeToLiveSeconds) {
+        this(timeToLiveSeconds * 1_000_000_000L, System::nanoTime);
+    }
+
+    ReportCache(long timeToLiveNanos, LongSupplier nanoTime) {
+        if (timeToLiveNanos < 0) {
+            throw new IllegalArgumentException("Report cache time to live cannot be negative.");
+        }
+        this.timeToLiveNanos = timeToLiveNanos;
+        this.nanoTime = nanoTime;
+        for (Topic topic : Topic.values()) {
+            topics.put(topic, new TopicEntries());
+        }
+    }
+
+    /**
+     * Returns the cached result for a key, computing and caching it if it is missing or expired.
+     *
+     * @param topic  the data the report is computed from.
+     * @param key    the report and its parameters.
+     * @param report computes the result; it should be immutable, since it is shared between callers.
+     * @return the cached or computed result.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(Topic topic, Object key, Supplier<T> report) {
+        TopicEntries entries = topics.get(topic);
+        long now = nanoTime.getAsLong();
+        Entry cached = entries.results.get(key);
+        if (cached != null && now - cached.createdNanos < timeToLiveNanos
+                && cached.generation == entries.generation.get()) {
+            hits.increment();
+            return (T) cached.value;
+        }
+        misses.increment();
+        long generation = entries.generation.get();
+        T value = report.get();
+        if (timeToLiveNanos > 0 && (entries.results.size() < MAX_ENTRIES_PER_TOPIC || cached != null)) {
+            entries.results.put(key, new Entry(value, now, generation));
+            if (entries.generation.get() != generation) {
+                entries.results.remove(key);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Drops the cached results computed from a topic's data.
+     *
+     * @param topic the data that was written.
+     */
+    public void invalidate(Topic topic) {
+        TopicEntries entries = topics.get(topic);
+        entries.clear();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    entries.clear();
+                }
+            });
+        }
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    /**
+     * Cached results of one topic and the generation they must match.
+     */
+    private static final class TopicEntries {
+
+        private final Map<Object, Entry> results = new ConcurrentHashMap<>();
+        private final AtomicLong generation = new AtomicLong();
+
+        void clear() {
+            generation.incrementAndGet();
+            results.clear();
+        }
+    }
+
+    private record Entry(Object value, long createdNanos, long generation) {
+    }
+}
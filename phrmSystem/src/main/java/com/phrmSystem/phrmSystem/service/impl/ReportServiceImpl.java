@@ -0,0 +1,78 @@
+package com.phrmSystem.phrmSystem.service.impl;
+
+import com.phrmSystem.phrmSystem.data.projection.DiagnosisNameCount;
+import com.phrmSystem.phrmSystem.data.projection.DoctorAppointmentCount;
+import com.phrmSystem.phrmSystem.data.repo.DiagnosisRepository;
+import com.phrmSystem.phrmSystem.data.repo.DoctorAppointmentRepository;
+import com.phrmSystem.phrmSystem.service.ReportService;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Dashboard reports computed with aggregate projection queries that select only IDs, names and
+ * counts, so no entity is loaded or serialised. Results are immutable lists held in the ReportCache
+ * until they expire or a write to the underlying data invalidates them.
+ *
+ * The methods are deliberately not transactional: each report is a single query, and a cache hit
+ * should not check out a connection.
+ */
+@Service
+public class ReportServiceImpl implements ReportService {
+
+    private final DoctorAppointmentRepository doctorAppointmentRepository;
+    private final DiagnosisRepository diagnosisRepository;
+    private final ReportCache reportCache;
+
+    public ReportServiceImpl(DoctorAppointmentRepository doctorAppointmentRepository,
+                             DiagnosisRepository diagnosisRepository, ReportCache reportCache) {
+        this.doctorAppointmentRepository = doctorAppointmentRepository;
+        this.diagnosisRepository = diagnosisRepository;
+        this.reportCache = reportCache;
+    }
+
+    /**
+     * Counts the appointments of every doctor, optionally within a range of days, most booked first.
+     *
+     * @param from the first day to count, or null for no lower bound.
+     * @param to   the last day to count (inclusive), or null for no upper bound.
+     * @return the appointment count per doctor.
+     * @throws IllegalArgumentException if the range ends before it starts.
+     */
+    @Override
+    public List<DoctorAppointmentCount> getAppointmentsPerDoctor(LocalDate from, LocalDate to) {
+        if (from != null && to != null && to.isBefore(from)) {
+            throw new IllegalArgumentException("The end date cannot be before the start date.");
+        }
+        return reportCache.get(ReportCache.Topic.APPOINTMENTS, new AppointmentsPerDoctorKey(from, to),
+                () -> List.copyOf(doctorAppointmentRepository.countAppointmentsPerDoctor(
+                        from != null ? from.atStartOfDay() : null,
+                        to != null ? to.plusDays(1).atStartOfDay() : null)));
+    }
+
+    /**
+     * Ranks diagnosis names by the number of sick days listing them, counting diagnoses that share a
+     * name together.
+     *
+     * @param limit the maximum number of names to return; all when null.
+     * @return the most common diagnosis names with their sick day counts.
+     * @throws IllegalArgumentException if the limit is not positive.
+     */
+    @Override
+    public List<DiagnosisNameCount> getMostCommonDiagnosisNames(Integer limit) {
+        if (limit != null && limit < 1) {
+            throw new IllegalArgumentException("Limit must be positive.");
+        }
+        List<DiagnosisNameCount> ranking = reportCache.get(ReportCache.Topic.SICK_DAYS, MostCommonDiagnosisNamesKey.INSTANCE,
+                () -> List.copyOf(diagnosisRepository.findMostCommonDiagnoses()));
+        return limit == null || limit >= ranking.size() ? ranking : ranking.subList(0, limit);
+    }
+
+    private record AppointmentsPerDoctorKey(LocalDate from, LocalDate to) {
+    }
+
+    private enum MostCommonDiagnosisNamesKey {
+        INSTANCE
+    }
+}
@@ -0,0 +1,292 @@
+package com.phrmSystem.phrmSystem.service.impl;
+
+import com.phrmSystem.phrmSystem.dto.EndpointMetricsDTO;
+import com.phrmSystem.phrmSystem.dto.MetricsDTO;
+import com.phrmSystem.phrmSystem.dto.RepositoryMetricsDTO;
+import com.phrmSystem.phrmSystem.dto.SlowQueryDTO;
+import com.phrmSystem.phrmSystem.exceptions.StatementBudgetExceededException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * In-process registry of request, repository and SQL statement timings.
+ *
+ * The web layer brackets every API request with {@link #beginRequest(String)} and
+ * {@link #endRequest(long)}; statements executed in between on the same thread are counted
+ * against that request, so an endpoint whose statements per request grow with the data is an
+ * N+1 candidate. Statements slower than the threshold are kept in a bounded log of the most
+ * recent ones.
+ *
+ * With {@code phrm.metrics.statement-budget} set, a request that executes more statements than the
+ * budget is logged and counted against its endpoint ({@code log} mode), or fails with a
+ * StatementBudgetExceededException on the first statement over the budget ({@code fail} mode, for
+ * integration tests). Tests can also measure a block of code with {@link #countStatements(Supplier)}.
+ */
+@Component
+public class RequestMetrics {
+
+    /**
+     * Longest SQL text kept in the slow query log.
+     */
+    static final int MAX_SQL_LENGTH = 2000;
+
+    private static final Logger log = LoggerFactory.getLogger(RequestMetrics.class);
+
+    private final long slowQueryThresholdNanos;
+    private final int slowQueryLogSize;
+    private final int statementBudget;
+    private final boolean failOverBudget;
+
+    private final ThreadLocal<ActiveRequest> activeRequest = new ThreadLocal<>();
+    private final Map<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+    private final Map<String, LatencyHistogram> repositoryMethods = new ConcurrentHashMap<>();
+    private final LongAdder statements = new LongAdder();
+    private final LongAdder slowQueries = new LongAdder();
+    private final Deque<SlowQueryDTO> slowQueryLog = new ArrayDeque<>();
+
+    public RequestMetrics(@Value("${phrm.metrics.slow-query-threshold-ms:200}") long slowQueryThresholdMillis,
+                          @Value("${phrm.metrics.slow-query-log-size:100}") int slowQueryLogSize,
+                          @Value("${phrm.metrics.statement-budget:0}") int statementBudget,
+                          @Value("${phrm.metrics.statement-budget-mode:log}") String statementBudgetMode) {
+        if (slowQueryThresholdMillis < 0 || slowQueryLogSize < 0 || statementBudget < 0) {
+            throw new IllegalArgumentException("Slow query threshold, log size and statement budget cannot be negative.");
+        }
+        String mode = statementBudgetMode.trim().toLowerCase(Locale.ROOT);
+        if (!mode.equals("log") && !mode.equals("fail")) {
+            throw new IllegalArgumentException("Statement budget mode must be log or fail, not: " + statementBudgetMode);
+        }
+        this.slowQueryThresholdNanos = slowQueryThresholdMillis * 1_000_000;
+        this.slowQueryLogSize = slowQueryLogSize;
+        this.statementBudget = statementBudget;
+        this.failOverBudget = mode.equals("fail");
+    }
+
+    /**
+     * Starts counting the statements of a request handled on the current thread.
+     *
+     * @param endpoint the name of the handling controller method.
+     */
+    public void beginRequest(String endpoint) {
+        activeRequest.set(new ActiveRequest(endpoint));
+    }
+
+    /**
+     * Records the latency and statement count of the current thread's request.
+     *
+     * @param nanos the time the request took.
+     */
+    public void endRequest(long nanos) {
+        ActiveRequest request = activeRequest.get();
+        if (request == null) {
+            return;
+        }
+        activeRequest.remove();
+        boolean overBudget = isOverBudget(request.statements);
+        if (overBudget) {
+            log.warn("{} executed {} SQL statements, over the budget of {}",
+                    request.endpoint, request.statements, statementBudget);
+        }
+        endpoints.computeIfAbsent(request.endpoint, endpoint -> new EndpointStats())
+                .record(nanos, request.statements, overBudget);
+    }
+
+    /**
+     * Runs an action as if it were a request and returns the number of SQL statements it executed,
+     * e.g. to assert a statement budget in an integration test. The action is not recorded as an
+     * endpoint, and a request already active on the thread is resumed afterwards.
+     *
+     * @param action the action to measure.
+     * @return the number of statements the action executed.
+     */
+    public int countStatements(Supplier<?> action) {
+        ActiveRequest outer = activeRequest.get();
+        ActiveRequest measured = new ActiveRequest(outer != null ? outer.endpoint : "countStatements");
+        activeRequest.set(measured);
+        try {
+            action.get();
+            return measured.statements;
+        } finally {
+            if (outer != null) {
+                outer.statements += measured.statements;
+                activeRequest.set(outer);
+            } else {
+                activeRequest.remove();
+            }
+        }
+    }
+
+    /**
+     * In fail mode, rejects the current request once it has executed more statements than the budget.
+     * Called after each statement; only the first statement over the budget fails.
+     *
+     * @throws StatementBudgetExceededException if the request just went over the budget.
+     */
+    public void checkStatementBudget() {
+        ActiveRequest request = activeRequest.get();
+        if (failOverBudget && request != null && !request.rejected && isOverBudget(request.statements)) {
+            request.rejected = true;
+            throw new StatementBudgetExceededException(request.endpoint + " executed more than "
+                    + statementBudget + " SQL statements.");
+        }
+    }
+
+    private boolean isOverBudget(int statements) {
+        return statementBudget > 0 && statements > statementBudget;
+    }
+
+    /**
+     * Returns the name of the endpoint handling the current thread's request.
+     *
+     * @return the endpoint, or null outside a request.
+     */
+    public String currentEndpoint() {
+        ActiveRequest request = activeRequest.get();
+        return request != null ? request.endpoint : null;
+    }
+
+    /**
+     * Returns the number of statements the current thread's request has executed so far.
+     *
+     * @return the statement count, or 0 outside a request.
+     */
+    public int statementsInCurrentRequest() {
+        ActiveRequest request = activeRequest.get();
+        return request != null ? request.statements : 0;
+    }
+
+    /**
+     * Records one executed SQL statement or JDBC batch.
+     *
+     * @param sql   the statement text.
+     * @param nanos the execution time.
+     */
+    public void recordStatement(String sql, long nanos) {
+        statements.increment();
+        ActiveRequest request = activeRequest.get();
+        if (request != null) {
+            request.statements++;
+        }
+        if (nanos >= slowQueryThresholdNanos) {
+            slowQueries.increment();
+            if (slowQueryLogSize > 0) {
+                String text = sql != null && sql.length() > MAX_SQL_LENGTH ? sql.substring(0, MAX_SQL_LENGTH) : sql;
+                SlowQueryDTO slowQuery = new SlowQueryDTO(LocalDateTime.now(),
+                        request != null ? request.endpoint : null, text, nanos / 1e6);
+                synchronized (slowQueryLog) {
+                    if (slowQueryLog.size() == slowQueryLogSize) {
+                        slowQueryLog.removeFirst();
+                    }
+                    slowQueryLog.addLast(slowQuery);
+                }
+            }
+        }
+    }
+
+    /**
+     * Records one call of a repository method.
+     *
+     * @param method the repository interface and method name.
+     * @param nanos  the time the call took.
+     */
+    public void recordRepositoryCall(String method, long nanos) {
+        repositoryMethods.computeIfAbsent(method, name -> new LatencyHistogram()).record(nanos);
+    }
+
+    /**
+     * Returns the metrics collected since startup or the last reset, slowest endpoints and
+     * repository methods (by total time) first, and the slow query log newest first.
+     *
+     * @return the metrics.
+     */
+    public MetricsDTO snapshot() {
+        List<EndpointMetricsDTO> endpointMetrics = new ArrayList<>();
+        endpoints.forEach((endpoint, stats) -> endpointMetrics.add(stats.toDTO(endpoint)));
+        endpointMetrics.sort(Comparator.comparingDouble(
+                (EndpointMetricsDTO metrics) -> metrics.getMeanMillis() * metrics.getRequests()).reversed());
+
+        List<RepositoryMetricsDTO> repositoryMetrics = new ArrayList<>();
+        repositoryMethods.forEach((method, histogram) -> repositoryMetrics.add(new RepositoryMetricsDTO(
+                method, histogram.count(), histogram.meanMillis(), histogram.percentileMillis(0.99),
+                histogram.maxMillis(), histogram.totalMillis())));
+        repositoryMetrics.sort(Comparator.comparingDouble(RepositoryMetricsDTO::getTotalMillis).reversed());
+
+        List<SlowQueryDTO> recentSlowQueries;
+        synchronized (slowQueryLog) {
+            recentSlowQueries = new ArrayList<>(slowQueryLog);
+        }
+        recentSlowQueries.sort(Comparator.comparing(SlowQueryDTO::getTime).reversed());
+
+        return new MetricsDTO(statements.sum(), slowQueries.sum(), slowQueryThresholdNanos / 1_000_000,
+                statementBudget, endpointMetrics, repositoryMetrics, recentSlowQueries);
+    }
+
+    /**
+     * Discards all collected metrics. Requests in flight are still recorded when they end.
+     */
+    public void reset() {
+        endpoints.clear();
+        repositoryMethods.clear();
+        statements.reset();
+        slowQueries.reset();
+        synchronized (slowQueryLog) {
+            slowQueryLog.clear();
+        }
+    }
+
+    /**
+     * Latency histogram and statement counts of one endpoint.
+     */
+    private static class EndpointStats {
+
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder statements = new LongAdder();
+        private final AtomicLong maxStatements = new AtomicLong();
+        private final LongAdder overBudget = new LongAdder();
+
+        void record(long nanos, int requestStatements, boolean requestOverBudget) {
+            latency.record(nanos);
+            statements.add(requestStatements);
+            maxStatements.accumulateAndGet(requestStatements, Math::max);
+            if (requestOverBudget) {
+                overBudget.increment();
+            }
+        }
+
+        EndpointMetricsDTO toDTO(String endpoint) {
+            long requests = latency.count();
+            return new EndpointMetricsDTO(endpoint, requests, latency.meanMillis(),
+                    latency.percentileMillis(0.50), latency.percentileMillis(0.95), latency.percentileMillis(0.99),
+                    latency.maxMillis(), requests == 0 ? 0 : (double) statements.sum() / requests, maxStatements.get(),
+                    overBudget.sum());
+        }
+    }
+
+    /**
+     * The request handled on a thread; only touched by that thread.
+     */
+    private static class ActiveRequest {
+
+        private final String endpoint;
+        private int statements;
+        private boolean rejected;
+
+        ActiveRequest(String endpoint) {
+            this.endpoint = endpoint;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.phrmSystem.phrmSystem.service.impl;
+
+import com.phrmSystem.phrmSystem.data.entity.Role;
+import com.phrmSystem.phrmSystem.data.repo.RoleRepository;
+import com.phrmSystem.phrmSystem.dto.RoleCacheStatsDTO;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Read-through, in-process cache of the role catalogue, keyed by role name.
+ *
+ * Roles are cached as immutable snapshots and every lookup returns a new Role instance carrying the
+ * snapshot's ID, name and description. The instance is not attached to any persistence context, so it can
+ * be assigned to a user's roles without a query, but its user list is always empty.
+ * Names that do not exist are not cached.
+ */
+@Component
+public class RoleCache {
+
+    private final RoleRepository roleRepository;
+    private final Map<String, CachedRole> rolesByName = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public RoleCache(RoleRepository roleRepository) {
+        this.roleRepository = roleRepository;
+    }
+
+    /**
+     * Retrieves a Role by its name, loading it on a cache miss.
+     *
+     * @param roleName the name of the Role.
+     * @return an Optional containing a copy of the Role, or empty if no Role has this name.
+     */
+    public Optional<Role> findByName(String roleName) {
+        if (roleName == null) {
+            return Optional.empty();
+        }
+        CachedRole cached = rolesByName.get(roleName);
+        if (cached != null) {
+            hits.increment();
+            return Optional.of(cached.toRole());
+        }
+        misses.increment();
+        return roleRepository.findByRoleName(roleName).map(this::store);
+    }
+
+    /**
+     * Drops every cached Role. When called inside a transaction the cache is cleared again after the
+     * transaction completes, so a concurrent reader cannot re-cache the state from before the commit.
+     */
+    public void invalidate() {
+        clear();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    clear();
+                }
+            });
+        }
+    }
+
+    /**
+     * Returns the hit and miss counts since startup and the number of cached roles.
+     *
+     * @return the cache statistics.
+     */
+    public RoleCacheStatsDTO getStats() {
+        return new RoleCacheStatsDTO(hits.sum(), misses.sum(), rolesByName.size());
+    }
+
+    private Role store(Role role) {
+        if (role.getId() == null || role.getRoleName() == null) {
+            return role;
+        }
+        CachedRole cached = new CachedRole(role.getId(), role.getRoleName(), role.getDescription());
+        rolesByName.put(cached.roleName(), cached);
+        return cached.toRole();
+    }
+
+    private void clear() {
+        rolesByName.clear();
+    }
+
+    /**
+     * Immutable snapshot of a Role.
+     */
+    private record CachedRole(Long id, String roleName, String description) {
+
+        Role toRole() {
+            Role role = new Role();
+            role.setId(id);
+            role.setRoleName(roleName);
+            role.setDescription(description);
+            return role;
+        }
+    }
+}
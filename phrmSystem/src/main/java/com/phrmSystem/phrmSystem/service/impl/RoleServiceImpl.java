@@ -2,6 +2,7 @@ package com.phrmSystem.phrmSystem.service.impl;
 
 import com.phrmSystem.phrmSystem.data.entity.Role;
 import com.phrmSystem.phrmSystem.data.repo.RoleRepository;
+import com.phrmSystem.phrmSystem.dto.RoleCacheStatsDTO;
 import com.phrmSystem.phrmSystem.service.RoleService;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -15,9 +16,11 @@ import java.util.Optional;
 @Service
 public class RoleServiceImpl implements RoleService {
     private final RoleRepository roleRepository;
+    private final RoleCache roleCache;
 
-    public RoleServiceImpl(RoleRepository roleRepository) {
+    public RoleServiceImpl(RoleRepository roleRepository, RoleCache roleCache) {
         this.roleRepository = roleRepository;
+        this.roleCache = roleCache;
     }
 
     /**
@@ -32,6 +35,7 @@ public class RoleServiceImpl implements RoleService {
     public Role createRole(Role role) {
         validateRole(role);
         checkForDuplicateRoleName(role.getRoleName());
+        roleCache.invalidate();
         try {
             return roleRepository.save(role);
         } catch (Exception ex) {
@@ -63,6 +67,7 @@ public class RoleServiceImpl implements RoleService {
 
         existingRole.setRoleName(updatedRole.getRoleName());
         existingRole.setDescription(updatedRole.getDescription());
+        roleCache.invalidate();
         return roleRepository.save(existingRole);
     }
 
@@ -83,6 +88,7 @@ public class RoleServiceImpl implements RoleService {
             throw new RuntimeException("Cannot delete role as it is assigned to users. Please unassign the role from all users before deleting.");
         }
 
+        roleCache.invalidate();
         try {
             roleRepository.deleteById(roleId);
         } catch (Exception ex) {
@@ -92,7 +98,8 @@ public class RoleServiceImpl implements RoleService {
 
 
     /**
-     * Retrieves a Role by ID.
+     * Retrieves a Role by ID from the repository rather than the role cache, whose copies have no
+     * users, so that the response still lists the users of the role.
      *
      * @param roleId the ID of the Role to retrieve.
      * @return the Role entity.
@@ -115,7 +122,8 @@ public class RoleServiceImpl implements RoleService {
     }
 
     /**
-     * Retrieves a Role by its name.
+     * Retrieves a Role by its name from the repository rather than the role cache, whose copies have
+     * no users, so that the response still lists the users of the role.
      *
      * @param roleName the name of the Role to retrieve.
      * @return an Optional containing the Role entity if found, or empty if not found.
@@ -136,6 +144,16 @@ public class RoleServiceImpl implements RoleService {
         return roleRepository.findByRoleNameContaining(keyword);
     }
 
+    /**
+     * Retrieves the hit and miss counts of the role cache.
+     *
+     * @return the role cache statistics.
+     */
+    @Override
+    public RoleCacheStatsDTO getRoleCacheStats() {
+        return roleCache.getStats();
+    }
+
     /**
      * Validates a Role entity for required fields and constraints.
      *
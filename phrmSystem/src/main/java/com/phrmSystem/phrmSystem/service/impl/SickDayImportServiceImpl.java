@@ -0,0 +1,392 @@
+package com.phrmSystem.phrmSystem.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.phrmSystem.phrmSystem.data.entity.Diagnosis;
+import com.phrmSystem.phrmSystem.data.entity.SickDay;
+import com.phrmSystem.phrmSystem.data.entity.User;
+import com.phrmSystem.phrmSystem.data.repo.SickDayRepository;
+import com.phrmSystem.phrmSystem.dto.SickDayDTO;
+import com.phrmSystem.phrmSystem.dto.SickDayImportErrorDTO;
+import com.phrmSystem.phrmSystem.dto.SickDayImportResultDTO;
+import com.phrmSystem.phrmSystem.service.SickDayImportService;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of the SickDayImportService interface, responsible for importing
+ * large NDJSON or CSV files of SickDays.
+ *
+ * Rows are read one line at a time and written in chunks, each chunk in its own transaction.
+ * Patients, doctors and diagnoses of a chunk are resolved with one multi-id load per entity type,
+ * and the inserts are sent as JDBC batches. A row that fails validation or references a missing
+ * entity is reported and skipped; the rest of the import continues.
+ */
+@Service
+public class SickDayImportServiceImpl implements SickDayImportService {
+
+    /**
+     * Maximum number of row errors returned in the result; further failures are only counted.
+     */
+    static final int MAX_REPORTED_ERRORS = 1000;
+
+    private static final List<String> CSV_COLUMNS = List.of("startDate", "endDate", "patientId", "doctorId", "diagnosisIds");
+
+    private final SickDayRepository sickDayRepository;
+    private final BulkEntityResolver bulkEntityResolver;
+    private final DiagnosisStatistics diagnosisStatistics;
+    private final SickLeaveStatistics sickLeaveStatistics;
+    private final ReportCache reportCache;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+
+    /**
+     * Constructs a SickDayImportServiceImpl with required dependencies.
+     *
+     * @param sickDayRepository   repository for managing SickDay entities.
+     * @param bulkEntityResolver  resolver for loading users and diagnoses by ID in bulk.
+     * @param diagnosisStatistics counters of sick days per diagnosis, updated for every imported chunk.
+     * @param sickLeaveStatistics counters of sick days per month and doctor, updated for every imported chunk.
+     * @param reportCache         cached reports, invalidated for every imported chunk.
+     * @param entityManager       entity manager used to flush and clear each chunk.
+     * @param transactionManager  transaction manager used to commit each chunk separately.
+     * @param objectMapper        mapper used to read NDJSON rows.
+     * @param chunkSize           number of rows written per transaction.
+     */
+    public SickDayImportServiceImpl(SickDayRepository sickDayRepository,
+                                    BulkEntityResolver bulkEntityResolver,
+                                    DiagnosisStatistics diagnosisStatistics,
+                                    SickLeaveStatistics sickLeaveStatistics,
+                                    ReportCache reportCache,
+                                    EntityManager entityManager,
+                                    PlatformTransactionManager transactionManager,
+                                    ObjectMapper objectMapper,
+                                    @Value("${phrm.import.chunk-size:500}") int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Import chunk size must be positive.");
+        }
+        this.sickDayRepository = sickDayRepository;
+        this.bulkEntityResolver = bulkEntityResolver;
+        this.diagnosisStatistics = diagnosisStatistics;
+        this.sickLeaveStatistics = sickLeaveStatistics;
+        this.reportCache = reportCache;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Imports SickDays from an NDJSON or CSV stream.
+     *
+     * NDJSON rows use the SickDayDTO field names. CSV input starts with a header naming the columns
+     * startDate, endDate, patientId, doctorId and diagnosisIds (in any order); diagnosis IDs are separated by ';'.
+     * Blank lines are ignored.
+     *
+     * @param input       the request body.
+     * @param contentType the content type of the body, application/x-ndjson or text/csv.
+     * @return the number of rows read, imported and rejected, with the reason for each rejected row.
+     * @throws IllegalArgumentException if the content type is not supported or the CSV header is invalid.
+     * @throws RuntimeException         if the input cannot be read.
+     */
+    @Override
+    public SickDayImportResultDTO importSickDays(InputStream input, String contentType) {
+        boolean csv = isCsv(contentType);
+        SickDayImportResultDTO result = new SickDayImportResultDTO();
+        List<ImportRow> chunk = new ArrayList<>(chunkSize);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            CsvHeader header = null;
+            String line;
+            long lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (csv && header == null) {
+                    header = parseCsvHeader(line);
+                    continue;
+                }
+
+                result.setTotalRows(result.getTotalRows() + 1);
+                try {
+                    SickDayDTO sickDayDTO = csv ? parseCsvRow(line, header) : parseJsonRow(line);
+                    SickDayServiceImpl.validateSickDayDTO(sickDayDTO);
+                    SickDayServiceImpl.calculateNumberOfDays(sickDayDTO);
+                    chunk.add(new ImportRow(lineNumber, sickDayDTO));
+                } catch (IllegalArgumentException | DateTimeParseException ex) {
+                    reject(result, lineNumber, ex.getMessage());
+                }
+
+                if (chunk.size() >= chunkSize) {
+                    writeChunk(chunk, result);
+                    chunk.clear();
+                }
+            }
+        } catch (IOException ex) {
+            throw new RuntimeException("Failed to read import data.", ex);
+        }
+
+        if (!chunk.isEmpty()) {
+            writeChunk(chunk, result);
+        }
+        return result;
+    }
+
+    /**
+     * Writes one chunk of validated rows in its own transaction.
+     * If the transaction fails as a whole, every row of the chunk is reported with the cause.
+     *
+     * @param chunk  the validated rows.
+     * @param result the import result to update.
+     */
+    private void writeChunk(List<ImportRow> chunk, SickDayImportResultDTO result) {
+        List<SickDayImportErrorDTO> rowErrors;
+        try {
+            rowErrors = transactionTemplate.execute(status -> persistChunk(chunk));
+        } catch (RuntimeException ex) {
+            for (ImportRow row : chunk) {
+                reject(result, row.line(), "Chunk rolled back: " + ex.getMessage());
+            }
+            return;
+        }
+
+        result.setImportedRows(result.getImportedRows() + chunk.size() - rowErrors.size());
+        for (SickDayImportErrorDTO error : rowErrors) {
+            reject(result, error.getLine(), error.getMessage());
+        }
+    }
+
+    /**
+     * Resolves the references of a chunk in bulk and inserts the rows whose references all exist.
+     *
+     * @param chunk the validated rows.
+     * @return the errors of the rows that were skipped.
+     */
+    private List<SickDayImportErrorDTO> persistChunk(List<ImportRow> chunk) {
+        Set<Long> userIds = new HashSet<>();
+        Set<Long> diagnosisIds = new HashSet<>();
+        for (ImportRow row : chunk) {
+            userIds.add(row.sickDay().getPatientId());
+            userIds.add(row.sickDay().getDoctorId());
+            if (row.sickDay().getDiagnosisIds() != null) {
+                diagnosisIds.addAll(row.sickDay().getDiagnosisIds());
+            }
+        }
+        Map<Long, User> users = bulkEntityResolver.loadAll(User.class, userIds);
+        Map<Long, Diagnosis> diagnoses = bulkEntityResolver.loadAll(Diagnosis.class, diagnosisIds);
+
+        List<SickDayImportErrorDTO> errors = new ArrayList<>();
+        List<SickDay> sickDays = new ArrayList<>(chunk.size());
+        for (ImportRow row : chunk) {
+            SickDayDTO dto = row.sickDay();
+            User patient = users.get(dto.getPatientId());
+            User doctor = users.get(dto.getDoctorId());
+            if (patient == null) {
+                errors.add(new SickDayImportErrorDTO(row.line(), "Patient not found with ID: " + dto.getPatientId()));
+                continue;
+            }
+            if (doctor == null) {
+                errors.add(new SickDayImportErrorDTO(row.line(), "Doctor not found with ID: " + dto.getDoctorId()));
+                continue;
+            }
+
+            Set<Diagnosis> rowDiagnoses = new HashSet<>();
+            if (dto.getDiagnosisIds() != null) {
+                if (dto.getDiagnosisIds().contains(null)) {
+                    errors.add(new SickDayImportErrorDTO(row.line(), "Diagnosis ID must not be null."));
+                    continue;
+                }
+                List<Long> missing = dto.getDiagnosisIds().stream()
+                        .filter(id -> !diagnoses.containsKey(id))
+                        .collect(Collectors.toList());
+                if (!missing.isEmpty()) {
+                    errors.add(new SickDayImportErrorDTO(row.line(), BulkEntityResolver.notFoundMessage("Diagnosis", missing)));
+                    continue;
+                }
+                dto.getDiagnosisIds().forEach(id -> rowDiagnoses.add(diagnoses.get(id)));
+            }
+
+            SickDay sickDay = new SickDay();
+            sickDay.setStartDate(dto.getStartDate());
+            sickDay.setEndDate(dto.getEndDate());
+            sickDay.setNumberOfDays(dto.getNumberOfDays());
+            sickDay.setPatient(patient);
+            sickDay.setDoctor(doctor);
+            sickDay.setDiagnosis(rowDiagnoses);
+            sickDays.add(sickDay);
+        }
+
+        sickDayRepository.saveAll(sickDays);
+        diagnosisStatistics.onSickDaysCreated(sickDays);
+        sickLeaveStatistics.onSickDaysCreated(sickDays);
+        reportCache.invalidate(ReportCache.Topic.SICK_DAYS);
+        entityManager.flush();
+        entityManager.clear();
+        return errors;
+    }
+
+    /**
+     * Records a rejected row, keeping at most MAX_REPORTED_ERRORS messages.
+     *
+     * @param result  the import result to update.
+     * @param line    the line number of the row in the input.
+     * @param message the reason the row was rejected.
+     */
+    private void reject(SickDayImportResultDTO result, long line, String message) {
+        result.setFailedRows(result.getFailedRows() + 1);
+        if (result.getErrors().size() < MAX_REPORTED_ERRORS) {
+            result.getErrors().add(new SickDayImportErrorDTO(line, message));
+        }
+    }
+
+    /**
+     * Determines the input format from the content type.
+     *
+     * @param contentType the content type of the request body.
+     * @return true for CSV, false for NDJSON.
+     * @throws IllegalArgumentException if the content type is missing or not supported.
+     */
+    private boolean isCsv(String contentType) {
+        if (contentType != null) {
+            MediaType mediaType = MediaType.parseMediaType(contentType);
+            if (mediaType.isCompatibleWith(MediaType.parseMediaType(CSV))) {
+                return true;
+            }
+            if (mediaType.isCompatibleWith(MediaType.parseMediaType(NDJSON))) {
+                return false;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported import content type: " + contentType
+                + ". Use " + NDJSON + " or " + CSV + ".");
+    }
+
+    /**
+     * Parses one NDJSON row.
+     *
+     * @param line the JSON object.
+     * @return the SickDayDTO.
+     * @throws IllegalArgumentException if the line is not a valid SickDay object.
+     */
+    private SickDayDTO parseJsonRow(String line) {
+        try {
+            return objectMapper.readValue(line, SickDayDTO.class);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalArgumentException("Malformed JSON: " + ex.getOriginalMessage());
+        }
+    }
+
+    /**
+     * Maps the CSV header to column positions.
+     *
+     * @param line the header line.
+     * @return the position of each column and the number of fields per row.
+     * @throws IllegalArgumentException if a required column is missing.
+     */
+    private CsvHeader parseCsvHeader(String line) {
+        String[] names = line.split(",", -1);
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < names.length; i++) {
+            columns.put(names[i].trim(), i);
+        }
+        List<String> missing = CSV_COLUMNS.stream()
+                .filter(column -> !column.equals("diagnosisIds") && !columns.containsKey(column))
+                .collect(Collectors.toList());
+        if (!missing.isEmpty()) {
+            throw new IllegalArgumentException("CSV header is missing columns: " + String.join(", ", missing));
+        }
+        return new CsvHeader(columns, names.length);
+    }
+
+    /**
+     * Parses one CSV row.
+     *
+     * @param line    the CSV line.
+     * @param header the CSV header.
+     * @return the SickDayDTO.
+     * @throws IllegalArgumentException if the row has the wrong number of fields or a field cannot be parsed.
+     */
+    private SickDayDTO parseCsvRow(String line, CsvHeader header) {
+        String[] fields = line.split(",", -1);
+        if (fields.length != header.width()) {
+            throw new IllegalArgumentException("Expected " + header.width() + " fields but found " + fields.length + ".");
+        }
+        Map<String, Integer> columns = header.columns();
+
+        SickDayDTO dto = new SickDayDTO();
+        dto.setStartDate(parseDate(field(fields, columns, "startDate")));
+        dto.setEndDate(parseDate(field(fields, columns, "endDate")));
+        dto.setPatientId(parseId(field(fields, columns, "patientId")));
+        dto.setDoctorId(parseId(field(fields, columns, "doctorId")));
+
+        String diagnosisIds = field(fields, columns, "diagnosisIds");
+        Set<Long> ids = new HashSet<>();
+        if (diagnosisIds != null) {
+            for (String id : diagnosisIds.split(";")) {
+                if (!id.isBlank()) {
+                    ids.add(parseId(id.trim()));
+                }
+            }
+        }
+        dto.setDiagnosisIds(ids);
+        return dto;
+    }
+
+    private String field(String[] fields, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null) {
+            return null;
+        }
+        String value = fields[index].trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private LocalDate parseDate(String value) {
+        return value == null ? null : LocalDate.parse(value);
+    }
+
+    private Long parseId(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid ID: " + value);
+        }
+    }
+
+    /**
+     * A validated row and its line number in the input.
+     */
+    private record ImportRow(long line, SickDayDTO sickDay) {
+    }
+
+    /**
+     * The column positions of a CSV input and its number of fields per row.
+     */
+    private record CsvHeader(Map<String, Integer> columns, int width) {
+    }
+}
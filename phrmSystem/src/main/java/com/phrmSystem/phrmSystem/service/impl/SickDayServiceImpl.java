@@ -3,15 +3,26 @@ package com.phrmSystem.phrmSystem.service.impl;
 import com.phrmSystem.phrmSystem.data.entity.Diagnosis;
 import com.phrmSystem.phrmSystem.data.entity.SickDay;
 import com.phrmSystem.phrmSystem.data.entity.User;
-import com.phrmSystem.phrmSystem.data.repo.DiagnosisRepository;
+import com.phrmSystem.phrmSystem.data.projection.SickDayDiagnosisLink;
+import com.phrmSystem.phrmSystem.data.projection.SickDayRow;
 import com.phrmSystem.phrmSystem.data.repo.SickDayRepository;
 import com.phrmSystem.phrmSystem.data.repo.UserRepository;
+import com.phrmSystem.phrmSystem.dto.CounterRebuildResultDTO;
+import com.phrmSystem.phrmSystem.dto.CursorPageDTO;
+import com.phrmSystem.phrmSystem.dto.DoctorSickLeaveCountDTO;
+import com.phrmSystem.phrmSystem.dto.MonthSickLeaveCountDTO;
 import com.phrmSystem.phrmSystem.dto.SickDayDTO;
 import com.phrmSystem.phrmSystem.service.SickDayService;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -20,23 +31,35 @@ import java.util.stream.Collectors;
  * SickDay entities and their operations.
  */
 @Service
+@Transactional
 public class SickDayServiceImpl implements SickDayService {
 
     private final SickDayRepository sickDayRepository;
     private final UserRepository userRepository;
-    private final DiagnosisRepository diagnosisRepository;
+    private final BulkEntityResolver bulkEntityResolver;
+    private final DiagnosisStatistics diagnosisStatistics;
+    private final SickLeaveStatistics sickLeaveStatistics;
+    private final ReportCache reportCache;
 
     /**
      * Constructs a SickDayServiceImpl with required dependencies.
      *
      * @param sickDayRepository   repository for managing SickDay entities.
      * @param userRepository      repository for managing User entities.
-     * @param diagnosisRepository repository for managing Diagnosis entities.
+     * @param bulkEntityResolver  resolver for loading Diagnosis entities by ID in bulk.
+     * @param diagnosisStatistics counters of sick days per diagnosis, updated on every write.
+     * @param sickLeaveStatistics counters of sick days per month and doctor, updated on every write.
+     * @param reportCache         cached reports, invalidated on every write.
      */
-    public SickDayServiceImpl(SickDayRepository sickDayRepository, UserRepository userRepository, DiagnosisRepository diagnosisRepository) {
+    public SickDayServiceImpl(SickDayRepository sickDayRepository, UserRepository userRepository,
+                              BulkEntityResolver bulkEntityResolver, DiagnosisStatistics diagnosisStatistics,
+                              SickLeaveStatistics sickLeaveStatistics, ReportCache reportCache) {
         this.sickDayRepository = sickDayRepository;
         this.userRepository = userRepository;
-        this.diagnosisRepository = diagnosisRepository;
+        this.bulkEntityResolver = bulkEntityResolver;
+        this.diagnosisStatistics = diagnosisStatistics;
+        this.sickLeaveStatistics = sickLeaveStatistics;
+        this.reportCache = reportCache;
     }
 
     /**
@@ -55,14 +78,46 @@ public class SickDayServiceImpl implements SickDayService {
 
     /**
      * Retrieves all SickDays in the system.
+     * Reads scalar rows and diagnosis links only, so users and diagnoses are never loaded.
      *
      * @return a list of SickDayDTOs.
      */
     @Override
     public List<SickDayDTO> getAllSickDays() {
-        return sickDayRepository.findAll().stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
+        return mapRowsToDTOs(sickDayRepository.findAllRows(), sickDayRepository.findAllDiagnosisLinks());
+    }
+
+    /**
+     * Retrieves one page of SickDays using keyset pagination on the SickDay ID.
+     * Each call reads at most {@code size + 1} rows, regardless of the table size,
+     * in two statements: one for the rows and one for their diagnosis IDs.
+     *
+     * @param cursor the continuation token from the previous page, or null for the first page.
+     * @param size   the requested page size, or null for the default.
+     * @param from   the earliest start date to include, or null.
+     * @param to     the latest start date to include, or null.
+     * @return the page of SickDayDTOs and the token for the next page, null on the last page.
+     * @throws IllegalArgumentException if the cursor, size or date range is invalid.
+     */
+    @Override
+    public CursorPageDTO<SickDayDTO> getSickDaysPage(String cursor, Integer size, LocalDate from, LocalDate to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("Start date cannot be after end date.");
+        }
+        int pageSize = KeysetCursor.pageSize(size);
+        long afterId = KeysetCursor.decode(cursor);
+
+        List<SickDayRow> rows = sickDayRepository.findRowsAfter(afterId, from, to, PageRequest.of(0, pageSize + 1));
+        boolean hasMore = rows.size() > pageSize;
+        List<SickDayRow> page = hasMore ? rows.subList(0, pageSize) : rows;
+        if (page.isEmpty()) {
+            return new CursorPageDTO<>(List.of(), null);
+        }
+
+        List<SickDayDiagnosisLink> links = sickDayRepository.findDiagnosisLinks(
+                page.stream().map(SickDayRow::id).collect(Collectors.toList()));
+        String nextCursor = hasMore ? KeysetCursor.encode(page.get(page.size() - 1).id()) : null;
+        return new CursorPageDTO<>(mapRowsToDTOs(page, links), nextCursor);
     }
 
     /**
@@ -79,6 +134,9 @@ public class SickDayServiceImpl implements SickDayService {
 
         SickDay sickDay = mapToEntity(sickDayDTO);
         SickDay savedSickDay = sickDayRepository.save(sickDay);
+        diagnosisStatistics.onSickDayChanged(Set.of(), savedSickDay.getDiagnosis());
+        sickLeaveStatistics.onSickDayCreated(savedSickDay);
+        reportCache.invalidate(ReportCache.Topic.SICK_DAYS);
         return mapToDTO(savedSickDay);
     }
 
@@ -98,6 +156,11 @@ public class SickDayServiceImpl implements SickDayService {
 
         validateSickDayDTO(sickDayDTO);
         calculateNumberOfDays(sickDayDTO);
+        Set<Diagnosis> previousDiagnoses = existingSickDay.getDiagnosis() != null
+                ? new HashSet<>(existingSickDay.getDiagnosis())
+                : Set.of();
+        LocalDate previousStartDate = existingSickDay.getStartDate();
+        Long previousDoctorId = existingSickDay.getDoctor() != null ? existingSickDay.getDoctor().getId() : null;
 
         existingSickDay.setStartDate(sickDayDTO.getStartDate());
         existingSickDay.setEndDate(sickDayDTO.getEndDate());
@@ -119,6 +182,9 @@ public class SickDayServiceImpl implements SickDayService {
         }
 
         SickDay updatedSickDay = sickDayRepository.save(existingSickDay);
+        diagnosisStatistics.onSickDayChanged(previousDiagnoses, updatedSickDay.getDiagnosis());
+        sickLeaveStatistics.onSickDayUpdated(previousStartDate, previousDoctorId, updatedSickDay);
+        reportCache.invalidate(ReportCache.Topic.SICK_DAYS);
         return mapToDTO(updatedSickDay);
     }
 
@@ -133,15 +199,19 @@ public class SickDayServiceImpl implements SickDayService {
         SickDay sickDay = sickDayRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("SickDay not found with id: " + id));
         sickDayRepository.delete(sickDay);
+        diagnosisStatistics.onSickDayChanged(sickDay.getDiagnosis(), Set.of());
+        sickLeaveStatistics.onSickDayDeleted(sickDay);
+        reportCache.invalidate(ReportCache.Topic.SICK_DAYS);
     }
 
     /**
      * Validates the SickDayDTO for required fields and logical correctness.
+     * Shared with the bulk import so both paths apply the same rules.
      *
      * @param sickDayDTO the SickDayDTO to validate.
      * @throws IllegalArgumentException if validation fails.
      */
-    private void validateSickDayDTO(SickDayDTO sickDayDTO) {
+    static void validateSickDayDTO(SickDayDTO sickDayDTO) {
         if (sickDayDTO.getStartDate() == null || sickDayDTO.getEndDate() == null) {
             throw new IllegalArgumentException("Start and end dates must not be null.");
         }
@@ -161,7 +231,7 @@ public class SickDayServiceImpl implements SickDayService {
      *
      * @param sickDayDTO the SickDayDTO containing the dates.
      */
-    private void calculateNumberOfDays(SickDayDTO sickDayDTO) {
+    static void calculateNumberOfDays(SickDayDTO sickDayDTO) {
         long daysBetween = ChronoUnit.DAYS.between(sickDayDTO.getStartDate(), sickDayDTO.getEndDate());
         sickDayDTO.setNumberOfDays((int) daysBetween);
     }
@@ -180,17 +250,14 @@ public class SickDayServiceImpl implements SickDayService {
     }
 
     /**
-     * Maps a set of diagnosis IDs to their corresponding Diagnosis entities.
+     * Maps a set of diagnosis IDs to their corresponding Diagnosis entities in one query.
      *
      * @param diagnosisIds the IDs of the diagnoses.
      * @return a set of Diagnosis entities.
-     * @throws RuntimeException if any Diagnosis ID is not found.
+     * @throws RuntimeException listing every Diagnosis ID that is not found.
      */
     private Set<Diagnosis> mapDiagnosisIdsToEntities(Set<Long> diagnosisIds) {
-        return diagnosisIds.stream()
-                .map(id -> diagnosisRepository.findById(id)
-                        .orElseThrow(() -> new RuntimeException("Diagnosis not found with id: " + id)))
-                .collect(Collectors.toSet());
+        return bulkEntityResolver.resolveAll(Diagnosis.class, diagnosisIds, "Diagnosis");
     }
 
     /**
@@ -199,7 +266,7 @@ public class SickDayServiceImpl implements SickDayService {
      * @param sickDay the SickDay entity.
      * @return the SickDayDTO representation.
      */
-    private SickDayDTO mapToDTO(SickDay sickDay) {
+    SickDayDTO mapToDTO(SickDay sickDay) {
         if (sickDay == null) {
             return null;
         }
@@ -222,6 +289,30 @@ public class SickDayServiceImpl implements SickDayService {
         return dto;
     }
 
+    /**
+     * Maps projected sick day rows and their diagnosis links to SickDayDTOs.
+     *
+     * @param rows  the scalar sick day rows.
+     * @param links the diagnosis links of those rows.
+     * @return the SickDayDTOs, in the order of the rows.
+     */
+    private List<SickDayDTO> mapRowsToDTOs(List<SickDayRow> rows, List<SickDayDiagnosisLink> links) {
+        Map<Long, Set<Long>> diagnosisIdsBySickDay = links.stream()
+                .collect(Collectors.groupingBy(SickDayDiagnosisLink::sickDayId,
+                        Collectors.mapping(SickDayDiagnosisLink::diagnosisId, Collectors.toSet())));
+
+        return rows.stream()
+                .map(row -> new SickDayDTO(
+                        row.id(),
+                        row.startDate(),
+                        row.endDate(),
+                        row.numberOfDays(),
+                        row.patientId(),
+                        diagnosisIdsBySickDay.getOrDefault(row.id(), Set.of()),
+                        row.doctorId()
+                ))
+                .collect(Collectors.toList());
+    }
 
     /**
      * Maps a SickDayDTO to a SickDay entity.
@@ -249,21 +340,41 @@ public class SickDayServiceImpl implements SickDayService {
         return sickDay;
     }
 
+    /**
+     * Ranks the months by the number of sick days starting in them, from the in-memory counters.
+     * Runs without a transaction, so it takes no connection from the pool.
+     *
+     * @param year the year to rank, or null to sum each month over all years.
+     * @return the months with their sick day counts, most first.
+     */
     @Override
-    public List<Object[]> getMonthWithMostSickLeaves() {
-        try {
-            return sickDayRepository.findMonthWithMostSickLeaves();
-        } catch (Exception ex) {
-            throw new RuntimeException("Failed to fetch month with most sick leaves.", ex);
-        }
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<MonthSickLeaveCountDTO> getMonthWithMostSickLeaves(Integer year) {
+        return sickLeaveStatistics.getMonthRanking(year);
     }
 
+    /**
+     * Ranks the doctors by the number of sick days they issued, from the in-memory counters.
+     * Runs without a transaction, so it takes no connection from the pool.
+     *
+     * @param year the year of the sick days' start dates, or null for all years.
+     * @return the doctor IDs with their sick day counts, most first.
+     */
     @Override
-    public List<Object[]> getDoctorsWithMostSickLeaves() {
-        try {
-            return sickDayRepository.findDoctorsWithMostSickLeaves();
-        } catch (Exception ex) {
-            throw new RuntimeException("Failed to fetch doctors with most sick leaves.", ex);
-        }
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<DoctorSickLeaveCountDTO> getDoctorsWithMostSickLeaves(Integer year) {
+        return sickLeaveStatistics.getDoctorRanking(year);
+    }
+
+    /**
+     * Reconciles the month and doctor sick leave counters with the sick day records. Runs outside a
+     * transaction so that the count query reads the data committed when it runs rather than an earlier snapshot.
+     *
+     * @return how many counters were compared and how many were corrected.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CounterRebuildResultDTO rebuildSickLeaveStatistics() {
+        return sickLeaveStatistics.rebuild();
     }
 }
@@ -0,0 +1,289 @@
+package com.phrmSystem.phrmSystem.service.impl;
+
+import com.phrmSystem.phrmSystem.data.entity.SickDay;
+import com.phrmSystem.phrmSystem.data.projection.SickLeaveCount;
+import com.phrmSystem.phrmSystem.data.repo.SickDayRepository;
+import com.phrmSystem.phrmSystem.dto.CounterRebuildResultDTO;
+import com.phrmSystem.phrmSystem.dto.DoctorSickLeaveCountDTO;
+import com.phrmSystem.phrmSystem.dto.MonthSickLeaveCountDTO;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * In-memory sick leave counters per start month and per doctor, kept up to date by the sick day writes
+ * instead of aggregating the sick_days table on every request.
+ *
+ * Sick days are attributed to the month and year of their start date. Changes are applied after the
+ * writing transaction commits, and rankings are cached until the next change. Only years that have
+ * sick days are cached, so the caches cannot grow with the years callers ask for.
+ * {@link #rebuild()} reconciles the counters with the sick_days table; commits wait while its query
+ * runs (see CommitGate).
+ */
+@Component
+public class SickLeaveStatistics {
+
+    private static final Comparator<MonthSickLeaveCountDTO> MONTH_RANKING = Comparator
+            .comparingLong(MonthSickLeaveCountDTO::getCount).reversed()
+            .thenComparing(MonthSickLeaveCountDTO::getMonth);
+
+    private static final Comparator<DoctorSickLeaveCountDTO> DOCTOR_RANKING = Comparator
+            .comparingLong(DoctorSickLeaveCountDTO::getCount).reversed()
+            .thenComparing(DoctorSickLeaveCountDTO::getDoctorId);
+
+    private final SickDayRepository sickDayRepository;
+    private final Object lock = new Object();
+    private final CommitGate commitGate = new CommitGate();
+
+    private Map<YearMonth, Long> monthCounts = new HashMap<>();
+    private Map<Integer, Map<Long, Long>> doctorCountsByYear = new HashMap<>();
+
+    private final Map<Integer, List<MonthSickLeaveCountDTO>> monthRankings = new HashMap<>();
+    private final Map<Integer, List<DoctorSickLeaveCountDTO>> doctorRankings = new HashMap<>();
+
+    public SickLeaveStatistics(SickDayRepository sickDayRepository) {
+        this.sickDayRepository = sickDayRepository;
+    }
+
+    /**
+     * Records a new sick day.
+     *
+     * @param sickDay the created sick day.
+     */
+    public void onSickDayCreated(SickDay sickDay) {
+        List<Change> changes = new ArrayList<>();
+        addChange(changes, sickDay.getStartDate(), doctorIdOf(sickDay), 1);
+        record(changes);
+    }
+
+    /**
+     * Records a batch of new sick days with a single update.
+     *
+     * @param sickDays the created sick days.
+     */
+    public void onSickDaysCreated(Collection<SickDay> sickDays) {
+        List<Change> changes = new ArrayList<>(sickDays.size());
+        for (SickDay sickDay : sickDays) {
+            addChange(changes, sickDay.getStartDate(), doctorIdOf(sickDay), 1);
+        }
+        record(changes);
+    }
+
+    /**
+     * Records a change of a sick day's start date or doctor.
+     *
+     * @param previousStartDate the start date before the change.
+     * @param previousDoctorId  the doctor ID before the change.
+     * @param sickDay           the sick day after the change.
+     */
+    public void onSickDayUpdated(LocalDate previousStartDate, Long previousDoctorId, SickDay sickDay) {
+        List<Change> changes = new ArrayList<>();
+        addChange(changes, previousStartDate, previousDoctorId, -1);
+        addChange(changes, sickDay.getStartDate(), doctorIdOf(sickDay), 1);
+        record(changes);
+    }
+
+    /**
+     * Records a deleted sick day.
+     *
+     * @param sickDay the deleted sick day.
+     */
+    public void onSickDayDeleted(SickDay sickDay) {
+        List<Change> changes = new ArrayList<>();
+        addChange(changes, sickDay.getStartDate(), doctorIdOf(sickDay), -1);
+        record(changes);
+    }
+
+    /**
+     * Ranks the months by the number of sick days starting in them, most first.
+     * Without a year, each month of the year is summed over all years.
+     *
+     * @param year the year to rank, or null for all years.
+     * @return the months that have sick days with their counts.
+     */
+    public List<MonthSickLeaveCountDTO> getMonthRanking(Integer year) {
+        synchronized (lock) {
+            if (!hasSickDays(year)) {
+                return List.of();
+            }
+            return monthRankings.computeIfAbsent(year, this::computeMonthRanking);
+        }
+    }
+
+    /**
+     * Ranks the doctors by the number of sick days they issued, most first.
+     *
+     * @param year the year of the sick days' start dates, or null for all years.
+     * @return the doctors with their counts.
+     */
+    public List<DoctorSickLeaveCountDTO> getDoctorRanking(Integer year) {
+        synchronized (lock) {
+            if (!hasSickDays(year)) {
+                return List.of();
+            }
+            return doctorRankings.computeIfAbsent(year, this::computeDoctorRanking);
+        }
+    }
+
+    /**
+     * Returns the number of cached month and doctor rankings.
+     *
+     * @return the number of cached rankings.
+     */
+    int cachedRankings() {
+        synchronized (lock) {
+            return monthRankings.size() + doctorRankings.size();
+        }
+    }
+
+    /**
+     * Recomputes the counters from the sick_days table and replaces the in-memory state.
+     * Commits that change the counters wait until the query has run and are applied on top of its result.
+     *
+     * @return how many counters were compared and how many of them were wrong.
+     */
+    public CounterRebuildResultDTO rebuild() {
+        return commitGate.whileNoCommits(() -> {
+            List<SickLeaveCount> rows = sickDayRepository.countSickDaysPerMonthAndDoctor();
+            synchronized (lock) {
+                Map<YearMonth, Long> rebuiltMonths = new HashMap<>();
+                Map<Integer, Map<Long, Long>> rebuiltDoctors = new HashMap<>();
+                for (SickLeaveCount row : rows) {
+                    apply(rebuiltMonths, rebuiltDoctors,
+                            new Change(YearMonth.of(row.year(), row.month()), row.doctorId(), row.sickDays()));
+                }
+
+                long checked = 0;
+                long corrected = 0;
+                Set<YearMonth> months = new HashSet<>(monthCounts.keySet());
+                months.addAll(rebuiltMonths.keySet());
+                for (YearMonth month : months) {
+                    checked++;
+                    if (!Objects.equals(monthCounts.get(month), rebuiltMonths.get(month))) {
+                        corrected++;
+                    }
+                }
+                Set<Integer> years = new HashSet<>(doctorCountsByYear.keySet());
+                years.addAll(rebuiltDoctors.keySet());
+                for (Integer year : years) {
+                    Map<Long, Long> current = doctorCountsByYear.getOrDefault(year, Map.of());
+                    Map<Long, Long> rebuilt = rebuiltDoctors.getOrDefault(year, Map.of());
+                    Set<Long> doctors = new HashSet<>(current.keySet());
+                    doctors.addAll(rebuilt.keySet());
+                    for (Long doctorId : doctors) {
+                        checked++;
+                        if (!Objects.equals(current.get(doctorId), rebuilt.get(doctorId))) {
+                            corrected++;
+                        }
+                    }
+                }
+
+                monthCounts = rebuiltMonths;
+                doctorCountsByYear = rebuiltDoctors;
+                monthRankings.clear();
+                doctorRankings.clear();
+                return new CounterRebuildResultDTO(checked, corrected);
+            }
+        });
+    }
+
+    private void record(List<Change> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        commitGate.afterCommit(() -> {
+            synchronized (lock) {
+                for (Change change : changes) {
+                    apply(monthCounts, doctorCountsByYear, change);
+                }
+                monthRankings.clear();
+                doctorRankings.clear();
+            }
+        });
+    }
+
+    private static void apply(Map<YearMonth, Long> months, Map<Integer, Map<Long, Long>> doctors, Change change) {
+        adjust(months, change.month(), change.delta());
+        if (change.doctorId() != null) {
+            Map<Long, Long> yearCounts = doctors.computeIfAbsent(change.month().getYear(), year -> new HashMap<>());
+            adjust(yearCounts, change.doctorId(), change.delta());
+            if (yearCounts.isEmpty()) {
+                doctors.remove(change.month().getYear());
+            }
+        }
+    }
+
+    private static <K> void adjust(Map<K, Long> counts, K key, long delta) {
+        long count = counts.getOrDefault(key, 0L) + delta;
+        if (count > 0) {
+            counts.put(key, count);
+        } else {
+            counts.remove(key);
+        }
+    }
+
+    private static void addChange(List<Change> changes, LocalDate startDate, Long doctorId, long delta) {
+        if (startDate != null) {
+            changes.add(new Change(YearMonth.from(startDate), doctorId, delta));
+        }
+    }
+
+    private static Long doctorIdOf(SickDay sickDay) {
+        return sickDay.getDoctor() != null ? sickDay.getDoctor().getId() : null;
+    }
+
+    private boolean hasSickDays(Integer year) {
+        if (year == null || doctorCountsByYear.containsKey(year)) {
+            return true;
+        }
+        for (YearMonth month : monthCounts.keySet()) {
+            if (month.getYear() == year) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private List<MonthSickLeaveCountDTO> computeMonthRanking(Integer year) {
+        Map<Integer, Long> perMonth = new HashMap<>();
+        monthCounts.forEach((month, count) -> {
+            if (year == null || month.getYear() == year) {
+                perMonth.merge(month.getMonthValue(), count, Long::sum);
+            }
+        });
+        List<MonthSickLeaveCountDTO> result = new ArrayList<>(perMonth.size());
+        perMonth.forEach((month, count) -> result.add(new MonthSickLeaveCountDTO(year, month, count)));
+        result.sort(MONTH_RANKING);
+        return List.copyOf(result);
+    }
+
+    private List<DoctorSickLeaveCountDTO> computeDoctorRanking(Integer year) {
+        Map<Long, Long> perDoctor = new HashMap<>();
+        if (year != null) {
+            perDoctor.putAll(doctorCountsByYear.getOrDefault(year, Map.of()));
+        } else {
+            doctorCountsByYear.values().forEach(counts -> counts.forEach((doctorId, count) ->
+                    perDoctor.merge(doctorId, count, Long::sum)));
+        }
+        List<DoctorSickLeaveCountDTO> result = new ArrayList<>(perDoctor.size());
+        perDoctor.forEach((doctorId, count) -> result.add(new DoctorSickLeaveCountDTO(doctorId, count)));
+        result.sort(DOCTOR_RANKING);
+        return List.copyOf(result);
+    }
+
+    /**
+     * A change of the sick day count for one month and doctor.
+     */
+    private record Change(YearMonth month, Long doctorId, long delta) {
+    }
+}
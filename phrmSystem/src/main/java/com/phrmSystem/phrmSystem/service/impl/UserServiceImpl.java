@@ -1,6 +1,7 @@
 package com.phrmSystem.phrmSystem.service.impl;
 
 import com.phrmSystem.phrmSystem.data.entity.User;
+import com.phrmSystem.phrmSystem.data.repo.DoctorRepository;
 import com.phrmSystem.phrmSystem.data.repo.UserRepository;
 import com.phrmSystem.phrmSystem.dto.UserDTO;
 import com.phrmSystem.phrmSystem.mappers.UserMapper;
@@ -18,9 +19,14 @@ import java.util.stream.Collectors;
 @Service
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
+    private final DoctorRepository doctorRepository;
+    private final PersonalDoctorStatistics personalDoctorStatistics;
 
-    public UserServiceImpl(UserRepository userRepository) {
+    public UserServiceImpl(UserRepository userRepository, DoctorRepository doctorRepository,
+                           PersonalDoctorStatistics personalDoctorStatistics) {
         this.userRepository = userRepository;
+        this.doctorRepository = doctorRepository;
+        this.personalDoctorStatistics = personalDoctorStatistics;
     }
 
     /**
@@ -59,6 +65,7 @@ public class UserServiceImpl implements UserService {
 
         existingUser.setFirstName(updatedUser.getFirstName());
         existingUser.setLastName(updatedUser.getLastName());
+        existingUser.setUsername(updatedUser.getUsername());
         existingUser.setRole(updatedUser.getRole());
         existingUser.setUniqueIdentification(updatedUser.getUniqueIdentification());
         existingUser.setInsurancePaidLast6Months(updatedUser.getInsurancePaidLast6Months());
@@ -66,14 +73,15 @@ public class UserServiceImpl implements UserService {
     }
 
     /**
-     * Deletes a User by their ID.
+     * Deletes a User by their ID and updates the personal doctor patient counters: a deleted patient
+     * leaves their personal doctor, and the patients of a deleted personal doctor are left without one.
      *
      * @param userId the ID of the User to delete.
      */
     @Override
     @Transactional
     public void deleteUser(Long userId) {
-        User user = userRepository.findById(userId)
+        User user = userRepository.findByIdForUpdate(userId)
                 .orElseThrow(() -> new RuntimeException("User not found with id: " + userId));
 
         // Check for dependencies
@@ -81,11 +89,15 @@ public class UserServiceImpl implements UserService {
             throw new RuntimeException("Cannot delete user with active appointments. Please reassign or delete appointments first.");
         }
 
+        Long personalDoctorId = user.getPersonalDoctor() != null ? user.getPersonalDoctor().getId() : null;
         try {
+            doctorRepository.clearPersonalDoctor(userId);
             userRepository.deleteById(userId);
         } catch (RuntimeException ex) {
             throw new RuntimeException("Cannot delete user with active dependencies");
         }
+        personalDoctorStatistics.onPersonalDoctorChanged(personalDoctorId, null);
+        personalDoctorStatistics.onDoctorDeleted(userId);
     }
 
 
@@ -99,17 +99,34 @@ public class DiagnosisController {
     /**
      * Retrieves the most common diagnoses.
      *
-     * @return a list of the most common diagnoses.
+     * @param limit the maximum number of diagnoses to return; all when omitted.
+     * @return a list of the most common diagnoses with their sick day counts.
      */
     @GetMapping("/common")
-    public ResponseEntity<?> getMostCommonDiagnoses() {
+    public ResponseEntity<?> getMostCommonDiagnoses(@RequestParam(required = false) Integer limit) {
         try {
-            return ResponseEntity.ok(diagnosisRepository.findMostCommonDiagnoses());
+            return ResponseEntity.ok(diagnosisService.getMostCommonDiagnoses(limit));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(ex.getMessage());
         } catch (RuntimeException ex) {
             return ResponseEntity.badRequest().body("Failed to retrieve most common diagnoses.");
         }
     }
 
+    /**
+     * Reconciles the most common diagnoses counters with the sick day records.
+     *
+     * @return how many counters were compared and how many were corrected.
+     */
+    @PostMapping("/common/rebuild")
+    public ResponseEntity<?> rebuildDiagnosisStatistics() {
+        try {
+            return ResponseEntity.ok(diagnosisService.rebuildDiagnosisStatistics());
+        } catch (RuntimeException ex) {
+            return ResponseEntity.badRequest().body("Failed to rebuild diagnosis statistics.");
+        }
+    }
+
     /**
      * Searches diagnoses by name.
      *
@@ -4,9 +4,11 @@ import com.phrmSystem.phrmSystem.data.entity.DoctorAppointment;
 import com.phrmSystem.phrmSystem.data.repo.DoctorAppointmentRepository;
 import com.phrmSystem.phrmSystem.dto.DoctorAppointmentAllDTO;
 import com.phrmSystem.phrmSystem.service.DoctorAppointmentService;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeParseException;
 import java.util.List;
@@ -128,4 +130,24 @@ public class DoctorAppointmentController {
         }
     }
 
+    /**
+     * Retrieves a doctor's schedule as a compact day view with slot ID, time and patient ID.
+     *
+     * @param doctorId the ID of the doctor.
+     * @param from     the first day of the schedule.
+     * @param to       the last day of the schedule; defaults to the first day.
+     * @return the days in the range with their slots ordered by time.
+     */
+    @GetMapping("/doctor/{doctorId}/schedule")
+    public ResponseEntity<?> getDoctorSchedule(
+            @PathVariable Long doctorId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            return ResponseEntity.ok(doctorAppointmentService.getDoctorSchedule(doctorId, from, to));
+        } catch (RuntimeException ex) {
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        }
+    }
+
 }
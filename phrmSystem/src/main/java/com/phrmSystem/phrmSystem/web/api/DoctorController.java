@@ -5,12 +5,16 @@ import com.phrmSystem.phrmSystem.data.entity.DoctorSpecialization;
 import com.phrmSystem.phrmSystem.data.entity.DoctorAppointment;
 import com.phrmSystem.phrmSystem.data.repo.DoctorRepository;
 import com.phrmSystem.phrmSystem.dto.AppointmentDTO;
+import com.phrmSystem.phrmSystem.dto.CursorPageDTO;
+import com.phrmSystem.phrmSystem.dto.DoctorPatientCountDTO;
 import com.phrmSystem.phrmSystem.dto.SpecializationDTO;
 import com.phrmSystem.phrmSystem.dto.UserDTO;
 import com.phrmSystem.phrmSystem.service.DoctorService;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -156,6 +160,31 @@ public class DoctorController {
         return ResponseEntity.ok(doctorService.getDoctorAppointments(id));
     }
 
+    /**
+     * Retrieves one page of a doctor's appointments, ordered by date.
+     *
+     * @param id     the ID of the doctor.
+     * @param cursor the continuation token returned with the previous page, omitted for the first page.
+     * @param size   the page size, capped at the maximum page size.
+     * @param from   the earliest appointment day to include (yyyy-MM-dd).
+     * @param to     the latest appointment day to include (yyyy-MM-dd).
+     * @return the page of AppointmentDTOs and the token for the next page.
+     */
+    @GetMapping("/{id}/appointments/page")
+    public ResponseEntity<?> getDoctorAppointmentsPage(
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            CursorPageDTO<AppointmentDTO> page = doctorService.getDoctorAppointmentsPage(id, cursor, size, from, to);
+            return ResponseEntity.ok(page);
+        } catch (RuntimeException ex) {
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        }
+    }
+
     /**
      * Retrieves all personal doctors.
      *
@@ -165,6 +194,30 @@ public class DoctorController {
     public ResponseEntity<List<User>> getAllPersonalDoctors() {
         return ResponseEntity.ok(doctorService.getAllPersonalDoctors());
     }
+
+    /**
+     * Retrieves the number of patients of every personal doctor, most patients first.
+     *
+     * @return the doctor IDs with their patient counts with HTTP status 200 (OK).
+     */
+    @GetMapping("/personal-doctors/patient-counts")
+    public ResponseEntity<List<DoctorPatientCountDTO>> getPersonalDoctorPatientCounts() {
+        return ResponseEntity.ok(doctorService.getPersonalDoctorPatientCounts());
+    }
+
+    /**
+     * Reconciles the personal doctor patient counters with the patient records.
+     *
+     * @return how many counters were compared and how many were corrected.
+     */
+    @PostMapping("/personal-doctors/patient-counts/rebuild")
+    public ResponseEntity<?> rebuildPersonalDoctorStatistics() {
+        try {
+            return ResponseEntity.ok(doctorService.rebuildPersonalDoctorStatistics());
+        } catch (RuntimeException ex) {
+            return ResponseEntity.badRequest().body("Failed to rebuild personal doctor statistics.");
+        }
+    }
 }
 
 
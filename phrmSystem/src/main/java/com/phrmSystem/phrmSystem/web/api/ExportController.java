@@ -0,0 +1,127 @@
+package com.phrmSystem.phrmSystem.web.api;
+
+import com.phrmSystem.phrmSystem.dto.BinaryExportResultDTO;
+import com.phrmSystem.phrmSystem.service.ExportService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * REST controller streaming full exports of appointments, sick days and diagnoses, and writing
+ * columnar binary exports for analytics.
+ *
+ * The rows are written to the response body while they are read from the database, so the
+ * response is sent chunked and never held in memory as a whole.
+ */
+@RestController
+@RequestMapping("/api/exports")
+public class ExportController {
+
+    private final ExportService exportService;
+
+    public ExportController(ExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    /**
+     * Exports every appointment.
+     *
+     * @param format   the export format, ndjson (default) or csv.
+     * @param response the response the rows are written to.
+     */
+    @GetMapping("/appointments")
+    public void exportAppointments(@RequestParam(defaultValue = ExportService.NDJSON) String format,
+                                   HttpServletResponse response) throws IOException {
+        prepare(response, format, "appointments");
+        exportService.exportAppointments(response.getOutputStream(), format);
+    }
+
+    /**
+     * Exports every sick day with its diagnosis IDs, in the sick day import format.
+     *
+     * @param format   the export format, ndjson (default) or csv.
+     * @param response the response the rows are written to.
+     */
+    @GetMapping("/sick-days")
+    public void exportSickDays(@RequestParam(defaultValue = ExportService.NDJSON) String format,
+                               HttpServletResponse response) throws IOException {
+        prepare(response, format, "sick-days");
+        exportService.exportSickDays(response.getOutputStream(), format);
+    }
+
+    /**
+     * Exports every diagnosis.
+     *
+     * @param format   the export format, ndjson (default) or csv.
+     * @param response the response the rows are written to.
+     */
+    @GetMapping("/diagnoses")
+    public void exportDiagnoses(@RequestParam(defaultValue = ExportService.NDJSON) String format,
+                                HttpServletResponse response) throws IOException {
+        prepare(response, format, "diagnoses");
+        exportService.exportDiagnoses(response.getOutputStream(), format);
+    }
+
+    /**
+     * Writes the sick days after the given ID to a columnar binary file in the export directory.
+     *
+     * The export is append-only and re-reads an overlap of IDs before afterId, so it can repeat rows of the
+     * previous export; keep the latest copy of each ID.
+     *
+     * @param afterId the ID to start after, e.g. the lastId of the previous export; omit for all sick days.
+     * @param from    the earliest start date to include (ISO date), optional.
+     * @return the file written, the number of sick days, the ID the file starts after and the ID to start after next time.
+     */
+    @PostMapping("/binary/sick-days")
+    public ResponseEntity<?> exportSickDaysBinary(@RequestParam(required = false) Long afterId,
+                                                  @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from) {
+        try {
+            BinaryExportResultDTO result = exportService.exportSickDaysBinary(afterId, from);
+            return ResponseEntity.ok(result);
+        } catch (RuntimeException ex) {
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        }
+    }
+
+    /**
+     * Writes the appointments after the given ID to a columnar binary file in the export directory.
+     *
+     * The export is append-only and re-reads an overlap of IDs before afterId, so it can repeat rows of the
+     * previous export; keep the latest copy of each ID.
+     *
+     * @param afterId the ID to start after, e.g. the lastId of the previous export; omit for all appointments.
+     * @param from    the earliest appointment date to include (ISO date-time), optional.
+     * @return the file written, the number of appointments, the ID the file starts after and the ID to start after next time.
+     */
+    @PostMapping("/binary/appointments")
+    public ResponseEntity<?> exportAppointmentsBinary(@RequestParam(required = false) Long afterId,
+                                                      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from) {
+        try {
+            BinaryExportResultDTO result = exportService.exportAppointmentsBinary(afterId, from);
+            return ResponseEntity.ok(result);
+        } catch (RuntimeException ex) {
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        }
+    }
+
+    /**
+     * Sets the content type and file name; an unsupported format is rejected here, before anything
+     * is written.
+     */
+    private void prepare(HttpServletResponse response, String format, String dataset) {
+        response.setContentType(exportService.contentType(format));
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"" + dataset + "." + format.toLowerCase() + "\"");
+    }
+}
@@ -0,0 +1,45 @@
+package com.phrmSystem.phrmSystem.web.api;
+
+import com.phrmSystem.phrmSystem.dto.MetricsDTO;
+import com.phrmSystem.phrmSystem.service.MetricsService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller exposing request, repository and SQL statement metrics.
+ */
+@RestController
+@RequestMapping("/api/metrics")
+public class MetricsController {
+
+    private final MetricsService metricsService;
+
+    public MetricsController(MetricsService metricsService) {
+        this.metricsService = metricsService;
+    }
+
+    /**
+     * Retrieves per-endpoint latency percentiles and statements per request, per-repository-method
+     * timings and the most recent slow queries.
+     *
+     * @return the collected metrics.
+     */
+    @GetMapping
+    public ResponseEntity<MetricsDTO> getMetrics() {
+        return ResponseEntity.ok(metricsService.getMetrics());
+    }
+
+    /**
+     * Discards the collected metrics, e.g. before a load test.
+     *
+     * @return no content.
+     */
+    @DeleteMapping
+    public ResponseEntity<Void> resetMetrics() {
+        metricsService.resetMetrics();
+        return ResponseEntity.noContent().build();
+    }
+}
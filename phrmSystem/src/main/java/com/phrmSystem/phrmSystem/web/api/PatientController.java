@@ -2,6 +2,7 @@ package com.phrmSystem.phrmSystem.controller;
 
 import com.phrmSystem.phrmSystem.data.entity.User;
 import com.phrmSystem.phrmSystem.dto.DoctorAppointmentDTO;
+import com.phrmSystem.phrmSystem.dto.PatientChartDTO;
 import com.phrmSystem.phrmSystem.dto.PatientIllnessHistoryDTO;
 import com.phrmSystem.phrmSystem.dto.UserDTO;
 import com.phrmSystem.phrmSystem.service.PatientService;
@@ -69,6 +70,23 @@ public class PatientController {
         }
     }
 
+    /**
+     * Assigns a personal doctor to a patient, or removes it when no doctor ID is given.
+     *
+     * @param id       The ID of the patient.
+     * @param doctorId The ID of the personal doctor, omitted to remove the current one.
+     * @return 204 No Content if successful.
+     */
+    @PutMapping("/{id}/personal-doctor")
+    public ResponseEntity<?> assignPersonalDoctor(@PathVariable Long id, @RequestParam(required = false) Long doctorId) {
+        try {
+            patientService.assignPersonalDoctor(id, doctorId);
+            return ResponseEntity.noContent().build();
+        } catch (RuntimeException ex) {
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        }
+    }
+
     /**
      * Fetches all patients.
      *
@@ -137,6 +155,23 @@ public class PatientController {
         }
     }
 
+    /**
+     * Fetches a patient's chart: profile, illness histories, appointments with diagnoses and medicines,
+     * and sick days, in one response.
+     *
+     * @param id The ID of the patient.
+     * @return The patient chart DTO.
+     */
+    @GetMapping("/{id}/chart")
+    public ResponseEntity<?> getPatientChart(@PathVariable Long id) {
+        try {
+            PatientChartDTO chart = patientService.getPatientChart(id);
+            return ResponseEntity.ok(chart);
+        } catch (RuntimeException ex) {
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        }
+    }
+
     /**
      * Creates an appointment for a patient.
      *
@@ -0,0 +1,59 @@
+package com.phrmSystem.phrmSystem.web.api;
+
+import com.phrmSystem.phrmSystem.service.ReportService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+
+/**
+ * REST controller for dashboard reports. Results are cached for a short time, so they may trail
+ * the latest writes by at most phrm.reports.cache-ttl-seconds.
+ */
+@RestController
+@RequestMapping("/api/reports")
+public class ReportController {
+
+    private final ReportService reportService;
+
+    public ReportController(ReportService reportService) {
+        this.reportService = reportService;
+    }
+
+    /**
+     * Retrieves the number of appointments per doctor, most booked doctors first.
+     *
+     * @param from the first day to count (inclusive), or all days when omitted.
+     * @param to   the last day to count (inclusive), or all days when omitted.
+     * @return the doctor IDs and names with their appointment counts.
+     */
+    @GetMapping("/appointments-per-doctor")
+    public ResponseEntity<?> getAppointmentsPerDoctor(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            return ResponseEntity.ok(reportService.getAppointmentsPerDoctor(from, to));
+        } catch (RuntimeException ex) {
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        }
+    }
+
+    /**
+     * Retrieves the most common diagnosis names by the number of sick days listing them.
+     *
+     * @param limit the maximum number of names to return; all when omitted.
+     * @return the diagnosis names with their sick day counts.
+     */
+    @GetMapping("/diagnosis-names")
+    public ResponseEntity<?> getMostCommonDiagnosisNames(@RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(reportService.getMostCommonDiagnosisNames(limit));
+        } catch (RuntimeException ex) {
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.phrmSystem.phrmSystem.controller;
 
 import com.phrmSystem.phrmSystem.data.entity.Role;
+import com.phrmSystem.phrmSystem.dto.RoleCacheStatsDTO;
 import com.phrmSystem.phrmSystem.dto.RoleDTO;
 import com.phrmSystem.phrmSystem.service.RoleService;
 import jakarta.validation.Valid;
@@ -103,6 +104,16 @@ public class RoleController {
         return ResponseEntity.ok(roles);
     }
 
+    /**
+     * Retrieves the hit and miss counts of the role cache.
+     *
+     * @return the role cache statistics.
+     */
+    @GetMapping("/cache-stats")
+    public ResponseEntity<RoleCacheStatsDTO> getRoleCacheStats() {
+        return ResponseEntity.ok(roleService.getRoleCacheStats());
+    }
+
     /**
      * Searches roles by a keyword in their name or description.
      *
@@ -1,10 +1,19 @@
 package com.phrmSystem.phrmSystem.web.api;
 
+import com.phrmSystem.phrmSystem.dto.CursorPageDTO;
+import com.phrmSystem.phrmSystem.dto.DoctorSickLeaveCountDTO;
+import com.phrmSystem.phrmSystem.dto.MonthSickLeaveCountDTO;
 import com.phrmSystem.phrmSystem.dto.SickDayDTO;
+import com.phrmSystem.phrmSystem.dto.SickDayImportResultDTO;
+import com.phrmSystem.phrmSystem.service.SickDayImportService;
 import com.phrmSystem.phrmSystem.service.SickDayService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -12,9 +21,11 @@ import java.util.List;
 public class SickDayController {
 
     private final SickDayService sickDayService;
+    private final SickDayImportService sickDayImportService;
 
-    public SickDayController(SickDayService sickDayService) {
+    public SickDayController(SickDayService sickDayService, SickDayImportService sickDayImportService) {
         this.sickDayService = sickDayService;
+        this.sickDayImportService = sickDayImportService;
     }
 
     /**
@@ -44,6 +55,29 @@ public class SickDayController {
         return ResponseEntity.ok(sickDays);
     }
 
+    /**
+     * Retrieves one page of SickDays, ordered by ID.
+     *
+     * @param cursor the continuation token returned with the previous page, omitted for the first page.
+     * @param size   the page size, capped at the maximum page size.
+     * @param from   the earliest start date to include (yyyy-MM-dd).
+     * @param to     the latest start date to include (yyyy-MM-dd).
+     * @return the page of SickDayDTOs and the token for the next page.
+     */
+    @GetMapping("/page")
+    public ResponseEntity<?> getSickDaysPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            CursorPageDTO<SickDayDTO> page = sickDayService.getSickDaysPage(cursor, size, from, to);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        }
+    }
+
     /**
      * Creates a new SickDay.
      *
@@ -60,6 +94,25 @@ public class SickDayController {
         }
     }
 
+    /**
+     * Imports SickDays from an NDJSON or CSV request body.
+     * Rows are streamed and written in chunks; invalid rows are reported and skipped.
+     *
+     * @param contentType the content type of the body, application/x-ndjson or text/csv.
+     * @param body        the request body.
+     * @return the import summary with the errors of the rejected rows.
+     */
+    @PostMapping(value = "/import", consumes = {SickDayImportService.NDJSON, SickDayImportService.CSV})
+    public ResponseEntity<?> importSickDays(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                            InputStream body) {
+        try {
+            SickDayImportResultDTO result = sickDayImportService.importSickDays(body, contentType);
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        }
+    }
+
     /**
      * Updates an existing SickDay.
      *
@@ -94,15 +147,15 @@ public class SickDayController {
     }
 
     /**
-     * Retrieves the month with the most SickDays.
+     * Retrieves the months ranked by the number of SickDays starting in them.
      *
-     * @return a list of objects representing the month with the most SickDays.
+     * @param year the year to rank; when omitted, each month is summed over all years.
+     * @return the months with their SickDay counts, the month with the most SickDays first.
      */
     @GetMapping("/most-sick-leaves-month")
-    public ResponseEntity<?> getMonthWithMostSickLeaves() {
+    public ResponseEntity<?> getMonthWithMostSickLeaves(@RequestParam(required = false) Integer year) {
         try {
-            // Replace with real repository method call if needed
-            List<Object[]> result = sickDayService.getMonthWithMostSickLeaves();
+            List<MonthSickLeaveCountDTO> result = sickDayService.getMonthWithMostSickLeaves(year);
             return ResponseEntity.ok(result);
         } catch (RuntimeException ex) {
             return ResponseEntity.badRequest().body(ex.getMessage());
@@ -110,18 +163,32 @@ public class SickDayController {
     }
 
     /**
-     * Retrieves the doctors who issued the most SickDays.
+     * Retrieves the doctors ranked by the number of SickDays they issued.
      *
-     * @return a list of objects representing the top doctors with the most SickDays.
+     * @param year the year of the SickDays' start dates; all years when omitted.
+     * @return the doctor IDs with their SickDay counts, the top doctor first.
      */
     @GetMapping("/top-doctors")
-    public ResponseEntity<?> getDoctorsWithMostSickLeaves() {
+    public ResponseEntity<?> getDoctorsWithMostSickLeaves(@RequestParam(required = false) Integer year) {
         try {
-            // Replace with real repository method call if needed
-            List<Object[]> result = sickDayService.getDoctorsWithMostSickLeaves();
+            List<DoctorSickLeaveCountDTO> result = sickDayService.getDoctorsWithMostSickLeaves(year);
             return ResponseEntity.ok(result);
         } catch (RuntimeException ex) {
             return ResponseEntity.badRequest().body(ex.getMessage());
         }
     }
+
+    /**
+     * Reconciles the month and doctor statistics with the SickDay records.
+     *
+     * @return how many counters were compared and how many were corrected.
+     */
+    @PostMapping("/statistics/rebuild")
+    public ResponseEntity<?> rebuildSickLeaveStatistics() {
+        try {
+            return ResponseEntity.ok(sickDayService.rebuildSickLeaveStatistics());
+        } catch (RuntimeException ex) {
+            return ResponseEntity.badRequest().body("Failed to rebuild sick leave statistics.");
+        }
+    }
 }
@@ -0,0 +1,100 @@
+package com.phrmSystem.phrmSystem.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuthorityRegistryTest {
+
+    @Test
+    void authority_ReturnsOneInstancePerName() {
+        GrantedAuthority doctor = AuthorityRegistry.authority("ROLE_client_doctor");
+
+        assertSame(doctor, AuthorityRegistry.authority(new String("ROLE_client_doctor")));
+        assertEquals(new SimpleGrantedAuthority("ROLE_client_doctor"), doctor);
+    }
+
+    @Test
+    void roles_ReturnsTheSameImmutableSetForEqualRoleLists() {
+        Set<GrantedAuthority> first = AuthorityRegistry.roles(new ArrayList<>(List.of("client_doctor", "client_patient")));
+        Set<GrantedAuthority> second = AuthorityRegistry.roles(Arrays.asList("client_doctor", "client_patient"));
+
+        assertSame(first, second);
+        assertEquals(Set.of(new SimpleGrantedAuthority("ROLE_client_doctor"),
+                new SimpleGrantedAuthority("ROLE_client_patient")), first);
+        assertTrue(first.contains(AuthorityRegistry.authority("ROLE_client_doctor")));
+        assertThrows(UnsupportedOperationException.class, () -> first.add(AuthorityRegistry.authority("ROLE_client_admin")));
+    }
+
+    @Test
+    void roles_IgnoresNonStringElements() {
+        List<Object> roles = new ArrayList<>();
+        roles.add("client_admin");
+        roles.add(42);
+        roles.add(null);
+
+        assertEquals(Set.of(new SimpleGrantedAuthority("ROLE_client_admin")), AuthorityRegistry.roles(roles));
+        assertEquals(Set.of(), AuthorityRegistry.roles(List.of()));
+    }
+
+    @Test
+    void roles_BuildsUncachedSetsForOtherCollections() {
+        Collection<String> roles = new LinkedHashSet<>(List.of("client_admin"));
+
+        assertEquals(Set.of(new SimpleGrantedAuthority("ROLE_client_admin")), AuthorityRegistry.roles(roles));
+    }
+
+    @Test
+    void scopes_ReadsStringAndListClaims() {
+        Set<GrantedAuthority> fromString = AuthorityRegistry.scopes("openid  profile email");
+
+        assertSame(fromString, AuthorityRegistry.scopes("openid  profile email"));
+        assertEquals(Set.of(new SimpleGrantedAuthority("SCOPE_openid"), new SimpleGrantedAuthority("SCOPE_profile"),
+                new SimpleGrantedAuthority("SCOPE_email")), fromString);
+        assertEquals(fromString, AuthorityRegistry.scopes(List.of("email", "openid", "profile")));
+        assertEquals(Set.of(), AuthorityRegistry.scopes(null));
+        assertEquals(Set.of(), AuthorityRegistry.scopes(" "));
+    }
+
+    @Test
+    void union_CachesTheCombinationOfTwoSets() {
+        Set<GrantedAuthority> scopes = AuthorityRegistry.scopes("openid profile");
+        Set<GrantedAuthority> roles = AuthorityRegistry.roles(List.of("client_patient"));
+
+        Set<GrantedAuthority> union = AuthorityRegistry.union(scopes, roles);
+
+        assertSame(union, AuthorityRegistry.union(scopes, roles));
+        assertEquals(3, union.size());
+        assertSame(roles, AuthorityRegistry.union(Set.of(), roles));
+        assertSame(scopes, AuthorityRegistry.union(scopes, Set.of()));
+    }
+
+    @Test
+    void keycloakConverter_MapsRealmRolesToCanonicalAuthorities() {
+        KeycloakAuthorityConverter converter = new KeycloakAuthorityConverter();
+        Jwt jwt = Jwt.withTokenValue("token").header("alg", "RS256")
+                .claim("realm_access", Map.of("roles", List.of("offline_access", "uma_authorization")))
+                .build();
+        Jwt malformed = Jwt.withTokenValue("token").header("alg", "RS256")
+                .claim("realm_access", Map.of("roles", "offline_access"))
+                .build();
+
+        Collection<GrantedAuthority> authorities = converter.convert(jwt);
+
+        assertSame(authorities, converter.convert(jwt));
+        assertTrue(authorities.contains(new SimpleGrantedAuthority("offline_access")));
+        assertEquals(2, authorities.size());
+        assertTrue(converter.convert(malformed).isEmpty());
+    }
+}
@@ -0,0 +1,150 @@
+package com.phrmSystem.phrmSystem.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class JwtAuthenticationCacheTest {
+
+    private static final Instant NOW = Instant.parse("2025-03-03T09:00:00Z");
+
+    private MutableClock clock;
+    private JwtAuthenticationCache cache;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(NOW);
+        cache = new JwtAuthenticationCache(2, clock);
+    }
+
+    @Test
+    void get_ReturnsTheCachedJwtUntilItExpires() {
+        Jwt jwt = jwt("token-1", NOW.plusSeconds(300));
+        cache.put(jwt);
+
+        assertSame(jwt, cache.get("token-1"));
+        clock.instant = NOW.plusSeconds(300);
+        assertNull(cache.get("token-1"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void put_SkipsTokensWithoutExpiry() {
+        cache.put(Jwt.withTokenValue("token-1").header("alg", "RS256").claim("sub", "user").build());
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void put_StaysWithinTheBoundAndSweepsExpiredTokens() {
+        cache.put(jwt("token-1", NOW.plusSeconds(10)));
+        cache.put(jwt("token-2", NOW.plusSeconds(300)));
+        cache.put(jwt("token-3", NOW.plusSeconds(300)));
+        assertEquals(2, cache.size());
+        assertNull(cache.get("token-3"));
+
+        clock.instant = NOW.plusSeconds(20);
+        cache.put(jwt("token-3", NOW.plusSeconds(300)));
+
+        assertNotNull(cache.get("token-3"));
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void cachingDecoder_VerifiesEachTokenOnce() {
+        JwtDecoder delegate = mock(JwtDecoder.class);
+        Jwt jwt = jwt("token-1", NOW.plusSeconds(300));
+        when(delegate.decode("token-1")).thenReturn(jwt);
+        CachingJwtDecoder decoder = new CachingJwtDecoder(delegate, cache);
+
+        assertSame(jwt, decoder.decode("token-1"));
+        assertSame(jwt, decoder.decode("token-1"));
+
+        verify(delegate, times(1)).decode("token-1");
+        assertEquals(1, cache.hits());
+    }
+
+    @Test
+    void converter_CachesAuthoritiesButReturnsANewTokenPerRequest() {
+        JwtAuthConverter converter = new JwtAuthConverter(cache, "preferred_username", "react_client");
+        Jwt jwt = jwt("token-1", NOW.plusSeconds(300));
+        cache.put(jwt);
+
+        AbstractAuthenticationToken first = converter.convert(jwt);
+        AbstractAuthenticationToken second = converter.convert(jwt);
+
+        assertNotSame(first, second);
+        assertEquals("doctor.ivanov", first.getName());
+        assertEquals(Set.of("SCOPE_profile", "ROLE_client_doctor"), names(first));
+        assertSame(cache.conversion(jwt, unused -> fail("conversion should be cached")).authorities(),
+                cache.conversion(jwt, unused -> fail("conversion should be cached")).authorities());
+        assertEquals(names(first), names(second));
+    }
+
+    @Test
+    void converter_IgnoresMalformedResourceAccess() {
+        JwtAuthConverter converter = new JwtAuthConverter(new JwtAuthenticationCache(0), "preferred_username", "react_client");
+        Jwt jwt = Jwt.withTokenValue("token-1").header("alg", "RS256")
+                .claim("preferred_username", "doctor.ivanov")
+                .claim("resource_access", Map.of("react_client", Map.of("roles", "client_doctor")))
+                .expiresAt(NOW.plusSeconds(300))
+                .build();
+
+        assertTrue(converter.convert(jwt).getAuthorities().isEmpty());
+    }
+
+    private static Set<String> names(AbstractAuthenticationToken token) {
+        return token.getAuthorities().stream().map(GrantedAuthority::getAuthority).collect(Collectors.toSet());
+    }
+
+    private static Jwt jwt(String token, Instant expiresAt) {
+        return Jwt.withTokenValue(token)
+                .header("alg", "RS256")
+                .claim("sub", "3f1c")
+                .claim("preferred_username", "doctor.ivanov")
+                .claim("scope", "profile")
+                .claim("resource_access", Map.of("react_client", Map.of("roles", List.of("client_doctor"))))
+                .issuedAt(NOW.minusSeconds(60))
+                .expiresAt(expiresAt)
+                .build();
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.phrmSystem.phrmSystem.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PatientOwnershipTest {
+
+    private final PatientOwnership patientOwnership = new PatientOwnership();
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void ownerUsername_RestrictsPatientsToTheirOwnRecords() {
+        authenticate("ana.ivanova", "client_patient");
+
+        assertEquals("ana.ivanova", patientOwnership.ownerUsername());
+    }
+
+    @Test
+    void ownerUsername_DoesNotRestrictDoctorsAndAdmins() {
+        authenticate("petar.petrov", "client_doctor", "client_patient");
+        assertNull(patientOwnership.ownerUsername());
+
+        authenticate("admin", "client_admin");
+        assertNull(patientOwnership.ownerUsername());
+    }
+
+    @Test
+    void ownerUsername_DoesNotRestrictCallsWithoutAuthentication() {
+        assertNull(patientOwnership.ownerUsername());
+    }
+
+    @Test
+    void ownerUsername_RejectsPatientTokensWithoutAName() {
+        authenticate(null, "client_patient");
+
+        assertThrows(AccessDeniedException.class, patientOwnership::ownerUsername);
+    }
+
+    private static void authenticate(String username, String... roles) {
+        Jwt jwt = Jwt.withTokenValue("token").header("alg", "RS256").claim("sub", "3f1c").build();
+        SecurityContextHolder.getContext().setAuthentication(
+                new JwtAuthenticationToken(jwt, AuthorityRegistry.roles(List.of(roles)), username));
+    }
+}
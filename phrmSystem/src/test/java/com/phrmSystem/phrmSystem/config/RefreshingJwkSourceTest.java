@@ -0,0 +1,157 @@
+package com.phrmSystem.phrmSystem.config;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RefreshingJwkSourceTest {
+
+    private static RSAKey firstKey;
+    private static RSAKey rotatedKey;
+
+    @BeforeAll
+    static void generateKeys() throws JOSEException {
+        firstKey = new RSAKeyGenerator(2048).keyID("first").generate();
+        rotatedKey = new RSAKeyGenerator(2048).keyID("rotated").generate();
+    }
+
+    @Test
+    void decode_LoadsTheKeysOnceForManyTokens() throws JOSEException {
+        AtomicInteger loads = new AtomicInteger();
+        RefreshingJwkSource source = new RefreshingJwkSource(() -> {
+            loads.incrementAndGet();
+            return new JWKSet(firstKey.toPublicJWK());
+        }, Duration.ofMinutes(5), Duration.ofSeconds(30));
+        NimbusJwtDecoder decoder = decoder(source);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals("user" + i, decoder.decode(token(firstKey, "user" + i)).getSubject());
+        }
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void decode_RefreshesWhenTheProviderRotatesItsKeys() throws JOSEException {
+        AtomicReference<JWKSet> published = new AtomicReference<>(new JWKSet(firstKey.toPublicJWK()));
+        AtomicInteger loads = new AtomicInteger();
+        RefreshingJwkSource source = new RefreshingJwkSource(() -> {
+            loads.incrementAndGet();
+            return published.get();
+        }, Duration.ofMinutes(5), Duration.ZERO);
+        NimbusJwtDecoder decoder = decoder(source);
+        decoder.decode(token(firstKey, "user"));
+
+        published.set(new JWKSet(rotatedKey.toPublicJWK()));
+
+        assertEquals("user", decoder.decode(token(rotatedKey, "user")).getSubject());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void decode_RateLimitsRefreshesForUnknownKeys() throws JOSEException {
+        AtomicInteger loads = new AtomicInteger();
+        RefreshingJwkSource source = new RefreshingJwkSource(() -> {
+            loads.incrementAndGet();
+            return new JWKSet(firstKey.toPublicJWK());
+        }, Duration.ofMinutes(5), Duration.ofMinutes(1));
+        NimbusJwtDecoder decoder = decoder(source);
+        decoder.decode(token(firstKey, "user"));
+        String unknown = token(rotatedKey, "user");
+
+        assertThrows(JwtException.class, () -> decoder.decode(unknown));
+        assertThrows(JwtException.class, () -> decoder.decode(unknown));
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void start_FetchesInTheBackgroundAndKeepsKeysWhenARefreshFails() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        RefreshingJwkSource source = new RefreshingJwkSource(() -> {
+            if (loads.incrementAndGet() > 1) {
+                throw new IOException("JWKS endpoint unavailable");
+            }
+            return new JWKSet(firstKey.toPublicJWK());
+        }, Duration.ofMillis(20), Duration.ofMinutes(1));
+        source.start();
+        try {
+            long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+            while (loads.get() < 3 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+
+            assertTrue(loads.get() >= 3);
+            assertEquals("user", decoder(source).decode(token(firstKey, "user")).getSubject());
+        } finally {
+            source.stop();
+        }
+    }
+
+    @Test
+    void stop_DoesNotWaitForARefreshInProgress() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        RefreshingJwkSource source = new RefreshingJwkSource(() -> {
+            loading.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted", ex);
+            }
+            return new JWKSet(firstKey.toPublicJWK());
+        }, Duration.ofMinutes(5), Duration.ofMinutes(1));
+        source.start();
+        try {
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+            assertTimeoutPreemptively(Duration.ofSeconds(2), source::stop);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private static NimbusJwtDecoder decoder(RefreshingJwkSource source) {
+        DefaultJWTProcessor<SecurityContext> jwtProcessor = new DefaultJWTProcessor<>();
+        jwtProcessor.setJWSKeySelector(new JWSVerificationKeySelector<>(JWSAlgorithm.RS256, source));
+        jwtProcessor.setJWTClaimsSetVerifier((claims, context) -> {
+        });
+        return new NimbusJwtDecoder(jwtProcessor);
+    }
+
+    private static String token(RSAKey key, String subject) throws JOSEException {
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .subject(subject)
+                .issueTime(Date.from(Instant.now()))
+                .expirationTime(Date.from(Instant.now().plusSeconds(300)))
+                .build();
+        SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(key.getKeyID()).build(), claims);
+        jwt.sign(new RSASSASigner(key));
+        return jwt.serialize();
+    }
+}
@@ -0,0 +1,153 @@
+package com.phrmSystem.phrmSystem.initializers;
+
+import com.phrmSystem.phrmSystem.data.entity.BaseEntity;
+import com.phrmSystem.phrmSystem.data.entity.DoctorAppointment;
+import com.phrmSystem.phrmSystem.data.entity.Role;
+import com.phrmSystem.phrmSystem.data.entity.SickDay;
+import com.phrmSystem.phrmSystem.data.repo.RoleRepository;
+import com.phrmSystem.phrmSystem.service.impl.RoleCache;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class SyntheticDataGeneratorTest {
+
+    @Test
+    void zipfSampler_FavoursLowRanks() {
+        SyntheticDataGenerator.ZipfSampler sampler = new SyntheticDataGenerator.ZipfSampler(100, 1.0);
+        Random random = new Random(1);
+        int[] counts = new int[100];
+        for (int i = 0; i < 100_000; i++) {
+            counts[sampler.sample(random)]++;
+        }
+
+        // P(rank 0) / P(rank 1) = 2 and P(rank 0) / P(rank 9) = 10 for exponent 1.
+        assertEquals(2.0, (double) counts[0] / counts[1], 0.15);
+        assertEquals(10.0, (double) counts[0] / counts[9], 1.0);
+        assertTrue(counts[99] > 0);
+    }
+
+    @Test
+    void seasonalDate_PeaksInWinter() {
+        Random random = new Random(1);
+        LocalDate from = LocalDate.of(2020, 1, 1);
+        LocalDate to = LocalDate.of(2025, 1, 1);
+        int february = 0;
+        int august = 0;
+        for (int i = 0; i < 100_000; i++) {
+            LocalDate date = SyntheticDataGenerator.seasonalDate(random, from, to, 0.6);
+            assertFalse(date.isBefore(from));
+            assertTrue(date.isBefore(to));
+            if (date.getMonth() == Month.FEBRUARY) {
+                february++;
+            } else if (date.getMonth() == Month.AUGUST) {
+                august++;
+            }
+        }
+
+        assertTrue(february > 2.5 * august, "February " + february + ", August " + august);
+    }
+
+    @Test
+    void sickLeaveLength_StaysWithinBounds() {
+        Random random = new Random(1);
+        long total = 0;
+        for (int i = 0; i < 100_000; i++) {
+            int days = SyntheticDataGenerator.sickLeaveLength(random);
+            assertTrue(days >= 1 && days <= 60);
+            total += days;
+        }
+
+        assertEquals(5.5, total / 100_000.0, 0.2);
+    }
+
+    @Test
+    void run_SameSeedProducesSameRows() {
+        List<BaseEntity> first = generate(7);
+        List<BaseEntity> second = generate(7);
+
+        assertEquals(signature(first), signature(second));
+        assertNotEquals(signature(first), signature(generate(8)));
+    }
+
+    @Test
+    void run_InsertsConfiguredRowCountsWithoutDoubleBookings() {
+        List<BaseEntity> persisted = generate(7);
+
+        List<SickDay> sickDays = persisted.stream().filter(SickDay.class::isInstance).map(SickDay.class::cast).toList();
+        List<DoctorAppointment> appointments = persisted.stream()
+                .filter(DoctorAppointment.class::isInstance).map(DoctorAppointment.class::cast).toList();
+        assertEquals(200, sickDays.size());
+        assertEquals(300, appointments.size());
+
+        for (SickDay sickDay : sickDays) {
+            assertEquals(sickDay.getNumberOfDays() - 1, sickDay.getEndDate().toEpochDay() - sickDay.getStartDate().toEpochDay());
+            assertFalse(sickDay.getDiagnosis().isEmpty());
+        }
+        Set<String> slots = new HashSet<>();
+        for (DoctorAppointment appointment : appointments) {
+            LocalDateTime date = appointment.getDate();
+            assertTrue(date.getDayOfWeek().getValue() <= DayOfWeek.FRIDAY.getValue());
+            assertTrue(date.getHour() >= 8 && date.getHour() < 16);
+            assertTrue(slots.add(appointment.getDoctor().getId() + "@" + date), "Double booking at " + date);
+        }
+    }
+
+    private static List<BaseEntity> generate(long seed) {
+        RoleRepository roleRepository = mock(RoleRepository.class);
+        RoleCache roleCache = mock(RoleCache.class);
+        EntityManager entityManager = mock(EntityManager.class);
+        Role role = new Role("DOCTOR", "Doctor role.", new LinkedList<>());
+        role.setId(1L);
+        when(roleCache.findByName(any())).thenReturn(Optional.of(role));
+
+        AtomicLong nextId = new AtomicLong(100);
+        List<BaseEntity> persisted = new ArrayList<>();
+        doAnswer(invocation -> {
+            BaseEntity entity = invocation.getArgument(0);
+            entity.setId(nextId.getAndIncrement());
+            persisted.add(entity);
+            return null;
+        }).when(entityManager).persist(any());
+        when(entityManager.getReference(any(), any())).thenAnswer(invocation -> {
+            BaseEntity reference = (BaseEntity) ((Class<?>) invocation.getArgument(0)).getDeclaredConstructor().newInstance();
+            reference.setId(invocation.getArgument(1));
+            return reference;
+        });
+
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(roleRepository, roleCache, entityManager,
+                mock(PlatformTransactionManager.class), 3, 20, 10, 3, 200, 300, 1.1, 0.6,
+                "2024-01-01", "2025-01-01", 15, 64, seed);
+        generator.run();
+        return persisted;
+    }
+
+    private static List<String> signature(List<BaseEntity> persisted) {
+        List<String> signature = new ArrayList<>();
+        for (BaseEntity entity : persisted) {
+            if (entity instanceof SickDay sickDay) {
+                signature.add(sickDay.getStartDate() + "/" + sickDay.getNumberOfDays() + "/" + sickDay.getPatient().getId());
+            } else if (entity instanceof DoctorAppointment appointment) {
+                signature.add(appointment.getDate() + "/" + appointment.getDoctor().getId());
+            }
+        }
+        return signature;
+    }
+}
@@ -0,0 +1,101 @@
+package com.phrmSystem.phrmSystem.repo;
+
+import com.phrmSystem.phrmSystem.config.MetricsConfig;
+import com.phrmSystem.phrmSystem.data.entity.DoctorAppointment;
+import com.phrmSystem.phrmSystem.data.entity.User;
+import com.phrmSystem.phrmSystem.data.repo.DoctorAppointmentRepository;
+import com.phrmSystem.phrmSystem.dto.AppointmentDTO;
+import com.phrmSystem.phrmSystem.service.impl.RequestMetrics;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the doctor appointment listing query, which builds its page from a projection.
+ */
+@DataJpaTest
+@Import({RequestMetrics.class, MetricsConfig.class})
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+class DoctorAppointmentRepositoryTest {
+
+    private static final int PATIENTS = 5;
+
+    @Autowired
+    private DoctorAppointmentRepository doctorAppointmentRepository;
+
+    @Autowired
+    private RequestMetrics requestMetrics;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User doctor;
+
+    @BeforeEach
+    void setUp() {
+        doctor = user("Doctor");
+        for (int i = 0; i < PATIENTS; i++) {
+            DoctorAppointment appointment = new DoctorAppointment();
+            appointment.setDate(LocalDateTime.of(2025, 3, 3, 9, 0).plusMinutes(15L * i));
+            appointment.setDoctor(doctor);
+            appointment.setPatient(user("Patient" + i));
+            entityManager.persist(appointment);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void doctorAppointmentPage_RunsOneStatementWithPatientNames() {
+        List<AppointmentDTO> page = new ArrayList<>();
+
+        int statements = requestMetrics.countStatements(() -> page.addAll(doctorAppointmentRepository
+                .findAppointmentRowsByDoctorIdAfter(doctor.getId(), null, 0L, null, null, PageRequest.of(0, 3))));
+
+        assertEquals(1, statements);
+        assertEquals(3, page.size());
+        assertEquals("Patient0 Patient0", page.get(0).getPatientName());
+    }
+
+    @Test
+    void doctorAppointmentRows_MissingNamePartIsShownAsNull() {
+        User patient = user(null);
+        patient.setLastName("Smith");
+        DoctorAppointment appointment = new DoctorAppointment();
+        appointment.setDate(LocalDateTime.of(2025, 3, 4, 9, 0));
+        appointment.setDoctor(entityManager.find(User.class, doctor.getId()));
+        appointment.setPatient(patient);
+        entityManager.persist(appointment);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<AppointmentDTO> rows = doctorAppointmentRepository.findAppointmentRowsByDoctorId(doctor.getId());
+        List<AppointmentDTO> page = doctorAppointmentRepository.findAppointmentRowsByDoctorIdAfter(
+                doctor.getId(), null, 0L, LocalDateTime.of(2025, 3, 4, 0, 0), null, PageRequest.of(0, 3));
+
+        assertEquals("null Smith", rows.get(rows.size() - 1).getPatientName());
+        assertEquals("null Smith", page.get(0).getPatientName());
+    }
+
+    private User user(String name) {
+        User user = new User();
+        user.setFirstName(name);
+        user.setLastName(name);
+        entityManager.persist(user);
+        return user;
+    }
+}
@@ -1,6 +1,7 @@
 package com.phrmSystem.phrmSystem.repo;
 
 import com.phrmSystem.phrmSystem.data.entity.*;
+import com.phrmSystem.phrmSystem.data.projection.PersonalDoctorPatientCount;
 import com.phrmSystem.phrmSystem.data.repo.DoctorRepository;
 import com.phrmSystem.phrmSystem.data.repo.DoctorSpecializationRepository;
 import org.junit.jupiter.api.Assertions;
@@ -9,6 +10,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 
+import java.util.List;
 import java.util.Set;
 
 @DataJpaTest
@@ -76,4 +78,21 @@ public class DoctorRepositoryTest {
         Assertions.assertNotNull(doctorSpecializations);
         Assertions.assertEquals(2, doctorSpecializations.size());
     }
+
+    @Test
+    public void testCountPatientsPerPersonalDoctor_ShouldCountLinkedPatients() {
+        for (String name : new String[]{"Alice", "Bob"}) {
+            User patient = new User();
+            patient.setFirstName(name);
+            patient.setLastName("Smith");
+            patient.setPersonalDoctor(testDoctor);
+            doctorRepository.save(patient);
+        }
+
+        var counts = doctorRepository.countPatientsPerPersonalDoctor();
+        Assertions.assertEquals(List.of(new PersonalDoctorPatientCount(testDoctor.getId(), 2L)), counts);
+
+        Assertions.assertEquals(2, doctorRepository.clearPersonalDoctor(testDoctor.getId()));
+        Assertions.assertTrue(doctorRepository.countPatientsPerPersonalDoctor().isEmpty());
+    }
 }
@@ -0,0 +1,164 @@
+package com.phrmSystem.phrmSystem.repo;
+
+import com.phrmSystem.phrmSystem.data.entity.Diagnosis;
+import com.phrmSystem.phrmSystem.data.entity.DoctorAppointment;
+import com.phrmSystem.phrmSystem.data.entity.SickDay;
+import com.phrmSystem.phrmSystem.data.entity.User;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares insert throughput of DoctorAppointment and SickDay for each id generation strategy
+ * of ConfigurableIdGenerator. The scenario without JDBC batching approximates the old IDENTITY
+ * behaviour of one round trip per insert.
+ * Opt-in: run with {@code ./gradlew test -Dbenchmark=true}; the row count per entity defaults
+ * to 100,000 and can be changed with {@code -Dbenchmark.inserts=N}.
+ */
+@DataJpaTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+        "spring.jpa.properties.hibernate.order_inserts=true",
+        "spring.jpa.show-sql=false"
+})
+class IdGenerationBenchmarkTest {
+
+    private static final int ROWS = Integer.getInteger("benchmark.inserts", 100_000);
+    private static final int FLUSH_SIZE = 1_000;
+
+    @Nested
+    @TestPropertySource(properties = {
+            "spring.jpa.properties.phrm.id.strategy=sequence",
+            "spring.jpa.properties.phrm.id.optimizer=pooled",
+            "spring.jpa.properties.hibernate.jdbc.batch_size=0"
+    })
+    class PooledSequenceWithoutBatching extends InsertScenario {
+    }
+
+    @Nested
+    @TestPropertySource(properties = {
+            "spring.jpa.properties.phrm.id.strategy=sequence",
+            "spring.jpa.properties.phrm.id.optimizer=pooled"
+    })
+    class PooledSequence extends InsertScenario {
+    }
+
+    @Nested
+    @TestPropertySource(properties = {
+            "spring.jpa.properties.phrm.id.strategy=sequence",
+            "spring.jpa.properties.phrm.id.optimizer=pooled-lo"
+    })
+    class PooledLoSequence extends InsertScenario {
+    }
+
+    @Nested
+    @TestPropertySource(properties = {
+            "spring.jpa.properties.phrm.id.strategy=table",
+            "spring.jpa.properties.phrm.id.optimizer=hilo"
+    })
+    class HiLoTable extends InsertScenario {
+    }
+
+    abstract static class InsertScenario {
+
+        @Autowired
+        private EntityManager entityManager;
+
+        @Test
+        void insertThroughput() {
+            User patient = user("Patient");
+            User doctor = user("Doctor");
+            Diagnosis diagnosis = new Diagnosis();
+            diagnosis.setDiagnosisName("Influenza");
+            entityManager.persist(diagnosis);
+            entityManager.flush();
+            entityManager.clear();
+
+            Statistics statistics = entityManager.getEntityManagerFactory()
+                    .unwrap(SessionFactory.class)
+                    .getStatistics();
+
+            statistics.clear();
+            long start = System.nanoTime();
+            LocalDateTime firstSlot = LocalDateTime.of(2024, 1, 1, 8, 0);
+            for (int i = 0; i < ROWS; i++) {
+                DoctorAppointment appointment = new DoctorAppointment();
+                appointment.setDate(firstSlot.plusMinutes(15L * i));
+                appointment.setPatient(entityManager.getReference(User.class, patient.getId()));
+                appointment.setDoctor(entityManager.getReference(User.class, doctor.getId()));
+                entityManager.persist(appointment);
+                flushEvery(i);
+            }
+            entityManager.flush();
+            entityManager.clear();
+            long appointmentMillis = (System.nanoTime() - start) / 1_000_000;
+            long appointmentStatements = statistics.getPrepareStatementCount();
+
+            statistics.clear();
+            start = System.nanoTime();
+            LocalDate firstDay = LocalDate.of(2020, 1, 1);
+            for (int i = 0; i < ROWS; i++) {
+                SickDay sickDay = new SickDay();
+                sickDay.setStartDate(firstDay.plusDays(i % 1_000));
+                sickDay.setEndDate(firstDay.plusDays(i % 1_000 + 3));
+                sickDay.setNumberOfDays(3);
+                sickDay.setPatient(entityManager.getReference(User.class, patient.getId()));
+                sickDay.setDoctor(entityManager.getReference(User.class, doctor.getId()));
+                sickDay.setDiagnosis(Set.of(entityManager.getReference(Diagnosis.class, diagnosis.getId())));
+                entityManager.persist(sickDay);
+                flushEvery(i);
+            }
+            entityManager.flush();
+            entityManager.clear();
+            long sickDayMillis = (System.nanoTime() - start) / 1_000_000;
+            long sickDayStatements = statistics.getPrepareStatementCount();
+
+            String scenario = getClass().getSimpleName();
+            System.out.printf("%s DoctorAppointment: %d rows in %d ms (%d rows/s), %d statements%n",
+                    scenario, ROWS, appointmentMillis, rowsPerSecond(appointmentMillis), appointmentStatements);
+            System.out.printf("%s SickDay: %d rows in %d ms (%d rows/s), %d statements%n",
+                    scenario, ROWS, sickDayMillis, rowsPerSecond(sickDayMillis), sickDayStatements);
+
+            assertEquals((long) ROWS, count("DoctorAppointment"));
+            assertEquals((long) ROWS, count("SickDay"));
+        }
+
+        private User user(String name) {
+            User user = new User();
+            user.setFirstName(name);
+            user.setLastName(name);
+            entityManager.persist(user);
+            return user;
+        }
+
+        private void flushEvery(int index) {
+            if ((index + 1) % FLUSH_SIZE == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+
+        private long count(String entity) {
+            return entityManager.createQuery("SELECT COUNT(e) FROM " + entity + " e", Long.class).getSingleResult();
+        }
+
+        private long rowsPerSecond(long millis) {
+            return millis == 0 ? ROWS : ROWS * 1_000L / millis;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.phrmSystem.phrmSystem.repo;
+
+import com.phrmSystem.phrmSystem.config.MetricsConfig;
+import com.phrmSystem.phrmSystem.config.PatientOwnership;
+import com.phrmSystem.phrmSystem.data.entity.Diagnosis;
+import com.phrmSystem.phrmSystem.data.entity.DoctorAppointment;
+import com.phrmSystem.phrmSystem.data.entity.Medicine;
+import com.phrmSystem.phrmSystem.data.entity.PatientIllnessHistory;
+import com.phrmSystem.phrmSystem.data.entity.SickDay;
+import com.phrmSystem.phrmSystem.data.entity.User;
+import com.phrmSystem.phrmSystem.data.repo.DiagnosisRepository;
+import com.phrmSystem.phrmSystem.data.repo.DoctorAppointmentRepository;
+import com.phrmSystem.phrmSystem.data.repo.MedicineRepository;
+import com.phrmSystem.phrmSystem.data.repo.PatientIllnessHistoryRepository;
+import com.phrmSystem.phrmSystem.data.repo.PatientRepository;
+import com.phrmSystem.phrmSystem.data.repo.SickDayRepository;
+import com.phrmSystem.phrmSystem.data.repo.UserRepository;
+import com.phrmSystem.phrmSystem.dto.PatientChartDTO;
+import com.phrmSystem.phrmSystem.service.impl.AppointmentSlotIndex;
+import com.phrmSystem.phrmSystem.service.impl.DoctorScheduleIndex;
+import com.phrmSystem.phrmSystem.service.impl.PatientServiceImpl;
+import com.phrmSystem.phrmSystem.service.impl.PersonalDoctorStatistics;
+import com.phrmSystem.phrmSystem.service.impl.ReportCache;
+import com.phrmSystem.phrmSystem.service.impl.RequestMetrics;
+import com.phrmSystem.phrmSystem.service.impl.RoleCache;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Assembles a patient chart from the batched projection queries against the database and checks that
+ * the number of statements does not grow with the size of the chart.
+ */
+@DataJpaTest
+@Import({RequestMetrics.class, MetricsConfig.class})
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+class PatientChartQueryTest {
+
+    private static final int APPOINTMENTS = 5;
+
+    @Autowired
+    private DoctorAppointmentRepository doctorAppointmentRepository;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PatientIllnessHistoryRepository patientIllnessHistoryRepository;
+
+    @Autowired
+    private DiagnosisRepository diagnosisRepository;
+
+    @Autowired
+    private MedicineRepository medicineRepository;
+
+    @Autowired
+    private SickDayRepository sickDayRepository;
+
+    @Autowired
+    private RequestMetrics requestMetrics;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void patientChart_RunsAFixedNumberOfStatements() {
+        User doctor = user("Chart doctor");
+        User patient = user("Chart patient");
+        PatientIllnessHistory history = new PatientIllnessHistory();
+        history.setIllnessName("Flu");
+        history.setPatient(patient);
+        entityManager.persist(history);
+        for (int i = 0; i < APPOINTMENTS; i++) {
+            DoctorAppointment appointment = new DoctorAppointment();
+            appointment.setDate(LocalDateTime.of(2025, 4, 1, 9, 0).plusDays(i));
+            appointment.setDoctor(doctor);
+            appointment.setPatient(patient);
+            appointment.setPatientIllnessHistory(history);
+            entityManager.persist(appointment);
+            Diagnosis diagnosis = new Diagnosis();
+            diagnosis.setDiagnosisName("Flu " + i);
+            diagnosis.setDoctorAppointment(appointment);
+            entityManager.persist(diagnosis);
+            Medicine medicine = new Medicine();
+            medicine.setMedicineName("Paracetamol " + i);
+            medicine.setDiagnosis(diagnosis);
+            entityManager.persist(medicine);
+            SickDay sickDay = new SickDay();
+            sickDay.setStartDate(LocalDate.of(2025, 4, 1).plusDays(i));
+            sickDay.setEndDate(LocalDate.of(2025, 4, 1).plusDays(i));
+            sickDay.setNumberOfDays(1);
+            sickDay.setPatient(patient);
+            sickDay.setDoctor(doctor);
+            sickDay.setDiagnosis(Set.of(diagnosis));
+            entityManager.persist(sickDay);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        PatientServiceImpl patientService = new PatientServiceImpl(patientRepository, doctorAppointmentRepository,
+                mock(RoleCache.class), userRepository, mock(AppointmentSlotIndex.class), mock(DoctorScheduleIndex.class),
+                patientIllnessHistoryRepository, diagnosisRepository, medicineRepository, sickDayRepository,
+                mock(PatientOwnership.class), mock(ReportCache.class), mock(PersonalDoctorStatistics.class));
+        List<PatientChartDTO> chart = new ArrayList<>();
+
+        int statements = requestMetrics.countStatements(() -> chart.add(patientService.getPatientChart(patient.getId())));
+
+        assertTrue(statements <= 7, "statements: " + statements);
+        assertEquals(APPOINTMENTS, chart.get(0).getAppointments().size());
+        assertEquals(1, chart.get(0).getAppointments().get(0).getDiagnoses().get(0).getMedicines().size());
+        assertEquals(APPOINTMENTS, chart.get(0).getSickDays().size());
+    }
+
+    private User user(String name) {
+        User user = new User();
+        user.setFirstName(name);
+        user.setLastName(name);
+        entityManager.persist(user);
+        return user;
+    }
+}
@@ -0,0 +1,116 @@
+package com.phrmSystem.phrmSystem.repo;
+
+import com.phrmSystem.phrmSystem.config.MetricsConfig;
+import com.phrmSystem.phrmSystem.data.entity.DoctorAppointment;
+import com.phrmSystem.phrmSystem.data.entity.PatientIllnessHistory;
+import com.phrmSystem.phrmSystem.data.entity.SickDay;
+import com.phrmSystem.phrmSystem.data.entity.User;
+import com.phrmSystem.phrmSystem.data.repo.DoctorAppointmentRepository;
+import com.phrmSystem.phrmSystem.data.repo.PatientIllnessHistoryRepository;
+import com.phrmSystem.phrmSystem.data.repo.PatientRepository;
+import com.phrmSystem.phrmSystem.data.repo.SickDayRepository;
+import com.phrmSystem.phrmSystem.service.impl.RequestMetrics;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that the owner filter of the patient queries restricts the rows in the query itself.
+ */
+@DataJpaTest
+@Import({RequestMetrics.class, MetricsConfig.class})
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+class PatientRepositoryTest {
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private PatientIllnessHistoryRepository patientIllnessHistoryRepository;
+
+    @Autowired
+    private SickDayRepository sickDayRepository;
+
+    @Autowired
+    private DoctorAppointmentRepository doctorAppointmentRepository;
+
+    @Autowired
+    private RequestMetrics requestMetrics;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User owner;
+    private User other;
+
+    @BeforeEach
+    void setUp() {
+        owner = user("Owner", "owner.patient");
+        other = user("Other", "other.patient");
+        User doctor = user("Doctor", "doctor");
+        PatientIllnessHistory history = new PatientIllnessHistory();
+        history.setIllnessName("Flu");
+        history.setPatient(other);
+        entityManager.persist(history);
+        SickDay sickDay = new SickDay();
+        sickDay.setStartDate(LocalDate.of(2025, 4, 1));
+        sickDay.setEndDate(LocalDate.of(2025, 4, 1));
+        sickDay.setNumberOfDays(1);
+        sickDay.setPatient(other);
+        entityManager.persist(sickDay);
+        DoctorAppointment appointment = new DoctorAppointment();
+        appointment.setDate(LocalDateTime.of(2025, 4, 1, 9, 0));
+        appointment.setDoctor(doctor);
+        appointment.setPatient(other);
+        entityManager.persist(appointment);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void findPatientById_OwnerFilterIsPartOfTheQuery() {
+        List<Optional<User>> found = new ArrayList<>();
+
+        int statements = requestMetrics.countStatements(() -> found.add(
+                patientRepository.findPatientById(other.getId(), "owner.patient")));
+
+        assertEquals(1, statements);
+        assertEquals(List.of(Optional.empty()), found);
+        assertTrue(patientRepository.findPatientById(owner.getId(), "owner.patient").isPresent());
+        assertTrue(patientRepository.findPatientById(other.getId(), null).isPresent());
+    }
+
+    @Test
+    void patientRows_AreFilteredByOwner() {
+        assertTrue(patientIllnessHistoryRepository.findHistoryRowsByPatientId(other.getId(), "owner.patient").isEmpty());
+        assertEquals(1, patientIllnessHistoryRepository.findHistoryRowsByPatientId(other.getId(), "other.patient").size());
+        assertTrue(sickDayRepository.findRowsByPatientId(other.getId(), "owner.patient").isEmpty());
+        assertEquals(1, sickDayRepository.findRowsByPatientId(other.getId(), null).size());
+        assertTrue(doctorAppointmentRepository.findAppointmentRowsByPatientId(other.getId(), "owner.patient").isEmpty());
+        assertEquals(1, doctorAppointmentRepository.findAppointmentRowsByPatientId(other.getId(), "other.patient").size());
+    }
+
+    private User user(String name, String username) {
+        User user = new User();
+        user.setFirstName(name);
+        user.setLastName(name);
+        user.setUsername(username);
+        entityManager.persist(user);
+        return user;
+    }
+}
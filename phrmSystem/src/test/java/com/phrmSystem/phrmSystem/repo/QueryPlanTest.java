@@ -0,0 +1,196 @@
+package com.phrmSystem.phrmSystem.repo;
+
+import com.phrmSystem.phrmSystem.data.entity.DoctorAppointment;
+import com.phrmSystem.phrmSystem.data.entity.SickDay;
+import com.phrmSystem.phrmSystem.data.entity.User;
+import com.phrmSystem.phrmSystem.data.repo.DoctorAppointmentRepository;
+import com.phrmSystem.phrmSystem.data.repo.SickDayRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs EXPLAIN on H2 for the SQL that the appointment and sick day repositories generate, and fails
+ * when one of the filtered access paths falls back to a full table scan.
+ */
+@DataJpaTest
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.phrmSystem.phrmSystem.repo.QueryPlanTest$CapturingStatementInspector",
+        "spring.jpa.show-sql=false"
+})
+class QueryPlanTest {
+
+    private static final int USERS = 20;
+    private static final int ROWS = 2_000;
+    private static final LocalDateTime FIRST_SLOT = LocalDateTime.of(2024, 1, 1, 8, 0);
+    private static final LocalDate FIRST_DAY = LocalDate.of(2020, 1, 1);
+
+    @Autowired
+    private DoctorAppointmentRepository doctorAppointmentRepository;
+
+    @Autowired
+    private SickDayRepository sickDayRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User doctor;
+    private User patient;
+
+    @BeforeEach
+    void setUp() {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            User user = new User();
+            user.setFirstName("User" + i);
+            user.setLastName("User" + i);
+            entityManager.persist(user);
+            users.add(user);
+        }
+        doctor = users.get(0);
+        patient = users.get(1);
+
+        for (int i = 0; i < ROWS; i++) {
+            DoctorAppointment appointment = new DoctorAppointment();
+            appointment.setDate(FIRST_SLOT.plusMinutes(15L * i));
+            appointment.setDoctor(users.get(i % USERS));
+            appointment.setPatient(users.get((i + 1) % USERS));
+            entityManager.persist(appointment);
+
+            SickDay sickDay = new SickDay();
+            sickDay.setStartDate(FIRST_DAY.plusDays(i));
+            sickDay.setEndDate(FIRST_DAY.plusDays(i + 2));
+            sickDay.setNumberOfDays(3);
+            sickDay.setDoctor(users.get(i % USERS));
+            sickDay.setPatient(users.get((i + 1) % USERS));
+            entityManager.persist(sickDay);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        entityManager.createNativeQuery("ANALYZE").executeUpdate();
+    }
+
+    @Test
+    void declaredIndexesExist() {
+        @SuppressWarnings("unchecked")
+        List<String> indexes = entityManager.createNativeQuery(
+                "SELECT LOWER(INDEX_NAME) FROM INFORMATION_SCHEMA.INDEXES").getResultList();
+
+        assertTrue(indexes.containsAll(List.of(
+                "idx_doctor_appointments_doctor_date",
+                "idx_doctor_appointments_patient_date",
+                "idx_doctor_appointments_date",
+                "idx_sick_days_start_date",
+                "idx_users_personal_doctor")), () -> "Indexes found: " + indexes);
+    }
+
+    @Test
+    void appointmentsByDoctorAndDateRange_UseIndex() {
+        LocalDateTime from = FIRST_SLOT.plusDays(1);
+        LocalDateTime to = FIRST_SLOT.plusDays(2);
+
+        String plan = explain(() -> doctorAppointmentRepository
+                        .findAppointmentsByDoctorIdAndDateRange(doctor.getId(), from, to),
+                doctor.getId(), from, to);
+
+        assertNoTableScan(plan);
+    }
+
+    @Test
+    void appointmentsByDoctor_UseIndex() {
+        String plan = explain(() -> doctorAppointmentRepository.findAppointmentsByDoctorId(doctor.getId()),
+                doctor.getId());
+
+        assertNoTableScan(plan);
+    }
+
+    @Test
+    void appointmentsByPatient_UseIndex() {
+        String plan = explain(() -> doctorAppointmentRepository.findAppointmentsByPatientId(patient.getId()),
+                patient.getId());
+
+        assertNoTableScan(plan);
+    }
+
+    @Test
+    void appointmentsBetweenDates_UseIndex() {
+        LocalDateTime from = FIRST_SLOT.plusDays(1);
+        LocalDateTime to = FIRST_SLOT.plusDays(2);
+
+        String plan = explain(() -> doctorAppointmentRepository.findAppointmentsBetweenDates(from, to), from, to);
+
+        assertNoTableScan(plan);
+    }
+
+    @Test
+    void sickDaysWithinPeriod_UseIndex() {
+        LocalDate from = FIRST_DAY.plusDays(100);
+        LocalDate to = FIRST_DAY.plusDays(130);
+
+        String plan = explain(() -> sickDayRepository.findSickDaysWithinPeriod(from, to), from, to);
+
+        assertNoTableScan(plan);
+    }
+
+    /**
+     * Runs the repository call, takes the first statement it issued and returns H2's plan for it
+     * with the given parameter values bound in order.
+     */
+    private String explain(Runnable repositoryCall, Object... parameters) {
+        CapturingStatementInspector.STATEMENTS.clear();
+        repositoryCall.run();
+        assertFalse(CapturingStatementInspector.STATEMENTS.isEmpty(), "The repository call issued no SQL.");
+        String sql = CapturingStatementInspector.STATEMENTS.get(0);
+
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                for (int i = 0; i < parameters.length; i++) {
+                    statement.setObject(i + 1, parameters[i]);
+                }
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    StringBuilder plan = new StringBuilder();
+                    while (resultSet.next()) {
+                        plan.append(resultSet.getString(1)).append('\n');
+                    }
+                    return plan.toString();
+                }
+            }
+        });
+    }
+
+    private void assertNoTableScan(String plan) {
+        assertFalse(plan.toLowerCase(Locale.ROOT).contains("tablescan"), () -> "Full table scan in plan:\n" + plan);
+    }
+
+    /**
+     * Records the SQL that Hibernate sends, so the test explains the generated queries rather than copies.
+     */
+    public static class CapturingStatementInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
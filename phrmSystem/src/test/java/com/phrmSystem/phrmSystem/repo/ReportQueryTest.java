@@ -0,0 +1,106 @@
+package com.phrmSystem.phrmSystem.repo;
+
+import com.phrmSystem.phrmSystem.data.entity.Diagnosis;
+import com.phrmSystem.phrmSystem.data.entity.User;
+import com.phrmSystem.phrmSystem.data.projection.DiagnosisNameCount;
+import com.phrmSystem.phrmSystem.data.repo.DiagnosisRepository;
+import com.phrmSystem.phrmSystem.data.repo.DoctorAppointmentRepository;
+import com.phrmSystem.phrmSystem.data.repo.SickDayRepository;
+import com.phrmSystem.phrmSystem.data.repo.UserRepository;
+import com.phrmSystem.phrmSystem.dto.SickDayDTO;
+import com.phrmSystem.phrmSystem.service.impl.BulkEntityResolver;
+import com.phrmSystem.phrmSystem.service.impl.DiagnosisStatistics;
+import com.phrmSystem.phrmSystem.service.impl.ReportCache;
+import com.phrmSystem.phrmSystem.service.impl.ReportServiceImpl;
+import com.phrmSystem.phrmSystem.service.impl.SickDayServiceImpl;
+import com.phrmSystem.phrmSystem.service.impl.SickLeaveStatistics;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the report queries against sick days written through SickDayService, so the reports are
+ * checked against the relation the services actually maintain.
+ */
+@DataJpaTest
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+class ReportQueryTest {
+
+    @Autowired
+    private SickDayRepository sickDayRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DiagnosisRepository diagnosisRepository;
+
+    @Autowired
+    private DoctorAppointmentRepository doctorAppointmentRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private SickDayServiceImpl sickDayService;
+    private ReportServiceImpl reportService;
+
+    @BeforeEach
+    void setUp() {
+        ReportCache reportCache = new ReportCache(60);
+        sickDayService = new SickDayServiceImpl(sickDayRepository, userRepository, new BulkEntityResolver(entityManager),
+                new DiagnosisStatistics(diagnosisRepository), new SickLeaveStatistics(sickDayRepository), reportCache);
+        reportService = new ReportServiceImpl(doctorAppointmentRepository, diagnosisRepository, reportCache);
+    }
+
+    @Test
+    void mostCommonDiagnosisNames_CountSickDaysCreatedThroughTheService() {
+        User doctor = user("Doctor");
+        User patient = user("Patient");
+        Long flu = diagnosis("Flu");
+        Long otherFlu = diagnosis("Flu");
+        Long cold = diagnosis("Cold");
+
+        assertTrue(reportService.getMostCommonDiagnosisNames(null).isEmpty());
+
+        sickDayService.createSickDay(sickDay(patient, doctor, Set.of(flu, cold)));
+        sickDayService.createSickDay(sickDay(patient, doctor, Set.of(otherFlu)));
+        sickDayService.createSickDay(sickDay(patient, doctor, Set.of(flu)));
+
+        assertEquals(List.of(
+                new DiagnosisNameCount("Flu", 3),
+                new DiagnosisNameCount("Cold", 1)
+        ), reportService.getMostCommonDiagnosisNames(null));
+    }
+
+    private SickDayDTO sickDay(User patient, User doctor, Set<Long> diagnosisIds) {
+        return new SickDayDTO(null, LocalDate.of(2025, 2, 3), LocalDate.of(2025, 2, 5), 0,
+                patient.getId(), diagnosisIds, doctor.getId());
+    }
+
+    private Long diagnosis(String name) {
+        Diagnosis diagnosis = new Diagnosis();
+        diagnosis.setDiagnosisName(name);
+        entityManager.persist(diagnosis);
+        return diagnosis.getId();
+    }
+
+    private User user(String name) {
+        User user = new User();
+        user.setFirstName(name);
+        user.setLastName(name);
+        entityManager.persist(user);
+        return user;
+    }
+}
@@ -0,0 +1,186 @@
+package com.phrmSystem.phrmSystem.repo;
+
+import com.phrmSystem.phrmSystem.data.entity.Diagnosis;
+import com.phrmSystem.phrmSystem.data.entity.SickDay;
+import com.phrmSystem.phrmSystem.data.entity.User;
+import com.phrmSystem.phrmSystem.data.projection.SickDayDiagnosisLink;
+import com.phrmSystem.phrmSystem.data.projection.SickDayRow;
+import com.phrmSystem.phrmSystem.data.repo.DiagnosisRepository;
+import com.phrmSystem.phrmSystem.data.repo.SickDayRepository;
+import com.phrmSystem.phrmSystem.data.repo.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import javax.sql.DataSource;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares the projection read path of SickDayRepository with findAll() on a generated dataset.
+ * Opt-in: run with {@code ./gradlew test -Dbenchmark=true}; the row count defaults to one million
+ * and can be changed with {@code -Dbenchmark.sickDays=N}.
+ */
+@DataJpaTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false"
+})
+class SickDayProjectionBenchmarkTest {
+
+    private static final int SICK_DAYS = Integer.getInteger("benchmark.sickDays", 1_000_000);
+    private static final int USERS = 200;
+    private static final int DIAGNOSES = 100;
+    private static final int BATCH_SIZE = 10_000;
+    private static final int PAGE_SIZE = 500;
+    // Seeded rows bypass the entity id generator, so they take ids well above anything it hands out here.
+    private static final long FIRST_SEEDED_ID = 1_000_000_000L;
+
+    @Autowired
+    private SickDayRepository sickDayRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DiagnosisRepository diagnosisRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void projectionReadVersusFindAll() {
+        seed();
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+
+        entityManager.clear();
+        statistics.clear();
+        long start = System.nanoTime();
+        List<SickDayRow> rows = sickDayRepository.findAllRows();
+        List<SickDayDiagnosisLink> links = sickDayRepository.findAllDiagnosisLinks();
+        long projectionMillis = (System.nanoTime() - start) / 1_000_000;
+        long projectionStatements = statistics.getPrepareStatementCount();
+
+        entityManager.clear();
+        statistics.clear();
+        start = System.nanoTime();
+        long pages = 0;
+        long queries = 0;
+        long lastId = 0;
+        List<SickDayRow> page;
+        do {
+            page = sickDayRepository.findRowsAfter(lastId, null, null, PageRequest.of(0, PAGE_SIZE));
+            queries++;
+            if (!page.isEmpty()) {
+                queries++;
+                sickDayRepository.findDiagnosisLinks(page.stream().map(SickDayRow::id).toList());
+                lastId = page.get(page.size() - 1).id();
+                pages++;
+            }
+        } while (page.size() == PAGE_SIZE);
+        long pagedMillis = (System.nanoTime() - start) / 1_000_000;
+        long pagedStatements = statistics.getPrepareStatementCount();
+
+        entityManager.clear();
+        statistics.clear();
+        start = System.nanoTime();
+        List<SickDay> entities = sickDayRepository.findAll();
+        entities.forEach(sickDay -> sickDay.getDiagnosis().size());
+        long findAllMillis = (System.nanoTime() - start) / 1_000_000;
+        long findAllStatements = statistics.getPrepareStatementCount();
+
+        System.out.printf("sick days: %d, diagnosis links: %d%n", rows.size(), links.size());
+        System.out.printf("projection (full table): %d ms, %d statements%n", projectionMillis, projectionStatements);
+        System.out.printf("projection (%d pages of %d): %d ms, %d statements%n", pages, PAGE_SIZE, pagedMillis, pagedStatements);
+        System.out.printf("findAll(): %d ms, %d statements%n", findAllMillis, findAllStatements);
+
+        assertEquals(SICK_DAYS, rows.size());
+        assertEquals(SICK_DAYS, entities.size());
+        assertEquals(2, projectionStatements);
+        assertEquals(queries, pagedStatements);
+    }
+
+    private void seed() {
+        Random random = new Random(42);
+
+        List<Long> userIds = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            User user = new User();
+            user.setFirstName("First" + i);
+            user.setLastName("Last" + i);
+            userIds.add(userRepository.save(user).getId());
+        }
+
+        List<Long> diagnosisIds = new ArrayList<>();
+        for (int i = 0; i < DIAGNOSES; i++) {
+            Diagnosis diagnosis = new Diagnosis();
+            diagnosis.setDiagnosisName("Diagnosis " + i);
+            diagnosisIds.add(diagnosisRepository.save(diagnosis).getId());
+        }
+        entityManager.flush();
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        LocalDate base = LocalDate.of(2020, 1, 1);
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < SICK_DAYS; i++) {
+            LocalDate startDate = base.plusDays(random.nextInt(5 * 365));
+            int days = 1 + random.nextInt(14);
+            batch.add(new Object[]{
+                    FIRST_SEEDED_ID + i,
+                    Date.valueOf(startDate),
+                    Date.valueOf(startDate.plusDays(days)),
+                    days,
+                    userIds.get(random.nextInt(USERS)),
+                    userIds.get(random.nextInt(USERS))
+            });
+            if (batch.size() == BATCH_SIZE) {
+                insertSickDays(jdbcTemplate, batch);
+            }
+        }
+        insertSickDays(jdbcTemplate, batch);
+
+        List<Long> sickDayIds = jdbcTemplate.queryForList("SELECT id FROM sick_days ORDER BY id", Long.class);
+        for (Long sickDayId : sickDayIds) {
+            int links = 1 + random.nextInt(3);
+            int first = random.nextInt(DIAGNOSES);
+            for (int j = 0; j < links; j++) {
+                batch.add(new Object[]{sickDayId, diagnosisIds.get((first + j) % DIAGNOSES)});
+            }
+            if (batch.size() >= BATCH_SIZE) {
+                insertLinks(jdbcTemplate, batch);
+            }
+        }
+        insertLinks(jdbcTemplate, batch);
+    }
+
+    private void insertSickDays(JdbcTemplate jdbcTemplate, List<Object[]> batch) {
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO sick_days (id, start_date, end_date, number_of_days, patient_id, doctor_id) VALUES (?, ?, ?, ?, ?, ?)",
+                batch);
+        batch.clear();
+    }
+
+    private void insertLinks(JdbcTemplate jdbcTemplate, List<Object[]> batch) {
+        jdbcTemplate.batchUpdate("INSERT INTO sick_days_diagnosis (sick_day_id, diagnosis_id) VALUES (?, ?)", batch);
+        batch.clear();
+    }
+}
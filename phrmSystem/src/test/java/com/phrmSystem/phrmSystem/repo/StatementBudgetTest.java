@@ -0,0 +1,78 @@
+package com.phrmSystem.phrmSystem.repo;
+
+import com.phrmSystem.phrmSystem.config.MetricsConfig;
+import com.phrmSystem.phrmSystem.data.entity.DoctorAppointment;
+import com.phrmSystem.phrmSystem.data.entity.User;
+import com.phrmSystem.phrmSystem.data.repo.DoctorAppointmentRepository;
+import com.phrmSystem.phrmSystem.service.impl.RequestMetrics;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Counts the statements that repository calls execute through the instrumented DataSource, the way
+ * an integration test guards a statement budget.
+ */
+@DataJpaTest
+@Import({RequestMetrics.class, MetricsConfig.class})
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+class StatementBudgetTest {
+
+    private static final int PATIENTS = 5;
+
+    @Autowired
+    private DoctorAppointmentRepository doctorAppointmentRepository;
+
+    @Autowired
+    private RequestMetrics requestMetrics;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        User doctor = user("Doctor");
+        for (int i = 0; i < PATIENTS; i++) {
+            DoctorAppointment appointment = new DoctorAppointment();
+            appointment.setDate(LocalDateTime.of(2025, 3, 3, 9, 0).plusMinutes(15L * i));
+            appointment.setDoctor(doctor);
+            appointment.setPatient(user("Patient" + i));
+            entityManager.persist(appointment);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void projectionQuery_RunsOneStatement() {
+        int statements = requestMetrics.countStatements(() -> doctorAppointmentRepository.findAllSlots());
+
+        assertEquals(1, statements);
+    }
+
+    @Test
+    void entityQuery_LoadsEachPatientWithItsOwnStatement() {
+        int statements = requestMetrics.countStatements(() -> doctorAppointmentRepository.findAll());
+
+        assertTrue(statements > PATIENTS, "statements: " + statements);
+    }
+
+    private User user(String name) {
+        User user = new User();
+        user.setFirstName(name);
+        user.setLastName(name);
+        entityManager.persist(user);
+        return user;
+    }
+}
@@ -0,0 +1,171 @@
+package com.phrmSystem.phrmSystem.service.impl;
+
+import com.phrmSystem.phrmSystem.data.projection.AppointmentSlot;
+import com.phrmSystem.phrmSystem.data.repo.DoctorAppointmentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AppointmentSlotIndexTest {
+
+    private static final LocalDateTime NINE = LocalDateTime.of(2025, 3, 3, 9, 0);
+
+    private DoctorAppointmentRepository doctorAppointmentRepository;
+    private AppointmentSlotIndex index;
+
+    @BeforeEach
+    void setUp() {
+        doctorAppointmentRepository = mock(DoctorAppointmentRepository.class);
+        index = new AppointmentSlotIndex(doctorAppointmentRepository, 15);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void book_RejectsOverlappingSlotOfSameDoctor() {
+        index.book(1L, 2L, NINE);
+
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> index.book(2L, 2L, NINE.plusMinutes(10)));
+
+        assertEquals("Doctor with ID 2 already has an appointment at 2025-03-03T09:00.", exception.getMessage());
+        assertDoesNotThrow(() -> index.book(3L, 2L, NINE.plusMinutes(15)));
+        assertDoesNotThrow(() -> index.book(4L, 5L, NINE));
+    }
+
+    @Test
+    void book_IgnoresTheAppointmentsOwnSlotOnUpdate() {
+        index.book(1L, 2L, NINE);
+
+        assertDoesNotThrow(() -> index.book(1L, 2L, NINE.plusMinutes(5)));
+        assertDoesNotThrow(() -> index.book(2L, 2L, NINE.minusMinutes(15)));
+    }
+
+    @Test
+    void book_NullDate_Throws() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> index.book(1L, 2L, null));
+
+        assertEquals("Appointment date cannot be null.", exception.getMessage());
+    }
+
+    @Test
+    void release_FreesSlot() {
+        index.book(1L, 2L, NINE);
+
+        index.release(1L);
+
+        assertDoesNotThrow(() -> index.book(2L, 2L, NINE));
+    }
+
+    @Test
+    void book_RolledBackTransactionReleasesSlot() {
+        TransactionSynchronizationManager.initSynchronization();
+        index.book(1L, 2L, NINE);
+
+        assertThrows(RuntimeException.class, () -> index.book(2L, 2L, NINE));
+
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        }
+        TransactionSynchronizationManager.clearSynchronization();
+
+        assertDoesNotThrow(() -> index.book(3L, 2L, NINE));
+    }
+
+    @Test
+    void book_ConcurrentBookingsOfOneSlot_OnlyOneSucceeds() throws Exception {
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger booked = new AtomicInteger();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (long id = 1; id <= threads; id++) {
+                long appointmentId = id;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        index.book(appointmentId, 2L, NINE);
+                        booked.incrementAndGet();
+                    } catch (RuntimeException ignored) {
+                        // slot already taken
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, booked.get());
+    }
+
+    @Test
+    void rebuild_LoadsSlotsFromDatabase() {
+        when(doctorAppointmentRepository.findAllSlots()).thenReturn(List.of(
+                new AppointmentSlot(1L, 2L, NINE, 3L),
+                new AppointmentSlot(2L, null, NINE, 3L)));
+
+        assertEquals(1, index.rebuild());
+
+        assertThrows(RuntimeException.class, () -> index.book(5L, 2L, NINE.plusMinutes(1)));
+        assertDoesNotThrow(() -> index.book(1L, 2L, NINE.plusMinutes(1)));
+    }
+
+    @Test
+    void rebuild_KeepsTheHoldOfAPendingBooking() {
+        when(doctorAppointmentRepository.findAllSlots()).thenReturn(List.of());
+        TransactionSynchronizationManager.initSynchronization();
+        index.book(1L, 2L, NINE);
+
+        index.rebuild();
+
+        assertThrows(RuntimeException.class, () -> index.book(2L, 2L, NINE));
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+        assertDoesNotThrow(() -> index.book(3L, 2L, NINE));
+    }
+
+    @Test
+    void rebuild_BookingCommittedBeforeTheQuery_IsCountedOnce() {
+        when(doctorAppointmentRepository.findAllSlots()).thenReturn(List.of(new AppointmentSlot(1L, 2L, NINE, 3L)));
+        TransactionSynchronizationManager.initSynchronization();
+        index.book(1L, 2L, NINE);
+
+        index.rebuild();
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertThrows(RuntimeException.class, () -> index.book(2L, 2L, NINE));
+        index.release(1L);
+        assertDoesNotThrow(() -> index.book(3L, 2L, NINE));
+    }
+
+    private static void complete(int status) {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(status);
+        }
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+}
@@ -0,0 +1,94 @@
+package com.phrmSystem.phrmSystem.service.impl;
+
+import com.phrmSystem.phrmSystem.data.entity.Diagnosis;
+import com.phrmSystem.phrmSystem.exceptions.ResourceNotFoundException;
+import jakarta.persistence.EntityManager;
+import org.hibernate.MultiIdentifierLoadAccess;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class BulkEntityResolverTest {
+
+    private Session session;
+    private MultiIdentifierLoadAccess<Diagnosis> loadAccess;
+    private BulkEntityResolver resolver;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        EntityManager entityManager = mock(EntityManager.class);
+        session = mock(Session.class);
+        loadAccess = mock(MultiIdentifierLoadAccess.class, RETURNS_SELF);
+        when(entityManager.unwrap(Session.class)).thenReturn(session);
+        when(session.byMultipleIds(Diagnosis.class)).thenReturn(loadAccess);
+        resolver = new BulkEntityResolver(entityManager);
+    }
+
+    @Test
+    void resolveAll_LoadsAllIdsInOneCall() {
+        Diagnosis flu = diagnosis(1L);
+        Diagnosis cold = diagnosis(2L);
+        when(loadAccess.multiLoad(anyList())).thenReturn(List.of(flu, cold));
+
+        Set<Diagnosis> result = resolver.resolveAll(Diagnosis.class, Set.of(1L, 2L), "Diagnosis");
+
+        assertEquals(Set.of(flu, cold), result);
+        verify(loadAccess, times(1)).enableSessionCheck(true);
+        verify(loadAccess, times(1)).multiLoad(anyList());
+    }
+
+    @Test
+    void resolveAll_ReportsEveryMissingId() {
+        when(loadAccess.multiLoad(anyList())).thenReturn(Arrays.asList(diagnosis(1L), null));
+
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
+                () -> resolver.resolveAll(Diagnosis.class, List.of(1L, 5L, 3L), "Diagnosis"));
+
+        assertEquals("Diagnosis not found with IDs: 3, 5", exception.getMessage());
+    }
+
+    @Test
+    void resolveAll_SingleMissingId() {
+        when(loadAccess.multiLoad(anyList())).thenReturn(List.of());
+
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
+                () -> resolver.resolveAll(Diagnosis.class, Set.of(4L), "Diagnosis"));
+
+        assertEquals("Diagnosis not found with ID: 4", exception.getMessage());
+    }
+
+    @Test
+    void resolveAll_EmptyIdsSkipsQuery() {
+        Set<Diagnosis> result = resolver.resolveAll(Diagnosis.class, Set.of(), "Diagnosis");
+
+        assertTrue(result.isEmpty());
+        verify(session, never()).byMultipleIds(Diagnosis.class);
+    }
+
+    @Test
+    void loadAll_SkipsMissingAndNullIds() {
+        Diagnosis flu = diagnosis(1L);
+        when(loadAccess.multiLoad(anyList())).thenReturn(Arrays.asList(flu, null));
+
+        Map<Long, Diagnosis> result = resolver.loadAll(Diagnosis.class, Arrays.asList(1L, 2L, null));
+
+        assertEquals(Map.of(1L, flu), result);
+        verify(loadAccess, times(1)).multiLoad(List.of(1L, 2L));
+    }
+
+    private Diagnosis diagnosis(Long id) {
+        Diagnosis diagnosis = new Diagnosis();
+        diagnosis.setId(id);
+        return diagnosis;
+    }
+}
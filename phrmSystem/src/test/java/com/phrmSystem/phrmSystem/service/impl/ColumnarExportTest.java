@@ -0,0 +1,137 @@
+package com.phrmSystem.phrmSystem.service.impl;
+
+import com.phrmSystem.phrmSystem.service.impl.ColumnarExportFormat.Column;
+import com.phrmSystem.phrmSystem.service.impl.ColumnarExportFormat.ColumnType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnarExportTest {
+
+    private static final List<Column> COLUMNS = List.of(
+            new Column("id", ColumnType.LONG),
+            new Column("count", ColumnType.INT),
+            new Column("day", ColumnType.DATE),
+            new Column("time", ColumnType.DATE_TIME),
+            new Column("names", ColumnType.DICTIONARY_LIST));
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void roundTrip_PreservesEveryValueAcrossBlocks() throws IOException {
+        Path file = directory.resolve("rows.phrmcol");
+        Random random = new Random(3);
+        List<Object[]> expected = new ArrayList<>();
+        try (ColumnarExportWriter writer = new ColumnarExportWriter(file, "test", 17, COLUMNS, 100)) {
+            for (int i = 0; i < 1_050; i++) {
+                Long id = i % 97 == 0 ? null : (long) i;
+                int count = random.nextInt();
+                LocalDate day = i % 89 == 0 ? null : LocalDate.of(2020, 1, 1).plusDays(random.nextInt(2000));
+                LocalDateTime time = LocalDateTime.of(2020, 1, 1, 0, 0).plusMinutes(random.nextInt(1_000_000));
+                List<String> names = new ArrayList<>();
+                for (int n = random.nextInt(4); n > 0; n--) {
+                    names.add("Diagnosis ä" + random.nextInt(30));
+                }
+                writer.setLong(0, id);
+                writer.setInt(1, count);
+                writer.setDate(2, day);
+                writer.setDateTime(3, time);
+                names.forEach(name -> writer.addToList(4, name));
+                writer.endRow();
+                expected.add(new Object[]{id, count, day, time, names});
+            }
+            writer.finish(1_049);
+        }
+
+        int row = 0;
+        try (ColumnarExportReader reader = ColumnarExportReader.open(file)) {
+            assertEquals("test", reader.table());
+            assertEquals(17, reader.afterId());
+            assertEquals(1_050, reader.totalRows());
+            assertEquals(1_049, reader.lastId());
+            assertEquals(COLUMNS, reader.columns());
+            int blocks = 0;
+            while (reader.nextBlock()) {
+                blocks++;
+                for (int i = 0; i < reader.rowCount(); i++, row++) {
+                    Object[] values = expected.get(row);
+                    long id = reader.getLong(0, i);
+                    assertEquals(values[0], id == ColumnarExportFormat.NULL ? null : id);
+                    assertEquals(values[1], reader.getInt(1, i));
+                    assertEquals(values[2], reader.getDate(2, i));
+                    assertEquals(values[3], reader.getDateTime(3, i));
+                    assertEquals(values[4], reader.getList(4, i));
+                }
+            }
+            assertEquals(11, blocks);
+        }
+        assertEquals(1_050, row);
+    }
+
+    @Test
+    void dictionary_StoresEachNameOnce() throws IOException {
+        Path repeated = directory.resolve("repeated.phrmcol");
+        Path distinct = directory.resolve("distinct.phrmcol");
+        try (ColumnarExportWriter repeatedWriter = new ColumnarExportWriter(repeated, "test", 0, COLUMNS, 100);
+             ColumnarExportWriter distinctWriter = new ColumnarExportWriter(distinct, "test", 0, COLUMNS, 100)) {
+            for (int i = 0; i < 1_000; i++) {
+                repeatedWriter.addToList(4, "Acute upper respiratory infection");
+                repeatedWriter.endRow();
+                distinctWriter.addToList(4, "Acute upper respiratory infection " + i);
+                distinctWriter.endRow();
+            }
+            repeatedWriter.finish(0);
+            distinctWriter.finish(0);
+        }
+
+        assertTrue(Files.size(distinct) - Files.size(repeated) > 30_000,
+                "repeated " + Files.size(repeated) + ", distinct " + Files.size(distinct));
+    }
+
+    @Test
+    void open_Failure_FileWithoutFooter() throws IOException {
+        Path file = directory.resolve("partial.phrmcol");
+        try (ColumnarExportWriter writer = new ColumnarExportWriter(file, "test", 0, COLUMNS, 2)) {
+            for (int i = 0; i < 3; i++) {
+                writer.setLong(0, (long) i);
+                writer.endRow();
+            }
+        }
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> ColumnarExportReader.open(file));
+
+        assertEquals("Columnar export file is incomplete: no footer.", exception.getMessage());
+    }
+
+    @Test
+    void open_Failure_NotAnExport() throws IOException {
+        Path file = directory.resolve("other.bin");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap("not an export file".getBytes()));
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> ColumnarExportReader.open(file));
+    }
+
+    @Test
+    void setter_Failure_WrongColumnType() throws IOException {
+        try (ColumnarExportWriter writer = new ColumnarExportWriter(directory.resolve("types.phrmcol"), "test", 0, COLUMNS, 10)) {
+            assertThrows(IllegalArgumentException.class, () -> writer.setInt(0, 1));
+            assertThrows(IllegalArgumentException.class, () -> writer.addToList(1, "name"));
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.phrmSystem.phrmSystem.service.impl;
 import com.phrmSystem.phrmSystem.data.entity.*;
 import com.phrmSystem.phrmSystem.data.repo.*;
 import com.phrmSystem.phrmSystem.dto.DiagnosisDTO;
+import com.phrmSystem.phrmSystem.exceptions.ResourceNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -16,18 +17,17 @@ import static org.mockito.Mockito.*;
 class DiagnosisServiceImplTest {
 
     private DiagnosisRepository diagnosisRepository;
-    private SickDayRepository sickDayRepository;
     private DoctorAppointmentRepository doctorAppointmentRepository;
-    private MedicineRepository medicineRepository;
+    private BulkEntityResolver bulkEntityResolver;
     private DiagnosisServiceImpl diagnosisService;
 
     @BeforeEach
     void setUp() {
         diagnosisRepository = mock(DiagnosisRepository.class);
-        sickDayRepository = mock(SickDayRepository.class);
         doctorAppointmentRepository = mock(DoctorAppointmentRepository.class);
-        medicineRepository = mock(MedicineRepository.class);
-        diagnosisService = new DiagnosisServiceImpl(diagnosisRepository, sickDayRepository, doctorAppointmentRepository, medicineRepository);
+        bulkEntityResolver = mock(BulkEntityResolver.class);
+        diagnosisService = new DiagnosisServiceImpl(diagnosisRepository, doctorAppointmentRepository, bulkEntityResolver, mock(DiagnosisStatistics.class),
+                mock(ReportCache.class));
     }
 
     @Test
@@ -48,9 +48,9 @@ class DiagnosisServiceImplTest {
         Medicine medicine = new Medicine();
         medicine.setId(3L);
 
-        when(sickDayRepository.findById(1L)).thenReturn(Optional.of(sickDay));
+        when(bulkEntityResolver.resolveAll(SickDay.class, Set.of(1L), "Sick Day")).thenReturn(Set.of(sickDay));
         when(doctorAppointmentRepository.findById(2L)).thenReturn(Optional.of(doctorAppointment));
-        when(medicineRepository.findById(3L)).thenReturn(Optional.of(medicine));
+        when(bulkEntityResolver.resolveAll(Medicine.class, Set.of(3L), "Medicine")).thenReturn(Set.of(medicine));
 
         Diagnosis savedDiagnosis = new Diagnosis();
         savedDiagnosis.setId(1L);
@@ -70,7 +70,8 @@ class DiagnosisServiceImplTest {
         diagnosisDTO.setDiagnosisName("Flu");
         diagnosisDTO.setSickDayIds(Set.of(1L));
 
-        when(sickDayRepository.findById(1L)).thenReturn(Optional.empty());
+        when(bulkEntityResolver.resolveAll(SickDay.class, Set.of(1L), "Sick Day"))
+                .thenThrow(new ResourceNotFoundException("Sick Day not found with ID: 1"));
 
         RuntimeException exception = assertThrows(RuntimeException.class, () -> diagnosisService.createDiagnosis(diagnosisDTO));
         assertEquals("Sick Day not found with ID: 1", exception.getMessage());
@@ -90,7 +91,7 @@ class DiagnosisServiceImplTest {
         sickDay.setId(1L);
 
         when(diagnosisRepository.findById(1L)).thenReturn(Optional.of(existingDiagnosis));
-        when(sickDayRepository.findById(1L)).thenReturn(Optional.of(sickDay));
+        when(bulkEntityResolver.resolveAll(SickDay.class, Set.of(1L), "Sick Day")).thenReturn(Set.of(sickDay));
         when(diagnosisRepository.save(existingDiagnosis)).thenReturn(existingDiagnosis);
 
         DiagnosisDTO result = diagnosisService.updateDiagnosis(1L, updatedDTO);
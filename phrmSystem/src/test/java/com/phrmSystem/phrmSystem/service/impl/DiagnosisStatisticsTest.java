@@ -0,0 +1,158 @@
+package com.phrmSystem.phrmSystem.service.impl;
+
+import com.phrmSystem.phrmSystem.data.entity.Diagnosis;
+import com.phrmSystem.phrmSystem.data.entity.SickDay;
+import com.phrmSystem.phrmSystem.data.projection.DiagnosisSickDayCount;
+import com.phrmSystem.phrmSystem.data.repo.DiagnosisRepository;
+import com.phrmSystem.phrmSystem.dto.CounterRebuildResultDTO;
+import com.phrmSystem.phrmSystem.dto.DiagnosisCountDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class DiagnosisStatisticsTest {
+
+    private DiagnosisRepository diagnosisRepository;
+    private DiagnosisStatistics statistics;
+
+    private final Diagnosis flu = diagnosis(1L, "Flu");
+    private final Diagnosis cold = diagnosis(2L, "Cold");
+    private final Diagnosis migraine = diagnosis(3L, "Migraine");
+
+    @BeforeEach
+    void setUp() {
+        diagnosisRepository = mock(DiagnosisRepository.class);
+        statistics = new DiagnosisStatistics(diagnosisRepository);
+    }
+
+    @Test
+    void getMostCommon_RanksByCountThenId() {
+        statistics.onSickDayChanged(Set.of(), Set.of(flu, cold));
+        statistics.onSickDayChanged(Set.of(), Set.of(cold));
+        statistics.onSickDayChanged(Set.of(), Set.of(migraine));
+
+        List<DiagnosisCountDTO> top = statistics.getMostCommon(2);
+
+        assertEquals(List.of(
+                new DiagnosisCountDTO(2L, "Cold", 2),
+                new DiagnosisCountDTO(1L, "Flu", 1)
+        ), top);
+        assertEquals(3, statistics.getMostCommon(null).size());
+        verifyNoInteractions(diagnosisRepository);
+    }
+
+    @Test
+    void onSickDayChanged_MovesCountsBetweenDiagnoses() {
+        statistics.onSickDayChanged(Set.of(), Set.of(flu));
+        statistics.onSickDayChanged(Set.of(flu), Set.of(cold));
+
+        assertEquals(List.of(new DiagnosisCountDTO(2L, "Cold", 1)), statistics.getMostCommon(null));
+
+        statistics.onSickDayChanged(Set.of(cold), Set.of());
+
+        assertTrue(statistics.getMostCommon(null).isEmpty());
+    }
+
+    @Test
+    void onSickDaysCreated_CountsEverySickDay() {
+        SickDay first = new SickDay();
+        first.setDiagnosis(Set.of(flu, cold));
+        SickDay second = new SickDay();
+        second.setDiagnosis(Set.of(flu));
+
+        statistics.onSickDaysCreated(List.of(first, second));
+
+        assertEquals(new DiagnosisCountDTO(1L, "Flu", 2), statistics.getMostCommon(1).get(0));
+    }
+
+    @Test
+    void onDiagnosisRenamed_UpdatesName() {
+        statistics.onSickDayChanged(Set.of(), Set.of(flu));
+
+        statistics.onDiagnosisRenamed(1L, "Influenza");
+
+        assertEquals("Influenza", statistics.getMostCommon(1).get(0).getDiagnosisName());
+    }
+
+    @Test
+    void rebuild_ReconcilesWithSourceTables() {
+        statistics.onSickDayChanged(Set.of(), Set.of(flu, cold));
+        when(diagnosisRepository.countSickDaysPerDiagnosis()).thenReturn(List.of(
+                new DiagnosisSickDayCount(1L, "Flu", 1),
+                new DiagnosisSickDayCount(3L, "Migraine", 4)
+        ));
+
+        CounterRebuildResultDTO result = statistics.rebuild();
+
+        assertEquals(3, result.getCountersChecked());
+        assertEquals(2, result.getCountersCorrected());
+        assertEquals(List.of(
+                new DiagnosisCountDTO(3L, "Migraine", 4),
+                new DiagnosisCountDTO(1L, "Flu", 1)
+        ), statistics.getMostCommon(null));
+    }
+
+    @Test
+    void rebuild_ChangeCommittedBeforeTheQuery_IsCountedOnce() throws Exception {
+        AtomicLong committedSickDays = new AtomicLong();
+        when(diagnosisRepository.countSickDaysPerDiagnosis()).thenAnswer(invocation ->
+                List.of(new DiagnosisSickDayCount(1L, "Flu", committedSickDays.get())));
+        CountDownLatch committed = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> writer = executor.submit(() -> {
+                TransactionSynchronizationManager.initSynchronization();
+                try {
+                    statistics.onSickDayChanged(Set.of(), Set.of(flu));
+                    List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+                    synchronizations.forEach(synchronization -> synchronization.beforeCommit(false));
+                    committedSickDays.incrementAndGet();
+                    committed.countDown();
+                    // the rebuild starts here, between the commit and the after-commit update
+                    Thread.sleep(100);
+                    synchronizations.forEach(TransactionSynchronization::afterCommit);
+                    synchronizations.forEach(synchronization ->
+                            synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+                } finally {
+                    TransactionSynchronizationManager.clearSynchronization();
+                }
+                return null;
+            });
+            assertTrue(committed.await(5, TimeUnit.SECONDS));
+
+            statistics.rebuild();
+            writer.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(List.of(new DiagnosisCountDTO(1L, "Flu", 1)), statistics.getMostCommon(null));
+    }
+
+    @Test
+    void getMostCommon_Failure_InvalidLimit() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> statistics.getMostCommon(0));
+        assertEquals("Limit must be positive.", exception.getMessage());
+    }
+
+    private static Diagnosis diagnosis(Long id, String name) {
+        Diagnosis diagnosis = new Diagnosis();
+        diagnosis.setId(id);
+        diagnosis.setDiagnosisName(name);
+        return diagnosis;
+    }
+}
@@ -2,10 +2,13 @@ package com.phrmSystem.phrmSystem.service.impl;
 
 import com.phrmSystem.phrmSystem.data.entity.*;
 import com.phrmSystem.phrmSystem.data.repo.*;
+import com.phrmSystem.phrmSystem.data.projection.AppointmentSlot;
 import com.phrmSystem.phrmSystem.dto.DoctorAppointmentAllDTO;
+import com.phrmSystem.phrmSystem.dto.DoctorScheduleDayDTO;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -19,7 +22,10 @@ class DoctorAppointmentServiceImplTest {
     private DoctorAppointmentRepository doctorAppointmentRepository;
     private UserRepository userRepository;
     private PatientIllnessHistoryRepository patientIllnessHistoryRepository;
-    private DiagnosisRepository diagnosisRepository;
+    private BulkEntityResolver bulkEntityResolver;
+    private DoctorScheduleIndex doctorScheduleIndex;
+    private AppointmentSlotIndex appointmentSlotIndex;
+    private ReportCache reportCache;
     private DoctorAppointmentServiceImpl doctorAppointmentService;
 
     @BeforeEach
@@ -27,12 +33,18 @@ class DoctorAppointmentServiceImplTest {
         doctorAppointmentRepository = mock(DoctorAppointmentRepository.class);
         userRepository = mock(UserRepository.class);
         patientIllnessHistoryRepository = mock(PatientIllnessHistoryRepository.class);
-        diagnosisRepository = mock(DiagnosisRepository.class);
+        bulkEntityResolver = mock(BulkEntityResolver.class);
+        doctorScheduleIndex = mock(DoctorScheduleIndex.class);
+        appointmentSlotIndex = mock(AppointmentSlotIndex.class);
+        reportCache = mock(ReportCache.class);
         doctorAppointmentService = new DoctorAppointmentServiceImpl(
                 doctorAppointmentRepository,
                 userRepository,
                 patientIllnessHistoryRepository,
-                diagnosisRepository
+                bulkEntityResolver,
+                doctorScheduleIndex,
+                appointmentSlotIndex,
+                reportCache
         );
     }
 
@@ -64,6 +76,36 @@ class DoctorAppointmentServiceImplTest {
         assertNotNull(result);
         assertEquals(1L, result.getId());
         verify(doctorAppointmentRepository, times(1)).save(any(DoctorAppointment.class));
+        verify(appointmentSlotIndex, times(1)).book(1L, 2L, appointmentDTO.getDate());
+        verify(doctorScheduleIndex, times(1)).onAppointmentSaved(appointment);
+        verify(reportCache).invalidate(ReportCache.Topic.APPOINTMENTS);
+    }
+
+    @Test
+    void createDoctorAppointment_Failure_DoubleBooking() {
+        LocalDateTime slot = LocalDateTime.of(2025, 3, 3, 9, 0);
+        DoctorAppointmentAllDTO appointmentDTO = new DoctorAppointmentAllDTO(null, slot, 1L, 2L, null, null);
+
+        User patient = new User();
+        patient.setId(1L);
+        User doctor = new User();
+        doctor.setId(2L);
+
+        when(userRepository.findById(1L)).thenReturn(Optional.of(patient));
+        when(userRepository.findById(2L)).thenReturn(Optional.of(doctor));
+        when(doctorAppointmentRepository.save(any(DoctorAppointment.class))).thenAnswer(invocation -> {
+            DoctorAppointment saved = invocation.getArgument(0);
+            saved.setId(7L);
+            return saved;
+        });
+        doThrow(new RuntimeException("Doctor with ID 2 already has an appointment at 2025-03-03T09:00."))
+                .when(appointmentSlotIndex).book(7L, 2L, slot);
+
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> doctorAppointmentService.createDoctorAppointment(appointmentDTO));
+
+        assertEquals("Doctor with ID 2 already has an appointment at 2025-03-03T09:00.", exception.getMessage());
+        verify(doctorScheduleIndex, never()).onAppointmentSaved(any());
     }
 
     @Test
@@ -102,6 +144,7 @@ class DoctorAppointmentServiceImplTest {
 
         assertNotNull(result);
         verify(doctorAppointmentRepository, times(1)).save(existingAppointment);
+        verify(doctorScheduleIndex, times(1)).onAppointmentSaved(existingAppointment);
     }
 
     @Test
@@ -162,6 +205,8 @@ class DoctorAppointmentServiceImplTest {
 
         assertDoesNotThrow(() -> doctorAppointmentService.deleteDoctorAppointment(1L));
         verify(doctorAppointmentRepository, times(1)).deleteById(1L);
+        verify(appointmentSlotIndex, times(1)).release(1L);
+        verify(doctorScheduleIndex, times(1)).onAppointmentDeleted(1L);
     }
 
     @Test
@@ -172,4 +217,33 @@ class DoctorAppointmentServiceImplTest {
                 () -> doctorAppointmentService.deleteDoctorAppointment(1L));
         assertEquals("Doctor Appointment not found with ID: 1", exception.getMessage());
     }
+
+    @Test
+    void getDoctorSchedule_GroupsSlotsByDay() {
+        LocalDate monday = LocalDate.of(2025, 3, 3);
+        when(doctorScheduleIndex.getSlots(2L, monday.atStartOfDay(), monday.plusDays(3).atStartOfDay()))
+                .thenReturn(List.of(
+                        new AppointmentSlot(10L, 2L, monday.atTime(9, 0), 1L),
+                        new AppointmentSlot(11L, 2L, monday.atTime(9, 30), 3L),
+                        new AppointmentSlot(12L, 2L, monday.plusDays(2).atTime(8, 0), 1L)));
+
+        List<DoctorScheduleDayDTO> schedule = doctorAppointmentService.getDoctorSchedule(2L, monday, monday.plusDays(2));
+
+        assertEquals(3, schedule.size());
+        assertEquals(2, schedule.get(0).getSlots().size());
+        assertEquals(11L, schedule.get(0).getSlots().get(1).getSlotId());
+        assertTrue(schedule.get(1).getSlots().isEmpty());
+        assertEquals(monday.plusDays(2), schedule.get(2).getDate());
+        assertEquals(1L, schedule.get(2).getSlots().get(0).getPatientId());
+        verifyNoInteractions(doctorAppointmentRepository);
+    }
+
+    @Test
+    void getDoctorSchedule_Failure_RangeTooLong() {
+        LocalDate from = LocalDate.of(2025, 1, 1);
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> doctorAppointmentService.getDoctorSchedule(2L, from, from.plusDays(31)));
+        assertEquals("Schedule range cannot exceed 31 days.", exception.getMessage());
+    }
 }
@@ -0,0 +1,88 @@
+package com.phrmSystem.phrmSystem.service.impl;
+
+import com.phrmSystem.phrmSystem.data.entity.DoctorAppointment;
+import com.phrmSystem.phrmSystem.data.entity.User;
+import com.phrmSystem.phrmSystem.data.projection.AppointmentSlot;
+import com.phrmSystem.phrmSystem.data.repo.DoctorAppointmentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class DoctorScheduleIndexTest {
+
+    private static final LocalDateTime MORNING = LocalDateTime.of(2025, 3, 3, 8, 0);
+
+    private DoctorAppointmentRepository doctorAppointmentRepository;
+    private DoctorScheduleIndex index;
+
+    @BeforeEach
+    void setUp() {
+        doctorAppointmentRepository = mock(DoctorAppointmentRepository.class);
+        index = new DoctorScheduleIndex(doctorAppointmentRepository);
+    }
+
+    @Test
+    void getSlots_ReturnsRangeInTimeOrder() {
+        index.onAppointmentSaved(appointment(3L, 2L, MORNING.plusHours(2), 1L));
+        index.onAppointmentSaved(appointment(1L, 2L, MORNING, 1L));
+        index.onAppointmentSaved(appointment(2L, 2L, MORNING, 5L));
+        index.onAppointmentSaved(appointment(4L, 7L, MORNING, 1L));
+
+        List<AppointmentSlot> slots = index.getSlots(2L, MORNING, MORNING.plusHours(2));
+
+        assertEquals(List.of(1L, 2L), slots.stream().map(AppointmentSlot::appointmentId).toList());
+        assertEquals(3, index.getSlots(2L, MORNING, MORNING.plusDays(1)).size());
+        assertTrue(index.getSlots(9L, MORNING, MORNING.plusDays(1)).isEmpty());
+        verifyNoInteractions(doctorAppointmentRepository);
+    }
+
+    @Test
+    void onAppointmentSaved_MovesUpdatedAppointment() {
+        index.onAppointmentSaved(appointment(1L, 2L, MORNING, 1L));
+
+        index.onAppointmentSaved(appointment(1L, 3L, MORNING.plusDays(1), 1L));
+
+        assertTrue(index.getSlots(2L, MORNING, MORNING.plusDays(2)).isEmpty());
+        assertEquals(1, index.getSlots(3L, MORNING, MORNING.plusDays(2)).size());
+    }
+
+    @Test
+    void onAppointmentDeleted_RemovesSlot() {
+        index.onAppointmentSaved(appointment(1L, 2L, MORNING, 1L));
+
+        index.onAppointmentDeleted(1L);
+
+        assertTrue(index.getSlots(2L, MORNING, MORNING.plusDays(1)).isEmpty());
+    }
+
+    @Test
+    void rebuild_ReplacesScheduleFromDatabase() {
+        index.onAppointmentSaved(appointment(1L, 2L, MORNING, 1L));
+        when(doctorAppointmentRepository.findAllSlots()).thenReturn(List.of(
+                new AppointmentSlot(5L, 2L, MORNING.plusHours(1), 4L)));
+
+        assertEquals(1, index.rebuild());
+
+        List<AppointmentSlot> slots = index.getSlots(2L, MORNING, MORNING.plusDays(1));
+        assertEquals(List.of(new AppointmentSlot(5L, 2L, MORNING.plusHours(1), 4L)), slots);
+    }
+
+    private DoctorAppointment appointment(Long id, Long doctorId, LocalDateTime date, Long patientId) {
+        User doctor = new User();
+        doctor.setId(doctorId);
+        User patient = new User();
+        patient.setId(patientId);
+
+        DoctorAppointment appointment = new DoctorAppointment();
+        appointment.setId(id);
+        appointment.setDate(date);
+        appointment.setDoctor(doctor);
+        appointment.setPatient(patient);
+        return appointment;
+    }
+}
@@ -4,34 +4,46 @@ import com.phrmSystem.phrmSystem.data.entity.DoctorAppointment;
 import com.phrmSystem.phrmSystem.data.entity.DoctorSpecialization;
 import com.phrmSystem.phrmSystem.data.entity.Role;
 import com.phrmSystem.phrmSystem.data.entity.User;
+import com.phrmSystem.phrmSystem.data.repo.DoctorAppointmentRepository;
 import com.phrmSystem.phrmSystem.data.repo.DoctorRepository;
 import com.phrmSystem.phrmSystem.data.repo.RoleRepository;
 import com.phrmSystem.phrmSystem.dto.AppointmentDTO;
+import com.phrmSystem.phrmSystem.dto.CursorPageDTO;
+import com.phrmSystem.phrmSystem.dto.DoctorPatientCountDTO;
 import com.phrmSystem.phrmSystem.dto.SpecializationDTO;
 import com.phrmSystem.phrmSystem.dto.UserDTO;
 import com.phrmSystem.phrmSystem.mappers.UserMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 class DoctorServiceImplTest {
 
     private DoctorRepository doctorRepository;
+    private DoctorAppointmentRepository doctorAppointmentRepository;
     private RoleRepository roleRepository;
+    private PersonalDoctorStatistics personalDoctorStatistics;
     private DoctorServiceImpl doctorService;
 
     @BeforeEach
     void setUp() {
         doctorRepository = mock(DoctorRepository.class);
+        doctorAppointmentRepository = mock(DoctorAppointmentRepository.class);
         roleRepository = mock(RoleRepository.class);
-        doctorService = new DoctorServiceImpl(doctorRepository, roleRepository);
+        personalDoctorStatistics = mock(PersonalDoctorStatistics.class);
+        doctorService = new DoctorServiceImpl(doctorRepository, doctorAppointmentRepository, new RoleCache(roleRepository),
+                personalDoctorStatistics);
     }
 
     @Test
@@ -55,6 +67,29 @@ class DoctorServiceImplTest {
         verify(doctorRepository, times(1)).save(doctor);
     }
 
+    @Test
+    void createDoctor_LooksUpDoctorRoleOnce() {
+        Role doctorRole = new Role();
+        doctorRole.setId(1L);
+        doctorRole.setRoleName("DOCTOR");
+
+        when(roleRepository.findByRoleName("DOCTOR")).thenReturn(Optional.of(doctorRole));
+        when(doctorRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        for (String uniqueId : List.of("D1", "D2", "D3")) {
+            User doctor = new User();
+            doctor.setFirstName("John");
+            doctor.setLastName("Doe");
+            doctor.setUniqueId(uniqueId);
+            doctor.setIsPersonalDoctor(true);
+
+            User result = doctorService.createDoctor(doctor);
+
+            assertEquals(1L, result.getRole().get(0).getId());
+        }
+        verify(roleRepository, times(1)).findByRoleName("DOCTOR");
+    }
+
     @Test
     void createDoctor_Failure_MissingRole() {
         User doctor = new User();
@@ -106,12 +141,55 @@ class DoctorServiceImplTest {
         doctor.setId(1L);
         doctor.setDoctorAppointments(Set.of());
 
-        when(doctorRepository.findById(1L)).thenReturn(Optional.of(doctor));
+        when(doctorRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(doctor));
 
         assertDoesNotThrow(() -> doctorService.deleteDoctor(1L));
         verify(doctorRepository, times(1)).deleteById(1L);
     }
 
+    @Test
+    void deleteDoctor_DetachesPersonalPatients() {
+        User doctor = new User();
+        doctor.setId(1L);
+        doctor.setDoctorAppointments(Set.of());
+
+        when(doctorRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(doctor));
+
+        doctorService.deleteDoctor(1L);
+
+        var order = inOrder(doctorRepository);
+        order.verify(doctorRepository).clearPersonalDoctor(1L);
+        order.verify(doctorRepository).deleteById(1L);
+        verify(personalDoctorStatistics).onDoctorDeleted(1L);
+    }
+
+    @Test
+    void deleteDoctor_DecrementsTheCountOfTheirPersonalDoctor() {
+        User personalDoctor = new User();
+        personalDoctor.setId(2L);
+        User doctor = new User();
+        doctor.setId(1L);
+        doctor.setDoctorAppointments(Set.of());
+        doctor.setPersonalDoctor(personalDoctor);
+
+        when(doctorRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(doctor));
+
+        doctorService.deleteDoctor(1L);
+
+        verify(doctorRepository, never()).findById(1L);
+        verify(personalDoctorStatistics).onPersonalDoctorChanged(2L, null);
+        verify(personalDoctorStatistics).onDoctorDeleted(1L);
+    }
+
+    @Test
+    void getPersonalDoctorPatientCounts_ServedFromCounters() {
+        List<DoctorPatientCountDTO> loads = List.of(new DoctorPatientCountDTO(2L, 7), new DoctorPatientCountDTO(1L, 3));
+        when(personalDoctorStatistics.getPatientLoads()).thenReturn(loads);
+
+        assertEquals(loads, doctorService.getPersonalDoctorPatientCounts());
+        verifyNoInteractions(doctorRepository);
+    }
+
 
     @Test
     void deleteDoctor_Failure_WithAppointments() {
@@ -119,7 +197,7 @@ class DoctorServiceImplTest {
         doctor.setId(1L);
         doctor.setDoctorAppointments(Set.of(mock(DoctorAppointment.class)));
 
-        when(doctorRepository.findById(1L)).thenReturn(Optional.of(doctor));
+        when(doctorRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(doctor));
 
         RuntimeException exception = assertThrows(RuntimeException.class, () -> doctorService.deleteDoctor(1L));
         assertEquals("Cannot delete doctor with active appointments. Please reassign or cancel appointments first.", exception.getMessage());
@@ -131,7 +209,7 @@ class DoctorServiceImplTest {
         doctor.setId(1L);
         doctor.setDoctorAppointments(Set.of());
 
-        when(doctorRepository.findById(1L)).thenReturn(Optional.of(doctor));
+        when(doctorRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(doctor));
         doThrow(new RuntimeException("constraint")).when(doctorRepository).deleteById(1L);
 
         RuntimeException exception = assertThrows(RuntimeException.class, () -> doctorService.deleteDoctor(1L));
@@ -160,37 +238,65 @@ class DoctorServiceImplTest {
 
     @Test
     void getDoctorAppointments_Success() {
-        User doctor = new User();
-        doctor.setId(1L);
-
-        User patient = new User();
-        patient.setFirstName("John");
-        patient.setLastName("Doe");
-
-        DoctorAppointment appointment = new DoctorAppointment();
-        appointment.setId(1L);
-        appointment.setPatient(patient);
-        appointment.setDate(LocalDate.now().atStartOfDay());
+        AppointmentDTO appointment = new AppointmentDTO(1L, "John Doe", LocalDate.now().atStartOfDay());
 
-        doctor.setDoctorAppointments(Set.of(appointment));
-
-        when(doctorRepository.findById(1L)).thenReturn(Optional.of(doctor));
+        when(doctorRepository.existsById(1L)).thenReturn(true);
+        when(doctorAppointmentRepository.findAppointmentRowsByDoctorId(1L)).thenReturn(List.of(appointment));
 
         List<AppointmentDTO> result = doctorService.getDoctorAppointments(1L);
 
         assertEquals(1, result.size());
         assertEquals("John Doe", result.get(0).getPatientName());
-        verify(doctorRepository, times(1)).findById(1L);
+        verify(doctorRepository, times(1)).existsById(1L);
+        verify(doctorRepository, never()).findById(any());
     }
 
     @Test
     void getDoctorAppointments_Failure_NotFound() {
-        when(doctorRepository.findById(1L)).thenReturn(Optional.empty());
+        when(doctorRepository.existsById(1L)).thenReturn(false);
 
         RuntimeException exception = assertThrows(RuntimeException.class, () -> doctorService.getDoctorAppointments(1L));
         assertEquals("Doctor not found with id: 1", exception.getMessage());
     }
 
+    @Test
+    void getDoctorAppointmentsPage_ReturnsCursorWhenMoreRowsExist() {
+        LocalDateTime nine = LocalDateTime.of(2025, 3, 3, 9, 0);
+        when(doctorRepository.existsById(1L)).thenReturn(true);
+        when(doctorAppointmentRepository.findAppointmentRowsByDoctorIdAfter(eq(1L), isNull(), eq(0L),
+                eq(LocalDate.of(2025, 3, 1).atStartOfDay()), eq(LocalDate.of(2025, 4, 1).atStartOfDay()), any(Pageable.class)))
+                .thenReturn(List.of(
+                        new AppointmentDTO(5L, "John Doe", nine),
+                        new AppointmentDTO(3L, "Jane Roe", nine.plusMinutes(15)),
+                        new AppointmentDTO(4L, "Jim Poe", nine.plusMinutes(30))));
+
+        CursorPageDTO<AppointmentDTO> page = doctorService.getDoctorAppointmentsPage(
+                1L, null, 2, LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 31));
+
+        assertEquals(2, page.getItems().size());
+        assertNotNull(page.getNextCursor());
+
+        when(doctorAppointmentRepository.findAppointmentRowsByDoctorIdAfter(eq(1L), eq(nine.plusMinutes(15)), eq(3L),
+                isNull(), isNull(), any(Pageable.class)))
+                .thenReturn(List.of(new AppointmentDTO(4L, "Jim Poe", nine.plusMinutes(30))));
+
+        CursorPageDTO<AppointmentDTO> next = doctorService.getDoctorAppointmentsPage(1L, page.getNextCursor(), 2, null, null);
+
+        assertEquals(1, next.getItems().size());
+        assertNull(next.getNextCursor());
+    }
+
+    @Test
+    void getDoctorAppointmentsPage_Failure_InvalidInput() {
+        assertThrows(IllegalArgumentException.class, () -> doctorService.getDoctorAppointmentsPage(
+                1L, null, null, LocalDate.of(2025, 3, 2), LocalDate.of(2025, 3, 1)));
+        assertThrows(IllegalArgumentException.class, () -> doctorService.getDoctorAppointmentsPage(
+                1L, "not-a-cursor", null, null, null));
+        assertThrows(IllegalArgumentException.class, () -> doctorService.getDoctorAppointmentsPage(
+                1L, null, 0, null, null));
+        verifyNoInteractions(doctorAppointmentRepository);
+    }
+
     @Test
     void addSpecializationToDoctor_Success() {
         User doctor = new User();
@@ -0,0 +1,226 @@
+package com.phrmSystem.phrmSystem.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.phrmSystem.phrmSystem.data.projection.AppointmentDiagnosisRow;
+import com.phrmSystem.phrmSystem.data.projection.AppointmentExportRow;
+import com.phrmSystem.phrmSystem.data.projection.AppointmentSlot;
+import com.phrmSystem.phrmSystem.data.projection.SickDayExportRow;
+import com.phrmSystem.phrmSystem.data.repo.DiagnosisRepository;
+import com.phrmSystem.phrmSystem.data.repo.DoctorAppointmentRepository;
+import com.phrmSystem.phrmSystem.data.repo.SickDayRepository;
+import com.phrmSystem.phrmSystem.dto.BinaryExportResultDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ExportServiceImplTest {
+
+    private DoctorAppointmentRepository doctorAppointmentRepository;
+    private SickDayRepository sickDayRepository;
+    private DiagnosisRepository diagnosisRepository;
+    private ExportServiceImpl exportService;
+
+    @TempDir
+    Path exportDirectory;
+
+    @BeforeEach
+    void setUp() {
+        doctorAppointmentRepository = mock(DoctorAppointmentRepository.class);
+        sickDayRepository = mock(SickDayRepository.class);
+        diagnosisRepository = mock(DiagnosisRepository.class);
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        exportService = new ExportServiceImpl(doctorAppointmentRepository, sickDayRepository, diagnosisRepository, objectMapper,
+                exportDirectory.toString(), 2, 0);
+    }
+
+    @Test
+    void exportSickDays_GroupsDiagnosisRowsPerSickDay() {
+        LocalDate start = LocalDate.of(2025, 1, 6);
+        when(sickDayRepository.streamForExport(0L, null)).thenReturn(Stream.of(
+                new SickDayExportRow(1L, start, start.plusDays(2), 3, 10L, 20L, 100L, "Flu"),
+                new SickDayExportRow(1L, start, start.plusDays(2), 3, 10L, 20L, 101L, "Cough"),
+                new SickDayExportRow(2L, start, start, 1, 11L, 20L, null, null)));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        long count = exportService.exportSickDays(output, "csv");
+
+        assertEquals(2, count);
+        assertEquals("""
+                id,startDate,endDate,numberOfDays,patientId,doctorId,diagnosisIds
+                1,2025-01-06,2025-01-08,3,10,20,100;101
+                2,2025-01-06,2025-01-06,1,11,20,
+                """, output.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void exportSickDays_WritesNdjsonInTheImportFormat() {
+        LocalDate start = LocalDate.of(2025, 1, 6);
+        when(sickDayRepository.streamForExport(0L, null)).thenReturn(Stream.of(
+                new SickDayExportRow(1L, start, start, 1, 10L, 20L, 100L, "Flu")));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        exportService.exportSickDays(output, "ndjson");
+
+        String line = output.toString(StandardCharsets.UTF_8);
+        assertTrue(line.endsWith("\n"));
+        assertTrue(line.contains("\"startDate\":\"2025-01-06\""), line);
+        assertTrue(line.contains("\"diagnosisIds\":[100]"), line);
+    }
+
+    @Test
+    void exportAppointments_ClosesTheStream() {
+        AtomicBoolean closed = new AtomicBoolean();
+        when(doctorAppointmentRepository.streamAllSlots()).thenReturn(Stream.of(
+                        new AppointmentSlot(1L, 20L, LocalDateTime.of(2025, 1, 6, 9, 0), 10L))
+                .onClose(() -> closed.set(true)));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        long count = exportService.exportAppointments(output, "csv");
+
+        assertEquals(1, count);
+        assertEquals("id,date,doctorId,patientId\n1,2025-01-06T09:00,20,10\n", output.toString(StandardCharsets.UTF_8));
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void exportDiagnoses_QuotesCsvFields() {
+        when(diagnosisRepository.streamAllRows()).thenReturn(Stream.of(
+                new AppointmentDiagnosisRow(1L, "Flu", "Fever, \"mild\"", null)));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        exportService.exportDiagnoses(output, "csv");
+
+        assertEquals("id,diagnosisName,diagnosisDescription,appointmentId\n1,Flu,\"Fever, \"\"mild\"\"\",\n",
+                output.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void export_Failure_UnsupportedFormat() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> exportService.exportSickDays(new ByteArrayOutputStream(), "xml"));
+
+        assertEquals("Unsupported export format: xml. Use ndjson or csv.", exception.getMessage());
+        verifyNoInteractions(sickDayRepository);
+    }
+
+    @Test
+    void exportSickDaysBinary_RoundTripsThroughTheReader() throws IOException {
+        LocalDate start = LocalDate.of(2025, 1, 6);
+        when(sickDayRepository.streamForExport(5L, null)).thenReturn(Stream.of(
+                new SickDayExportRow(6L, start, start.plusDays(2), 3, 10L, 20L, 100L, "Flu"),
+                new SickDayExportRow(6L, start, start.plusDays(2), 3, 10L, 20L, 101L, "Cough"),
+                new SickDayExportRow(7L, start, start, 1, 11L, null, null, null),
+                new SickDayExportRow(9L, start, start, 1, 12L, 20L, 100L, "Flu")));
+
+        BinaryExportResultDTO result = exportService.exportSickDaysBinary(5L, null);
+
+        assertEquals(3, result.getRows());
+        assertEquals(5, result.getAfterId());
+        assertEquals(9, result.getLastId());
+        Path file = Path.of(result.getFile());
+        assertEquals(Files.size(file), result.getBytes());
+        try (Stream<Path> files = Files.list(exportDirectory)) {
+            assertEquals(List.of(file.getFileName()), files.map(Path::getFileName).toList());
+        }
+
+        try (ColumnarExportReader reader = ColumnarExportReader.open(file)) {
+            assertEquals("sick-days", reader.table());
+            assertEquals(5, reader.afterId());
+            assertEquals(9, reader.lastId());
+            assertTrue(reader.nextBlock());
+            assertEquals(2, reader.rowCount());
+            assertEquals(6, reader.getLong(reader.columnIndex("id"), 0));
+            assertEquals(start.plusDays(2), reader.getDate(reader.columnIndex("endDate"), 0));
+            assertEquals(List.of("Flu", "Cough"), reader.getList(reader.columnIndex("diagnoses"), 0));
+            assertEquals(ColumnarExportFormat.NULL, reader.getLong(reader.columnIndex("doctorId"), 1));
+            assertEquals(List.of(), reader.getList(reader.columnIndex("diagnoses"), 1));
+            assertTrue(reader.nextBlock());
+            assertEquals(1, reader.rowCount());
+            assertEquals(List.of("Flu"), reader.getList(reader.columnIndex("diagnoses"), 0));
+            assertFalse(reader.nextBlock());
+        }
+    }
+
+    @Test
+    void exportAppointmentsBinary_EmptyExportKeepsAfterId() throws IOException {
+        when(doctorAppointmentRepository.streamForExport(0L, null)).thenReturn(Stream.of());
+
+        BinaryExportResultDTO result = exportService.exportAppointmentsBinary(null, null);
+
+        assertEquals(0, result.getRows());
+        assertEquals(0, result.getLastId());
+        try (ColumnarExportReader reader = ColumnarExportReader.open(Path.of(result.getFile()))) {
+            assertEquals("appointments", reader.table());
+            assertFalse(reader.nextBlock());
+        }
+    }
+
+    @Test
+    void exportAppointmentsBinary_WritesDateTimesAndDiagnoses() throws IOException {
+        LocalDateTime date = LocalDateTime.of(2025, 1, 6, 9, 15);
+        when(doctorAppointmentRepository.streamForExport(0L, date)).thenReturn(Stream.of(
+                new AppointmentExportRow(1L, date, 20L, 10L, 30L, "Flu"),
+                new AppointmentExportRow(1L, date, 20L, 10L, 30L, "Cough")));
+
+        BinaryExportResultDTO result = exportService.exportAppointmentsBinary(0L, date);
+
+        try (ColumnarExportReader reader = ColumnarExportReader.open(Path.of(result.getFile()))) {
+            assertTrue(reader.nextBlock());
+            assertEquals(date, reader.getDateTime(reader.columnIndex("date"), 0));
+            assertEquals(30, reader.getLong(reader.columnIndex("illnessHistoryId"), 0));
+            assertEquals(List.of("Flu", "Cough"), reader.getList(reader.columnIndex("diagnoses"), 0));
+        }
+    }
+
+    @Test
+    void exportSickDaysBinary_ReReadsTheIdOverlap() throws IOException {
+        ExportServiceImpl overlapping = new ExportServiceImpl(doctorAppointmentRepository, sickDayRepository, diagnosisRepository,
+                objectMapper, exportDirectory.toString(), 2, 3);
+        LocalDate start = LocalDate.of(2025, 1, 6);
+        when(sickDayRepository.streamForExport(2L, null)).thenReturn(Stream.of(
+                new SickDayExportRow(4L, start, start, 1, 10L, 20L, 100L, "Flu"),
+                new SickDayExportRow(6L, start, start, 1, 11L, 20L, 100L, "Flu")));
+
+        BinaryExportResultDTO result = overlapping.exportSickDaysBinary(5L, null);
+
+        assertEquals(2, result.getRows());
+        assertEquals(2, result.getAfterId());
+        assertEquals(6, result.getLastId());
+    }
+
+    @Test
+    void exportAppointmentsBinary_OverlapNeverMovesTheLastIdBack() {
+        ExportServiceImpl overlapping = new ExportServiceImpl(doctorAppointmentRepository, sickDayRepository, diagnosisRepository,
+                objectMapper, exportDirectory.toString(), 2, 3);
+        when(doctorAppointmentRepository.streamForExport(2L, null)).thenReturn(Stream.of());
+
+        BinaryExportResultDTO result = overlapping.exportAppointmentsBinary(5L, null);
+
+        assertEquals(0, result.getRows());
+        assertEquals(5, result.getLastId());
+    }
+
+    @Test
+    void exportSickDaysBinary_Failure_NegativeAfterId() {
+        assertThrows(IllegalArgumentException.class, () -> exportService.exportSickDaysBinary(-1L, null));
+
+        verifyNoInteractions(sickDayRepository);
+    }
+}
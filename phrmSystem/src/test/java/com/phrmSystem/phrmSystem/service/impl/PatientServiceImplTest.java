@@ -1,14 +1,25 @@
 package com.phrmSystem.phrmSystem.service.impl;
 
+import com.phrmSystem.phrmSystem.config.PatientOwnership;
 import com.phrmSystem.phrmSystem.data.entity.Role;
 import com.phrmSystem.phrmSystem.data.entity.User;
 import com.phrmSystem.phrmSystem.data.entity.PatientIllnessHistory;
 import com.phrmSystem.phrmSystem.data.entity.DoctorAppointment;
+import com.phrmSystem.phrmSystem.data.projection.AppointmentDiagnosisRow;
+import com.phrmSystem.phrmSystem.data.projection.PatientAppointmentRow;
+import com.phrmSystem.phrmSystem.data.projection.SickDayDiagnosisLink;
+import com.phrmSystem.phrmSystem.data.projection.SickDayRow;
+import com.phrmSystem.phrmSystem.data.repo.DiagnosisRepository;
+import com.phrmSystem.phrmSystem.data.repo.MedicineRepository;
+import com.phrmSystem.phrmSystem.data.repo.PatientIllnessHistoryRepository;
 import com.phrmSystem.phrmSystem.data.repo.PatientRepository;
 import com.phrmSystem.phrmSystem.data.repo.DoctorAppointmentRepository;
 import com.phrmSystem.phrmSystem.data.repo.RoleRepository;
+import com.phrmSystem.phrmSystem.data.repo.SickDayRepository;
 import com.phrmSystem.phrmSystem.data.repo.UserRepository;
 import com.phrmSystem.phrmSystem.dto.DoctorAppointmentDTO;
+import com.phrmSystem.phrmSystem.dto.MedicineDTO;
+import com.phrmSystem.phrmSystem.dto.PatientChartDTO;
 import com.phrmSystem.phrmSystem.dto.PatientIllnessHistoryDTO;
 import com.phrmSystem.phrmSystem.dto.UserDTO;
 import com.phrmSystem.phrmSystem.mappers.UserMapper;
@@ -29,6 +40,14 @@ class PatientServiceImplTest {
     private DoctorAppointmentRepository doctorAppointmentRepository;
     private RoleRepository roleRepository;
     private UserRepository userRepository;
+    private AppointmentSlotIndex appointmentSlotIndex;
+    private DoctorScheduleIndex doctorScheduleIndex;
+    private PatientIllnessHistoryRepository patientIllnessHistoryRepository;
+    private DiagnosisRepository diagnosisRepository;
+    private MedicineRepository medicineRepository;
+    private SickDayRepository sickDayRepository;
+    private PatientOwnership patientOwnership;
+    private PersonalDoctorStatistics personalDoctorStatistics;
     private PatientServiceImpl patientService;
 
     @BeforeEach
@@ -37,7 +56,18 @@ class PatientServiceImplTest {
         doctorAppointmentRepository = mock(DoctorAppointmentRepository.class);
         roleRepository = mock(RoleRepository.class);
         userRepository = mock(UserRepository.class);
-        patientService = new PatientServiceImpl(patientRepository, doctorAppointmentRepository, roleRepository, userRepository);
+        appointmentSlotIndex = mock(AppointmentSlotIndex.class);
+        doctorScheduleIndex = mock(DoctorScheduleIndex.class);
+        patientIllnessHistoryRepository = mock(PatientIllnessHistoryRepository.class);
+        diagnosisRepository = mock(DiagnosisRepository.class);
+        medicineRepository = mock(MedicineRepository.class);
+        sickDayRepository = mock(SickDayRepository.class);
+        patientOwnership = mock(PatientOwnership.class);
+        personalDoctorStatistics = mock(PersonalDoctorStatistics.class);
+        patientService = new PatientServiceImpl(patientRepository, doctorAppointmentRepository, new RoleCache(roleRepository), userRepository,
+                appointmentSlotIndex, doctorScheduleIndex, patientIllnessHistoryRepository, diagnosisRepository,
+                medicineRepository, sickDayRepository, patientOwnership, mock(ReportCache.class),
+                personalDoctorStatistics);
     }
 
     @Test
@@ -86,7 +116,7 @@ class PatientServiceImplTest {
         updatedPatient.setRole(List.of(patientRole));
         updatedPatient.setUniqueIdentification("12345"); // Add uniqueIdentification
 
-        when(patientRepository.findById(1L)).thenReturn(Optional.of(existingPatient));
+        when(patientRepository.findPatientById(1L, null)).thenReturn(Optional.of(existingPatient));
         when(patientRepository.save(existingPatient)).thenReturn(existingPatient);
 
         User result = patientService.updatePatient(1L, updatedPatient);
@@ -101,7 +131,7 @@ class PatientServiceImplTest {
         User updatedPatient = new User();
         updatedPatient.setRole(List.of(new Role("PATIENT")));
 
-        when(patientRepository.findById(1L)).thenReturn(Optional.empty());
+        when(patientRepository.findPatientById(1L, null)).thenReturn(Optional.empty());
 
         RuntimeException exception = assertThrows(RuntimeException.class, () -> patientService.updatePatient(1L, updatedPatient));
         assertEquals("Patient not found with ID: 1", exception.getMessage());
@@ -114,11 +144,84 @@ class PatientServiceImplTest {
         patient.setDoctorAppointment(Set.of());
         patient.setPatientIllnessHistory(Set.of());
 
-        when(patientRepository.findById(1L)).thenReturn(Optional.of(patient));
+        when(patientRepository.findPatientByIdForUpdate(1L, null)).thenReturn(Optional.of(patient));
 
         assertDoesNotThrow(() -> patientService.deletePatient(1L));
         verify(patientRepository, times(1)).deleteById(1L);
         verify(doctorAppointmentRepository, never()).deleteAll(any());
+        verifyNoInteractions(personalDoctorStatistics);
+    }
+
+    @Test
+    void deletePatient_ReleasesPersonalDoctor() {
+        User doctor = new User();
+        doctor.setId(5L);
+        User patient = new User();
+        patient.setId(1L);
+        patient.setDoctorAppointment(Set.of());
+        patient.setPatientIllnessHistory(Set.of());
+        patient.setPersonalDoctor(doctor);
+
+        when(patientRepository.findPatientByIdForUpdate(1L, null)).thenReturn(Optional.of(patient));
+
+        patientService.deletePatient(1L);
+
+        verify(personalDoctorStatistics).onPersonalDoctorChanged(5L, null);
+    }
+
+    @Test
+    void assignPersonalDoctor_MovesPatientToNewDoctor() {
+        User previousDoctor = new User();
+        previousDoctor.setId(5L);
+        User doctor = new User();
+        doctor.setId(6L);
+        doctor.setIsPersonalDoctor(true);
+        User patient = new User();
+        patient.setId(1L);
+        patient.setPersonalDoctor(previousDoctor);
+
+        when(patientRepository.findPatientByIdForUpdate(1L, null)).thenReturn(Optional.of(patient));
+        when(userRepository.findById(6L)).thenReturn(Optional.of(doctor));
+
+        patientService.assignPersonalDoctor(1L, 6L);
+
+        assertSame(doctor, patient.getPersonalDoctor());
+        verify(patientRepository).save(patient);
+        verify(personalDoctorStatistics).onPersonalDoctorChanged(5L, 6L);
+    }
+
+    @Test
+    void assignPersonalDoctor_WithoutDoctorRemovesIt() {
+        User previousDoctor = new User();
+        previousDoctor.setId(5L);
+        User patient = new User();
+        patient.setId(1L);
+        patient.setPersonalDoctor(previousDoctor);
+
+        when(patientRepository.findPatientByIdForUpdate(1L, null)).thenReturn(Optional.of(patient));
+
+        patientService.assignPersonalDoctor(1L, null);
+
+        assertNull(patient.getPersonalDoctor());
+        verify(userRepository, never()).findById(any());
+        verify(personalDoctorStatistics).onPersonalDoctorChanged(5L, null);
+    }
+
+    @Test
+    void assignPersonalDoctor_Failure_NotPersonalDoctor() {
+        User doctor = new User();
+        doctor.setId(6L);
+        doctor.setIsPersonalDoctor(false);
+        User patient = new User();
+        patient.setId(1L);
+
+        when(patientRepository.findPatientByIdForUpdate(1L, null)).thenReturn(Optional.of(patient));
+        when(userRepository.findById(6L)).thenReturn(Optional.of(doctor));
+
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> patientService.assignPersonalDoctor(1L, 6L));
+        assertEquals("Doctor with id 6 is not a personal doctor.", exception.getMessage());
+        verify(patientRepository, never()).save(any());
+        verifyNoInteractions(personalDoctorStatistics);
     }
 
     @Test
@@ -132,7 +235,7 @@ class PatientServiceImplTest {
         // Add the appointment to the patient's doctorAppointment set
         patient.setDoctorAppointment(Set.of(appointment));
 
-        when(patientRepository.findById(1L)).thenReturn(Optional.of(patient));
+        when(patientRepository.findPatientByIdForUpdate(1L, null)).thenReturn(Optional.of(patient));
 
         RuntimeException exception = assertThrows(RuntimeException.class, () -> patientService.deletePatient(1L));
         assertEquals("Cannot delete patient with active doctor appointments. Please cancel or reassign the appointments first.", exception.getMessage());
@@ -148,7 +251,7 @@ class PatientServiceImplTest {
         patient.setId(1L);
         patient.setPatientIllnessHistory(Set.of(new PatientIllnessHistory()));
 
-        when(patientRepository.findById(1L)).thenReturn(Optional.of(patient));
+        when(patientRepository.findPatientByIdForUpdate(1L, null)).thenReturn(Optional.of(patient));
 
         RuntimeException exception = assertThrows(RuntimeException.class, () -> patientService.deletePatient(1L));
         assertEquals("Cannot delete patient with active illness histories. Please delete or reassign the histories first.", exception.getMessage());
@@ -166,7 +269,7 @@ class PatientServiceImplTest {
         // Add the appointment to the patient's doctorAppointment set
         patient.setDoctorAppointment(Set.of(appointment));
 
-        when(patientRepository.findById(1L)).thenReturn(Optional.of(patient));
+        when(patientRepository.findPatientByIdForUpdate(1L, null)).thenReturn(Optional.of(patient));
 
         RuntimeException exception = assertThrows(RuntimeException.class, () -> patientService.deletePatient(1L));
         assertEquals("Cannot delete patient with active doctor appointments. Please cancel or reassign the appointments first.", exception.getMessage());
@@ -181,7 +284,7 @@ class PatientServiceImplTest {
         User patient = new User();
         patient.setFirstName("John");
 
-        when(patientRepository.findAllUsersByRoleName("PATIENT")).thenReturn(List.of(patient));
+        when(patientRepository.findAllUsersByRoleName("PATIENT", null)).thenReturn(List.of(patient));
 
         List<UserDTO> result = patientService.getAllPatients();
 
@@ -194,7 +297,7 @@ class PatientServiceImplTest {
         User patient = new User();
         patient.setId(1L);
 
-        when(patientRepository.findById(1L)).thenReturn(Optional.of(patient));
+        when(patientRepository.findPatientById(1L, null)).thenReturn(Optional.of(patient));
 
         UserDTO result = patientService.getPatientById(1L);
 
@@ -203,7 +306,7 @@ class PatientServiceImplTest {
 
     @Test
     void getPatientById_Failure_NotFound() {
-        when(patientRepository.findById(1L)).thenReturn(Optional.empty());
+        when(patientRepository.findPatientById(1L, null)).thenReturn(Optional.empty());
 
         RuntimeException exception = assertThrows(RuntimeException.class, () -> patientService.getPatientById(1L));
         assertEquals("Patient not found with id: 1", exception.getMessage());
@@ -213,12 +316,10 @@ class PatientServiceImplTest {
     void getPatientIllnessHistory_Success() {
         User patient = new User();
         patient.setId(1L);
-        PatientIllnessHistory history = new PatientIllnessHistory();
-        history.setIllnessName("Flu");
-        history.setPatient(patient); // Ensure the relationship is set
-        patient.setPatientIllnessHistory(Set.of(history));
 
-        when(userRepository.findById(1L)).thenReturn(Optional.of(patient));
+        when(patientRepository.findPatientById(1L, null)).thenReturn(Optional.of(patient));
+        when(patientIllnessHistoryRepository.findHistoryRowsByPatientId(1L, null)).thenReturn(List.of(
+                new PatientIllnessHistoryDTO(3L, "Flu", LocalDate.of(2025, 1, 2), null, 1L)));
 
         List<PatientIllnessHistoryDTO> result = patientService.getPatientIllnessHistory(1L);
 
@@ -227,6 +328,87 @@ class PatientServiceImplTest {
         assertEquals(1L, result.get(0).getPatientId());
     }
 
+    @Test
+    void getPatientIllnessHistory_OtherPatientsRecordsAreNotFound() {
+        when(patientOwnership.ownerUsername()).thenReturn("ana.ivanova");
+        when(patientRepository.findPatientById(2L, "ana.ivanova")).thenReturn(Optional.empty());
+
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> patientService.getPatientIllnessHistory(2L));
+
+        assertEquals("Patient not found with id: 2", exception.getMessage());
+        verifyNoInteractions(patientIllnessHistoryRepository);
+    }
+
+    @Test
+    void getPatientChart_AssemblesRowsFromBatchedQueries() {
+        User patient = new User();
+        patient.setId(1L);
+        patient.setFirstName("Ana");
+        patient.setLastName("Ivanova");
+        patient.setUniqueIdentification("PAT-1");
+        when(patientRepository.findWithRoleById(1L, null)).thenReturn(Optional.of(patient));
+        when(patientIllnessHistoryRepository.findHistoryRowsByPatientId(1L, null)).thenReturn(List.of(
+                new PatientIllnessHistoryDTO(3L, "Flu", LocalDate.of(2025, 1, 2), null, 1L)));
+        when(doctorAppointmentRepository.findAppointmentRowsByPatientId(1L, null)).thenReturn(List.of(
+                new PatientAppointmentRow(10L, LocalDate.of(2025, 1, 3).atTime(9, 0), 2L, "Petar Petrov", 3L),
+                new PatientAppointmentRow(11L, LocalDate.of(2025, 1, 10).atTime(9, 0), 2L, "Petar Petrov", null)));
+        when(diagnosisRepository.findRowsByAppointmentIds(List.of(10L, 11L))).thenReturn(List.of(
+                new AppointmentDiagnosisRow(20L, "Flu", "Seasonal flu", 10L)));
+        when(medicineRepository.findRowsByDiagnosisIds(List.of(20L))).thenReturn(List.of(
+                new MedicineDTO(30L, "Paracetamol", "500 mg", 20L)));
+        when(sickDayRepository.findRowsByPatientId(1L, null)).thenReturn(List.of(
+                new SickDayRow(40L, LocalDate.of(2025, 1, 3), LocalDate.of(2025, 1, 7), 5, 1L, 2L)));
+        when(sickDayRepository.findDiagnosisLinks(List.of(40L))).thenReturn(List.of(new SickDayDiagnosisLink(40L, 20L)));
+
+        PatientChartDTO chart = patientService.getPatientChart(1L);
+
+        assertEquals(1L, chart.getPatient().getId());
+        assertEquals("PAT-1", chart.getUniqueIdentification());
+        assertEquals(1, chart.getIllnessHistories().size());
+        assertEquals(2, chart.getAppointments().size());
+        assertEquals("Petar Petrov", chart.getAppointments().get(0).getDoctorName());
+        assertEquals("Paracetamol", chart.getAppointments().get(0).getDiagnoses().get(0).getMedicines().get(0).getMedicineName());
+        assertTrue(chart.getAppointments().get(1).getDiagnoses().isEmpty());
+        assertEquals(Set.of(20L), chart.getSickDays().get(0).getDiagnosisIds());
+        verify(userRepository, never()).findById(any());
+    }
+
+    @Test
+    void getPatientChart_SkipsChildQueriesWithoutParents() {
+        User patient = new User();
+        patient.setId(1L);
+        when(patientRepository.findWithRoleById(1L, null)).thenReturn(Optional.of(patient));
+
+        PatientChartDTO chart = patientService.getPatientChart(1L);
+
+        assertTrue(chart.getAppointments().isEmpty());
+        assertTrue(chart.getSickDays().isEmpty());
+        verifyNoInteractions(diagnosisRepository, medicineRepository);
+        verify(sickDayRepository, never()).findDiagnosisLinks(any());
+    }
+
+    @Test
+    void getPatientChart_PassesTheOwnerToEveryQuery() {
+        User patient = new User();
+        patient.setId(1L);
+        when(patientOwnership.ownerUsername()).thenReturn("ana.ivanova");
+        when(patientRepository.findWithRoleById(1L, "ana.ivanova")).thenReturn(Optional.of(patient));
+
+        patientService.getPatientChart(1L);
+
+        verify(patientIllnessHistoryRepository).findHistoryRowsByPatientId(1L, "ana.ivanova");
+        verify(doctorAppointmentRepository).findAppointmentRowsByPatientId(1L, "ana.ivanova");
+        verify(sickDayRepository).findRowsByPatientId(1L, "ana.ivanova");
+    }
+
+    @Test
+    void getPatientChart_Failure_NotFound() {
+        when(patientRepository.findWithRoleById(1L, null)).thenReturn(Optional.empty());
+
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> patientService.getPatientChart(1L));
+
+        assertEquals("Patient not found with id: 1", exception.getMessage());
+    }
 
     @Test
     void createAppointment_Success() {
@@ -238,7 +420,7 @@ class PatientServiceImplTest {
         appointment.setDate(LocalDate.now().atStartOfDay());
         appointment.setPatient(patient);
 
-        when(userRepository.findById(1L)).thenReturn(Optional.of(patient));
+        when(patientRepository.findPatientById(1L, null)).thenReturn(Optional.of(patient));
         when(doctorAppointmentRepository.save(any(DoctorAppointment.class))).thenReturn(appointment);
 
         DoctorAppointmentDTO result = patientService.createAppointment(1L, appointmentDTO);
@@ -246,4 +428,29 @@ class PatientServiceImplTest {
         assertNotNull(result);
         assertEquals(1L, result.getId());
     }
+
+    @Test
+    void createAppointment_Failure_SlotTaken() {
+        User patient = new User();
+        patient.setId(1L);
+        User doctor = new User();
+        doctor.setId(2L);
+        DoctorAppointmentDTO appointmentDTO = new DoctorAppointmentDTO(null, LocalDate.now().atTime(9, 0), 2L, 1L);
+
+        when(patientRepository.findPatientById(1L, null)).thenReturn(Optional.of(patient));
+        when(userRepository.findById(2L)).thenReturn(Optional.of(doctor));
+        when(doctorAppointmentRepository.save(any(DoctorAppointment.class))).thenAnswer(invocation -> {
+            DoctorAppointment saved = invocation.getArgument(0);
+            saved.setId(5L);
+            return saved;
+        });
+        doThrow(new RuntimeException("Doctor with ID 2 already has an appointment at " + appointmentDTO.getDate() + "."))
+                .when(appointmentSlotIndex).book(5L, 2L, appointmentDTO.getDate());
+
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> patientService.createAppointment(1L, appointmentDTO));
+
+        assertTrue(exception.getMessage().startsWith("Doctor with ID 2 already has an appointment"));
+        verify(doctorScheduleIndex, never()).onAppointmentSaved(any());
+    }
 }
@@ -0,0 +1,137 @@
+package com.phrmSystem.phrmSystem.service.impl;
+
+import com.phrmSystem.phrmSystem.data.projection.PersonalDoctorPatientCount;
+import com.phrmSystem.phrmSystem.data.repo.DoctorRepository;
+import com.phrmSystem.phrmSystem.dto.CounterRebuildResultDTO;
+import com.phrmSystem.phrmSystem.dto.DoctorPatientCountDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class PersonalDoctorStatisticsTest {
+
+    private DoctorRepository doctorRepository;
+    private PersonalDoctorStatistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        doctorRepository = mock(DoctorRepository.class);
+        statistics = new PersonalDoctorStatistics(doctorRepository);
+    }
+
+    @Test
+    void getPatientLoads_RanksByCountThenId() {
+        statistics.onPersonalDoctorChanged(null, 2L);
+        statistics.onPersonalDoctorChanged(null, 1L);
+        statistics.onPersonalDoctorChanged(null, 3L);
+        statistics.onPersonalDoctorChanged(null, 3L);
+
+        assertEquals(List.of(
+                new DoctorPatientCountDTO(3L, 2),
+                new DoctorPatientCountDTO(1L, 1),
+                new DoctorPatientCountDTO(2L, 1)
+        ), statistics.getPatientLoads());
+        verifyNoInteractions(doctorRepository);
+    }
+
+    @Test
+    void onPersonalDoctorChanged_MovesPatientBetweenDoctors() {
+        statistics.onPersonalDoctorChanged(null, 1L);
+
+        statistics.onPersonalDoctorChanged(1L, 2L);
+
+        assertEquals(List.of(new DoctorPatientCountDTO(2L, 1)), statistics.getPatientLoads());
+
+        statistics.onPersonalDoctorChanged(2L, 2L);
+        statistics.onPersonalDoctorChanged(2L, null);
+
+        assertTrue(statistics.getPatientLoads().isEmpty());
+    }
+
+    @Test
+    void onDoctorDeleted_DropsCounter() {
+        statistics.onPersonalDoctorChanged(null, 1L);
+        statistics.onPersonalDoctorChanged(null, 2L);
+
+        statistics.onDoctorDeleted(1L);
+
+        assertEquals(List.of(new DoctorPatientCountDTO(2L, 1)), statistics.getPatientLoads());
+    }
+
+    @Test
+    void getPatientLoads_ReturnsSameSnapshotUntilChange() {
+        statistics.onPersonalDoctorChanged(null, 1L);
+
+        List<DoctorPatientCountDTO> first = statistics.getPatientLoads();
+
+        assertSame(first, statistics.getPatientLoads());
+        statistics.onPersonalDoctorChanged(null, 1L);
+        assertEquals(List.of(new DoctorPatientCountDTO(1L, 2)), statistics.getPatientLoads());
+    }
+
+    @Test
+    void rebuild_ReplacesCountersAndReportsCorrections() {
+        statistics.onPersonalDoctorChanged(null, 1L);
+        when(doctorRepository.countPatientsPerPersonalDoctor()).thenReturn(List.of(
+                new PersonalDoctorPatientCount(1L, 1L),
+                new PersonalDoctorPatientCount(2L, 4L)));
+
+        CounterRebuildResultDTO result = statistics.rebuild();
+
+        assertEquals(2, result.getCountersChecked());
+        assertEquals(1, result.getCountersCorrected());
+        assertEquals(List.of(
+                new DoctorPatientCountDTO(2L, 4),
+                new DoctorPatientCountDTO(1L, 1)
+        ), statistics.getPatientLoads());
+    }
+
+    @Test
+    void rebuild_AssignmentCommittedBeforeTheQuery_IsCountedOnce() throws Exception {
+        AtomicLong committedPatients = new AtomicLong();
+        when(doctorRepository.countPatientsPerPersonalDoctor()).thenAnswer(invocation ->
+                List.of(new PersonalDoctorPatientCount(1L, committedPatients.get())));
+        CountDownLatch committed = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> writer = executor.submit(() -> {
+                TransactionSynchronizationManager.initSynchronization();
+                try {
+                    statistics.onPersonalDoctorChanged(null, 1L);
+                    List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+                    synchronizations.forEach(synchronization -> synchronization.beforeCommit(false));
+                    committedPatients.incrementAndGet();
+                    committed.countDown();
+                    // the rebuild starts here, between the commit and the after-commit update
+                    Thread.sleep(100);
+                    synchronizations.forEach(TransactionSynchronization::afterCommit);
+                    synchronizations.forEach(synchronization ->
+                            synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+                } finally {
+                    TransactionSynchronizationManager.clearSynchronization();
+                }
+                return null;
+            });
+            assertTrue(committed.await(5, TimeUnit.SECONDS));
+
+            statistics.rebuild();
+            writer.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(List.of(new DoctorPatientCountDTO(1L, 1)), statistics.getPatientLoads());
+    }
+}
@@ -0,0 +1,104 @@
+package com.phrmSystem.phrmSystem.service.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReportCacheTest {
+
+    private static final long TTL = 1_000L;
+
+    private AtomicLong now;
+    private ReportCache reportCache;
+
+    @BeforeEach
+    void setUp() {
+        now = new AtomicLong();
+        reportCache = new ReportCache(TTL, now::get);
+    }
+
+    @Test
+    void get_ComputesOnceWithinTimeToLive() {
+        AtomicInteger loads = new AtomicInteger();
+
+        reportCache.get(ReportCache.Topic.APPOINTMENTS, "key", loads::incrementAndGet);
+        now.set(TTL - 1);
+        Integer second = reportCache.get(ReportCache.Topic.APPOINTMENTS, "key", loads::incrementAndGet);
+
+        assertEquals(1, second);
+        assertEquals(1, loads.get());
+        assertEquals(1, reportCache.hits());
+        assertEquals(1, reportCache.misses());
+    }
+
+    @Test
+    void get_RecomputesAfterTimeToLive() {
+        AtomicInteger loads = new AtomicInteger();
+
+        reportCache.get(ReportCache.Topic.APPOINTMENTS, "key", loads::incrementAndGet);
+        now.set(TTL);
+        Integer second = reportCache.get(ReportCache.Topic.APPOINTMENTS, "key", loads::incrementAndGet);
+
+        assertEquals(2, second);
+    }
+
+    @Test
+    void invalidate_DropsOnlyThatTopic() {
+        AtomicInteger loads = new AtomicInteger();
+        reportCache.get(ReportCache.Topic.APPOINTMENTS, "key", loads::incrementAndGet);
+        reportCache.get(ReportCache.Topic.SICK_DAYS, "key", loads::incrementAndGet);
+
+        reportCache.invalidate(ReportCache.Topic.SICK_DAYS);
+
+        assertEquals(1, (int) reportCache.get(ReportCache.Topic.APPOINTMENTS, "key", loads::incrementAndGet));
+        assertEquals(3, (int) reportCache.get(ReportCache.Topic.SICK_DAYS, "key", loads::incrementAndGet));
+    }
+
+    @Test
+    void get_DoesNotCacheResultComputedDuringInvalidation() {
+        AtomicInteger loads = new AtomicInteger();
+
+        reportCache.get(ReportCache.Topic.SICK_DAYS, "key", () -> {
+            reportCache.invalidate(ReportCache.Topic.SICK_DAYS);
+            return loads.incrementAndGet();
+        });
+        Integer second = reportCache.get(ReportCache.Topic.SICK_DAYS, "key", loads::incrementAndGet);
+
+        assertEquals(2, second);
+    }
+
+    @Test
+    void get_StopsCachingNewKeysWhenFull() {
+        for (int i = 0; i < ReportCache.MAX_ENTRIES_PER_TOPIC; i++) {
+            reportCache.get(ReportCache.Topic.APPOINTMENTS, i, () -> "cached");
+        }
+        AtomicInteger loads = new AtomicInteger();
+
+        reportCache.get(ReportCache.Topic.APPOINTMENTS, "extra", loads::incrementAndGet);
+        reportCache.get(ReportCache.Topic.APPOINTMENTS, "extra", loads::incrementAndGet);
+
+        assertEquals(2, loads.get());
+        assertEquals("cached", reportCache.get(ReportCache.Topic.APPOINTMENTS, 0, () -> "recomputed"));
+    }
+
+    @Test
+    void zeroTimeToLive_DisablesCaching() {
+        ReportCache disabled = new ReportCache(0);
+        AtomicInteger loads = new AtomicInteger();
+
+        disabled.get(ReportCache.Topic.APPOINTMENTS, "key", loads::incrementAndGet);
+        disabled.get(ReportCache.Topic.APPOINTMENTS, "key", loads::incrementAndGet);
+
+        assertEquals(2, loads.get());
+        assertEquals(0, disabled.hits());
+    }
+
+    @Test
+    void negativeTimeToLive_IsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new ReportCache(-1));
+    }
+}
@@ -0,0 +1,85 @@
+package com.phrmSystem.phrmSystem.service.impl;
+
+import com.phrmSystem.phrmSystem.data.projection.DiagnosisNameCount;
+import com.phrmSystem.phrmSystem.data.projection.DoctorAppointmentCount;
+import com.phrmSystem.phrmSystem.data.repo.DiagnosisRepository;
+import com.phrmSystem.phrmSystem.data.repo.DoctorAppointmentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ReportServiceImplTest {
+
+    private DoctorAppointmentRepository doctorAppointmentRepository;
+    private DiagnosisRepository diagnosisRepository;
+    private ReportServiceImpl reportService;
+
+    @BeforeEach
+    void setUp() {
+        doctorAppointmentRepository = mock(DoctorAppointmentRepository.class);
+        diagnosisRepository = mock(DiagnosisRepository.class);
+        reportService = new ReportServiceImpl(doctorAppointmentRepository, diagnosisRepository, new ReportCache(60));
+    }
+
+    @Test
+    void getAppointmentsPerDoctor_QueriesHalfOpenRangeOnce() {
+        List<DoctorAppointmentCount> counts = List.of(new DoctorAppointmentCount(1L, "Ana Ivanova", 3));
+        LocalDate from = LocalDate.of(2024, 3, 1);
+        LocalDate to = LocalDate.of(2024, 3, 31);
+        when(doctorAppointmentRepository.countAppointmentsPerDoctor(any(), any())).thenReturn(counts);
+
+        List<DoctorAppointmentCount> first = reportService.getAppointmentsPerDoctor(from, to);
+        List<DoctorAppointmentCount> second = reportService.getAppointmentsPerDoctor(from, to);
+
+        assertEquals(counts, first);
+        assertSame(first, second);
+        verify(doctorAppointmentRepository, times(1)).countAppointmentsPerDoctor(
+                LocalDateTime.of(2024, 3, 1, 0, 0), LocalDateTime.of(2024, 4, 1, 0, 0));
+    }
+
+    @Test
+    void getAppointmentsPerDoctor_CachesEachRangeSeparately() {
+        when(doctorAppointmentRepository.countAppointmentsPerDoctor(any(), any())).thenReturn(List.of());
+
+        reportService.getAppointmentsPerDoctor(null, null);
+        reportService.getAppointmentsPerDoctor(LocalDate.of(2024, 1, 1), null);
+
+        verify(doctorAppointmentRepository).countAppointmentsPerDoctor(null, null);
+        verify(doctorAppointmentRepository).countAppointmentsPerDoctor(LocalDateTime.of(2024, 1, 1, 0, 0), null);
+    }
+
+    @Test
+    void getAppointmentsPerDoctor_RejectsReversedRange() {
+        assertThrows(IllegalArgumentException.class,
+                () -> reportService.getAppointmentsPerDoctor(LocalDate.of(2024, 2, 1), LocalDate.of(2024, 1, 1)));
+        verifyNoInteractions(doctorAppointmentRepository);
+    }
+
+    @Test
+    void getMostCommonDiagnosisNames_AppliesLimitToCachedRanking() {
+        when(diagnosisRepository.findMostCommonDiagnoses()).thenReturn(List.of(
+                new DiagnosisNameCount("Flu", 7),
+                new DiagnosisNameCount("Cold", 4),
+                new DiagnosisNameCount("Migraine", 1)));
+
+        List<DiagnosisNameCount> top = reportService.getMostCommonDiagnosisNames(2);
+        List<DiagnosisNameCount> all = reportService.getMostCommonDiagnosisNames(null);
+
+        assertEquals(List.of("Flu", "Cold"), top.stream().map(DiagnosisNameCount::diagnosisName).toList());
+        assertEquals(3, all.size());
+        verify(diagnosisRepository, times(1)).findMostCommonDiagnoses();
+    }
+
+    @Test
+    void getMostCommonDiagnosisNames_RejectsNonPositiveLimit() {
+        assertThrows(IllegalArgumentException.class, () -> reportService.getMostCommonDiagnosisNames(0));
+        verifyNoInteractions(diagnosisRepository);
+    }
+}
@@ -0,0 +1,178 @@
+package com.phrmSystem.phrmSystem.service.impl;
+
+import com.phrmSystem.phrmSystem.dto.EndpointMetricsDTO;
+import com.phrmSystem.phrmSystem.dto.MetricsDTO;
+import com.phrmSystem.phrmSystem.dto.RepositoryMetricsDTO;
+import com.phrmSystem.phrmSystem.exceptions.StatementBudgetExceededException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestMetricsTest {
+
+    private static final long MILLIS = 1_000_000;
+
+    private RequestMetrics requestMetrics;
+
+    @BeforeEach
+    void setUp() {
+        requestMetrics = new RequestMetrics(100, 2, 0, "log");
+    }
+
+    @Test
+    void endRequest_RecordsLatencyAndStatementsPerEndpoint() {
+        for (int statements = 1; statements <= 3; statements++) {
+            requestMetrics.beginRequest("SickDayController.getSickDayById");
+            for (int i = 0; i < statements; i++) {
+                requestMetrics.recordStatement("select * from sick_days", MILLIS);
+            }
+            assertEquals(statements, requestMetrics.statementsInCurrentRequest());
+            requestMetrics.endRequest(10 * statements * MILLIS);
+        }
+        requestMetrics.recordStatement("select * from roles", MILLIS);
+
+        MetricsDTO metrics = requestMetrics.snapshot();
+
+        assertEquals(7, metrics.getStatements());
+        assertEquals(1, metrics.getEndpoints().size());
+        EndpointMetricsDTO endpoint = metrics.getEndpoints().get(0);
+        assertEquals("SickDayController.getSickDayById", endpoint.getEndpoint());
+        assertEquals(3, endpoint.getRequests());
+        assertEquals(20.0, endpoint.getMeanMillis(), 0.001);
+        assertEquals(30.0, endpoint.getMaxMillis(), 0.001);
+        assertEquals(2.0, endpoint.getMeanStatements(), 0.001);
+        assertEquals(3, endpoint.getMaxStatements());
+        assertEquals(0, requestMetrics.statementsInCurrentRequest());
+        assertNull(requestMetrics.currentEndpoint());
+    }
+
+    @Test
+    void recordStatement_KeepsMostRecentSlowQueries() {
+        requestMetrics.beginRequest("DiagnosisController.getMostCommonDiagnoses");
+        requestMetrics.recordStatement("select 1", 99 * MILLIS);
+        requestMetrics.recordStatement("select 2", 100 * MILLIS);
+        requestMetrics.recordStatement("select 3", 150 * MILLIS);
+        requestMetrics.recordStatement("select 4", 500 * MILLIS);
+        requestMetrics.endRequest(MILLIS);
+
+        MetricsDTO metrics = requestMetrics.snapshot();
+
+        assertEquals(3, metrics.getSlowQueries());
+        assertEquals(100, metrics.getSlowQueryThresholdMillis());
+        assertEquals(2, metrics.getRecentSlowQueries().size());
+        assertTrue(metrics.getRecentSlowQueries().stream().anyMatch(query -> query.getSql().equals("select 4")));
+        assertTrue(metrics.getRecentSlowQueries().stream().noneMatch(query -> query.getSql().equals("select 2")));
+        assertEquals("DiagnosisController.getMostCommonDiagnoses", metrics.getRecentSlowQueries().get(0).getEndpoint());
+    }
+
+    @Test
+    void recordRepositoryCall_AggregatesPerMethod() {
+        requestMetrics.recordRepositoryCall("SickDayRepository.findAllRows", 4 * MILLIS);
+        requestMetrics.recordRepositoryCall("SickDayRepository.findAllRows", 6 * MILLIS);
+        requestMetrics.recordRepositoryCall("UserRepository.findById", MILLIS);
+
+        MetricsDTO metrics = requestMetrics.snapshot();
+
+        RepositoryMetricsDTO slowest = metrics.getRepositories().get(0);
+        assertEquals("SickDayRepository.findAllRows", slowest.getMethod());
+        assertEquals(2, slowest.getCalls());
+        assertEquals(5.0, slowest.getMeanMillis(), 0.001);
+        assertEquals(10.0, slowest.getTotalMillis(), 0.001);
+        assertEquals(6.0, slowest.getMaxMillis(), 0.001);
+    }
+
+    @Test
+    void endRequest_CountsRequestsOverBudget() {
+        requestMetrics = new RequestMetrics(100, 2, 2, "log");
+        for (int statements = 1; statements <= 3; statements++) {
+            requestMetrics.beginRequest("DoctorController.getDoctorAppointments");
+            for (int i = 0; i < statements; i++) {
+                requestMetrics.recordStatement("select * from doctor_appointments", MILLIS);
+                requestMetrics.checkStatementBudget();
+            }
+            requestMetrics.endRequest(MILLIS);
+        }
+
+        MetricsDTO metrics = requestMetrics.snapshot();
+
+        assertEquals(2, metrics.getStatementBudget());
+        assertEquals(1, metrics.getEndpoints().get(0).getRequestsOverBudget());
+    }
+
+    @Test
+    void checkStatementBudget_FailModeRejectsFirstStatementOverBudget() {
+        requestMetrics = new RequestMetrics(100, 2, 2, "FAIL");
+        requestMetrics.beginRequest("DoctorController.getDoctorAppointments");
+        for (int i = 0; i < 2; i++) {
+            requestMetrics.recordStatement("select 1", MILLIS);
+            requestMetrics.checkStatementBudget();
+        }
+        requestMetrics.recordStatement("select 1", MILLIS);
+
+        StatementBudgetExceededException exception = assertThrows(StatementBudgetExceededException.class,
+                () -> requestMetrics.checkStatementBudget());
+
+        assertEquals("DoctorController.getDoctorAppointments executed more than 2 SQL statements.", exception.getMessage());
+        requestMetrics.recordStatement("select 1", MILLIS);
+        assertDoesNotThrow(() -> requestMetrics.checkStatementBudget());
+    }
+
+    @Test
+    void constructor_RejectsUnknownBudgetMode() {
+        assertThrows(IllegalArgumentException.class, () -> new RequestMetrics(100, 2, 2, "warn"));
+    }
+
+    @Test
+    void countStatements_MeasuresActionAndAddsToActiveRequest() {
+        requestMetrics.beginRequest("SickDayController.getSickDayById");
+        requestMetrics.recordStatement("select 1", MILLIS);
+
+        int counted = requestMetrics.countStatements(() -> {
+            requestMetrics.recordStatement("select 2", MILLIS);
+            requestMetrics.recordStatement("select 3", MILLIS);
+            return null;
+        });
+
+        assertEquals(2, counted);
+        assertEquals(3, requestMetrics.statementsInCurrentRequest());
+        assertEquals("SickDayController.getSickDayById", requestMetrics.currentEndpoint());
+        assertEquals(0, new RequestMetrics(100, 2, 0, "log").countStatements(() -> null));
+    }
+
+    @Test
+    void reset_DiscardsMetrics() {
+        requestMetrics.recordStatement("select 1", 500 * MILLIS);
+        requestMetrics.recordRepositoryCall("UserRepository.findById", MILLIS);
+
+        requestMetrics.reset();
+
+        MetricsDTO metrics = requestMetrics.snapshot();
+        assertEquals(0, metrics.getStatements());
+        assertEquals(0, metrics.getSlowQueries());
+        assertTrue(metrics.getRepositories().isEmpty());
+        assertTrue(metrics.getRecentSlowQueries().isEmpty());
+    }
+
+    @Test
+    void latencyHistogram_PercentilesWithinBucketError() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int millis = 1; millis <= 1000; millis++) {
+            histogram.record(millis * MILLIS);
+        }
+
+        assertEquals(500, histogram.percentileMillis(0.50), 500 * 0.25);
+        assertEquals(990, histogram.percentileMillis(0.99), 990 * 0.25);
+        assertEquals(1000, histogram.percentileMillis(1.0), 0.001);
+        assertEquals(500.5, histogram.meanMillis(), 0.001);
+    }
+
+    @Test
+    void latencyHistogram_BucketBoundsContainValue() {
+        for (long micros : new long[]{0, 1, 3, 4, 5, 7, 8, 9, 1_000, 123_456, 1L << 40}) {
+            int bucket = LatencyHistogram.bucketOf(micros);
+            assertTrue(micros < LatencyHistogram.upperBoundMicros(bucket), "value " + micros);
+            assertTrue(bucket == 0 || micros >= LatencyHistogram.upperBoundMicros(bucket - 1), "value " + micros);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.phrmSystem.phrmSystem.service.impl;
+
+import com.phrmSystem.phrmSystem.data.entity.Role;
+import com.phrmSystem.phrmSystem.data.repo.RoleRepository;
+import com.phrmSystem.phrmSystem.dto.RoleCacheStatsDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class RoleCacheTest {
+
+    private RoleRepository roleRepository;
+    private RoleCache roleCache;
+
+    @BeforeEach
+    void setUp() {
+        roleRepository = mock(RoleRepository.class);
+        roleCache = new RoleCache(roleRepository);
+    }
+
+    @Test
+    void findByName_LoadsOnce() {
+        when(roleRepository.findByRoleName("DOCTOR")).thenReturn(Optional.of(role(1L, "DOCTOR")));
+
+        Role first = roleCache.findByName("DOCTOR").orElseThrow();
+        Role second = roleCache.findByName("DOCTOR").orElseThrow();
+
+        assertEquals(1L, first.getId());
+        assertEquals("DOCTOR", second.getRoleName());
+        assertNotSame(first, second);
+        verify(roleRepository, times(1)).findByRoleName("DOCTOR");
+
+        RoleCacheStatsDTO stats = roleCache.getStats();
+        assertEquals(1, stats.getHits());
+        assertEquals(1, stats.getMisses());
+        assertEquals(1, stats.getSize());
+    }
+
+    @Test
+    void findByName_DoesNotCacheMissingRole() {
+        when(roleRepository.findByRoleName("NURSE")).thenReturn(Optional.empty());
+
+        assertTrue(roleCache.findByName("NURSE").isEmpty());
+        assertTrue(roleCache.findByName("NURSE").isEmpty());
+
+        verify(roleRepository, times(2)).findByRoleName("NURSE");
+        assertEquals(0, roleCache.getStats().getSize());
+    }
+
+    @Test
+    void invalidate_ReloadsOnNextLookup() {
+        when(roleRepository.findByRoleName("PATIENT"))
+                .thenReturn(Optional.of(role(2L, "PATIENT")));
+        roleCache.findByName("PATIENT");
+
+        roleCache.invalidate();
+        roleCache.findByName("PATIENT");
+
+        verify(roleRepository, times(2)).findByRoleName("PATIENT");
+    }
+
+    @Test
+    void cachedCopyIsNotAffectedByCallerChanges() {
+        when(roleRepository.findByRoleName("ADMIN")).thenReturn(Optional.of(role(3L, "ADMIN")));
+
+        roleCache.findByName("ADMIN").orElseThrow().setDescription("Changed");
+
+        assertNull(roleCache.findByName("ADMIN").orElseThrow().getDescription());
+    }
+
+    private Role role(Long id, String name) {
+        Role role = new Role();
+        role.setId(id);
+        role.setRoleName(name);
+        return role;
+    }
+}
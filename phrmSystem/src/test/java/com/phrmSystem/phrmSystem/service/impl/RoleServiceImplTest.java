@@ -14,12 +14,14 @@ import static org.mockito.Mockito.*;
 
 class RoleServiceImplTest {
     private RoleRepository roleRepository;
+    private RoleCache roleCache;
     private RoleServiceImpl roleService;
 
     @BeforeEach
     void setUp() {
         roleRepository = mock(RoleRepository.class);
-        roleService = new RoleServiceImpl(roleRepository);
+        roleCache = new RoleCache(roleRepository);
+        roleService = new RoleServiceImpl(roleRepository, roleCache);
     }
 
     @Test
@@ -116,6 +118,56 @@ class RoleServiceImplTest {
         assertEquals("USER", result.getRoleName());
     }
 
+    @Test
+    void getRoleById_ListsTheUsersOfTheRole() {
+        Role role = new Role();
+        role.setId(1L);
+        role.setRoleName("USER");
+        role.setUser(List.of(new User()));
+
+        when(roleRepository.findById(1L)).thenReturn(Optional.of(role));
+        when(roleRepository.findByRoleName("USER")).thenReturn(Optional.of(role));
+        roleCache.findByName("USER");
+
+        assertEquals(1, roleService.getRoleById(1L).getUser().size());
+    }
+
+    @Test
+    void getRoleByName_ListsTheUsersOfTheRole() {
+        Role role = new Role();
+        role.setId(1L);
+        role.setRoleName("USER");
+        role.setUser(List.of(new User()));
+
+        when(roleRepository.findByRoleName("USER")).thenReturn(Optional.of(role));
+        roleCache.findByName("USER");
+
+        assertEquals(1, roleService.getRoleByName("USER").orElseThrow().getUser().size());
+    }
+
+    @Test
+    void updateRole_InvalidatesTheRoleCache() {
+        Role role = new Role();
+        role.setId(1L);
+        role.setRoleName("USER");
+
+        when(roleRepository.findById(1L)).thenReturn(Optional.of(role));
+        when(roleRepository.findByRoleName("USER")).thenReturn(Optional.of(role));
+        when(roleRepository.save(role)).thenReturn(role);
+
+        roleCache.findByName("USER");
+        roleCache.findByName("USER");
+        assertEquals(1L, roleService.getRoleCacheStats().getHits());
+
+        Role updatedRole = new Role();
+        updatedRole.setRoleName("USER");
+        updatedRole.setDescription("Renamed");
+        roleService.updateRole(1L, updatedRole);
+
+        assertEquals("Renamed", roleCache.findByName("USER").orElseThrow().getDescription());
+        verify(roleRepository, times(2)).findByRoleName("USER");
+    }
+
     @Test
     void getRoleById_Failure_NotFound() {
         when(roleRepository.findById(1L)).thenReturn(Optional.empty());
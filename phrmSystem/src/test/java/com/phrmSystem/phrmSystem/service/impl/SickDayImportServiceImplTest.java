@@ -0,0 +1,179 @@
+package com.phrmSystem.phrmSystem.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.phrmSystem.phrmSystem.data.entity.Diagnosis;
+import com.phrmSystem.phrmSystem.data.entity.SickDay;
+import com.phrmSystem.phrmSystem.data.entity.User;
+import com.phrmSystem.phrmSystem.data.repo.SickDayRepository;
+import com.phrmSystem.phrmSystem.dto.SickDayImportResultDTO;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class SickDayImportServiceImplTest {
+
+    private SickDayRepository sickDayRepository;
+    private BulkEntityResolver bulkEntityResolver;
+    private DiagnosisStatistics diagnosisStatistics;
+    private SickLeaveStatistics sickLeaveStatistics;
+    private EntityManager entityManager;
+    private PlatformTransactionManager transactionManager;
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        sickDayRepository = mock(SickDayRepository.class);
+        bulkEntityResolver = mock(BulkEntityResolver.class);
+        diagnosisStatistics = mock(DiagnosisStatistics.class);
+        sickLeaveStatistics = mock(SickLeaveStatistics.class);
+        entityManager = mock(EntityManager.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+        when(bulkEntityResolver.loadAll(eq(User.class), anyCollection()))
+                .thenReturn(Map.of(1L, user(1L), 2L, user(2L)));
+        when(bulkEntityResolver.loadAll(eq(Diagnosis.class), anyCollection()))
+                .thenReturn(Map.of(10L, diagnosis(10L), 11L, diagnosis(11L)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void importSickDays_Csv_ImportsValidRowsAndReportsInvalidOnes() {
+        String csv = """
+                startDate,endDate,patientId,doctorId,diagnosisIds
+                2024-01-01,2024-01-05,1,2,10;11
+                2024-02-10,2024-02-01,1,2,10
+                2024-03-01,2024-03-02,9,2,
+                2024-04-01,2024-04-03,1,2,12
+                """;
+
+        SickDayImportResultDTO result = service(500).importSickDays(stream(csv), "text/csv");
+
+        assertEquals(4, result.getTotalRows());
+        assertEquals(1, result.getImportedRows());
+        assertEquals(3, result.getFailedRows());
+        assertEquals(3, result.getErrors().size());
+        assertEquals(3, result.getErrors().get(0).getLine());
+        assertEquals("Start date cannot be after end date.", result.getErrors().get(0).getMessage());
+        assertEquals("Patient not found with ID: 9", result.getErrors().get(1).getMessage());
+        assertEquals("Diagnosis not found with ID: 12", result.getErrors().get(2).getMessage());
+
+        ArgumentCaptor<List<SickDay>> captor = ArgumentCaptor.forClass(List.class);
+        verify(sickDayRepository, times(1)).saveAll(captor.capture());
+        SickDay saved = captor.getValue().get(0);
+        assertEquals(4, saved.getNumberOfDays());
+        assertEquals(Set.of(10L, 11L),
+                saved.getDiagnosis().stream().map(Diagnosis::getId).collect(Collectors.toSet()));
+        verify(diagnosisStatistics, times(1)).onSickDaysCreated(captor.getValue());
+        verify(sickLeaveStatistics, times(1)).onSickDaysCreated(captor.getValue());
+    }
+
+    @Test
+    void importSickDays_Ndjson_WritesOneTransactionPerChunk() {
+        String ndjson = """
+                {"startDate":"2024-01-01","endDate":"2024-01-02","patientId":1,"doctorId":2,"diagnosisIds":[10]}
+                {"startDate":"2024-01-03","endDate":"2024-01-04","patientId":1,"doctorId":2}
+
+                {"startDate":"2024-01-05","endDate":"2024-01-06","patientId":2,"doctorId":1,"diagnosisIds":[11]}
+                """;
+
+        SickDayImportResultDTO result = service(2).importSickDays(stream(ndjson), "application/x-ndjson");
+
+        assertEquals(3, result.getTotalRows());
+        assertEquals(3, result.getImportedRows());
+        assertTrue(result.getErrors().isEmpty());
+        verify(bulkEntityResolver, times(2)).loadAll(eq(User.class), anyCollection());
+        verify(sickDayRepository, times(2)).saveAll(anyList());
+        verify(transactionManager, times(2)).commit(any());
+        verify(entityManager, times(2)).clear();
+    }
+
+    @Test
+    void importSickDays_Ndjson_ReportsMalformedRow() {
+        String ndjson = """
+                {"startDate":"2024-01-01","endDate":"2024-01-02","patientId":1,"doctorId":2}
+                {"startDate":"2024-01-01",
+                """;
+
+        SickDayImportResultDTO result = service(500).importSickDays(stream(ndjson), "application/x-ndjson");
+
+        assertEquals(1, result.getImportedRows());
+        assertEquals(1, result.getFailedRows());
+        assertEquals(2, result.getErrors().get(0).getLine());
+        assertTrue(result.getErrors().get(0).getMessage().startsWith("Malformed JSON"));
+    }
+
+    @Test
+    void importSickDays_ChunkFailure_ReportsEveryRowAndContinues() {
+        String ndjson = """
+                {"startDate":"2024-01-01","endDate":"2024-01-02","patientId":1,"doctorId":2}
+                {"startDate":"2024-01-03","endDate":"2024-01-04","patientId":1,"doctorId":2}
+                {"startDate":"2024-01-05","endDate":"2024-01-06","patientId":1,"doctorId":2}
+                """;
+        when(sickDayRepository.saveAll(anyList()))
+                .thenThrow(new RuntimeException("Constraint violation"))
+                .thenReturn(List.of());
+
+        SickDayImportResultDTO result = service(2).importSickDays(stream(ndjson), "application/x-ndjson");
+
+        assertEquals(1, result.getImportedRows());
+        assertEquals(2, result.getFailedRows());
+        assertEquals("Chunk rolled back: Constraint violation", result.getErrors().get(0).getMessage());
+        verify(transactionManager, times(1)).rollback(any());
+    }
+
+    @Test
+    void importSickDays_Failure_MissingCsvColumn() {
+        String csv = "startDate,endDate,patientId\n2024-01-01,2024-01-02,1\n";
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> service(500).importSickDays(stream(csv), "text/csv"));
+
+        assertEquals("CSV header is missing columns: doctorId", exception.getMessage());
+        verifyNoInteractions(sickDayRepository);
+    }
+
+    @Test
+    void importSickDays_Failure_UnsupportedContentType() {
+        assertThrows(IllegalArgumentException.class,
+                () -> service(500).importSickDays(stream("{}"), "application/xml"));
+    }
+
+    private SickDayImportServiceImpl service(int chunkSize) {
+        return new SickDayImportServiceImpl(sickDayRepository, bulkEntityResolver, diagnosisStatistics,
+                sickLeaveStatistics, mock(ReportCache.class), entityManager, transactionManager, objectMapper, chunkSize);
+    }
+
+    private InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private User user(Long id) {
+        User user = new User();
+        user.setId(id);
+        return user;
+    }
+
+    private Diagnosis diagnosis(Long id) {
+        Diagnosis diagnosis = new Diagnosis();
+        diagnosis.setId(id);
+        return diagnosis;
+    }
+}
@@ -3,13 +3,17 @@ package com.phrmSystem.phrmSystem.service.impl;
 import com.phrmSystem.phrmSystem.data.entity.Diagnosis;
 import com.phrmSystem.phrmSystem.data.entity.SickDay;
 import com.phrmSystem.phrmSystem.data.entity.User;
-import com.phrmSystem.phrmSystem.data.repo.DiagnosisRepository;
+import com.phrmSystem.phrmSystem.data.projection.SickDayDiagnosisLink;
+import com.phrmSystem.phrmSystem.data.projection.SickDayRow;
 import com.phrmSystem.phrmSystem.data.repo.SickDayRepository;
 import com.phrmSystem.phrmSystem.data.repo.UserRepository;
+import com.phrmSystem.phrmSystem.dto.CursorPageDTO;
+import com.phrmSystem.phrmSystem.dto.MonthSickLeaveCountDTO;
 import com.phrmSystem.phrmSystem.dto.SickDayDTO;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -23,15 +27,22 @@ class SickDayServiceImplTest {
 
     private SickDayRepository sickDayRepository;
     private UserRepository userRepository;
-    private DiagnosisRepository diagnosisRepository;
+    private BulkEntityResolver bulkEntityResolver;
+    private DiagnosisStatistics diagnosisStatistics;
+    private SickLeaveStatistics sickLeaveStatistics;
+    private ReportCache reportCache;
     private SickDayServiceImpl sickDayService;
 
     @BeforeEach
     void setUp() {
         sickDayRepository = mock(SickDayRepository.class);
         userRepository = mock(UserRepository.class);
-        diagnosisRepository = mock(DiagnosisRepository.class);
-        sickDayService = new SickDayServiceImpl(sickDayRepository, userRepository, diagnosisRepository);
+        bulkEntityResolver = mock(BulkEntityResolver.class);
+        diagnosisStatistics = mock(DiagnosisStatistics.class);
+        sickLeaveStatistics = mock(SickLeaveStatistics.class);
+        reportCache = mock(ReportCache.class);
+        sickDayService = new SickDayServiceImpl(sickDayRepository, userRepository, bulkEntityResolver,
+                diagnosisStatistics, sickLeaveStatistics, reportCache);
     }
 
     @Test
@@ -60,17 +71,74 @@ class SickDayServiceImplTest {
 
     @Test
     void getAllSickDays_Success() {
-        SickDay sickDay1 = new SickDay();
-        sickDay1.setId(1L);
-        SickDay sickDay2 = new SickDay();
-        sickDay2.setId(2L);
+        SickDayRow row1 = new SickDayRow(1L, LocalDate.now().minusDays(5), LocalDate.now(), 5, 10L, 20L);
+        SickDayRow row2 = new SickDayRow(2L, LocalDate.now().minusDays(2), LocalDate.now(), 2, 10L, 20L);
 
-        when(sickDayRepository.findAll()).thenReturn(List.of(sickDay1, sickDay2));
+        when(sickDayRepository.findAllRows()).thenReturn(List.of(row1, row2));
+        when(sickDayRepository.findAllDiagnosisLinks()).thenReturn(List.of(
+                new SickDayDiagnosisLink(1L, 100L),
+                new SickDayDiagnosisLink(1L, 101L)));
 
         List<SickDayDTO> result = sickDayService.getAllSickDays();
 
         assertEquals(2, result.size());
-        verify(sickDayRepository, times(1)).findAll();
+        assertEquals(Set.of(100L, 101L), result.get(0).getDiagnosisIds());
+        assertEquals(Set.of(), result.get(1).getDiagnosisIds());
+        assertEquals(10L, result.get(0).getPatientId());
+        assertEquals(20L, result.get(0).getDoctorId());
+        verify(sickDayRepository, times(1)).findAllRows();
+        verify(sickDayRepository, never()).findAll();
+    }
+
+    @Test
+    void getSickDaysPage_ReturnsNextCursorWhenMoreRowsExist() {
+        LocalDate start = LocalDate.of(2025, 1, 1);
+        SickDayRow row1 = new SickDayRow(1L, start, start.plusDays(3), 3, 10L, 20L);
+        SickDayRow row2 = new SickDayRow(2L, start, start.plusDays(3), 3, 10L, 20L);
+        SickDayRow row3 = new SickDayRow(3L, start, start.plusDays(3), 3, 10L, 20L);
+
+        when(sickDayRepository.findRowsAfter(eq(0L), isNull(), isNull(), any(Pageable.class)))
+                .thenReturn(List.of(row1, row2, row3));
+        when(sickDayRepository.findDiagnosisLinks(List.of(1L, 2L)))
+                .thenReturn(List.of(new SickDayDiagnosisLink(2L, 100L)));
+
+        CursorPageDTO<SickDayDTO> page = sickDayService.getSickDaysPage(null, 2, null, null);
+
+        assertEquals(2, page.getItems().size());
+        assertEquals(Set.of(100L), page.getItems().get(1).getDiagnosisIds());
+        assertNotNull(page.getNextCursor());
+        assertEquals(2L, KeysetCursor.decode(page.getNextCursor()));
+
+        ArgumentCaptor<Pageable> pageableCaptor = ArgumentCaptor.forClass(Pageable.class);
+        verify(sickDayRepository).findRowsAfter(eq(0L), isNull(), isNull(), pageableCaptor.capture());
+        assertEquals(3, pageableCaptor.getValue().getPageSize());
+        verify(sickDayRepository, never()).findAll();
+    }
+
+    @Test
+    void getSickDaysPage_LastPageHasNoCursor() {
+        LocalDate start = LocalDate.of(2025, 3, 1);
+        SickDayRow row = new SickDayRow(5L, start, start.plusDays(2), 2, 10L, 20L);
+        String cursor = KeysetCursor.encode(4L);
+
+        when(sickDayRepository.findRowsAfter(eq(4L), any(), any(), any(Pageable.class)))
+                .thenReturn(List.of(row));
+        when(sickDayRepository.findDiagnosisLinks(List.of(5L))).thenReturn(List.of());
+
+        CursorPageDTO<SickDayDTO> page = sickDayService.getSickDaysPage(cursor, 10,
+                LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 31));
+
+        assertEquals(1, page.getItems().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void getSickDaysPage_Failure_InvalidCursor() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> sickDayService.getSickDaysPage("not-a-cursor", 10, null, null));
+        assertEquals("Invalid cursor.", exception.getMessage());
+
+        verify(sickDayRepository, never()).findRowsAfter(any(), any(), any(), any());
     }
 
     @Test
@@ -95,6 +163,84 @@ class SickDayServiceImplTest {
         assertEquals(5, result.getNumberOfDays());
         assertNotNull(result);
         verify(sickDayRepository, times(1)).save(any(SickDay.class));
+        verify(reportCache).invalidate(ReportCache.Topic.SICK_DAYS);
+    }
+
+    @Test
+    void createSickDay_ResolvesDiagnosesInBulk() {
+        SickDayDTO sickDayDTO = new SickDayDTO();
+        sickDayDTO.setStartDate(LocalDate.now().minusDays(2));
+        sickDayDTO.setEndDate(LocalDate.now());
+        sickDayDTO.setPatientId(1L);
+        sickDayDTO.setDoctorId(2L);
+        sickDayDTO.setDiagnosisIds(Set.of(7L, 8L));
+
+        User patient = new User();
+        patient.setId(1L);
+        User doctor = new User();
+        doctor.setId(2L);
+        Diagnosis diagnosis1 = new Diagnosis();
+        diagnosis1.setId(7L);
+        Diagnosis diagnosis2 = new Diagnosis();
+        diagnosis2.setId(8L);
+
+        when(userRepository.findById(1L)).thenReturn(Optional.of(patient));
+        when(userRepository.findById(2L)).thenReturn(Optional.of(doctor));
+        when(bulkEntityResolver.resolveAll(Diagnosis.class, Set.of(7L, 8L), "Diagnosis"))
+                .thenReturn(Set.of(diagnosis1, diagnosis2));
+        when(sickDayRepository.save(any(SickDay.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        SickDayDTO result = sickDayService.createSickDay(sickDayDTO);
+
+        assertEquals(Set.of(7L, 8L), result.getDiagnosisIds());
+        verify(bulkEntityResolver, times(1)).resolveAll(Diagnosis.class, Set.of(7L, 8L), "Diagnosis");
+        verify(diagnosisStatistics, times(1)).onSickDayChanged(Set.of(), Set.of(diagnosis1, diagnosis2));
+    }
+
+    @Test
+    void updateSickDay_RecordsDiagnosisChange() {
+        Diagnosis flu = new Diagnosis();
+        flu.setId(7L);
+        Diagnosis cold = new Diagnosis();
+        cold.setId(8L);
+
+        User previousDoctor = new User();
+        previousDoctor.setId(3L);
+        LocalDate previousStartDate = LocalDate.of(2024, 1, 10);
+
+        SickDay sickDay = new SickDay();
+        sickDay.setId(1L);
+        sickDay.setStartDate(previousStartDate);
+        sickDay.setDoctor(previousDoctor);
+        sickDay.setDiagnosis(Set.of(flu));
+
+        SickDayDTO sickDayDTO = new SickDayDTO();
+        sickDayDTO.setStartDate(LocalDate.now().minusDays(2));
+        sickDayDTO.setEndDate(LocalDate.now());
+        sickDayDTO.setPatientId(1L);
+        sickDayDTO.setDoctorId(2L);
+        sickDayDTO.setDiagnosisIds(Set.of(8L));
+
+        when(sickDayRepository.findById(1L)).thenReturn(Optional.of(sickDay));
+        when(userRepository.findById(anyLong())).thenReturn(Optional.of(new User()));
+        when(bulkEntityResolver.resolveAll(Diagnosis.class, Set.of(8L), "Diagnosis")).thenReturn(Set.of(cold));
+        when(sickDayRepository.save(any(SickDay.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        sickDayService.updateSickDay(1L, sickDayDTO);
+
+        verify(diagnosisStatistics, times(1)).onSickDayChanged(Set.of(flu), Set.of(cold));
+        verify(sickLeaveStatistics, times(1)).onSickDayUpdated(previousStartDate, 3L, sickDay);
+    }
+
+    @Test
+    void getMonthWithMostSickLeaves_ReadsCounters() {
+        List<MonthSickLeaveCountDTO> ranking = List.of(new MonthSickLeaveCountDTO(2024, 1, 5));
+        when(sickLeaveStatistics.getMonthRanking(2024)).thenReturn(ranking);
+
+        List<MonthSickLeaveCountDTO> result = sickDayService.getMonthWithMostSickLeaves(2024);
+
+        assertEquals(ranking, result);
+        verifyNoInteractions(sickDayRepository);
     }
 
     @Test
@@ -135,6 +281,7 @@ class SickDayServiceImplTest {
         assertEquals(5, result.getNumberOfDays());
         assertNotNull(result);
         verify(sickDayRepository, times(1)).save(any(SickDay.class));
+        verify(reportCache).invalidate(ReportCache.Topic.SICK_DAYS);
     }
 
     @Test
@@ -161,6 +308,8 @@ class SickDayServiceImplTest {
         assertDoesNotThrow(() -> sickDayService.deleteSickDay(1L));
 
         verify(sickDayRepository, times(1)).delete(sickDay);
+        verify(diagnosisStatistics, times(1)).onSickDayChanged(null, Set.of());
+        verify(sickLeaveStatistics, times(1)).onSickDayDeleted(sickDay);
     }
 
     @Test
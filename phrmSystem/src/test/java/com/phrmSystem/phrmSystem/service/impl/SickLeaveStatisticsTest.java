@@ -0,0 +1,170 @@
+package com.phrmSystem.phrmSystem.service.impl;
+
+import com.phrmSystem.phrmSystem.data.entity.SickDay;
+import com.phrmSystem.phrmSystem.data.entity.User;
+import com.phrmSystem.phrmSystem.data.projection.SickLeaveCount;
+import com.phrmSystem.phrmSystem.data.repo.SickDayRepository;
+import com.phrmSystem.phrmSystem.dto.CounterRebuildResultDTO;
+import com.phrmSystem.phrmSystem.dto.DoctorSickLeaveCountDTO;
+import com.phrmSystem.phrmSystem.dto.MonthSickLeaveCountDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SickLeaveStatisticsTest {
+
+    private SickDayRepository sickDayRepository;
+    private SickLeaveStatistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        sickDayRepository = mock(SickDayRepository.class);
+        statistics = new SickLeaveStatistics(sickDayRepository);
+    }
+
+    @Test
+    void getMonthRanking_FiltersByYear() {
+        statistics.onSickDaysCreated(List.of(
+                sickDay(LocalDate.of(2023, 3, 1), 1L),
+                sickDay(LocalDate.of(2024, 3, 5), 1L),
+                sickDay(LocalDate.of(2024, 3, 9), 2L),
+                sickDay(LocalDate.of(2024, 1, 2), 2L)));
+
+        assertEquals(List.of(
+                new MonthSickLeaveCountDTO(2024, 3, 2),
+                new MonthSickLeaveCountDTO(2024, 1, 1)
+        ), statistics.getMonthRanking(2024));
+        assertEquals(new MonthSickLeaveCountDTO(null, 3, 3), statistics.getMonthRanking(null).get(0));
+        assertTrue(statistics.getMonthRanking(2022).isEmpty());
+        verifyNoInteractions(sickDayRepository);
+    }
+
+    @Test
+    void getDoctorRanking_RanksByCountThenId() {
+        statistics.onSickDayCreated(sickDay(LocalDate.of(2023, 5, 1), 2L));
+        statistics.onSickDayCreated(sickDay(LocalDate.of(2024, 5, 1), 1L));
+        statistics.onSickDayCreated(sickDay(LocalDate.of(2024, 6, 1), 2L));
+
+        assertEquals(List.of(
+                new DoctorSickLeaveCountDTO(2L, 2),
+                new DoctorSickLeaveCountDTO(1L, 1)
+        ), statistics.getDoctorRanking(null));
+        assertEquals(List.of(
+                new DoctorSickLeaveCountDTO(1L, 1),
+                new DoctorSickLeaveCountDTO(2L, 1)
+        ), statistics.getDoctorRanking(2024));
+    }
+
+    @Test
+    void rankings_YearsWithoutSickDays_AreNotCached() {
+        statistics.onSickDayCreated(sickDay(LocalDate.of(2024, 5, 1), 1L));
+
+        for (int year = 1; year <= 1000; year++) {
+            assertTrue(statistics.getMonthRanking(year * 10_000).isEmpty());
+            assertTrue(statistics.getDoctorRanking(year * 10_000).isEmpty());
+        }
+        statistics.getMonthRanking(2024);
+        statistics.getDoctorRanking(2024);
+
+        assertEquals(2, statistics.cachedRankings());
+    }
+
+    @Test
+    void onSickDayUpdated_MovesCountToNewMonthAndDoctor() {
+        SickDay sickDay = sickDay(LocalDate.of(2024, 2, 10), 1L);
+        statistics.onSickDayCreated(sickDay);
+
+        LocalDate previousStartDate = sickDay.getStartDate();
+        sickDay.setStartDate(LocalDate.of(2024, 4, 1));
+        sickDay.setDoctor(doctor(2L));
+        statistics.onSickDayUpdated(previousStartDate, 1L, sickDay);
+
+        assertEquals(List.of(new MonthSickLeaveCountDTO(2024, 4, 1)), statistics.getMonthRanking(2024));
+        assertEquals(List.of(new DoctorSickLeaveCountDTO(2L, 1)), statistics.getDoctorRanking(2024));
+
+        statistics.onSickDayDeleted(sickDay);
+
+        assertTrue(statistics.getMonthRanking(null).isEmpty());
+        assertTrue(statistics.getDoctorRanking(null).isEmpty());
+    }
+
+    @Test
+    void rebuild_ReplacesCountersAndReportsCorrections() {
+        statistics.onSickDayCreated(sickDay(LocalDate.of(2024, 1, 1), 1L));
+        when(sickDayRepository.countSickDaysPerMonthAndDoctor()).thenReturn(List.of(
+                new SickLeaveCount(2024, 1, 1L, 1L),
+                new SickLeaveCount(2024, 2, 2L, 3L)));
+
+        CounterRebuildResultDTO result = statistics.rebuild();
+
+        assertEquals(4, result.getCountersChecked());
+        assertEquals(2, result.getCountersCorrected());
+        assertEquals(new MonthSickLeaveCountDTO(2024, 2, 3), statistics.getMonthRanking(2024).get(0));
+        assertEquals(new DoctorSickLeaveCountDTO(2L, 3), statistics.getDoctorRanking(2024).get(0));
+    }
+
+    @Test
+    void rebuild_SickDayCommittedBeforeTheQuery_IsCountedOnce() throws Exception {
+        AtomicLong committedSickDays = new AtomicLong();
+        when(sickDayRepository.countSickDaysPerMonthAndDoctor()).thenAnswer(invocation ->
+                List.of(new SickLeaveCount(2024, 1, 1L, committedSickDays.get())));
+        CountDownLatch committed = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> writer = executor.submit(() -> {
+                TransactionSynchronizationManager.initSynchronization();
+                try {
+                    statistics.onSickDayCreated(sickDay(LocalDate.of(2024, 1, 1), 1L));
+                    List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+                    synchronizations.forEach(synchronization -> synchronization.beforeCommit(false));
+                    committedSickDays.incrementAndGet();
+                    committed.countDown();
+                    // the rebuild starts here, between the commit and the after-commit update
+                    Thread.sleep(100);
+                    synchronizations.forEach(TransactionSynchronization::afterCommit);
+                    synchronizations.forEach(synchronization ->
+                            synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+                } finally {
+                    TransactionSynchronizationManager.clearSynchronization();
+                }
+                return null;
+            });
+            assertTrue(committed.await(5, TimeUnit.SECONDS));
+
+            statistics.rebuild();
+            writer.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(List.of(new MonthSickLeaveCountDTO(2024, 1, 1)), statistics.getMonthRanking(2024));
+        assertEquals(List.of(new DoctorSickLeaveCountDTO(1L, 1)), statistics.getDoctorRanking(2024));
+    }
+
+    private SickDay sickDay(LocalDate startDate, Long doctorId) {
+        SickDay sickDay = new SickDay();
+        sickDay.setStartDate(startDate);
+        sickDay.setEndDate(startDate.plusDays(2));
+        sickDay.setDoctor(doctor(doctorId));
+        return sickDay;
+    }
+
+    private User doctor(Long id) {
+        User doctor = new User();
+        doctor.setId(id);
+        return doctor;
+    }
+}
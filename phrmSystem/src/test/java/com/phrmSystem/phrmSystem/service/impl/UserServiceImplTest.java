@@ -2,6 +2,7 @@ package com.phrmSystem.phrmSystem.service.impl;
 
 import com.phrmSystem.phrmSystem.data.entity.Role;
 import com.phrmSystem.phrmSystem.data.entity.User;
+import com.phrmSystem.phrmSystem.data.repo.DoctorRepository;
 import com.phrmSystem.phrmSystem.data.repo.UserRepository;
 import com.phrmSystem.phrmSystem.dto.UserDTO;
 import com.phrmSystem.phrmSystem.mappers.UserMapper;
@@ -17,12 +18,16 @@ import static org.mockito.Mockito.*;
 
 class UserServiceImplTest {
     private UserRepository userRepository;
+    private DoctorRepository doctorRepository;
+    private PersonalDoctorStatistics personalDoctorStatistics;
     private UserServiceImpl userService;
 
     @BeforeEach
     void setUp() {
         userRepository = mock(UserRepository.class);
-        userService = new UserServiceImpl(userRepository);
+        doctorRepository = mock(DoctorRepository.class);
+        personalDoctorStatistics = mock(PersonalDoctorStatistics.class);
+        userService = new UserServiceImpl(userRepository, doctorRepository, personalDoctorStatistics);
     }
 
     @Test
@@ -66,7 +71,7 @@ class UserServiceImplTest {
         user.setId(1L);
 
         // Mock repository behavior
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(userRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(user));
 
         // Test the deletion
         assertDoesNotThrow(() -> userService.deleteUser(1L));
@@ -75,6 +80,25 @@ class UserServiceImplTest {
         verify(userRepository, times(1)).deleteById(1L);
     }
 
+    @Test
+    void deleteUser_UpdatesPersonalDoctorCounters() {
+        User doctor = new User();
+        doctor.setId(5L);
+        User patient = new User();
+        patient.setId(1L);
+        patient.setPersonalDoctor(doctor);
+
+        when(userRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(patient));
+
+        userService.deleteUser(1L);
+
+        var order = inOrder(doctorRepository, userRepository);
+        order.verify(doctorRepository).clearPersonalDoctor(1L);
+        order.verify(userRepository).deleteById(1L);
+        verify(personalDoctorStatistics).onPersonalDoctorChanged(5L, null);
+        verify(personalDoctorStatistics).onDoctorDeleted(1L);
+    }
+
 
     @Test
     void deleteUser_Failure_UserNotFound() {
@@ -93,7 +117,7 @@ class UserServiceImplTest {
         user.setId(1L);
 
         // Mock repository behavior
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(userRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(user));
         doThrow(new RuntimeException("Cannot delete user with active dependencies"))
                 .when(userRepository).deleteById(1L);
 
@@ -103,6 +127,7 @@ class UserServiceImplTest {
 
         // Verify interactions
         verify(userRepository, times(1)).deleteById(1L);
+        verifyNoInteractions(personalDoctorStatistics);
     }
 
 
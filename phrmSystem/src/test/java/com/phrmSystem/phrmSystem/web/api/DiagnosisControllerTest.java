@@ -2,6 +2,8 @@ package com.phrmSystem.phrmSystem.web.api;
 
 import com.phrmSystem.phrmSystem.data.entity.Diagnosis;
 import com.phrmSystem.phrmSystem.data.repo.DiagnosisRepository;
+import com.phrmSystem.phrmSystem.dto.CounterRebuildResultDTO;
+import com.phrmSystem.phrmSystem.dto.DiagnosisCountDTO;
 import com.phrmSystem.phrmSystem.dto.DiagnosisDTO;
 import com.phrmSystem.phrmSystem.service.DiagnosisService;
 import org.junit.jupiter.api.BeforeEach;
@@ -148,15 +150,36 @@ class DiagnosisControllerTest {
 
     @Test
     void getMostCommonDiagnoses_Success() {
-        Object[] mockResult = new Object[]{"Flu", 10L};
-        when(diagnosisRepository.findMostCommonDiagnoses()).thenReturn(List.<Object[]>of((Object[]) mockResult)); // Explicit cast
+        when(diagnosisService.getMostCommonDiagnoses(5)).thenReturn(List.of(new DiagnosisCountDTO(1L, "Flu", 10L)));
 
-        ResponseEntity<?> response = diagnosisController.getMostCommonDiagnoses();
+        ResponseEntity<?> response = diagnosisController.getMostCommonDiagnoses(5);
 
         assertEquals(OK, response.getStatusCode());
         assertNotNull(response.getBody());
         assertEquals(1, ((List<?>) response.getBody()).size());
-        verify(diagnosisRepository, times(1)).findMostCommonDiagnoses();
+        verify(diagnosisService, times(1)).getMostCommonDiagnoses(5);
+        verifyNoInteractions(diagnosisRepository);
+    }
+
+    @Test
+    void getMostCommonDiagnoses_Failure_InvalidLimit() {
+        when(diagnosisService.getMostCommonDiagnoses(0)).thenThrow(new IllegalArgumentException("Limit must be positive."));
+
+        ResponseEntity<?> response = diagnosisController.getMostCommonDiagnoses(0);
+
+        assertEquals(BAD_REQUEST, response.getStatusCode());
+        assertEquals("Limit must be positive.", response.getBody());
+    }
+
+    @Test
+    void rebuildDiagnosisStatistics_Success() {
+        CounterRebuildResultDTO result = new CounterRebuildResultDTO(12, 1);
+        when(diagnosisService.rebuildDiagnosisStatistics()).thenReturn(result);
+
+        ResponseEntity<?> response = diagnosisController.rebuildDiagnosisStatistics();
+
+        assertEquals(OK, response.getStatusCode());
+        assertEquals(result, response.getBody());
     }
 
 
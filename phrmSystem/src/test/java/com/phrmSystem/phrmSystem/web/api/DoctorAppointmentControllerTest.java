@@ -3,6 +3,7 @@ package com.phrmSystem.phrmSystem.web.api;
 import com.phrmSystem.phrmSystem.data.entity.DoctorAppointment;
 import com.phrmSystem.phrmSystem.data.repo.DoctorAppointmentRepository;
 import com.phrmSystem.phrmSystem.dto.DoctorAppointmentAllDTO;
+import com.phrmSystem.phrmSystem.dto.DoctorScheduleDayDTO;
 import com.phrmSystem.phrmSystem.service.DoctorAppointmentService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -10,6 +11,7 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.http.ResponseEntity;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -182,4 +184,28 @@ class DoctorAppointmentControllerTest {
         assertEquals("Invalid date format or other error: Invalid date range.", response.getBody());
     }
 
+    @Test
+    void getDoctorSchedule_Success() {
+        LocalDate day = LocalDate.of(2025, 1, 6);
+        List<DoctorScheduleDayDTO> schedule = List.of(new DoctorScheduleDayDTO(day, List.of()));
+        when(doctorAppointmentService.getDoctorSchedule(1L, day, null)).thenReturn(schedule);
+
+        ResponseEntity<?> response = doctorAppointmentController.getDoctorSchedule(1L, day, null);
+
+        assertEquals(OK, response.getStatusCode());
+        assertEquals(schedule, response.getBody());
+    }
+
+    @Test
+    void getDoctorSchedule_Failure_ReversedRange() {
+        LocalDate day = LocalDate.of(2025, 1, 6);
+        when(doctorAppointmentService.getDoctorSchedule(1L, day, day.minusDays(1)))
+                .thenThrow(new IllegalArgumentException("End date cannot be before start date."));
+
+        ResponseEntity<?> response = doctorAppointmentController.getDoctorSchedule(1L, day, day.minusDays(1));
+
+        assertEquals(BAD_REQUEST, response.getStatusCode());
+        assertEquals("End date cannot be before start date.", response.getBody());
+    }
+
 }
@@ -2,6 +2,9 @@ package com.phrmSystem.phrmSystem.web.api;
 
 import com.phrmSystem.phrmSystem.data.entity.User;
 import com.phrmSystem.phrmSystem.dto.AppointmentDTO;
+import com.phrmSystem.phrmSystem.dto.CounterRebuildResultDTO;
+import com.phrmSystem.phrmSystem.dto.CursorPageDTO;
+import com.phrmSystem.phrmSystem.dto.DoctorPatientCountDTO;
 import com.phrmSystem.phrmSystem.dto.SpecializationDTO;
 import com.phrmSystem.phrmSystem.dto.UserDTO;
 import com.phrmSystem.phrmSystem.service.DoctorService;
@@ -224,6 +227,29 @@ class DoctorControllerTest {
         verify(doctorService, times(1)).getDoctorAppointments(1L);
     }
 
+    @Test
+    void getDoctorAppointmentsPage_Success() {
+        CursorPageDTO<AppointmentDTO> page = new CursorPageDTO<>(List.of(new AppointmentDTO()), "next");
+
+        when(doctorService.getDoctorAppointmentsPage(1L, null, 10, null, null)).thenReturn(page);
+
+        ResponseEntity<?> response = doctorController.getDoctorAppointmentsPage(1L, null, 10, null, null);
+
+        assertEquals(OK, response.getStatusCode());
+        assertEquals(page, response.getBody());
+    }
+
+    @Test
+    void getDoctorAppointmentsPage_Failure() {
+        when(doctorService.getDoctorAppointmentsPage(1L, "bad", null, null, null))
+                .thenThrow(new IllegalArgumentException("Invalid cursor."));
+
+        ResponseEntity<?> response = doctorController.getDoctorAppointmentsPage(1L, "bad", null, null, null);
+
+        assertEquals(BAD_REQUEST, response.getStatusCode());
+        assertEquals("Invalid cursor.", response.getBody());
+    }
+
     @Test
     void getAllPersonalDoctors_Success() {
         User doctor = new User();
@@ -238,4 +264,26 @@ class DoctorControllerTest {
         assertEquals(1, ((List<?>) response.getBody()).size());
         verify(doctorService, times(1)).getAllPersonalDoctors();
     }
+
+    @Test
+    void getPersonalDoctorPatientCounts_Success() {
+        List<DoctorPatientCountDTO> loads = List.of(new DoctorPatientCountDTO(1L, 12));
+        when(doctorService.getPersonalDoctorPatientCounts()).thenReturn(loads);
+
+        ResponseEntity<List<DoctorPatientCountDTO>> response = doctorController.getPersonalDoctorPatientCounts();
+
+        assertEquals(OK, response.getStatusCode());
+        assertEquals(loads, response.getBody());
+    }
+
+    @Test
+    void rebuildPersonalDoctorStatistics_Success() {
+        CounterRebuildResultDTO result = new CounterRebuildResultDTO(3, 1);
+        when(doctorService.rebuildPersonalDoctorStatistics()).thenReturn(result);
+
+        ResponseEntity<?> response = doctorController.rebuildPersonalDoctorStatistics();
+
+        assertEquals(OK, response.getStatusCode());
+        assertEquals(result, response.getBody());
+    }
 }
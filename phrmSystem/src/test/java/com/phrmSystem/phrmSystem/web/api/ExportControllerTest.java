@@ -0,0 +1,77 @@
+package com.phrmSystem.phrmSystem.web.api;
+
+import com.phrmSystem.phrmSystem.dto.BinaryExportResultDTO;
+import com.phrmSystem.phrmSystem.service.ExportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.http.HttpStatus.*;
+
+class ExportControllerTest {
+
+    @Mock
+    private ExportService exportService;
+
+    private ExportController exportController;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        exportController = new ExportController(exportService);
+    }
+
+    @Test
+    void exportSickDays_SetsHeadersAndStreamsToTheResponse() throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        when(exportService.contentType("csv")).thenReturn("text/csv");
+
+        exportController.exportSickDays("csv", response);
+
+        assertTrue(response.getContentType().startsWith("text/csv"));
+        assertEquals("attachment; filename=\"sick-days.csv\"", response.getHeader(HttpHeaders.CONTENT_DISPOSITION));
+        verify(exportService).exportSickDays(response.getOutputStream(), "csv");
+    }
+
+    @Test
+    void exportAppointments_Failure_UnsupportedFormat() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        when(exportService.contentType("xml")).thenThrow(new IllegalArgumentException("Unsupported export format: xml."));
+
+        assertThrows(IllegalArgumentException.class, () -> exportController.exportAppointments("xml", response));
+
+        verify(exportService, never()).exportAppointments(any(), any());
+        assertFalse(response.isCommitted());
+    }
+
+    @Test
+    void exportSickDaysBinary_Success() {
+        BinaryExportResultDTO result = new BinaryExportResultDTO("exports/sick-days.phrmcol", 3, 5, 9, 512);
+        when(exportService.exportSickDaysBinary(5L, LocalDate.of(2025, 1, 1))).thenReturn(result);
+
+        ResponseEntity<?> response = exportController.exportSickDaysBinary(5L, LocalDate.of(2025, 1, 1));
+
+        assertEquals(OK, response.getStatusCode());
+        assertEquals(result, response.getBody());
+    }
+
+    @Test
+    void exportAppointmentsBinary_Failure() {
+        when(exportService.exportAppointmentsBinary(-1L, null)).thenThrow(new IllegalArgumentException("afterId cannot be negative."));
+
+        ResponseEntity<?> response = exportController.exportAppointmentsBinary(-1L, null);
+
+        assertEquals(BAD_REQUEST, response.getStatusCode());
+        assertEquals("afterId cannot be negative.", response.getBody());
+    }
+}
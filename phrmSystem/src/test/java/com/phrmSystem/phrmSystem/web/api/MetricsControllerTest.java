@@ -0,0 +1,48 @@
+package com.phrmSystem.phrmSystem.web.api;
+
+import com.phrmSystem.phrmSystem.dto.MetricsDTO;
+import com.phrmSystem.phrmSystem.service.MetricsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.http.HttpStatus.*;
+
+class MetricsControllerTest {
+
+    @Mock
+    private MetricsService metricsService;
+
+    private MetricsController metricsController;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        metricsController = new MetricsController(metricsService);
+    }
+
+    @Test
+    void getMetrics_Success() {
+        MetricsDTO metrics = new MetricsDTO(12, 1, 200, 0, List.of(), List.of(), List.of());
+        when(metricsService.getMetrics()).thenReturn(metrics);
+
+        ResponseEntity<MetricsDTO> response = metricsController.getMetrics();
+
+        assertEquals(OK, response.getStatusCode());
+        assertEquals(metrics, response.getBody());
+    }
+
+    @Test
+    void resetMetrics_Success() {
+        ResponseEntity<Void> response = metricsController.resetMetrics();
+
+        assertEquals(NO_CONTENT, response.getStatusCode());
+        verify(metricsService, times(1)).resetMetrics();
+    }
+}
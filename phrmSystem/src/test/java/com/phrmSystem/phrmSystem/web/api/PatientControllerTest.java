@@ -2,6 +2,7 @@ package com.phrmSystem.phrmSystem.controller;
 
 import com.phrmSystem.phrmSystem.data.entity.User;
 import com.phrmSystem.phrmSystem.dto.DoctorAppointmentDTO;
+import com.phrmSystem.phrmSystem.dto.PatientChartDTO;
 import com.phrmSystem.phrmSystem.dto.PatientIllnessHistoryDTO;
 import com.phrmSystem.phrmSystem.dto.UserDTO;
 import com.phrmSystem.phrmSystem.service.PatientService;
@@ -103,6 +104,25 @@ class PatientControllerTest {
         verify(patientService, times(1)).deletePatient(1L);
     }
 
+    @Test
+    void assignPersonalDoctor_Success() {
+        ResponseEntity<?> response = patientController.assignPersonalDoctor(1L, 5L);
+
+        assertEquals(NO_CONTENT, response.getStatusCode());
+        verify(patientService, times(1)).assignPersonalDoctor(1L, 5L);
+    }
+
+    @Test
+    void assignPersonalDoctor_Failure() {
+        doThrow(new RuntimeException("Doctor with id 5 is not a personal doctor."))
+                .when(patientService).assignPersonalDoctor(1L, 5L);
+
+        ResponseEntity<?> response = patientController.assignPersonalDoctor(1L, 5L);
+
+        assertEquals(BAD_REQUEST, response.getStatusCode());
+        assertEquals("Doctor with id 5 is not a personal doctor.", response.getBody());
+    }
+
     @Test
     void getAllPatients_Success() {
         UserDTO patient = new UserDTO();
@@ -198,6 +218,30 @@ class PatientControllerTest {
         verify(patientService, times(1)).getPatientIllnessHistory(1L);
     }
 
+    @Test
+    void getPatientChart_Success() {
+        PatientChartDTO chart = new PatientChartDTO();
+        chart.setUniqueIdentification("PAT-1");
+
+        when(patientService.getPatientChart(1L)).thenReturn(chart);
+
+        ResponseEntity<?> response = patientController.getPatientChart(1L);
+
+        assertEquals(OK, response.getStatusCode());
+        assertEquals(chart, response.getBody());
+        verify(patientService, times(1)).getPatientChart(1L);
+    }
+
+    @Test
+    void getPatientChart_Failure() {
+        when(patientService.getPatientChart(1L)).thenThrow(new RuntimeException("Patient not found with id: 1"));
+
+        ResponseEntity<?> response = patientController.getPatientChart(1L);
+
+        assertEquals(BAD_REQUEST, response.getStatusCode());
+        assertEquals("Patient not found with id: 1", response.getBody());
+    }
+
     @Test
     void createAppointment_Success() {
         DoctorAppointmentDTO appointment = new DoctorAppointmentDTO();
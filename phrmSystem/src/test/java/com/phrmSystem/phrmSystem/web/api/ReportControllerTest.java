@@ -0,0 +1,79 @@
+package com.phrmSystem.phrmSystem.web.api;
+
+import com.phrmSystem.phrmSystem.data.projection.DiagnosisNameCount;
+import com.phrmSystem.phrmSystem.data.projection.DoctorAppointmentCount;
+import com.phrmSystem.phrmSystem.service.ReportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.http.HttpStatus.*;
+
+class ReportControllerTest {
+
+    @Mock
+    private ReportService reportService;
+
+    private ReportController reportController;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        reportController = new ReportController(reportService);
+    }
+
+    @Test
+    void getAppointmentsPerDoctor_Success() {
+        LocalDate from = LocalDate.of(2024, 1, 1);
+        LocalDate to = LocalDate.of(2024, 1, 31);
+        List<DoctorAppointmentCount> counts = List.of(new DoctorAppointmentCount(1L, "Ana Ivanova", 2));
+        when(reportService.getAppointmentsPerDoctor(from, to)).thenReturn(counts);
+
+        ResponseEntity<?> response = reportController.getAppointmentsPerDoctor(from, to);
+
+        assertEquals(OK, response.getStatusCode());
+        assertEquals(counts, response.getBody());
+    }
+
+    @Test
+    void getAppointmentsPerDoctor_BadRequest() {
+        LocalDate from = LocalDate.of(2024, 2, 1);
+        LocalDate to = LocalDate.of(2024, 1, 1);
+        when(reportService.getAppointmentsPerDoctor(from, to))
+                .thenThrow(new IllegalArgumentException("The end date cannot be before the start date."));
+
+        ResponseEntity<?> response = reportController.getAppointmentsPerDoctor(from, to);
+
+        assertEquals(BAD_REQUEST, response.getStatusCode());
+        assertEquals("The end date cannot be before the start date.", response.getBody());
+    }
+
+    @Test
+    void getMostCommonDiagnosisNames_Success() {
+        List<DiagnosisNameCount> names = List.of(new DiagnosisNameCount("Flu", 5));
+        when(reportService.getMostCommonDiagnosisNames(10)).thenReturn(names);
+
+        ResponseEntity<?> response = reportController.getMostCommonDiagnosisNames(10);
+
+        assertEquals(OK, response.getStatusCode());
+        assertEquals(names, response.getBody());
+    }
+
+    @Test
+    void getMostCommonDiagnosisNames_BadRequest() {
+        when(reportService.getMostCommonDiagnosisNames(0))
+                .thenThrow(new IllegalArgumentException("Limit must be positive."));
+
+        ResponseEntity<?> response = reportController.getMostCommonDiagnosisNames(0);
+
+        assertEquals(BAD_REQUEST, response.getStatusCode());
+        assertEquals("Limit must be positive.", response.getBody());
+    }
+}
@@ -2,6 +2,7 @@ package com.phrmSystem.phrmSystem.web.api;
 
 import com.phrmSystem.phrmSystem.controller.RoleController;
 import com.phrmSystem.phrmSystem.data.entity.Role;
+import com.phrmSystem.phrmSystem.dto.RoleCacheStatsDTO;
 import com.phrmSystem.phrmSystem.dto.RoleDTO;
 import com.phrmSystem.phrmSystem.service.RoleService;
 import org.junit.jupiter.api.BeforeEach;
@@ -189,4 +190,15 @@ class RoleControllerTest {
         assertEquals(NOT_FOUND, response.getStatusCode());
         verify(roleService, times(1)).getRoleByName("ADMIN");
     }
+
+    @Test
+    void getRoleCacheStats_Success() {
+        RoleCacheStatsDTO stats = new RoleCacheStatsDTO(10, 2, 2);
+        when(roleService.getRoleCacheStats()).thenReturn(stats);
+
+        ResponseEntity<RoleCacheStatsDTO> response = roleController.getRoleCacheStats();
+
+        assertEquals(OK, response.getStatusCode());
+        assertEquals(stats, response.getBody());
+    }
 }
@@ -1,6 +1,12 @@
 package com.phrmSystem.phrmSystem.web.api;
 
+import com.phrmSystem.phrmSystem.dto.CounterRebuildResultDTO;
+import com.phrmSystem.phrmSystem.dto.CursorPageDTO;
+import com.phrmSystem.phrmSystem.dto.DoctorSickLeaveCountDTO;
+import com.phrmSystem.phrmSystem.dto.MonthSickLeaveCountDTO;
 import com.phrmSystem.phrmSystem.dto.SickDayDTO;
+import com.phrmSystem.phrmSystem.dto.SickDayImportResultDTO;
+import com.phrmSystem.phrmSystem.service.SickDayImportService;
 import com.phrmSystem.phrmSystem.service.SickDayService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -8,6 +14,9 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.http.ResponseEntity;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -20,12 +29,15 @@ class SickDayControllerTest {
     @Mock
     private SickDayService sickDayService;
 
+    @Mock
+    private SickDayImportService sickDayImportService;
+
     private SickDayController sickDayController;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        sickDayController = new SickDayController(sickDayService);
+        sickDayController = new SickDayController(sickDayService, sickDayImportService);
     }
 
     @Test
@@ -68,6 +80,89 @@ class SickDayControllerTest {
         verify(sickDayService, times(1)).getAllSickDays();
     }
 
+    @Test
+    void getSickDaysPage_Success() {
+        SickDayDTO sickDayDTO = new SickDayDTO();
+        sickDayDTO.setId(1L);
+        CursorPageDTO<SickDayDTO> page = new CursorPageDTO<>(List.of(sickDayDTO), "next");
+
+        when(sickDayService.getSickDaysPage(null, 20, null, null)).thenReturn(page);
+
+        ResponseEntity<?> response = sickDayController.getSickDaysPage(null, 20, null, null);
+
+        assertEquals(OK, response.getStatusCode());
+        assertEquals(page, response.getBody());
+        verify(sickDayService, times(1)).getSickDaysPage(null, 20, null, null);
+    }
+
+    @Test
+    void getSickDaysPage_Failure_InvalidCursor() {
+        when(sickDayService.getSickDaysPage("bad", null, null, null))
+                .thenThrow(new IllegalArgumentException("Invalid cursor."));
+
+        ResponseEntity<?> response = sickDayController.getSickDaysPage("bad", null, null, null);
+
+        assertEquals(BAD_REQUEST, response.getStatusCode());
+        assertEquals("Invalid cursor.", response.getBody());
+    }
+
+    @Test
+    void importSickDays_Success() {
+        InputStream body = new ByteArrayInputStream(new byte[0]);
+        SickDayImportResultDTO result = new SickDayImportResultDTO(2, 2, 0, new ArrayList<>());
+        when(sickDayImportService.importSickDays(body, "text/csv")).thenReturn(result);
+
+        ResponseEntity<?> response = sickDayController.importSickDays("text/csv", body);
+
+        assertEquals(OK, response.getStatusCode());
+        assertEquals(result, response.getBody());
+    }
+
+    @Test
+    void importSickDays_Failure_InvalidHeader() {
+        InputStream body = new ByteArrayInputStream(new byte[0]);
+        when(sickDayImportService.importSickDays(body, "text/csv"))
+                .thenThrow(new IllegalArgumentException("CSV header is missing columns: doctorId"));
+
+        ResponseEntity<?> response = sickDayController.importSickDays("text/csv", body);
+
+        assertEquals(BAD_REQUEST, response.getStatusCode());
+        assertEquals("CSV header is missing columns: doctorId", response.getBody());
+    }
+
+    @Test
+    void getMonthWithMostSickLeaves_Success() {
+        List<MonthSickLeaveCountDTO> ranking = List.of(new MonthSickLeaveCountDTO(2024, 3, 12));
+        when(sickDayService.getMonthWithMostSickLeaves(2024)).thenReturn(ranking);
+
+        ResponseEntity<?> response = sickDayController.getMonthWithMostSickLeaves(2024);
+
+        assertEquals(OK, response.getStatusCode());
+        assertEquals(ranking, response.getBody());
+    }
+
+    @Test
+    void getDoctorsWithMostSickLeaves_Success() {
+        List<DoctorSickLeaveCountDTO> ranking = List.of(new DoctorSickLeaveCountDTO(2L, 7));
+        when(sickDayService.getDoctorsWithMostSickLeaves(null)).thenReturn(ranking);
+
+        ResponseEntity<?> response = sickDayController.getDoctorsWithMostSickLeaves(null);
+
+        assertEquals(OK, response.getStatusCode());
+        assertEquals(ranking, response.getBody());
+    }
+
+    @Test
+    void rebuildSickLeaveStatistics_Success() {
+        CounterRebuildResultDTO result = new CounterRebuildResultDTO(10, 1);
+        when(sickDayService.rebuildSickLeaveStatistics()).thenReturn(result);
+
+        ResponseEntity<?> response = sickDayController.rebuildSickLeaveStatistics();
+
+        assertEquals(OK, response.getStatusCode());
+        assertEquals(result, response.getBody());
+    }
+
     @Test
     void createSickDay_Success() {
         SickDayDTO sickDayDTO = new SickDayDTO();
@@ -0,0 +1,182 @@
+package com.phrmSystem.phrmSystem.web.api;
+
+import com.phrmSystem.phrmSystem.data.entity.SickDay;
+import com.phrmSystem.phrmSystem.data.entity.User;
+import com.phrmSystem.phrmSystem.data.repo.SickDayRepository;
+import com.phrmSystem.phrmSystem.data.repo.UserRepository;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.oauth2.client.registration.ClientRegistrationRepository;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.test.context.TestPropertySource;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * Load-test harness comparing Tomcat's platform thread pool with virtual threads
+ * (spring.threads.virtual.enabled) on GET /api/sick-days/page, which runs two blocking JPA queries
+ * per request. Prints throughput and p50/p99 latency for each mode.
+ *
+ * Opt-in: run with {@code ./gradlew test -Dbenchmark=true --tests '*ThreadModeLoadTest*'}. Tunables:
+ * {@code -Dbenchmark.clients=N} concurrent clients (default 200), {@code -Dbenchmark.requests=N}
+ * requests per mode (default 20,000) and {@code -Dbenchmark.tomcat.threads=N} platform pool size
+ * (default 50). The default in-memory H2 database hardly blocks; to measure real database waits point
+ * it at a scratch MySQL schema, whose tables are recreated, with {@code -Dbenchmark.datasource.url=...},
+ * {@code -Dbenchmark.datasource.username=...}, {@code -Dbenchmark.datasource.password=...} and
+ * {@code -Dbenchmark.datasource.dialect=org.hibernate.dialect.MySQLDialect}. Benchmark runs trace
+ * pinned virtual threads with {@code -Djdk.tracePinnedThreads=full}; a MySQL run that prints no
+ * pinned stacks from the driver is the check that the virtual thread mode does not pin.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@TestPropertySource(properties = {
+        "spring.datasource.url=${benchmark.datasource.url:jdbc:h2:mem:load-${random.uuid};DB_CLOSE_DELAY=-1}",
+        "spring.datasource.username=${benchmark.datasource.username:sa}",
+        "spring.datasource.password=${benchmark.datasource.password:}",
+        "spring.jpa.properties.hibernate.dialect=${benchmark.datasource.dialect:org.hibernate.dialect.H2Dialect}",
+        "spring.jpa.show-sql=false",
+        "server.tomcat.threads.max=${benchmark.tomcat.threads:50}"
+})
+class ThreadModeLoadTest {
+
+    private static final int CLIENTS = Integer.getInteger("benchmark.clients", 200);
+    private static final int REQUESTS = Integer.getInteger("benchmark.requests", 20_000);
+    private static final int WARM_UP_REQUESTS = 1_000;
+    private static final int SICK_DAYS = 5_000;
+
+    @Nested
+    @TestPropertySource(properties = "spring.threads.virtual.enabled=false")
+    class PlatformThreads extends LoadScenario {
+    }
+
+    @Nested
+    @TestPropertySource(properties = "spring.threads.virtual.enabled=true")
+    class VirtualThreads extends LoadScenario {
+    }
+
+    abstract static class LoadScenario {
+
+        @LocalServerPort
+        private int port;
+
+        @Autowired
+        private UserRepository userRepository;
+
+        @Autowired
+        private SickDayRepository sickDayRepository;
+
+        @MockBean
+        private JwtDecoder jwtDecoder;
+
+        @MockBean
+        private ClientRegistrationRepository clientRegistrationRepository;
+
+        @Test
+        void throughputAndTailLatency() throws Exception {
+            seed();
+            when(jwtDecoder.decode(anyString())).thenReturn(Jwt.withTokenValue("load-test")
+                    .header("alg", "none")
+                    .claim("preferred_username", "load-test")
+                    .claim("resource_access", Map.of("react_client", Map.of("roles", List.of("client_admin"))))
+                    .build());
+
+            HttpClient client = HttpClient.newBuilder()
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .build();
+            HttpRequest request = HttpRequest.newBuilder(URI.create(
+                            "http://localhost:" + port + "/api/sick-days/page?size=50&from=2020-06-01"))
+                    .header("Authorization", "Bearer load-test")
+                    .GET()
+                    .build();
+
+            run(client, request, WARM_UP_REQUESTS);
+            long start = System.nanoTime();
+            long[] latencies = run(client, request, REQUESTS);
+            long elapsedNanos = System.nanoTime() - start;
+
+            Arrays.sort(latencies);
+            System.out.printf("%s: %d requests, %d clients, %.0f req/s, p50 %.1f ms, p99 %.1f ms, max %.1f ms%n",
+                    getClass().getSimpleName(), REQUESTS, CLIENTS,
+                    REQUESTS * 1e9 / elapsedNanos,
+                    percentile(latencies, 0.50), percentile(latencies, 0.99), latencies[latencies.length - 1] / 1e6);
+        }
+
+        private long[] run(HttpClient client, HttpRequest request, int requests) throws Exception {
+            long[] latencies = new long[requests];
+            AtomicInteger next = new AtomicInteger();
+            AtomicInteger failures = new AtomicInteger();
+            try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int i = 0; i < CLIENTS; i++) {
+                    futures.add(clients.submit(() -> {
+                        int index;
+                        while ((index = next.getAndIncrement()) < requests) {
+                            long sent = System.nanoTime();
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            latencies[index] = System.nanoTime() - sent;
+                            if (response.statusCode() != 200) {
+                                failures.incrementAndGet();
+                            }
+                        }
+                        return null;
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            }
+            assertEquals(0, failures.get(), "Requests that did not return 200");
+            return latencies;
+        }
+
+        private void seed() {
+            User patient = new User();
+            patient.setFirstName("Load");
+            patient.setLastName("Patient");
+            User doctor = new User();
+            doctor.setFirstName("Load");
+            doctor.setLastName("Doctor");
+            userRepository.saveAll(List.of(patient, doctor));
+
+            List<SickDay> sickDays = new ArrayList<>(SICK_DAYS);
+            LocalDate firstDay = LocalDate.of(2020, 1, 1);
+            for (int i = 0; i < SICK_DAYS; i++) {
+                SickDay sickDay = new SickDay();
+                sickDay.setStartDate(firstDay.plusDays(i % 1_500));
+                sickDay.setEndDate(firstDay.plusDays(i % 1_500 + 3));
+                sickDay.setNumberOfDays(4);
+                sickDay.setPatient(patient);
+                sickDay.setDoctor(doctor);
+                sickDays.add(sickDay);
+            }
+            sickDayRepository.saveAll(sickDays);
+        }
+
+        private static double percentile(long[] sortedNanos, double percentile) {
+            int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+            return sortedNanos[Math.max(index, 0)] / 1e6;
+        }
+    }
+}